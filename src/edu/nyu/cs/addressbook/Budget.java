@@ -0,0 +1,210 @@
+package edu.nyu.cs.addressbook;
+
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.search.impl.And;
+import edu.nyu.cs.addressbook.search.impl.Compiled;
+import edu.nyu.cs.addressbook.search.impl.Or;
+import edu.nyu.cs.addressbook.search.impl.Regex;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code Budget} class represents the state of one search controlled by a 
+ * {@link edu.nyu.cs.addressbook.SearchControl}: the number of contact entries examined so far and the reason 
+ * the search was truncated, if it was.
+ * <p>
+ * To keep the overhead low, the deadline and the cancellation token are polled only every 
+ * {@value #CHECK_INTERVAL} contact entries, and every {@value #CHAR_INTERVAL} characters read by a regular 
+ * expression.
+ * <p>
+ * {@code Budget} objects are not thread-safe; they are confined to the thread running the search.
+ */
+class Budget {
+    static final int CHECK_INTERVAL = 64;
+    static final int CHAR_INTERVAL = 4096;
+    private static final Exhausted EXHAUSTED = new Exhausted();
+
+    private final SearchControl control;
+    private int examined;
+    private int reads;
+    private Truncation truncation = Truncation.NONE;
+
+    /**
+     * Initializes a newly created {@code Budget} object for the specified search control.
+     * <p>
+     * @param control the search control
+     */
+    Budget(SearchControl control) {
+        this.control = control;
+    }
+
+    /**
+     * Returns the reason the search was truncated, or {@link edu.nyu.cs.addressbook.Truncation#NONE}.
+     * <p>
+     * @return the reason the search was truncated
+     */
+    Truncation getTruncation() {
+        return truncation;
+    }
+
+    /**
+     * Returns the number of contact entries examined so far.
+     * <p>
+     * @return the number of contact entries examined so far
+     */
+    int getExamined() {
+        return examined;
+    }
+
+    /**
+     * Accounts for examining one more contact entry. Returns false, recording the reason, if the search must 
+     * stop before examining it.
+     * <p>
+     * @return true if the contact entry could be examined
+     */
+    boolean examine() {
+        if (truncation != Truncation.NONE) {
+            return false;
+        }
+        if (examined == control.getMaxExamined()) {
+            truncation = Truncation.BUDGET;
+            return false;
+        }
+        if (examined % CHECK_INTERVAL == 0 && !poll()) {
+            return false;
+        }
+        examined++;
+        return true;
+    }
+
+    /**
+     * Returns true if the specified contact entry matches the specified criteria. A regular expression reads 
+     * the string representation of the contact entry through a guard which polls the deadline and the 
+     * cancellation token, so a runaway match is stopped. Returns false, recording the reason, if the search 
+     * was stopped while matching.
+     * <p>
+     * @param criteria the search criteria
+     * @param ce the contact entry
+     * @return true if the contact entry matches the criteria and the search was not stopped
+     */
+    boolean matches(SearchCriteria criteria, ContactEntry ce) {
+        try {
+            return evaluate(criteria, ce);
+        } catch (Exhausted e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns true if the specified contact entry matches the specified criteria. A compiled criteria is 
+     * evaluated through its source, since its compiled predicate would run a regular expression unguarded.
+     * <p>
+     * @param criteria the search criteria
+     * @param ce the contact entry
+     * @return true if the contact entry matches the criteria
+     */
+    private boolean evaluate(SearchCriteria criteria, ContactEntry ce) {
+        if (criteria instanceof Compiled) {
+            return evaluate(((Compiled) criteria).getSource(), ce);
+        }
+        if (criteria instanceof And) {
+            for (SearchCriteria sc : ((And) criteria).getCriterias()) {
+                if (!evaluate(sc, ce)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (criteria instanceof Or) {
+            for (SearchCriteria sc : ((Or) criteria).getCriterias()) {
+                if (evaluate(sc, ce)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (criteria instanceof Regex) {
+            return ((Regex) criteria).getPattern().matcher(new Guard(ce.toString())).find();
+        }
+        return criteria.matchCondition(ce);
+    }
+
+    /**
+     * Polls the deadline and the cancellation token. Returns false, recording the reason, if the search must 
+     * stop.
+     * <p>
+     * @return true if the search could go on
+     */
+    private boolean poll() {
+        truncation = control.check();
+        return truncation == Truncation.NONE;
+    }
+
+    /**
+     * The {@code Guard} class represents a string which polls the deadline and the cancellation token while 
+     * it is being read, and aborts the reading once the search must stop.
+     */
+    private class Guard implements CharSequence {
+        private final String text;
+
+        /**
+         * Initializes a newly created {@code Guard} object over the specified text.
+         * <p>
+         * @param text the guarded text
+         */
+        private Guard(String text) {
+            this.text = text;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public char charAt(int index) {
+            if (++reads % CHAR_INTERVAL == 0 && !poll()) {
+                throw EXHAUSTED;
+            }
+            return text.charAt(index);
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new Guard(text.substring(start, end));
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    /**
+     * The {@code Exhausted} class represents the signal unwinding a regular expression match which has been 
+     * stopped. It carries no stack trace, so throwing it is cheap.
+     */
+    private static class Exhausted extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        /**
+         * Initializes a newly created {@code Exhausted} object without stack trace.
+         */
+        private Exhausted() {
+            super(null, null, false, false);
+        }
+    }
+
+}
@@ -0,0 +1,40 @@
+package edu.nyu.cs.addressbook;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code CancellationToken} class represents a request to stop one or more running searches.
+ * <p>
+ * A token is handed to searches through {@link edu.nyu.cs.addressbook.SearchControl}, and could be cancelled 
+ * from any thread; the searches notice the cancellation cooperatively and return the matches found so far. 
+ * A cancelled token stays cancelled.
+ * <p>
+ * {@code CancellationToken} objects are thread-safe.
+ */
+public class CancellationToken {
+    private volatile boolean cancelled;
+
+    /**
+     * Initializes a newly created {@code CancellationToken} object which is not cancelled.
+     */
+    public CancellationToken() {
+
+    }
+
+    /**
+     * Cancels the searches using this token.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns true if this token has been cancelled.
+     * <p>
+     * @return true if this token has been cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+}
@@ -0,0 +1,677 @@
+package edu.nyu.cs.addressbook;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.component.util.State;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.search.impl.Compiled;
+import edu.nyu.cs.addressbook.search.impl.ContactField;
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code ColumnarContact} class represents a read-only snapshot of a {@link Contact} list which is laid out
+ * column by column instead of entry by entry.
+ * <p>
+ * Every field of the contact entries is kept in its own array, indexed by row: the names and notes in
+ * {@code String} columns, the packed phone numbers (see {@link edu.nyu.cs.addressbook.component.PhoneNumber#pack()})
+ * in a {@code long} column, the zipcodes in an {@code int} column and the state ordinals in a {@code byte}
+ * column. The phone numbers, email addresses and postal addresses of row {@code r} are the elements from
+ * {@code offsets[r]} to {@code offsets[r + 1]} of their columns. The rows are in the natural order of the
+ * contact entries.
+ * <p>
+ * {@link edu.nyu.cs.addressbook.search.impl.ContactField} criteria are evaluated one column at a time over a
+ * bitmap of the rows still selected, the primitive columns first, so that a scan walks each column
+ * sequentially instead of chasing references from entry to entry. Other criteria are evaluated against
+ * contact entries materialized from the rows. The fields of a row are read without materialization through a
+ * reusable {@link Row} cursor.
+ * <p>
+ * A {@code ColumnarContact} is obtained by {@link Contact#toColumnar()}. Later changes of the contact list
+ * are not seen, and contact entries materialized from the rows are new objects, equal to but not identical
+ * with the entries of the contact list.
+ * <p>
+ * {@code ColumnarContact} objects are constant; their values could not be changed after they are created.
+ * Because {@code ColumnarContact} objects are immutable they could be shared. {@link Row} cursors are not
+ * thread-safe.
+ */
+public final class ColumnarContact {
+    private static final State[] STATES = State.values();
+
+    private final String id;
+    private final int size;
+    private final String[] firstNames;
+    private final String[] lastNames;
+    private final String[] notes;
+    private final int[] phoneOffsets;
+    private final long[] phoneNumbers;
+    private final int[] emailOffsets;
+    private final String[] usernames;
+    private final String[] domains;
+    private final int[] postalOffsets;
+    private final int[] zipCodes;
+    private final byte[] states;
+    private final String[] cities;
+    private final String[] streets;
+
+    /**
+     * Initializes a newly created {@code ColumnarContact} object so that it records the specified contact
+     * entries column by column.
+     * <p>
+     * @param id the identifier of the contact list
+     * @param entries the contact entries in natural order
+     */
+    ColumnarContact(String id, List<ContactEntry> entries) {
+        assert id != null && entries != null;
+        assert STATES.length <= Byte.MAX_VALUE;
+
+        this.id = id;
+        this.size = entries.size();
+        this.firstNames = new String[size];
+        this.lastNames = new String[size];
+        this.notes = new String[size];
+        this.phoneOffsets = new int[size + 1];
+        this.emailOffsets = new int[size + 1];
+        this.postalOffsets = new int[size + 1];
+        for (int r = 0; r < size; r++) {
+            ContactEntry ce = entries.get(r);
+            firstNames[r] = ce.getFirstName();
+            lastNames[r] = ce.getLastName();
+            notes[r] = ce.getNote();
+            phoneOffsets[r + 1] = phoneOffsets[r] + ce.getPhoneNumbers().size();
+            emailOffsets[r + 1] = emailOffsets[r] + ce.getEmailAddresses().size();
+            postalOffsets[r + 1] = postalOffsets[r] + ce.getPostalAddresses().size();
+        }
+        this.phoneNumbers = new long[phoneOffsets[size]];
+        this.usernames = new String[emailOffsets[size]];
+        this.domains = new String[emailOffsets[size]];
+        this.zipCodes = new int[postalOffsets[size]];
+        this.states = new byte[postalOffsets[size]];
+        this.cities = new String[postalOffsets[size]];
+        this.streets = new String[postalOffsets[size]];
+        for (int r = 0; r < size; r++) {
+            ContactEntry ce = entries.get(r);
+            int i = phoneOffsets[r];
+            for (PhoneNumber pn : ce.getPhoneNumbers()) {
+                phoneNumbers[i++] = pn.pack();
+            }
+            i = emailOffsets[r];
+            for (EmailAddress ea : ce.getEmailAddresses()) {
+                usernames[i] = ea.getUsername();
+                domains[i++] = ea.getDomain();
+            }
+            i = postalOffsets[r];
+            for (PostalAddress pa : ce.getPostalAddresses()) {
+                zipCodes[i] = pa.getZipCode();
+                states[i] = (byte) pa.getState().ordinal();
+                cities[i] = pa.getCity();
+                streets[i++] = pa.getStreet();
+            }
+        }
+    }
+
+    /**
+     * Returns the identifier of the contact list this snapshot was taken from.
+     * <p>
+     * @return the identifier of the contact list
+     */
+    public String getID() {
+        return id;
+    }
+
+    /**
+     * Returns the number of rows.
+     * <p>
+     * @return the number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a new cursor positioned at the specified row.
+     * <p>
+     * @param index the row
+     * @return a new cursor positioned at the row
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range
+     */
+    public Row row(int index) {
+        return new Row().moveTo(index);
+    }
+
+    /**
+     * Returns a contact entry materialized from the specified row.
+     * <p>
+     * @param index the row
+     * @return a contact entry materialized from the row
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range
+     */
+    public ContactEntry getEntry(int index) {
+        return row(index).toEntry();
+    }
+
+    /**
+     * Returns the rows, in ascending order, whose contact entries match the specified criteria. A
+     * {@link edu.nyu.cs.addressbook.search.impl.ContactField} criteria, or a
+     * {@link edu.nyu.cs.addressbook.search.impl.Compiled} one compiled from it, is evaluated over the columns;
+     * any other criteria is evaluated against materialized contact entries.
+     * <p>
+     * @param criteria the search criteria
+     * @return the matching rows in ascending order
+     */
+    public int[] rowsOf(SearchCriteria criteria) {
+        ParameterChecker.nullCheck(criteria, "criteria");
+
+        SearchCriteria source = criteria instanceof Compiled ? ((Compiled) criteria).getSource() : criteria;
+        long[] selection = new long[(size + 63) >>> 6];
+        for (int w = 0; w < selection.length; w++) {
+            selection[w] = -1L;
+        }
+        if ((size & 63) != 0) {
+            selection[selection.length - 1] = (1L << (size & 63)) - 1;
+        }
+        if (source instanceof ContactField) {
+            retain(selection, (ContactField) source);
+        } else {
+            Row row = new Row();
+            for (int r = 0; r < size; r++) {
+                if (!criteria.matchCondition(row.moveTo(r).toEntry())) {
+                    selection[r >>> 6] &= ~(1L << r);
+                }
+            }
+        }
+        int count = 0;
+        for (long word : selection) {
+            count += Long.bitCount(word);
+        }
+        int[] rows = new int[count];
+        int i = 0;
+        for (int w = 0; w < selection.length; w++) {
+            long word = selection[w];
+            while (word != 0) {
+                rows[i++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Returns the contact entries, in natural order, which match the specified criteria. The contact entries
+     * are materialized from the matching rows (see {@link #rowsOf(SearchCriteria)}).
+     * <p>
+     * @param criteria the search criteria
+     * @return the matching contact entries in natural order
+     */
+    public List<ContactEntry> search(SearchCriteria criteria) {
+        final int[] rows = rowsOf(criteria);
+        final ContactEntry[] entries = new ContactEntry[rows.length];
+        Row row = new Row();
+        for (int i = 0; i < rows.length; i++) {
+            entries[i] = row.moveTo(rows[i]).toEntry();
+        }
+        return new EntryList(entries);
+    }
+
+    /**
+     * Clears from the specified bitmap the rows which do not match the populated fields of the specified
+     * criteria. The primitive columns are tested before the {@code String} columns.
+     * <p>
+     * @param selection the bitmap of the selected rows
+     * @param cf the criteria
+     */
+    private void retain(long[] selection, final ContactField cf) {
+        if (cf.getState() != State.NONE) {
+            final byte ordinal = (byte) cf.getState().ordinal();
+            retain(selection, new RowPredicate() {
+                @Override
+                boolean test(int r) {
+                    for (int i = postalOffsets[r]; i < postalOffsets[r + 1]; i++) {
+                        if (states[i] == ordinal) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+            });
+        }
+        if (cf.getZipCode() != 0) {
+            retain(selection, new RowPredicate() {
+                @Override
+                boolean test(int r) {
+                    for (int i = postalOffsets[r]; i < postalOffsets[r + 1]; i++) {
+                        if (zipCodes[i] == cf.getZipCode()) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+            });
+        }
+        if (cf.getAreaCode() != 0) {
+            retainPhoneNumberPart(selection, PhoneNumber.AREA_CODE_SHIFT, cf.getAreaCode());
+        }
+        if (cf.getPrefix() != 0) {
+            retainPhoneNumberPart(selection, PhoneNumber.PREFIX_SHIFT, cf.getPrefix());
+        }
+        if (cf.getLineNumber() != 0) {
+            retainPhoneNumberPart(selection, PhoneNumber.LINE_NUMBER_SHIFT, cf.getLineNumber());
+        }
+        if (!cf.getLastName().equals("")) {
+            retain(selection, new RowPredicate() {
+                @Override
+                boolean test(int r) {
+                    return cf.getLastName().equals(lastNames[r]);
+                }
+            });
+        }
+        if (!cf.getFirstName().equals("")) {
+            retain(selection, new RowPredicate() {
+                @Override
+                boolean test(int r) {
+                    return cf.getFirstName().equals(firstNames[r]);
+                }
+            });
+        }
+        if (!cf.getDomain().equals("")) {
+            retain(selection, new RowPredicate() {
+                @Override
+                boolean test(int r) {
+                    return containsEqual(domains, emailOffsets[r], emailOffsets[r + 1], cf.getDomain());
+                }
+            });
+        }
+        if (!cf.getUsername().equals("")) {
+            retain(selection, new RowPredicate() {
+                @Override
+                boolean test(int r) {
+                    return containsEqual(usernames, emailOffsets[r], emailOffsets[r + 1], cf.getUsername());
+                }
+            });
+        }
+        if (!cf.getCity().equals("")) {
+            retain(selection, new RowPredicate() {
+                @Override
+                boolean test(int r) {
+                    return containsEqual(cities, postalOffsets[r], postalOffsets[r + 1], cf.getCity());
+                }
+            });
+        }
+        if (!cf.getStreet().equals("")) {
+            retain(selection, new RowPredicate() {
+                @Override
+                boolean test(int r) {
+                    for (int i = postalOffsets[r]; i < postalOffsets[r + 1]; i++) {
+                        if (streets[i].contains(cf.getStreet())) {
+                            return true;
+                        }
+                    }
+                    return false;
+                }
+            });
+        }
+        if (!cf.getNote().equals("")) {
+            retain(selection, new RowPredicate() {
+                @Override
+                boolean test(int r) {
+                    return notes[r].contains(cf.getNote());
+                }
+            });
+        }
+    }
+
+    /**
+     * Clears from the specified bitmap the rows none of whose phone numbers has the specified value in the
+     * part at the specified bit position.
+     * <p>
+     * @param selection the bitmap of the selected rows
+     * @param shift the bit position of the part
+     * @param value the value of the part
+     */
+    private void retainPhoneNumberPart(long[] selection, int shift, int value) {
+        final long mask = PhoneNumber.FIELD_MASK << shift;
+        final long target = (value & PhoneNumber.FIELD_MASK) << shift;
+        retain(selection, new RowPredicate() {
+            @Override
+            boolean test(int r) {
+                for (int i = phoneOffsets[r]; i < phoneOffsets[r + 1]; i++) {
+                    if ((phoneNumbers[i] & mask) == target) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Clears from the specified bitmap the selected rows which do not satisfy the specified predicate. Only
+     * the rows still selected are tested.
+     * <p>
+     * @param selection the bitmap of the selected rows
+     * @param predicate the predicate
+     */
+    private static void retain(long[] selection, RowPredicate predicate) {
+        for (int w = 0; w < selection.length; w++) {
+            long word = selection[w];
+            long remaining = word;
+            while (word != 0) {
+                int bit = Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (!predicate.test((w << 6) + bit)) {
+                    remaining &= ~(1L << bit);
+                }
+            }
+            selection[w] = remaining;
+        }
+    }
+
+    /**
+     * Returns true if any element of the specified column from {@code from} to {@code to} is equal to the
+     * specified string. Canonical strings are matched by identity before equality.
+     * <p>
+     * @param column the column
+     * @param from the first element, inclusive
+     * @param to the last element, exclusive
+     * @param str the string
+     * @return true if any element in the range is equal to the string
+     */
+    private static boolean containsEqual(String[] column, int from, int to, String str) {
+        for (int i = from; i < to; i++) {
+            if (column[i] == str || column[i].equals(str)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the specified position if it is within the specified count.
+     * <p>
+     * @param i the position
+     * @param count the count
+     * @return the position
+     * @throws java.lang.IndexOutOfBoundsException if the position is out of range
+     */
+    private static int checkIndex(int i, int count) {
+        if (i < 0 || i >= count) {
+            throw new IndexOutOfBoundsException("index: " + i);
+        }
+        return i;
+    }
+
+    /**
+     * Returns string representation of this {@code ColumnarContact} object. The string representation
+     * consists of the identifier and the number of rows.
+     * <p>
+     * @return a string representation of this {@code ColumnarContact} object
+     */
+    @Override
+    public String toString() {
+        return id + " (" + size + " rows)";
+    }
+
+    /**
+     * The {@code RowPredicate} class represents a test of a row.
+     */
+    private abstract static class RowPredicate {
+
+        /**
+         * Returns true if the specified row satisfies this predicate.
+         * <p>
+         * @param r the row
+         * @return true if the row satisfies this predicate
+         */
+        abstract boolean test(int r);
+
+    }
+
+    /**
+     * The {@code EntryList} class represents an unmodifiable list of materialized contact entries.
+     */
+    private static class EntryList extends AbstractList<ContactEntry> implements RandomAccess {
+        private final ContactEntry[] entries;
+
+        /**
+         * Initializes a newly created {@code EntryList} object over the specified array.
+         * <p>
+         * @param entries the contact entries
+         */
+        EntryList(ContactEntry[] entries) {
+            this.entries = entries;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ContactEntry get(int index) {
+            return entries[index];
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return entries.length;
+        }
+
+    }
+
+    /**
+     * @author shenli
+     * <p>
+     * The {@code Row} class represents a cursor over the rows of a {@link ColumnarContact}. The fields of the
+     * row the cursor is positioned at are read directly from the columns; a cursor could be moved to another
+     * row and reused, so that a scan over all rows allocates a single cursor.
+     * <p>
+     * {@code Row} objects are not constant; their position could be changed after they are created. The
+     * {@code Row} object is not thread-safe.
+     */
+    public final class Row {
+        private int index;
+
+        /**
+         * Initializes a newly created {@code Row} object positioned at the first row.
+         */
+        private Row() {
+
+        }
+
+        /**
+         * Positions this cursor at the specified row.
+         * <p>
+         * @param index the row
+         * @return this cursor
+         * @throws java.lang.IndexOutOfBoundsException if the row is out of range
+         */
+        public Row moveTo(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("index: " + index);
+            }
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * Returns the row this cursor is positioned at.
+         * <p>
+         * @return the row this cursor is positioned at
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Returns first name.
+         * <p>
+         * @return first name
+         */
+        public String getFirstName() {
+            return firstNames[index];
+        }
+
+        /**
+         * Returns last name.
+         * <p>
+         * @return last name
+         */
+        public String getLastName() {
+            return lastNames[index];
+        }
+
+        /**
+         * Returns note.
+         * <p>
+         * @return note
+         */
+        public String getNote() {
+            return notes[index];
+        }
+
+        /**
+         * Returns the number of phone numbers.
+         * <p>
+         * @return the number of phone numbers
+         */
+        public int getPhoneNumberCount() {
+            return phoneOffsets[index + 1] - phoneOffsets[index];
+        }
+
+        /**
+         * Returns the packed representation of the specified phone number (see
+         * {@link edu.nyu.cs.addressbook.component.PhoneNumber#pack()}).
+         * <p>
+         * @param i the position of the phone number
+         * @return the packed phone number
+         * @throws java.lang.IndexOutOfBoundsException if the position is out of range
+         */
+        public long getPackedPhoneNumber(int i) {
+            return phoneNumbers[phoneOffsets[index] + checkIndex(i, getPhoneNumberCount())];
+        }
+
+        /**
+         * Returns the number of email addresses.
+         * <p>
+         * @return the number of email addresses
+         */
+        public int getEmailAddressCount() {
+            return emailOffsets[index + 1] - emailOffsets[index];
+        }
+
+        /**
+         * Returns the user name of the specified email address.
+         * <p>
+         * @param i the position of the email address
+         * @return the user name
+         * @throws java.lang.IndexOutOfBoundsException if the position is out of range
+         */
+        public String getUsername(int i) {
+            return usernames[emailOffsets[index] + checkIndex(i, getEmailAddressCount())];
+        }
+
+        /**
+         * Returns the domain of the specified email address.
+         * <p>
+         * @param i the position of the email address
+         * @return the domain
+         * @throws java.lang.IndexOutOfBoundsException if the position is out of range
+         */
+        public String getDomain(int i) {
+            return domains[emailOffsets[index] + checkIndex(i, getEmailAddressCount())];
+        }
+
+        /**
+         * Returns the number of postal addresses.
+         * <p>
+         * @return the number of postal addresses
+         */
+        public int getPostalAddressCount() {
+            return postalOffsets[index + 1] - postalOffsets[index];
+        }
+
+        /**
+         * Returns the zipcode of the specified postal address.
+         * <p>
+         * @param i the position of the postal address
+         * @return the zipcode
+         * @throws java.lang.IndexOutOfBoundsException if the position is out of range
+         */
+        public int getZipCode(int i) {
+            return zipCodes[postalOffsets[index] + checkIndex(i, getPostalAddressCount())];
+        }
+
+        /**
+         * Returns the state of the specified postal address.
+         * <p>
+         * @param i the position of the postal address
+         * @return the state
+         * @throws java.lang.IndexOutOfBoundsException if the position is out of range
+         */
+        public State getState(int i) {
+            return STATES[states[postalOffsets[index] + checkIndex(i, getPostalAddressCount())]];
+        }
+
+        /**
+         * Returns the city of the specified postal address.
+         * <p>
+         * @param i the position of the postal address
+         * @return the city
+         * @throws java.lang.IndexOutOfBoundsException if the position is out of range
+         */
+        public String getCity(int i) {
+            return cities[postalOffsets[index] + checkIndex(i, getPostalAddressCount())];
+        }
+
+        /**
+         * Returns the street of the specified postal address.
+         * <p>
+         * @param i the position of the postal address
+         * @return the street
+         * @throws java.lang.IndexOutOfBoundsException if the position is out of range
+         */
+        public String getStreet(int i) {
+            return streets[postalOffsets[index] + checkIndex(i, getPostalAddressCount())];
+        }
+
+        /**
+         * Returns a contact entry materialized from the row this cursor is positioned at.
+         * <p>
+         * @return a contact entry materialized from the row
+         */
+        public ContactEntry toEntry() {
+            ContactEntry.ContactEntryBuilder builder =
+                    new ContactEntry.ContactEntryBuilder(getFirstName(), getLastName()).note(getNote());
+            for (int i = 0; i < getPhoneNumberCount(); i++) {
+                builder.phoneNumber(PhoneNumber.valueOf(getPackedPhoneNumber(i)));
+            }
+            for (int i = 0; i < getEmailAddressCount(); i++) {
+                builder.emailAddress(new EmailAddress(getUsername(i), getDomain(i)));
+            }
+            for (int i = 0; i < getPostalAddressCount(); i++) {
+                builder.postalAddress(new PostalAddress.PostalAddressBuilder()
+                        .zipCode(getZipCode(i)).state(getState(i)).city(getCity(i)).street(getStreet(i)).build());
+            }
+            return builder.build();
+        }
+
+        /**
+         * Returns string representation of the row this cursor is positioned at, in the format of
+         * {@link ContactEntry#toString()}.
+         * <p>
+         * @return a string representation of the row
+         */
+        @Override
+        public String toString() {
+            return toEntry().toString();
+        }
+
+    }
+
+}
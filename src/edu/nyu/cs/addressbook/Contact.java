@@ -1,10 +1,27 @@
 package edu.nyu.cs.addressbook;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
-import java.util.LinkedList;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.search.impl.And;
+import edu.nyu.cs.addressbook.search.impl.Compiled;
+import edu.nyu.cs.addressbook.search.impl.NonNull;
+import edu.nyu.cs.addressbook.search.impl.Or;
 import edu.nyu.cs.addressbook.utils.ParameterChecker;
 
 /**
@@ -18,9 +35,21 @@ import edu.nyu.cs.addressbook.utils.ParameterChecker;
  * {@code Contact} objects are not constant; their values can be changed after they are created. Because 
  * {@code Contact} objects are implemented by synchronized list they can be shared.
  */
-public class Contact implements Iterable<ContactEntry>, Comparable<Contact> {
-    private final List<ContactEntry> contacts = Collections.synchronizedList(new LinkedList<ContactEntry>());;
+public class Contact implements Iterable<ContactEntry>, Comparable<Contact>, AutoCloseable {
+    /**
+     * The maximum number of candidates examined by {@link #scan(ScanCursor, SearchCriteria, int, List)} per 
+     * hold of the lock.
+     */
+    static final int SCAN_BATCH = 256;
+    
+    private final List<ContactEntry> contacts = Collections.synchronizedList(new ArrayList<ContactEntry>());
+    private final List<ContactListener> listeners = new CopyOnWriteArrayList<>();
+    private final List<SearchIndex> indexes = new CopyOnWriteArrayList<>();
+    private final ContactListener dispatcher = new Dispatcher();
+    private final EntryIds entryIds = new EntryIds();
+    private final EntryChanges entryChanges = new EntryChanges();
     private final String id;
+    private volatile SearchCache cache;
     private volatile int hashCode;
     
     /**
@@ -56,25 +85,147 @@ public class Contact implements Iterable<ContactEntry>, Comparable<Contact> {
         return Collections.unmodifiableList(contacts);
     }
     
+    /**
+     * Returns a column-oriented snapshot of this {@code Contact} list, for scan-heavy analytics. The snapshot 
+     * is taken while holding the lock of the contact entry list; later changes are not seen.
+     * <p>
+     * @return a column-oriented snapshot of this {@code Contact} list
+     */
+    public ColumnarContact toColumnar() {
+        synchronized (contacts) {
+            return new ColumnarContact(id, contacts);
+        }
+    }
+    
+    /**
+     * Returns an immutable snapshot of this {@code Contact} list which is kept outside of the Java heap, for 
+     * large read-only lists. The snapshot is taken while holding the lock of the contact entry list; later 
+     * changes are not seen.
+     * <p>
+     * @return an off-heap snapshot of this {@code Contact} list
+     */
+    public FrozenContact freeze() {
+        synchronized (contacts) {
+            return new FrozenContact(id, contacts);
+        }
+    }
+    
+    /**
+     * Returns the id of the specified contact entry in this {@code Contact} list, or -1 if the contact entry 
+     * is not in this list. Contact entries are told apart by identity, not by equality.
+     * <p>
+     * Every contact entry is assigned an {@code int} id when it is added, which does not change while it stays 
+     * in this list, whatever its position. Once a contact entry has been removed, its id could be recycled for 
+     * a contact entry added later, so the ids stay dense. The ids are persisted by 
+     * {@link ContactUtil#save(java.io.OutputStream, Contact)}.
+     * <p>
+     * @param ce the contact entry
+     * @return the id of the contact entry, or -1 if it is not in this list
+     */
+    public int idOf(ContactEntry ce) {
+        ParameterChecker.nullCheck(ce, "contact entry");
+        
+        synchronized (contacts) {
+            return entryIds.idOf(ce);
+        }
+    }
+    
+    /**
+     * Returns the contact entry with the specified id in this {@code Contact} list, or null if no contact entry 
+     * has the id (see {@link #idOf(ContactEntry)}).
+     * <p>
+     * @param entryId the id
+     * @return the contact entry with the id, or null
+     */
+    public ContactEntry getEntry(int entryId) {
+        synchronized (contacts) {
+            return entryIds.entryOf(entryId);
+        }
+    }
+    
+    /**
+     * Returns the bound of the ids of this {@code Contact} list: the number of contact entries plus the number 
+     * of free ids. Every id below the bound is either assigned or free, and no id above it is assigned.
+     * <p>
+     * @return the bound of the ids
+     */
+    int entryIdBound() {
+        synchronized (contacts) {
+            return entryIds.bound();
+        }
+    }
+    
+    /**
+     * Raises the bound of the ids of this {@code Contact} list to the specified value, as when restoring 
+     * persisted ids, so that contact entries could be added with any id below it (see 
+     * {@link #add(ContactEntry, int)}). The caller is responsible for the value being sane.
+     * <p>
+     * @param bound the new bound
+     */
+    void reserveEntryIds(int bound) {
+        synchronized (contacts) {
+            entryIds.reserve(bound);
+        }
+    }
+    
+    /**
+     * Returns the free ids below the bound of the ids of this {@code Contact} list, in ascending order.
+     * <p>
+     * @return the free ids
+     */
+    int[] freeEntryIds() {
+        synchronized (contacts) {
+            return entryIds.freeIds();
+        }
+    }
+    
     /**
      * Inserts the specified element at the specified position (lexicographical order) in this {@code Contact} 
      * list (optional operation). Shifts the element currently at that position (if any) and any subsequent 
      * elements to the right (adds one to their indices). The contact entry list will refuse to add null elements.
      * <p>
+     * The element is assigned a stable id (see {@link #idOf(ContactEntry)}).
+     * <p>
      * @param ce element to be inserted
      */
     public void add(ContactEntry ce) {
+        add(ce, -1);
+    }
+    
+    /**
+     * Inserts the specified element as {@link #add(ContactEntry)} does, with the specified id, as when 
+     * restoring persisted ids. A negative id assigns the next free id.
+     * <p>
+     * @param ce element to be inserted
+     * @param entryId the id of the element, or a negative value
+     * @throws IllegalArgumentException if the id is assigned to another element, or lies beyond the bound of 
+     * the ids (see {@link #reserveEntryIds(int)})
+     */
+    void add(ContactEntry ce, int entryId) {
         ParameterChecker.nullCheck(ce, "contact entry");
         
-        int index = 0;
-        for (ContactEntry tmp : contacts) {
-            if (tmp.compareTo(ce) > 0) {
-                break;
+        synchronized (contacts) {
+            int assigned;
+            if (entryId < 0) {
+                assigned = entryIds.assign(ce);
             } else {
-                index++;
+                assigned = entryIds.assign(ce, entryId);
+            }
+            entryChanges.changed(assigned);
+            int low = 0;
+            int high = contacts.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (contacts.get(mid).compareTo(ce) > 0) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
             }
+            contacts.add(low, ce);
+            ce.addObserver(dispatcher);
+            dispatcher.entryAdded(ce);
         }
-        contacts.add(index, ce);
     }
     
     /**
@@ -82,7 +233,11 @@ public class Contact implements Iterable<ContactEntry>, Comparable<Contact> {
      * will be empty after this call returns. 
      */
     public void clear() {
-        contacts.clear();
+        synchronized (contacts) {
+            while (!contacts.isEmpty()) {
+                detach(contacts.remove(contacts.size() - 1));
+            }
+        }
     }
     
     /**
@@ -99,7 +254,804 @@ public class Contact implements Iterable<ContactEntry>, Comparable<Contact> {
     public boolean remove(ContactEntry ce) {
         ParameterChecker.nullCheck(ce, "contact entry");
         
-        return contacts.remove(ce);
+        synchronized (contacts) {
+            int low = lowerBound(ce);
+            if (low == contacts.size() || !contacts.get(low).equals(ce)) {
+                return false;
+            }
+            detach(contacts.remove(low));
+            return true;
+        }
+    }
+    
+    /**
+     * Removes the contact entry with the specified id from this {@code Contact} list, if there is one. Unlike 
+     * {@link #remove(ContactEntry)}, the contact entry is told apart by identity from equal ones.
+     * <p>
+     * @param entryId the id
+     * @return true if this contact entry list contained a contact entry with the id
+     */
+    boolean removeEntry(int entryId) {
+        synchronized (contacts) {
+            ContactEntry ce = entryIds.entryOf(entryId);
+            if (ce == null) {
+                return false;
+            }
+            for (int i = lowerBound(ce); i < contacts.size(); i++) {
+                if (contacts.get(i) == ce) {
+                    detach(contacts.remove(i));
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+    
+    /**
+     * Returns true if contact entries have been added, modified or removed since this {@code Contact} list was 
+     * last loaded or saved by {@link ContactUtil}. The changes are tracked by contact entry id (see 
+     * {@link #idOf(ContactEntry)}), so that {@link ContactUtil#saveDelta(java.io.OutputStream, Contact)} writes 
+     * only the changed contact entries.
+     * <p>
+     * @return true if this {@code Contact} list has unsaved changes
+     */
+    public boolean isDirty() {
+        synchronized (contacts) {
+            return !entryChanges.isEmpty();
+        }
+    }
+    
+    /**
+     * Returns true if the contact entry with the specified id has been removed since this {@code Contact} list 
+     * was last loaded or saved, and the id has not been recycled since.
+     * <p>
+     * @param entryId the id
+     * @return true if the contact entry with the id has been removed and not saved yet
+     */
+    public boolean isDeleted(int entryId) {
+        synchronized (contacts) {
+            return entryChanges.isDeleted(entryId);
+        }
+    }
+    
+    /**
+     * Takes the changes of this {@code Contact} list since it was last loaded or saved, which are then 
+     * forgotten, and marks the changed contact entries as clean.
+     * <p>
+     * @return the changes
+     */
+    EntryChanges.Delta takeChanges() {
+        synchronized (contacts) {
+            return entryChanges.take(entryIds);
+        }
+    }
+    
+    /**
+     * Forgets the changes of this {@code Contact} list, as when it has just been loaded or saved.
+     */
+    void markClean() {
+        takeChanges();
+    }
+    
+    /**
+     * Records again the specified changes, which have been taken by {@link #takeChanges()} but could not be 
+     * saved.
+     * <p>
+     * @param delta the changes
+     */
+    void restoreChanges(EntryChanges.Delta delta) {
+        synchronized (contacts) {
+            entryChanges.restore(delta, entryIds);
+        }
+    }
+    
+    /**
+     * Records that the specified contact entry has been modified. The caller must hold the lock of the contact 
+     * entry list.
+     * <p>
+     * @param ce the contact entry
+     */
+    private void changed(ContactEntry ce) {
+        int entryId = entryIds.idOf(ce);
+        if (entryId >= 0) {
+            entryChanges.changed(entryId);
+        }
+    }
+    
+    /**
+     * Stops observing the specified contact entry which has just been removed from this {@code Contact} list, 
+     * and informs the registered listeners. The id of the contact entry is released afterwards, so that the 
+     * indexes could still find it.
+     * <p>
+     * @param ce the removed contact entry
+     */
+    private void detach(ContactEntry ce) {
+        ce.removeObserver(dispatcher);
+        dispatcher.entryRemoved(ce);
+        int released = entryIds.remove(ce);
+        if (released >= 0) {
+            entryChanges.removed(released);
+        }
+    }
+    
+    /**
+     * Registers the specified listener to be informed of changes of this {@code Contact} list and of its 
+     * contact entries. The listener is first informed of every contact entry currently in this {@code Contact} 
+     * list, as if each had just been added, so that it could build its state from scratch.
+     * <p>
+     * @param cl the listener
+     */
+    public void addListener(ContactListener cl) {
+        ParameterChecker.nullCheck(cl, "listener");
+        
+        synchronized (contacts) {
+            listeners.add(cl);
+            for (ContactEntry ce : contacts) {
+                cl.entryAdded(ce);
+            }
+        }
+    }
+    
+    /**
+     * Removes the specified listener, if it is registered. Returns true if the listener was registered.
+     * <p>
+     * @param cl the listener
+     * @return true if the listener was registered
+     */
+    public boolean removeListener(ContactListener cl) {
+        ParameterChecker.nullCheck(cl, "listener");
+        
+        synchronized (contacts) {
+            return listeners.remove(cl);
+        }
+    }
+    
+    /**
+     * Removes the specified listener if this {@code Contact} list has no unsaved changes (see 
+     * {@link #isDirty()}). Checking and removing happen under the lock of the contact entry list, so no change 
+     * could slip in between.
+     * <p>
+     * @param cl the listener
+     * @return true if the listener was registered and has been removed
+     */
+    boolean removeListenerIfClean(ContactListener cl) {
+        synchronized (contacts) {
+            return entryChanges.isEmpty() && listeners.remove(cl);
+        }
+    }
+    
+    /**
+     * Registers the specified index, which is first built from the contact entries currently in this 
+     * {@code Contact} list and then kept up to date on every change. Searches ask every registered index to 
+     * narrow the criteria before scanning. The index is attached to the ids of the contact entries of this 
+     * {@code Contact} list (see {@link SearchIndex#attach(EntryIds)}), so it could not be registered again, 
+     * neither here nor with another {@code Contact} list.
+     * <p>
+     * @param si the index
+     * @throws IllegalArgumentException if the index has already been registered
+     */
+    public void addIndex(SearchIndex si) {
+        ParameterChecker.nullCheck(si, "index");
+        
+        synchronized (contacts) {
+            si.attach(entryIds);
+            addListener(si);
+            indexes.add(si);
+        }
+    }
+    
+    /**
+     * Removes the specified index, if it is registered. Returns true if the index was registered.
+     * <p>
+     * @param si the index
+     * @return true if the index was registered
+     */
+    public boolean removeIndex(SearchIndex si) {
+        ParameterChecker.nullCheck(si, "index");
+        
+        synchronized (contacts) {
+            return indexes.remove(si) && listeners.remove(si);
+        }
+    }
+    
+    /**
+     * Enables caching of search results with the specified maximum weight, and returns the cache so that its 
+     * counters could be read. Any previously enabled cache is discarded.
+     * <p>
+     * While the cache is enabled, {@code search} methods compute and cache every match of a criteria which has 
+     * no up-to-date cached result, and serve later searches with an equal criteria from the cache until a 
+     * change of the contact entries could alter the result. See {@link edu.nyu.cs.addressbook.SearchCache}.
+     * <p>
+     * @param maximumWeight the maximum total weight of the cached results, in bytes
+     * @return the enabled search cache
+     * @throws IllegalArgumentException if maximum weight is negative
+     */
+    public SearchCache enableSearchCache(long maximumWeight) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException("maximum weight: " + maximumWeight);
+        }
+        
+        synchronized (contacts) {
+            disableSearchCache();
+            SearchCache sc = new SearchCache(maximumWeight);
+            listeners.add(sc);
+            cache = sc;
+            return sc;
+        }
+    }
+    
+    /**
+     * Disables caching of search results, discarding the cached results.
+     */
+    public void disableSearchCache() {
+        synchronized (contacts) {
+            SearchCache sc = cache;
+            if (sc != null) {
+                listeners.remove(sc);
+                sc.clear();
+                cache = null;
+            }
+        }
+    }
+    
+    /**
+     * Returns the enabled search cache, or null if caching of search results is disabled.
+     * <p>
+     * @return the enabled search cache, or null if caching of search results is disabled
+     */
+    public SearchCache getSearchCache() {
+        return cache;
+    }
+    
+    /**
+     * Returns all contact entries which match the specified criteria, in the natural order of this 
+     * {@code Contact} list (last name, then first name).
+     * <p>
+     * @param criteria the search criteria
+     * @return a list of all contact entries which match the specified criteria
+     */
+    public List<ContactEntry> search(SearchCriteria criteria) {
+        return search(criteria, Integer.MAX_VALUE, null);
+    }
+    
+    /**
+     * Returns at most {@code limit} contact entries which match the specified criteria, in the natural order 
+     * of this {@code Contact} list (last name, then first name). The search stops as soon as {@code limit} 
+     * matches have been found.
+     * <p>
+     * @param criteria the search criteria
+     * @param limit the maximum number of contact entries to be returned
+     * @return a list of at most {@code limit} contact entries which match the specified criteria
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public List<ContactEntry> search(SearchCriteria criteria, int limit) {
+        return search(criteria, limit, null);
+    }
+    
+    /**
+     * Returns the first {@code limit} contact entries which match the specified criteria, ordered by the 
+     * specified comparator. Entries which the comparator considers equal are ordered by the natural order of 
+     * this {@code Contact} list.
+     * <p>
+     * If the comparator is null or {@link java.util.Comparator#naturalOrder()}, the requested order is the 
+     * order this {@code Contact} list is kept in, so the search stops as soon as {@code limit} matches have 
+     * been found. Otherwise every entry is examined, but only the best {@code limit} matches are retained in a 
+     * bounded heap, so the memory used is proportional to {@code limit} rather than to the number of matches.
+     * <p>
+     * If the search cache is enabled, it is looked up before any candidate list is planned. On a miss, a 
+     * search in natural order which stops at {@code limit} matches is not cached, as it may have seen only 
+     * part of the matches; every other search examines all candidates, and its complete matches are cached.
+     * <p>
+     * @param criteria the search criteria
+     * @param limit the maximum number of contact entries to be returned
+     * @param comparator the order of the returned list, or null for the natural order
+     * @return a list of at most {@code limit} contact entries which match the specified criteria
+     * @throws IllegalArgumentException if limit is negative
+     */
+    public List<ContactEntry> search(
+            SearchCriteria criteria, int limit, Comparator<? super ContactEntry> comparator) {
+        ParameterChecker.nullCheck(criteria, "criteria");
+        ParameterChecker.rangeCheck(limit, Integer.MAX_VALUE, "limit");
+        
+        if (limit == 0) {
+            return new ArrayList<>();
+        }
+        boolean natural = comparator == null || comparator == Comparator.naturalOrder();
+        synchronized (contacts) {
+            SearchCache sc = cache;
+            int[] ids = sc == null ? null : sc.get(criteria);
+            if (ids == null && sc != null && !natural) {
+                ids = idsOf(searchInNaturalOrder(candidatesOf(criteria), criteria, Integer.MAX_VALUE));
+                sc.put(criteria, ids);
+            }
+            if (ids != null) {
+                List<ContactEntry> matches = entriesOf(ids);
+                return natural ? searchInNaturalOrder(matches, NonNull.INSTANCE, limit) 
+                        : searchInOrder(matches, NonNull.INSTANCE, limit, comparator);
+            }
+            List<ContactEntry> candidates = candidatesOf(criteria);
+            if (!natural) {
+                return searchInOrder(candidates, criteria, limit, comparator);
+            }
+            List<ContactEntry> result = searchInNaturalOrder(candidates, criteria, limit);
+            if (sc != null && result.size() < limit) {
+                sc.put(criteria, idsOf(result));
+            }
+            return result;
+        }
+    }
+    
+    /**
+     * Returns the contact entries which match the specified criteria within the limits of the specified search 
+     * control, in the natural order of this {@code Contact} list.
+     * <p>
+     * The deadline, the cancellation token and the maximum number of examined contact entries are checked 
+     * cooperatively, including while a {@link edu.nyu.cs.addressbook.search.impl.Regex} criteria is matching. 
+     * If a limit is hit, the matches found so far are returned and the result is flagged as truncated. The 
+     * search cache is bypassed.
+     * <p>
+     * @param criteria the search criteria
+     * @param control the search control
+     * @return the matches found, and whether the search was truncated
+     */
+    public SearchResult search(SearchCriteria criteria, SearchControl control) {
+        ParameterChecker.nullCheck(criteria, "criteria");
+        ParameterChecker.nullCheck(control, "search control");
+        
+        Budget budget = new Budget(control);
+        List<ContactEntry> result = new ArrayList<>();
+        synchronized (contacts) {
+            for (ContactEntry ce : candidatesOf(criteria)) {
+                if (!budget.examine()) {
+                    break;
+                }
+                if (budget.matches(criteria, ce)) {
+                    result.add(ce);
+                }
+            }
+        }
+        return new SearchResult(result, budget.getTruncation(), budget.getExamined());
+    }
+    
+    /**
+     * Returns how a search for the specified criteria would be executed, without executing it: the access path 
+     * chosen among the registered indexes, and the tree of criteria evaluated against every candidate.
+     * <p>
+     * @param criteria the search criteria
+     * @return the explanation of the search
+     */
+    public Explanation explain(SearchCriteria criteria) {
+        ParameterChecker.nullCheck(criteria, "criteria");
+        
+        synchronized (contacts) {
+            Access access = accessOf(criteria);
+            return new Explanation(describe(access), access == null ? contacts.size() : access.entries.size(), 
+                    Explanation.nodeOf(criteria), false, 0, 0);
+        }
+    }
+    
+    /**
+     * Executes a search for the specified criteria and returns its profile: the explanation of 
+     * {@link #explain(SearchCriteria)} with the number of evaluations, the pass rate and the estimated 
+     * cumulative nanoseconds of every criteria node. The search cache is bypassed.
+     * <p>
+     * @param criteria the search criteria
+     * @return the profiled explanation of the search
+     */
+    public Explanation profile(SearchCriteria criteria) {
+        ParameterChecker.nullCheck(criteria, "criteria");
+        
+        synchronized (contacts) {
+            long start = System.nanoTime();
+            Access access = accessOf(criteria);
+            List<ContactEntry> candidates = access == null ? contacts : access.entries;
+            Explanation.Node root = Explanation.nodeOf(criteria);
+            int matches = 0;
+            for (ContactEntry ce : candidates) {
+                if (root.evaluate(ce)) {
+                    matches++;
+                }
+            }
+            return new Explanation(describe(access), candidates.size(), root, true, matches, 
+                    System.nanoTime() - start);
+        }
+    }
+    
+    /**
+     * Returns a description of the specified access path. The caller must hold the lock of the contact entry 
+     * list.
+     * <p>
+     * @param access the access path, or null for a full scan
+     * @return a description of the access path
+     */
+    private String describe(Access access) {
+        return access == null ? "full scan -> " + contacts.size() + " candidates" : access.describe();
+    }
+    
+    /**
+     * Returns, for each of the specified criteria in order, all contact entries which match it, in the natural
+     * order of this {@code Contact} list.
+     * <p>
+     * The contact entry list is walked once for the whole batch rather than once per criteria. Values several
+     * criteria depend on, such as the string representation of an entry, are derived once per entry, and the
+     * result of equal criteria or equal sub-criteria is computed once per entry and shared.
+     * <p>
+     * @param criterias the batch of search criteria
+     * @return a list holding, for each criteria, the list of contact entries which match it
+     */
+    public List<List<ContactEntry>> searchAll(List<SearchCriteria> criterias) {
+        ParameterChecker.nullCheck(criterias, "criterias");
+        for (SearchCriteria sc : criterias) {
+            ParameterChecker.nullCheck(sc, "criteria");
+        }
+
+        SharedScan scan = new SharedScan(new ArrayList<>(criterias));
+        synchronized (contacts) {
+            return scan.scan(contacts);
+        }
+    }
+
+    /**
+     * Returns a future of all contact entries which match the specified criteria, in the natural order of this 
+     * {@code Contact} list. The search runs on {@link java.util.concurrent.ForkJoinPool#commonPool()}.
+     * <p>
+     * @param criteria the search criteria
+     * @return a future of the list of all contact entries which match the specified criteria
+     */
+    public CompletableFuture<List<ContactEntry>> searchAsync(SearchCriteria criteria) {
+        return searchAsync(criteria, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns a future of all contact entries which match the specified criteria, in the natural order of this 
+     * {@code Contact} list. The search runs on the specified executor, so the caller is never blocked.
+     * <p>
+     * @param criteria the search criteria
+     * @param executor the executor which runs the search
+     * @return a future of the list of all contact entries which match the specified criteria
+     */
+    public CompletableFuture<List<ContactEntry>> searchAsync(final SearchCriteria criteria, Executor executor) {
+        ParameterChecker.nullCheck(criteria, "criteria");
+        ParameterChecker.nullCheck(executor, "executor");
+        
+        return CompletableFuture.supplyAsync(new Supplier<List<ContactEntry>>() {
+            @Override
+            public List<ContactEntry> get() {
+                return search(criteria);
+            }
+        }, executor);
+    }
+
+    /**
+     * Returns a publisher of the contact entries which match the specified criteria, in the natural order of 
+     * this {@code Contact} list. Every subscriber gets its own search, which runs on the specified executor 
+     * and examines the contact entries only as far as the subscriber's demand requires, so large results are 
+     * streamed without being buffered. If no registered index could narrow the criteria, a subscription walks 
+     * this {@code Contact} list itself, resuming after the last contact entry it examined, so it sees the 
+     * contact entries added or removed ahead of it; otherwise it walks the candidate list the index returned 
+     * on its first request. The search cache is bypassed.
+     * <p>
+     * @param criteria the search criteria
+     * @param executor the executor which runs the searches
+     * @return a publisher of the contact entries which match the specified criteria
+     */
+    public Flow.Publisher<ContactEntry> publish(SearchCriteria criteria, Executor executor) {
+        ParameterChecker.nullCheck(criteria, "criteria");
+        ParameterChecker.nullCheck(executor, "executor");
+        
+        return new SearchPublisher(this, criteria, executor);
+    }
+
+    /**
+     * Returns a cursor positioned before the first candidate for the specified criteria: over the candidate 
+     * list offered by the registered indexes, or over this {@code Contact} list itself if no index could narrow 
+     * the criteria. Nothing is copied.
+     * <p>
+     * @param criteria the search criteria
+     * @return a cursor before the first candidate
+     */
+    ScanCursor cursor(SearchCriteria criteria) {
+        synchronized (contacts) {
+            Access access = accessOf(criteria);
+            return new ScanCursor(access == null ? null : access.entries);
+        }
+    }
+
+    /**
+     * Examines the candidates following the specified cursor while holding the lock of the contact entry list, 
+     * adding those which match the specified criteria to the specified list, until {@code limit} matches have 
+     * been added or {@link #SCAN_BATCH} candidates have been examined, and advances the cursor past them.
+     * <p>
+     * A cursor over this {@code Contact} list resumes after the last contact entry it examined, found by binary 
+     * search, as the list could have changed since.
+     * <p>
+     * @param cursor the cursor
+     * @param criteria the search criteria
+     * @param limit the maximum number of matches to be added
+     * @param matches the list the matches are added to
+     */
+    void scan(ScanCursor cursor, SearchCriteria criteria, int limit, List<ContactEntry> matches) {
+        synchronized (contacts) {
+            List<ContactEntry> candidates = cursor.candidates == null ? contacts : cursor.candidates;
+            int i = cursor.position;
+            if (cursor.candidates == null && cursor.last != null) {
+                i = lowerBound(cursor.last);
+                for (int skipped = 0; skipped < cursor.equalSeen && i < contacts.size() 
+                        && contacts.get(i).compareTo(cursor.last) == 0; skipped++) {
+                    i++;
+                }
+            }
+            int to = Math.min(candidates.size(), i + SCAN_BATCH);
+            int found = 0;
+            while (i < to && found < limit) {
+                ContactEntry ce = candidates.get(i++);
+                if (cursor.last != null && ce.compareTo(cursor.last) == 0) {
+                    cursor.equalSeen++;
+                } else {
+                    cursor.last = ce;
+                    cursor.equalSeen = 1;
+                }
+                if (criteria.matchCondition(ce)) {
+                    matches.add(ce);
+                    found++;
+                }
+            }
+            cursor.position = i;
+            cursor.exhausted = i >= candidates.size();
+        }
+    }
+
+    /**
+     * Returns the contact entries, in natural order, which might match the specified criteria: the smallest
+     * candidate list offered by the registered indexes, or the whole contact entry list if no index could 
+     * narrow the criteria. The caller must hold the lock of the contact entry list.
+     * <p>
+     * @param criteria the search criteria
+     * @return the candidate contact entries in natural order
+     */
+    private List<ContactEntry> candidatesOf(SearchCriteria criteria) {
+        Access access = accessOf(criteria);
+        return access == null ? contacts : access.entries;
+    }
+    
+    /**
+     * Returns the smallest candidate list offered by the registered indexes for the specified criteria, 
+     * together with the way it was obtained, or null if no index could narrow the criteria. An 
+     * {@link edu.nyu.cs.addressbook.search.impl.And} criteria is narrowed by its most selective child; an 
+     * {@link edu.nyu.cs.addressbook.search.impl.Or} criteria is narrowed only if every child could be narrowed. 
+     * A {@link edu.nyu.cs.addressbook.search.impl.Compiled} criteria is narrowed as its source.
+     * <p>
+     * @param criteria the search criteria
+     * @return the candidate contact entries in natural order and their origin, or null if the criteria could 
+     * not be narrowed
+     */
+    private Access accessOf(SearchCriteria criteria) {
+        if (criteria instanceof Compiled) {
+            return accessOf(((Compiled) criteria).getSource());
+        }
+        Access best = null;
+        for (SearchIndex si : indexes) {
+            List<ContactEntry> candidates = si.candidates(criteria);
+            if (candidates != null) {
+                best = smaller(best, new Access(candidates, si, criteria, null));
+            }
+        }
+        if (criteria instanceof And) {
+            for (SearchCriteria sc : ((And) criteria).getCriterias()) {
+                best = smaller(best, accessOf(sc));
+            }
+        } else if (criteria instanceof Or && best == null && !((Or) criteria).getCriterias().isEmpty()) {
+            List<ContactEntry> union = new ArrayList<>();
+            List<Access> parts = new ArrayList<>();
+            for (SearchCriteria sc : ((Or) criteria).getCriterias()) {
+                Access part = accessOf(sc);
+                if (part == null) {
+                    return null;
+                }
+                union = mergeDistinct(union, part.entries);
+                parts.add(part);
+            }
+            best = new Access(union, null, criteria, parts);
+        }
+        return best;
+    }
+    
+    /**
+     * Returns the smaller of the specified candidate lists, where null stands for no narrowing at all.
+     * <p>
+     * @param a1 the first candidate list, or null
+     * @param a2 the second candidate list, or null
+     * @return the smaller candidate list, or null if both are null
+     */
+    private static Access smaller(Access a1, Access a2) {
+        if (a1 == null) {
+            return a2;
+        }
+        return a2 == null || a1.entries.size() <= a2.entries.size() ? a1 : a2;
+    }
+    
+    /**
+     * Returns the union of the specified candidate lists in natural order. A contact entry object occurs in the 
+     * result as often as in the list in which it occurs most often.
+     * <p>
+     * @param l1 the first candidate list in natural order
+     * @param l2 the second candidate list in natural order
+     * @return the union of the specified candidate lists in natural order
+     */
+    private static List<ContactEntry> mergeDistinct(List<ContactEntry> l1, List<ContactEntry> l2) {
+        List<ContactEntry> result = new ArrayList<>(l1.size() + l2.size());
+        int i = 0;
+        int j = 0;
+        while (i < l1.size() && j < l2.size()) {
+            int diff = l1.get(i).compareTo(l2.get(j));
+            if (diff < 0) {
+                result.add(l1.get(i++));
+            } else if (diff > 0) {
+                result.add(l2.get(j++));
+            } else {
+                ContactEntry key = l1.get(i);
+                List<ContactEntry> run = new ArrayList<>();
+                while (i < l1.size() && l1.get(i).compareTo(key) == 0) {
+                    run.add(l1.get(i++));
+                }
+                result.addAll(run);
+                while (j < l2.size() && l2.get(j).compareTo(key) == 0) {
+                    if (!removeIdentical(run, l2.get(j))) {
+                        result.add(l2.get(j));
+                    }
+                    j++;
+                }
+            }
+        }
+        result.addAll(l1.subList(i, l1.size()));
+        result.addAll(l2.subList(j, l2.size()));
+        return result;
+    }
+    
+    /**
+     * Removes the specified contact entry object from the specified list, comparing by identity. Returns true 
+     * if the list contained the object.
+     * <p>
+     * @param list the list
+     * @param ce the contact entry object
+     * @return true if the list contained the object
+     */
+    private static boolean removeIdentical(List<ContactEntry> list, ContactEntry ce) {
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i) == ce) {
+                list.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Returns the ids of the specified contact entries (see {@link #idOf(ContactEntry)}), in the same order. 
+     * The caller must hold the lock of the contact entry list.
+     * <p>
+     * @param matches the contact entries
+     * @return the ids of the specified contact entries
+     */
+    private int[] idsOf(List<ContactEntry> matches) {
+        int[] ids = new int[matches.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = entryIds.idOf(matches.get(i));
+        }
+        return ids;
+    }
+    
+    /**
+     * Returns the ordinal of the first contact entry which is not less than the specified contact entry. The 
+     * caller must hold the lock of the contact entry list.
+     * <p>
+     * @param ce the contact entry
+     * @return the ordinal of the first contact entry which is not less than the specified contact entry
+     */
+    private int lowerBound(ContactEntry ce) {
+        int low = 0;
+        int high = contacts.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (contacts.get(mid).compareTo(ce) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * Returns a read-only view of the contact entries with the specified ids, in the same order. The caller 
+     * must hold the lock of the contact entry list while the view is in use.
+     * <p>
+     * @param ids the ids of the contact entries
+     * @return a read-only view of the contact entries with the specified ids
+     */
+    private List<ContactEntry> entriesOf(final int[] ids) {
+        return new AbstractList<ContactEntry>() {
+            @Override
+            public ContactEntry get(int index) {
+                return entryIds.entryOf(ids[index]);
+            }
+            
+            @Override
+            public int size() {
+                return ids.length;
+            }
+        };
+    }
+    
+    /**
+     * Returns the first {@code limit} matching contact entries in natural order. Because the candidates are 
+     * in natural order, the scan terminates once enough matches have been collected.
+     * <p>
+     * @param candidates the candidate contact entries in natural order
+     * @param criteria the search criteria
+     * @param limit the maximum number of contact entries to be returned
+     * @return a list of at most {@code limit} matching contact entries in natural order
+     */
+    private static List<ContactEntry> searchInNaturalOrder(
+            Iterable<ContactEntry> candidates, SearchCriteria criteria, int limit) {
+        List<ContactEntry> result = new ArrayList<>();
+        for (ContactEntry ce : candidates) {
+            if (criteria.matchCondition(ce)) {
+                result.add(ce);
+                if (result.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the best {@code limit} matching contact entries by the specified comparator. The head of the 
+     * bounded heap is the worst entry retained so far, which is replaced whenever a better match is found.
+     * <p>
+     * @param candidates the candidate contact entries
+     * @param criteria the search criteria
+     * @param limit the maximum number of contact entries to be returned
+     * @param comparator the order of the returned list
+     * @return a list of at most {@code limit} matching contact entries sorted by the comparator
+     */
+    private static List<ContactEntry> searchInOrder(Iterable<ContactEntry> candidates, 
+            SearchCriteria criteria, int limit, Comparator<? super ContactEntry> comparator) {
+        Comparator<ContactEntry> order = tieBreak(comparator);
+        PriorityQueue<ContactEntry> heap =
+                new PriorityQueue<>(Math.min(limit, 64), Collections.reverseOrder(order));
+        for (ContactEntry ce : candidates) {
+            if (!criteria.matchCondition(ce)) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.offer(ce);
+            } else if (order.compare(ce, heap.peek()) < 0) {
+                heap.poll();
+                heap.offer(ce);
+            }
+        }
+        List<ContactEntry> result = new ArrayList<>(heap);
+        Collections.sort(result, order);
+        return result;
+    }
+    
+    /**
+     * Returns a comparator which orders by the specified comparator first, then by the natural order of 
+     * {@link edu.nyu.cs.addressbook.ContactEntry}.
+     * <p>
+     * @param comparator the primary comparator
+     * @return a comparator which breaks ties of the specified comparator by natural order
+     */
+    private static Comparator<ContactEntry> tieBreak(final Comparator<? super ContactEntry> comparator) {
+        return new Comparator<ContactEntry>() {
+            @Override
+            public int compare(ContactEntry ce1, ContactEntry ce2) {
+                int diff = comparator.compare(ce1, ce2);
+                return diff != 0 ? diff : ce1.compareTo(ce2);
+            }
+        };
     }
     
     /**
@@ -151,6 +1103,18 @@ public class Contact implements Iterable<ContactEntry>, Comparable<Contact> {
         return result;
     }
     
+    /**
+     * Releases this {@code Contact} object from {@link ContactFactory} if it is registered there, so that the 
+     * factory no longer holds it and its id could be taken again. The contact entries are kept. A book which has 
+     * been modified is written back to its file first.
+     * <p>
+     * @throws IllegalStateException if the book could not be written back, in which case it stays registered
+     */
+    @Override
+    public void close() {
+        ContactFactory.release(this);
+    }
+    
     /**
      * Returns the string representation of this {@code Contact} object. The string format is as "id: identifier\n
      * each contact entry string representation\nid: identifier\neach contact entry string representation\n ...".
@@ -185,5 +1149,184 @@ public class Contact implements Iterable<ContactEntry>, Comparable<Contact> {
         
         return id.compareTo(c.id);
     }
+    
+    /**
+     * The {@code Access} class represents a candidate list offered by the registered indexes, and how it was 
+     * obtained: either from one index for one criteria, or as the union of the candidate lists of the children 
+     * of an {@link edu.nyu.cs.addressbook.search.impl.Or} criteria.
+     */
+    private static class Access {
+        private final List<ContactEntry> entries;
+        private final SearchIndex index;
+        private final SearchCriteria criteria;
+        private final List<Access> parts;
+        
+        /**
+         * Initializes a newly created {@code Access} object.
+         * <p>
+         * @param entries the candidate contact entries in natural order
+         * @param index the index which offered the candidates, or null for a union
+         * @param criteria the criteria which was narrowed
+         * @param parts the candidate lists of the union, or null if offered by an index
+         */
+        private Access(List<ContactEntry> entries, SearchIndex index, SearchCriteria criteria, List<Access> parts) {
+            this.entries = entries;
+            this.index = index;
+            this.criteria = criteria;
+            this.parts = parts;
+        }
+        
+        /**
+         * Returns a description of how the candidate list was obtained.
+         * <p>
+         * @return a description of how the candidate list was obtained
+         */
+        private String describe() {
+            StringBuilder sb = new StringBuilder();
+            if (index != null) {
+                sb.append(index.getClass().getSimpleName() + " for " + Explanation.label(criteria));
+            } else {
+                sb.append("union of [");
+                for (int i = 0; i < parts.size(); i++) {
+                    sb.append(i == 0 ? "" : "; ").append(parts.get(i).describe());
+                }
+                sb.append("]");
+            }
+            return sb.append(" -> " + entries.size() + " candidates").toString();
+        }
+    }
+    
+    /**
+     * The {@code ScanCursor} class represents the position of a resumable scan (see 
+     * {@link Contact#scan(ScanCursor, SearchCriteria, int, List)}): the position in a candidate list offered by 
+     * the registered indexes, or, for a scan of the whole {@code Contact} list, the last contact entry examined 
+     * and the number of examined contact entries equal to it. {@code ScanCursor} objects are advanced while 
+     * holding the lock of the contact entry list, by one scan at a time.
+     */
+    static class ScanCursor {
+        private final List<ContactEntry> candidates;
+        private int position;
+        private ContactEntry last;
+        private int equalSeen;
+        private boolean exhausted;
+        
+        /**
+         * Initializes a newly created {@code ScanCursor} object before the first candidate.
+         * <p>
+         * @param candidates the candidate list offered by the registered indexes, or null to scan the whole 
+         * {@code Contact} list
+         */
+        private ScanCursor(List<ContactEntry> candidates) {
+            this.candidates = candidates;
+        }
+        
+        /**
+         * Returns true if every candidate has been examined.
+         * <p>
+         * @return true if every candidate has been examined
+         */
+        boolean isExhausted() {
+            return exhausted;
+        }
+    }
+    
+    /**
+     * @author shenli
+     * <p>
+     * The {@code Dispatcher} class forwards the changes of this {@code Contact} list and of its contact 
+     * entries to every registered {@link edu.nyu.cs.addressbook.ContactListener} while holding the lock of 
+     * the contact entry list, so that listeners observe the changes one at a time.
+     */
+    private class Dispatcher implements ContactListener {
+        
+        @Override
+        public void entryAdded(ContactEntry ce) {
+            synchronized (contacts) {
+                for (ContactListener cl : listeners) {
+                    cl.entryAdded(ce);
+                }
+            }
+        }
+        
+        @Override
+        public void entryRemoved(ContactEntry ce) {
+            synchronized (contacts) {
+                for (ContactListener cl : listeners) {
+                    cl.entryRemoved(ce);
+                }
+            }
+        }
+        
+        @Override
+        public void phoneNumberAdded(ContactEntry ce, PhoneNumber pn) {
+            synchronized (contacts) {
+                changed(ce);
+                for (ContactListener cl : listeners) {
+                    cl.phoneNumberAdded(ce, pn);
+                }
+            }
+        }
+        
+        @Override
+        public void phoneNumberRemoved(ContactEntry ce, PhoneNumber pn) {
+            synchronized (contacts) {
+                changed(ce);
+                for (ContactListener cl : listeners) {
+                    cl.phoneNumberRemoved(ce, pn);
+                }
+            }
+        }
+        
+        @Override
+        public void emailAddressAdded(ContactEntry ce, EmailAddress ea) {
+            synchronized (contacts) {
+                changed(ce);
+                for (ContactListener cl : listeners) {
+                    cl.emailAddressAdded(ce, ea);
+                }
+            }
+        }
+        
+        @Override
+        public void emailAddressRemoved(ContactEntry ce, EmailAddress ea) {
+            synchronized (contacts) {
+                changed(ce);
+                for (ContactListener cl : listeners) {
+                    cl.emailAddressRemoved(ce, ea);
+                }
+            }
+        }
+        
+        @Override
+        public void postalAddressAdded(ContactEntry ce, PostalAddress pa) {
+            synchronized (contacts) {
+                changed(ce);
+                for (ContactListener cl : listeners) {
+                    cl.postalAddressAdded(ce, pa);
+                }
+            }
+        }
+        
+        @Override
+        public void postalAddressRemoved(ContactEntry ce, PostalAddress pa) {
+            synchronized (contacts) {
+                changed(ce);
+                for (ContactListener cl : listeners) {
+                    cl.postalAddressRemoved(ce, pa);
+                }
+            }
+        }
+        
+        @Override
+        public void noteChanged(ContactEntry ce, String oldNote) {
+            synchronized (contacts) {
+                changed(ce);
+                for (ContactListener cl : listeners) {
+                    cl.noteChanged(ce, oldNote);
+                }
+            }
+        }
+        
+    }
 
 }
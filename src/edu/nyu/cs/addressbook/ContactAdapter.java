@@ -0,0 +1,88 @@
+package edu.nyu.cs.addressbook;
+
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+
+/**
+ * @author shenli
+ * <p>
+ * An abstract adapter class for receiving {@link edu.nyu.cs.addressbook.Contact} changes. The methods in this
+ * class are empty. This class exists as convenience for creating listener objects which are only interested
+ * in some of the changes.
+ */
+public abstract class ContactAdapter implements ContactListener {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void entryAdded(ContactEntry ce) {
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void entryRemoved(ContactEntry ce) {
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void phoneNumberAdded(ContactEntry ce, PhoneNumber pn) {
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void phoneNumberRemoved(ContactEntry ce, PhoneNumber pn) {
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void emailAddressAdded(ContactEntry ce, EmailAddress ea) {
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void emailAddressRemoved(ContactEntry ce, EmailAddress ea) {
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void postalAddressAdded(ContactEntry ce, PostalAddress pa) {
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void postalAddressRemoved(ContactEntry ce, PostalAddress pa) {
+
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void noteChanged(ContactEntry ce, String oldNote) {
+
+    }
+
+}
@@ -1,8 +1,10 @@
 package edu.nyu.cs.addressbook;
 
-import java.util.Collections;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.RandomAccess;
 
 import edu.nyu.cs.addressbook.builder.Builder;
 import edu.nyu.cs.addressbook.component.EmailAddress;
@@ -10,12 +12,28 @@ import edu.nyu.cs.addressbook.component.PhoneNumber;
 import edu.nyu.cs.addressbook.component.PostalAddress;
 import edu.nyu.cs.addressbook.component.util.State;
 import edu.nyu.cs.addressbook.utils.ParameterChecker;
+import edu.nyu.cs.addressbook.utils.Soundex;
 
 /**
  * @author shenli
  * <p>
  * The {@code ContactEntry} class represents contact entry information.
  * <p>
+ * The phone numbers are kept in a primitive array of their packed representations (see 
+ * {@link edu.nyu.cs.addressbook.component.PhoneNumber#pack()}), so that they take eight bytes each and are 
+ * matched by masking and comparing. {@link edu.nyu.cs.addressbook.component.PhoneNumber} objects are only 
+ * materialized when read through {@link #getPhoneNumbers()}.
+ * <p>
+ * The email addresses and postal addresses are kept in exact-size arrays as well. Empty lists share a single 
+ * empty array, which is the common case, and every mutation replaces the array by a copy of the new size. The 
+ * list getters return read-through views which are created on first use and reused afterwards, and the 
+ * {@code contains} methods walk the arrays by index without allocating.
+ * <p>
+ * The names could not be changed, so their Soundex codes are computed on first use and kept.
+ * <p>
+ * A {@code ContactEntry} is dirty once it has been modified, until the {@link edu.nyu.cs.addressbook.Contact} 
+ * list which holds it is saved or loaded (see {@link #isDirty()}).
+ * <p>
  * {@code ContactEntry} objects are not constant; their values could be changed after they are created. The 
  * {@code ContactEntry} object is not thread-safe. To use it concurrently, user must surround each method 
  * invocation with external synchronization of the users' choosing.
@@ -23,10 +41,21 @@ import edu.nyu.cs.addressbook.utils.ParameterChecker;
 public class ContactEntry implements Comparable<ContactEntry> {
     private final String firstName;
     private final String lastName;
-    private final List<PhoneNumber> phoneNumbers;
-    private final List<EmailAddress> emailAddresses;
-    private final List<PostalAddress> postalAddresses;
+    private static final long[] NO_PHONE_NUMBERS = new long[0];
+    private static final EmailAddress[] NO_EMAIL_ADDRESSES = new EmailAddress[0];
+    private static final PostalAddress[] NO_POSTAL_ADDRESSES = new PostalAddress[0];
+    
+    private long[] phoneNumbers;
+    private EmailAddress[] emailAddresses;
+    private PostalAddress[] postalAddresses;
     private String note;
+    private boolean dirty;
+    private List<ContactListener> observers;
+    private List<PhoneNumber> phoneNumberView;
+    private List<EmailAddress> emailAddressView;
+    private List<PostalAddress> postalAddressView;
+    private String firstNameSoundex;
+    private String lastNameSoundex;
     
     /**
      * @author shenli
@@ -143,9 +172,17 @@ public class ContactEntry implements Comparable<ContactEntry> {
         
         this.lastName = builder.lastName;
         this.firstName = builder.firstName;
-        this.phoneNumbers = builder.phoneNumbers;
-        this.emailAddresses = builder.emailAddresses;
-        this.postalAddresses = builder.postalAddresses;
+        this.phoneNumbers = NO_PHONE_NUMBERS;
+        if (!builder.phoneNumbers.isEmpty()) {
+            this.phoneNumbers = new long[builder.phoneNumbers.size()];
+            for (int i = 0; i < phoneNumbers.length; i++) {
+                phoneNumbers[i] = builder.phoneNumbers.get(i).pack();
+            }
+        }
+        this.emailAddresses = builder.emailAddresses.isEmpty() 
+                ? NO_EMAIL_ADDRESSES : builder.emailAddresses.toArray(NO_EMAIL_ADDRESSES);
+        this.postalAddresses = builder.postalAddresses.isEmpty() 
+                ? NO_POSTAL_ADDRESSES : builder.postalAddresses.toArray(NO_POSTAL_ADDRESSES);
         this.note = builder.note;
     }
     
@@ -167,6 +204,30 @@ public class ContactEntry implements Comparable<ContactEntry> {
         return lastName;
     }
     
+    /**
+     * Returns the Soundex code of the first name; see {@link edu.nyu.cs.addressbook.utils.Soundex}.
+     * <p>
+     * @return the Soundex code of the first name, or the empty string if it has no letter
+     */
+    public String getFirstNameSoundex() {
+        if (firstNameSoundex == null) {
+            firstNameSoundex = Soundex.encode(firstName);
+        }
+        return firstNameSoundex;
+    }
+    
+    /**
+     * Returns the Soundex code of the last name; see {@link edu.nyu.cs.addressbook.utils.Soundex}.
+     * <p>
+     * @return the Soundex code of the last name, or the empty string if it has no letter
+     */
+    public String getLastNameSoundex() {
+        if (lastNameSoundex == null) {
+            lastNameSoundex = Soundex.encode(lastName);
+        }
+        return lastNameSoundex;
+    }
+    
     /**
      * Returns an unmodifiable view of the phone number list. This method allows modules to provide users with 
      * "read-only" access to internal lists. Query operations on the returned list "read through" to the 
@@ -177,7 +238,10 @@ public class ContactEntry implements Comparable<ContactEntry> {
      * empty list
      */
     public List<PhoneNumber> getPhoneNumbers() {
-        return Collections.unmodifiableList(phoneNumbers);
+        if (phoneNumberView == null) {
+            phoneNumberView = new PhoneNumberList();
+        }
+        return phoneNumberView;
     }
     
     /**
@@ -190,7 +254,10 @@ public class ContactEntry implements Comparable<ContactEntry> {
      * empty list
      */
     public List<EmailAddress> getEmailAddresses() {
-        return Collections.unmodifiableList(emailAddresses);
+        if (emailAddressView == null) {
+            emailAddressView = new EmailAddressList();
+        }
+        return emailAddressView;
     }
     
     /**
@@ -203,7 +270,10 @@ public class ContactEntry implements Comparable<ContactEntry> {
      * empty list
      */
     public List<PostalAddress> getPostalAddresses() {
-        return Collections.unmodifiableList(postalAddresses);
+        if (postalAddressView == null) {
+            postalAddressView = new PostalAddressList();
+        }
+        return postalAddressView;
     }
     
     /**
@@ -223,7 +293,14 @@ public class ContactEntry implements Comparable<ContactEntry> {
     public void setNote(String note) {
         ParameterChecker.nullCheck(note, "note");
         
+        String oldNote = this.note;
         this.note = note;
+        dirty = true;
+        if (observers != null) {
+            for (ContactListener cl : observers) {
+                cl.noteChanged(this, oldNote);
+            }
+        }
     }
     
     /**
@@ -241,7 +318,13 @@ public class ContactEntry implements Comparable<ContactEntry> {
     public boolean addPhoneNumber(PhoneNumber pn) {
         ParameterChecker.nullCheck(pn, "phone number");
         
-        return phoneNumbers.contains(pn) ? false : phoneNumbers.add(pn);
+        if (indexOfPhoneNumber(pn.pack()) >= 0) {
+            return false;
+        }
+        phoneNumbers = Arrays.copyOf(phoneNumbers, phoneNumbers.length + 1);
+        phoneNumbers[phoneNumbers.length - 1] = pn.pack();
+        firePhoneNumberAdded(pn);
+        return true;
     }
     
     /**
@@ -259,7 +342,13 @@ public class ContactEntry implements Comparable<ContactEntry> {
     public boolean addEmailAddress(EmailAddress ea) {
         ParameterChecker.nullCheck(ea, "email address");
         
-        return emailAddresses.contains(ea) ? false : emailAddresses.add(ea);
+        if (indexOf(emailAddresses, ea) >= 0) {
+            return false;
+        }
+        emailAddresses = Arrays.copyOf(emailAddresses, emailAddresses.length + 1);
+        emailAddresses[emailAddresses.length - 1] = ea;
+        fireEmailAddressAdded(ea);
+        return true;
     }
     
     /**
@@ -277,7 +366,13 @@ public class ContactEntry implements Comparable<ContactEntry> {
     public boolean addPostalAddress(PostalAddress pa) {
         ParameterChecker.nullCheck(pa, "postal address");
         
-        return postalAddresses.contains(pa) ? false : postalAddresses.add(pa);
+        if (indexOf(postalAddresses, pa) >= 0) {
+            return false;
+        }
+        postalAddresses = Arrays.copyOf(postalAddresses, postalAddresses.length + 1);
+        postalAddresses[postalAddresses.length - 1] = pa;
+        firePostalAddressAdded(pa);
+        return true;
     }
     
     /**
@@ -286,7 +381,12 @@ public class ContactEntry implements Comparable<ContactEntry> {
      * The list will be empty after this call returns.
      */
     public void clearPhoneNumbers() {
-        phoneNumbers.clear();
+        while (phoneNumbers.length > 0) {
+            long packed = phoneNumbers[phoneNumbers.length - 1];
+            phoneNumbers = phoneNumbers.length == 1 
+                    ? NO_PHONE_NUMBERS : Arrays.copyOf(phoneNumbers, phoneNumbers.length - 1);
+            firePhoneNumberRemoved(PhoneNumber.valueOf(packed));
+        }
     }
     
     /**
@@ -295,7 +395,11 @@ public class ContactEntry implements Comparable<ContactEntry> {
      * The list will be empty after this call returns.
      */
     public void clearEmailAddresses() {
-        emailAddresses.clear();
+        while (emailAddresses.length > 0) {
+            EmailAddress ea = emailAddresses[emailAddresses.length - 1];
+            emailAddresses = remove(emailAddresses, emailAddresses.length - 1, NO_EMAIL_ADDRESSES);
+            fireEmailAddressRemoved(ea);
+        }
     }
     
     /**
@@ -304,7 +408,11 @@ public class ContactEntry implements Comparable<ContactEntry> {
      * The list will be empty after this call returns.
      */
     public void clearPostalAddresses() {
-        postalAddresses.clear();
+        while (postalAddresses.length > 0) {
+            PostalAddress pa = postalAddresses[postalAddresses.length - 1];
+            postalAddresses = remove(postalAddresses, postalAddresses.length - 1, NO_POSTAL_ADDRESSES);
+            firePostalAddressRemoved(pa);
+        }
     }
     
     /**
@@ -314,12 +422,7 @@ public class ContactEntry implements Comparable<ContactEntry> {
      * @return true if this phone number list contains the specified area code
      */
     public boolean containsAreaCode(int areaCode) {
-        for (PhoneNumber pn : phoneNumbers) {
-            if (pn.getAreaCode() == (short) areaCode) {
-                return true;
-            }
-        }
-        return false;
+        return containsPhoneNumberPart(PhoneNumber.AREA_CODE_SHIFT, areaCode);
     }
     
     /**
@@ -329,12 +432,7 @@ public class ContactEntry implements Comparable<ContactEntry> {
      * @return true if this phone number list contains the specified prefix
      */
     public boolean containsPrefix(int prefix) {
-        for (PhoneNumber pn : phoneNumbers) {
-            if (pn.getPrefix() == (short) prefix) {
-                return true;
-            }
-        }
-        return false;
+        return containsPhoneNumberPart(PhoneNumber.PREFIX_SHIFT, prefix);
     }
     
     /**
@@ -344,12 +442,7 @@ public class ContactEntry implements Comparable<ContactEntry> {
      * @return true if this phone number list contains the specified line number
      */
     public boolean containsLineNumber(int lineNumber) {
-        for (PhoneNumber pn : phoneNumbers) {
-            if (pn.getLineNumber() == (short) lineNumber) {
-                return true;
-            }
-        }
-        return false;
+        return containsPhoneNumberPart(PhoneNumber.LINE_NUMBER_SHIFT, lineNumber);
     }
     
     /**
@@ -362,8 +455,10 @@ public class ContactEntry implements Comparable<ContactEntry> {
         ParameterChecker.nullCheck(username, "user name");
         ParameterChecker.emptyCheck(username, "user name");
         
-        for (EmailAddress ea : emailAddresses) {
-            if (ea.getUsername().equals(username.toLowerCase())) {
+        String lowerCase = username.toLowerCase();
+        EmailAddress[] current = emailAddresses;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].getUsername().equals(lowerCase)) {
                 return true;
             }
         }
@@ -380,8 +475,10 @@ public class ContactEntry implements Comparable<ContactEntry> {
         ParameterChecker.nullCheck(domain, "domain");
         ParameterChecker.emptyCheck(domain, "domain");
         
-        for (EmailAddress ea : emailAddresses) {
-            if (ea.getDomain().equals(domain.toLowerCase())) {
+        String lowerCase = domain.toLowerCase();
+        EmailAddress[] current = emailAddresses;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].getDomain().equals(lowerCase)) {
                 return true;
             }
         }
@@ -395,8 +492,9 @@ public class ContactEntry implements Comparable<ContactEntry> {
      * @return true if this postal address list contains the specified zipcode
      */
     public boolean containsZipcode(int zipcode) {
-        for (PostalAddress pa : postalAddresses) {
-            if (pa.getZipCode() == zipcode) {
+        PostalAddress[] current = postalAddresses;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].getZipCode() == zipcode) {
                 return true;
             }
         }
@@ -412,8 +510,9 @@ public class ContactEntry implements Comparable<ContactEntry> {
     public boolean containsState(State state) {
         ParameterChecker.nullCheck(state, "state");
         
-        for (PostalAddress pa : postalAddresses) {
-            if (pa.getState() == state) {
+        PostalAddress[] current = postalAddresses;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].getState() == state) {
                 return true;
             }
         }
@@ -429,8 +528,9 @@ public class ContactEntry implements Comparable<ContactEntry> {
     public boolean containsCity(String city) {
         ParameterChecker.nullCheck(city, "city");
         
-        for (PostalAddress pa : postalAddresses) {
-            if (pa.getCity().equals(city)) {
+        PostalAddress[] current = postalAddresses;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].getCity().equals(city)) {
                 return true;
             }
         }
@@ -446,8 +546,9 @@ public class ContactEntry implements Comparable<ContactEntry> {
     public boolean containsStreet(String street) {
         ParameterChecker.nullCheck(street, "street");
         
-        for (PostalAddress pa : postalAddresses) {
-            if (pa.getStreet().contains(street)) {
+        PostalAddress[] current = postalAddresses;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i].getStreet().contains(street)) {
                 return true;
             }
         }
@@ -468,7 +569,16 @@ public class ContactEntry implements Comparable<ContactEntry> {
     public boolean removePhoneNumber(PhoneNumber pn) {
         ParameterChecker.nullCheck(pn, "phone number");
         
-        return phoneNumbers.remove(pn);
+        int index = indexOfPhoneNumber(pn.pack());
+        if (index < 0) {
+            return false;
+        }
+        long[] remaining = phoneNumbers.length == 1 ? NO_PHONE_NUMBERS : new long[phoneNumbers.length - 1];
+        System.arraycopy(phoneNumbers, 0, remaining, 0, index);
+        System.arraycopy(phoneNumbers, index + 1, remaining, index, remaining.length - index);
+        phoneNumbers = remaining;
+        firePhoneNumberRemoved(pn);
+        return true;
     }
     
     /**
@@ -485,7 +595,13 @@ public class ContactEntry implements Comparable<ContactEntry> {
     public boolean removeEmailAddress(EmailAddress ea) {
         ParameterChecker.nullCheck(ea, "email address");
         
-        return emailAddresses.remove(ea);
+        int index = indexOf(emailAddresses, ea);
+        if (index < 0) {
+            return false;
+        }
+        emailAddresses = remove(emailAddresses, index, NO_EMAIL_ADDRESSES);
+        fireEmailAddressRemoved(ea);
+        return true;
     }
     
     /**
@@ -502,7 +618,225 @@ public class ContactEntry implements Comparable<ContactEntry> {
     public boolean removePostalAddress(PostalAddress pa) {
         ParameterChecker.nullCheck(pa, "postal address");
         
-        return postalAddresses.remove(pa);
+        int index = indexOf(postalAddresses, pa);
+        if (index < 0) {
+            return false;
+        }
+        postalAddresses = remove(postalAddresses, index, NO_POSTAL_ADDRESSES);
+        firePostalAddressRemoved(pa);
+        return true;
+    }
+    
+    /**
+     * Returns the index of the specified packed phone number in the phone number array, or -1 if it is not 
+     * present.
+     * <p>
+     * @param packed the packed phone number
+     * @return the index of the packed phone number, or -1
+     */
+    private int indexOfPhoneNumber(long packed) {
+        for (int i = 0; i < phoneNumbers.length; i++) {
+            if (phoneNumbers[i] == packed) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Returns the index of the first element of the specified array which is equal to the specified object, 
+     * or -1 if there is no such element.
+     * <p>
+     * @param array the array
+     * @param o the object
+     * @return the index of the first equal element, or -1
+     */
+    private static int indexOf(Object[] array, Object o) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i].equals(o)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Returns a copy of the specified array without the element at the specified index. The specified empty 
+     * array is returned instead of a new one when no element remains.
+     * <p>
+     * @param array the array
+     * @param index the index of the element to be removed
+     * @param empty the shared empty array
+     * @return a copy of the array without the element at the index
+     */
+    private static <T> T[] remove(T[] array, int index, T[] empty) {
+        if (array.length == 1) {
+            return empty;
+        }
+        T[] remaining = Arrays.copyOf(array, array.length - 1);
+        System.arraycopy(array, index + 1, remaining, index, remaining.length - index);
+        return remaining;
+    }
+    
+    /**
+     * Returns true if any phone number has the specified value in the part at the specified bit position. The 
+     * value is truncated to sixteen bits, like the {@code short} parts of a 
+     * {@link edu.nyu.cs.addressbook.component.PhoneNumber}.
+     * <p>
+     * @param shift the bit position of the part
+     * @param value the value of the part
+     * @return true if any phone number has the specified value in the part
+     */
+    private boolean containsPhoneNumberPart(int shift, int value) {
+        long mask = PhoneNumber.FIELD_MASK << shift;
+        long target = (value & PhoneNumber.FIELD_MASK) << shift;
+        for (long packed : phoneNumbers) {
+            if ((packed & mask) == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Returns true if this {@code ContactEntry} has been modified since it was created, or since the 
+     * {@link edu.nyu.cs.addressbook.Contact} list which holds it was last saved or loaded by 
+     * {@link edu.nyu.cs.addressbook.ContactUtil}. Every change of the note, the phone numbers, the email 
+     * addresses or the postal addresses makes it dirty, including the {@code clear} methods.
+     * <p>
+     * @return true if this {@code ContactEntry} has been modified
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+    
+    /**
+     * Marks this {@code ContactEntry} as saved.
+     */
+    void markClean() {
+        dirty = false;
+    }
+    
+    /**
+     * Marks this {@code ContactEntry} as modified, as when its changes could not be saved.
+     */
+    void markDirty() {
+        dirty = true;
+    }
+    
+    /**
+     * Registers the specified listener to be informed of changes of this {@code ContactEntry}. A listener 
+     * which is registered more than once is informed once per registration.
+     * <p>
+     * @param cl the listener
+     */
+    void addObserver(ContactListener cl) {
+        assert cl != null;
+        
+        if (observers == null) {
+            observers = new ArrayList<>(1);
+        }
+        observers.add(cl);
+    }
+    
+    /**
+     * Removes one registration of the specified listener, if it is present.
+     * <p>
+     * @param cl the listener
+     */
+    void removeObserver(ContactListener cl) {
+        assert cl != null;
+        
+        if (observers != null) {
+            observers.remove(cl);
+            if (observers.isEmpty()) {
+                observers = null;
+            }
+        }
+    }
+    
+    /**
+     * Informs the registered listeners that the specified phone number has been added to this {@code ContactEntry}.
+     * <p>
+     * @param pn the phone number
+     */
+    private void firePhoneNumberAdded(PhoneNumber pn) {
+        dirty = true;
+        if (observers != null) {
+            for (ContactListener cl : observers) {
+                cl.phoneNumberAdded(this, pn);
+            }
+        }
+    }
+    
+    /**
+     * Informs the registered listeners that the specified phone number has been removed from this {@code ContactEntry}.
+     * <p>
+     * @param pn the phone number
+     */
+    private void firePhoneNumberRemoved(PhoneNumber pn) {
+        dirty = true;
+        if (observers != null) {
+            for (ContactListener cl : observers) {
+                cl.phoneNumberRemoved(this, pn);
+            }
+        }
+    }
+    
+    /**
+     * Informs the registered listeners that the specified email address has been added to this {@code ContactEntry}.
+     * <p>
+     * @param ea the email address
+     */
+    private void fireEmailAddressAdded(EmailAddress ea) {
+        dirty = true;
+        if (observers != null) {
+            for (ContactListener cl : observers) {
+                cl.emailAddressAdded(this, ea);
+            }
+        }
+    }
+    
+    /**
+     * Informs the registered listeners that the specified email address has been removed from this {@code ContactEntry}.
+     * <p>
+     * @param ea the email address
+     */
+    private void fireEmailAddressRemoved(EmailAddress ea) {
+        dirty = true;
+        if (observers != null) {
+            for (ContactListener cl : observers) {
+                cl.emailAddressRemoved(this, ea);
+            }
+        }
+    }
+    
+    /**
+     * Informs the registered listeners that the specified postal address has been added to this {@code ContactEntry}.
+     * <p>
+     * @param pa the postal address
+     */
+    private void firePostalAddressAdded(PostalAddress pa) {
+        dirty = true;
+        if (observers != null) {
+            for (ContactListener cl : observers) {
+                cl.postalAddressAdded(this, pa);
+            }
+        }
+    }
+    
+    /**
+     * Informs the registered listeners that the specified postal address has been removed from this {@code ContactEntry}.
+     * <p>
+     * @param pa the postal address
+     */
+    private void firePostalAddressRemoved(PostalAddress pa) {
+        dirty = true;
+        if (observers != null) {
+            for (ContactListener cl : observers) {
+                cl.postalAddressRemoved(this, pa);
+            }
+        }
     }
     
     /**
@@ -557,7 +891,7 @@ public class ContactEntry implements Comparable<ContactEntry> {
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append(firstName + " " + lastName + "\n");
-        for (PhoneNumber pn : phoneNumbers) {
+        for (PhoneNumber pn : getPhoneNumbers()) {
             sb.append(pn.toString() + "\n");
         }
         for (EmailAddress ea : emailAddresses) {
@@ -592,4 +926,88 @@ public class ContactEntry implements Comparable<ContactEntry> {
         return firstName.compareTo(ce.firstName);
     }
     
-}
\ No newline at end of file
+    /**
+     * The {@code PhoneNumberList} class represents the read-through view of the phone numbers of this 
+     * {@code ContactEntry}. Elements are materialized from the packed array on access.
+     */
+    private class PhoneNumberList extends AbstractList<PhoneNumber> implements RandomAccess {
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public PhoneNumber get(int index) {
+            long[] current = phoneNumbers;
+            if (index < 0 || index >= current.length) {
+                throw new IndexOutOfBoundsException("index: " + index);
+            }
+            return PhoneNumber.valueOf(current[index]);
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return phoneNumbers.length;
+        }
+        
+    }
+    
+    /**
+     * The {@code EmailAddressList} class represents the read-through view of the email addresses of this 
+     * {@code ContactEntry}.
+     */
+    private class EmailAddressList extends AbstractList<EmailAddress> implements RandomAccess {
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public EmailAddress get(int index) {
+            EmailAddress[] current = emailAddresses;
+            if (index < 0 || index >= current.length) {
+                throw new IndexOutOfBoundsException("index: " + index);
+            }
+            return current[index];
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return emailAddresses.length;
+        }
+        
+    }
+    
+    /**
+     * The {@code PostalAddressList} class represents the read-through view of the postal addresses of this 
+     * {@code ContactEntry}.
+     */
+    private class PostalAddressList extends AbstractList<PostalAddress> implements RandomAccess {
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public PostalAddress get(int index) {
+            PostalAddress[] current = postalAddresses;
+            if (index < 0 || index >= current.length) {
+                throw new IndexOutOfBoundsException("index: " + index);
+            }
+            return current[index];
+        }
+        
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return postalAddresses.length;
+        }
+        
+    }
+    
+}
@@ -1,11 +1,30 @@
 package edu.nyu.cs.addressbook;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.transform.TransformerException;
+
+import org.xml.sax.SAXException;
+
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
 import edu.nyu.cs.addressbook.utils.ParameterChecker;
 
 /**
@@ -13,11 +32,41 @@ import edu.nyu.cs.addressbook.utils.ParameterChecker;
  * <p>
  * Factory object that can vend {@link edu.nyu.cs.addressbook.Contact} object.
  * <p>
+ * The factory keeps a registry of the {@link edu.nyu.cs.addressbook.Contact} objects it has created, keyed by 
+ * their ids in a concurrent hash map, so that creating, looking up and releasing a contact list take constant 
+ * time however many are registered. The registry records are also kept in a concurrent skip list map keyed by 
+ * their creation sequence numbers, so that {@link #getContacts()} walks them in creation order without 
+ * sorting. A released contact list is forgotten by the factory, and its id could be 
+ * taken again; contact lists which have not been created or looked up for a while could be released in bulk 
+ * by {@link #evictIdle(long, TimeUnit)}.
+ * <p>
+ * The factory also manages books: contact lists which are registered by {@link #register(String, File)} with 
+ * the file that backs them, and are loaded by {@link edu.nyu.cs.addressbook.ContactUtil} on the first 
+ * {@link #lookup(String)}. Loads are single-flight, so concurrent lookups of the same book wait for one load. 
+ * Every loaded book is weighed by an estimate of its heap footprint, kept up to date as it changes; once the 
+ * resident books weigh more than the heap budget (see {@link #setHeapBudget(long)}), the least recently looked 
+ * up ones are unloaded, and those modified since they were loaded are first written back to their files, 
+ * folding in their delta segments (see {@link edu.nyu.cs.addressbook.ContactUtil#compact(File, Contact)}). A 
+ * book which could not be written back stays resident; a modified book which is released, or closed, is 
+ * written back first as well. A contact list obtained from a book by a lookup should 
+ * not be kept across lookups: changes made to it after its book is unloaded are lost. A book which is modified 
+ * should be pinned (see {@link #pin(String)}), which keeps it resident until it is unpinned.
+ * <p>
  * NOTE: The factory object is thread-safe.
  */
 public class ContactFactory {
-    private static Set<String> idSet = new CopyOnWriteArraySet<>();
-    private static List<Contact> contactList = new CopyOnWriteArrayList<>();
+    private static final ConcurrentMap<String, Registration> registry = new ConcurrentHashMap<>();
+    private static final ConcurrentNavigableMap<Long, Registration> created = new ConcurrentSkipListMap<>();
+    private static final AtomicLong sequence = new AtomicLong();
+    private static final Map<Book, Book> residentBooks = new LinkedHashMap<>(16, 0.75f, true);
+    private static final AtomicLong residentWeight = new AtomicLong();
+    private static final AtomicLong hitCount = new AtomicLong();
+    private static final AtomicLong missCount = new AtomicLong();
+    private static final AtomicLong loadCount = new AtomicLong();
+    private static final AtomicLong loadNanos = new AtomicLong();
+    private static final AtomicLong evictionCount = new AtomicLong();
+    private static final AtomicLong writeBackCount = new AtomicLong();
+    private static volatile long heapBudget = Long.MAX_VALUE;
     
     /**
      * Suppress default constructor for non-instantiable
@@ -35,27 +84,732 @@ public class ContactFactory {
     public static Contact getContact(String id) {
         ParameterChecker.nullCheck(id, "contact id");
         ParameterChecker.emptyCheck(id.trim(), "contact id");
-        if (!idSet.add(id.trim())) {
+        
+        Contact contact = new Contact(id.trim());
+        if (!enroll(contact.getID(), new Registration(contact))) {
             throw new IllegalArgumentException(
                     "contact id: " + id.trim() + " already taken!");
         }
+        return contact;
+    }
+    
+    /**
+     * Registers a book with the specified id, backed by the specified file. The book is loaded from the file, 
+     * and its delta segments if any, on its first {@link #lookup(String)}; if the file does not exist, the book 
+     * starts empty and the file is created when the book is written back.
+     * <p>
+     * @param id the identifier of the book
+     * @param location the file which backs the book
+     * @throws IllegalArgumentException if the id is already taken
+     */
+    public static void register(String id, File location) {
+        ParameterChecker.nullCheck(id, "contact id");
+        ParameterChecker.emptyCheck(id.trim(), "contact id");
+        ParameterChecker.nullCheck(location, "location");
         
-        Contact contact = new Contact(id.trim());
-        contactList.add(contact);
+        if (!enroll(id.trim(), new Book(id.trim(), location))) {
+            throw new IllegalArgumentException(
+                    "contact id: " + id.trim() + " already taken!");
+        }
+    }
+    
+    /**
+     * Returns the registered {@link edu.nyu.cs.addressbook.Contact} object with the specified id, or null if 
+     * there is none. A book which is not resident is loaded first, which could unload other books.
+     * <p>
+     * A book returned by {@code lookup} could be unloaded by a later lookup of another book, and changes made 
+     * to it afterwards would be lost; a book which is modified should be pinned instead (see 
+     * {@link #pin(String)}).
+     * <p>
+     * @param id the identifier of the {@link edu.nyu.cs.addressbook.Contact} object
+     * @return the registered {@link edu.nyu.cs.addressbook.Contact} with the id, or null
+     * @throws IllegalStateException if the book could not be loaded from its file
+     */
+    public static Contact lookup(String id) {
+        return access(id, false);
+    }
+    
+    /**
+     * Returns the registered {@link edu.nyu.cs.addressbook.Contact} object with the specified id as 
+     * {@link #lookup(String)} does, and pins it if it is a book: a pinned book stays resident, whatever the 
+     * heap budget, until it is unpinned by {@link #unpin(Contact)} as many times as it was pinned. Changes made 
+     * to a book while it is pinned are never lost by unloading it.
+     * <p>
+     * @param id the identifier of the {@link edu.nyu.cs.addressbook.Contact} object
+     * @return the registered {@link edu.nyu.cs.addressbook.Contact} with the id, or null
+     * @throws IllegalStateException if the book could not be loaded from its file
+     */
+    public static Contact pin(String id) {
+        return access(id, true);
+    }
+    
+    /**
+     * Unpins the specified book, pinned by {@link #pin(String)}. Once it is no longer pinned, it could be 
+     * unloaded under the heap budget again. Unpinning a {@link edu.nyu.cs.addressbook.Contact} which is not a 
+     * book has no effect.
+     * <p>
+     * @param contact the pinned book
+     * @throws IllegalArgumentException if the book is not pinned
+     */
+    public static void unpin(Contact contact) {
+        ParameterChecker.nullCheck(contact, "contact");
+        
+        Registration registration = registry.get(contact.getID());
+        if (registration instanceof Book) {
+            ((Book) registration).unpin(contact);
+            evict(null);
+        }
+    }
+    
+    /**
+     * Returns the registered {@link edu.nyu.cs.addressbook.Contact} object with the specified id, loading it 
+     * first if it is a book which is not resident, and pinning it if requested.
+     * <p>
+     * @param id the identifier of the {@link edu.nyu.cs.addressbook.Contact} object
+     * @param pin true if a book should be pinned
+     * @return the registered {@link edu.nyu.cs.addressbook.Contact} with the id, or null
+     * @throws IllegalStateException if the book could not be loaded from its file
+     */
+    private static Contact access(String id, boolean pin) {
+        ParameterChecker.nullCheck(id, "contact id");
+        
+        Registration registration = registry.get(id.trim());
+        if (registration == null) {
+            return null;
+        }
+        registration.lastAccess = System.nanoTime();
+        if (!(registration instanceof Book)) {
+            return registration.contact;
+        }
+        Book book = (Book) registration;
+        if (book.contact != null) {
+            hitCount.incrementAndGet();
+        } else {
+            missCount.incrementAndGet();
+        }
+        Contact contact = book.acquire(pin);
+        evict(book);
         return contact;
     }
     
     /**
-     * Returns an unmodifiable view of the {@link edu.nyu.cs.addressbook.Contact} list. This method allows 
-     * modules to provide users with "read-only" access to internal lists. Query operations on the returned 
-     * list "read through" to the specified list, and attempts to modify the returned list, whether direct or 
-     * via its iterator, result in an {@link java.lang.UnsupportedOperationException}.
+     * Releases the registered {@link edu.nyu.cs.addressbook.Contact} object with the specified id, if there is 
+     * one. The factory forgets it, and the id could be taken again by {@link #getContact(String)}. A resident 
+     * book which has been modified is written back to its file first.
+     * <p>
+     * @param id the identifier of the {@link edu.nyu.cs.addressbook.Contact} object
+     * @return true if a {@link edu.nyu.cs.addressbook.Contact} was released as a result of the call
+     * @throws IllegalStateException if the book could not be written back, in which case it stays registered
+     */
+    public static boolean release(String id) {
+        ParameterChecker.nullCheck(id, "contact id");
+        
+        String key = id.trim();
+        Registration registration = registry.get(key);
+        if (registration instanceof Book) {
+            return ((Book) registration).release(null);
+        }
+        return registration != null && unenroll(key, registration);
+    }
+    
+    /**
+     * Releases the specified {@link edu.nyu.cs.addressbook.Contact} object if it is registered. A different 
+     * object which is registered with the same id is kept. A book which has been modified is written back to 
+     * its file first.
+     * <p>
+     * @param contact the {@link edu.nyu.cs.addressbook.Contact} object
+     * @return true if the {@link edu.nyu.cs.addressbook.Contact} was released as a result of the call
+     * @throws IllegalStateException if the book could not be written back, in which case it stays registered
+     */
+    static boolean release(Contact contact) {
+        assert contact != null;
+        
+        Registration registration = registry.get(contact.getID());
+        if (registration instanceof Book) {
+            return ((Book) registration).release(contact);
+        }
+        return registration != null && registration.contact == contact 
+                && unenroll(contact.getID(), registration);
+    }
+    
+    /**
+     * Releases the registered {@link edu.nyu.cs.addressbook.Contact} objects which have been neither created 
+     * nor looked up within the specified time. Books are not released; they are unloaded under the heap budget 
+     * instead.
+     * <p>
+     * @param idleTime the maximum idle time
+     * @param unit the time unit of the idle time
+     * @return the number of {@link edu.nyu.cs.addressbook.Contact} objects released
+     * @throws IllegalArgumentException if idle time is negative
+     */
+    public static int evictIdle(long idleTime, TimeUnit unit) {
+        ParameterChecker.nullCheck(unit, "time unit");
+        if (idleTime < 0) {
+            throw new IllegalArgumentException("idle time: " + idleTime);
+        }
+        
+        long now = System.nanoTime();
+        long idleNanos = unit.toNanos(idleTime);
+        int evicted = 0;
+        for (Registration registration : created.values()) {
+            if (!(registration instanceof Book) && now - registration.lastAccess > idleNanos 
+                    && unenroll(registration.contact.getID(), registration)) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+    
+    /**
+     * Returns an unmodifiable snapshot of the registered {@link edu.nyu.cs.addressbook.Contact} objects, in 
+     * the order they were created. Later creations and releases are not seen by the returned list. Books are 
+     * included only while they are resident.
      * <p>
-     * @return an unmodifiable view of the specified list. If no {@link edu.nyu.cs.addressbook.Contact} have 
-     * been created, returns an empty list
+     * @return an unmodifiable snapshot of the registered {@link edu.nyu.cs.addressbook.Contact} objects. If no 
+     * {@link edu.nyu.cs.addressbook.Contact} is registered, returns an empty list
      */
     public static List<Contact> getContacts() {
-        return Collections.unmodifiableList(contactList);
+        List<Contact> contacts = new ArrayList<>();
+        for (Registration registration : created.values()) {
+            Contact contact = registration.contact;
+            if (contact != null) {
+                contacts.add(contact);
+            }
+        }
+        return Collections.unmodifiableList(contacts);
+    }
+    
+    /**
+     * Registers the specified registry record with the specified id, unless the id is already taken.
+     * <p>
+     * @param id the identifier of the {@link edu.nyu.cs.addressbook.Contact} object
+     * @param registration the registry record
+     * @return true if the registry record was registered
+     */
+    private static boolean enroll(String id, Registration registration) {
+        if (registry.putIfAbsent(id, registration) != null) {
+            return false;
+        }
+        created.put(registration.sequence, registration);
+        return true;
+    }
+    
+    /**
+     * Unregisters the specified registry record, if it is still registered with the specified id.
+     * <p>
+     * @param id the identifier of the {@link edu.nyu.cs.addressbook.Contact} object
+     * @param registration the registry record
+     * @return true if the registry record was unregistered as a result of the call
+     */
+    private static boolean unenroll(String id, Registration registration) {
+        if (!registry.remove(id, registration)) {
+            return false;
+        }
+        created.remove(registration.sequence, registration);
+        return true;
+    }
+    
+    /**
+     * Sets the heap budget of the resident books: the total estimated size, in bytes, above which the least 
+     * recently looked up books are unloaded. Books are unloaded at once if the new budget is exceeded. The 
+     * default budget is {@link Long#MAX_VALUE}, which never unloads a book.
+     * <p>
+     * @param bytes the heap budget, in bytes
+     * @throws IllegalArgumentException if bytes is negative
+     */
+    public static void setHeapBudget(long bytes) {
+        if (bytes < 0) {
+            throw new IllegalArgumentException("heap budget: " + bytes);
+        }
+        
+        heapBudget = bytes;
+        evict(null);
+    }
+    
+    /**
+     * Returns the heap budget of the resident books, in bytes.
+     * <p>
+     * @return the heap budget of the resident books, in bytes
+     */
+    public static long getHeapBudget() {
+        return heapBudget;
+    }
+    
+    /**
+     * Returns the total estimated size of the resident books, in bytes.
+     * <p>
+     * @return the total estimated size of the resident books, in bytes
+     */
+    public static long getResidentWeight() {
+        return residentWeight.get();
+    }
+    
+    /**
+     * Returns the number of book lookups which found the book resident.
+     * <p>
+     * @return the number of book lookups which found the book resident
+     */
+    public static long getBookHitCount() {
+        return hitCount.get();
+    }
+    
+    /**
+     * Returns the number of book lookups which had to wait for the book to be loaded. Concurrent lookups which 
+     * share one load are all counted.
+     * <p>
+     * @return the number of book lookups which had to wait for the book to be loaded
+     */
+    public static long getBookMissCount() {
+        return missCount.get();
+    }
+    
+    /**
+     * Returns the number of books loaded from their files.
+     * <p>
+     * @return the number of books loaded from their files
+     */
+    public static long getBookLoadCount() {
+        return loadCount.get();
+    }
+    
+    /**
+     * Returns the total time spent loading books from their files.
+     * <p>
+     * @param unit the time unit of the returned time
+     * @return the total time spent loading books from their files
+     */
+    public static long getBookLoadTime(TimeUnit unit) {
+        ParameterChecker.nullCheck(unit, "time unit");
+        
+        return unit.convert(loadNanos.get(), TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Returns the number of books unloaded under the heap budget.
+     * <p>
+     * @return the number of books unloaded under the heap budget
+     */
+    public static long getBookEvictionCount() {
+        return evictionCount.get();
+    }
+    
+    /**
+     * Returns the number of modified books written back to their files when unloaded.
+     * <p>
+     * @return the number of modified books written back to their files
+     */
+    public static long getBookWriteBackCount() {
+        return writeBackCount.get();
+    }
+    
+    /**
+     * Unloads the least recently looked up books, except the specified one, while the resident books weigh 
+     * more than the heap budget. The victims are chosen under the lock of the resident books and unloaded 
+     * under their own locks afterwards, so no thread holds two of these locks at once.
+     * <p>
+     * @param keep the book which must stay resident, or null
+     */
+    private static void evict(Book keep) {
+        while (residentWeight.get() > heapBudget) {
+            List<Book> victims = new ArrayList<>();
+            synchronized (residentBooks) {
+                long excess = residentWeight.get() - heapBudget;
+                Iterator<Book> it = residentBooks.keySet().iterator();
+                while (excess > 0 && it.hasNext()) {
+                    Book book = it.next();
+                    if (book != keep && book.pins == 0) {
+                        it.remove();
+                        victims.add(book);
+                        excess -= book.weight;
+                    }
+                }
+            }
+            if (victims.isEmpty()) {
+                return;
+            }
+            boolean unloaded = false;
+            for (Book book : victims) {
+                unloaded |= book.unload();
+            }
+            if (!unloaded) {
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Searches every {@link edu.nyu.cs.addressbook.Contact} list registered with this factory for the contact 
+     * entries which match the specified criteria. The lists are searched in parallel on the specified 
+     * executor, and the matches are streamed through the returned {@link edu.nyu.cs.addressbook.FederatedSearch} 
+     * as the search of each list completes, tagged with the id of the list.
+     * <p>
+     * @param criteria the search criteria
+     * @param executor the executor which runs the searches, for instance 
+     * {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     * @param timeout the maximum time to wait for the search of one {@code Contact} list, counted from the 
+     * time its search starts
+     * @param unit the time unit of the timeout
+     * @return the running federated search
+     * @throws IllegalArgumentException if timeout is negative
+     */
+    public static FederatedSearch search(
+            SearchCriteria criteria, ExecutorService executor, long timeout, TimeUnit unit) {
+        ParameterChecker.nullCheck(criteria, "criteria");
+        ParameterChecker.nullCheck(executor, "executor");
+        ParameterChecker.nullCheck(unit, "time unit");
+        if (timeout < 0) {
+            throw new IllegalArgumentException("timeout: " + timeout);
+        }
+        
+        return new FederatedSearch(getContacts(), criteria, executor, timeout, unit);
+    }
+    
+    /**
+     * The {@code Registration} class represents the registry record of a {@link Contact} object: the object 
+     * itself, its creation sequence number and the time it was last created or looked up.
+     */
+    private static class Registration {
+        protected volatile Contact contact;
+        private final long sequence;
+        private volatile long lastAccess;
+        
+        /**
+         * Initializes a newly created {@code Registration} object for the specified contact list.
+         * <p>
+         * @param contact the contact list, or null if it is not resident yet
+         */
+        Registration(Contact contact) {
+            this.contact = contact;
+            this.sequence = ContactFactory.sequence.getAndIncrement();
+            this.lastAccess = System.nanoTime();
+        }
+        
+    }
+    
+    /**
+     * The {@code Book} class represents the registry record of a book: its id, the file which backs it, and, 
+     * while it is resident, the loaded contact list along with its estimated size, which is kept up to date by 
+     * listening to the contact list. Whether the contact list has been modified since it was loaded is tracked 
+     * by the contact list itself (see {@link Contact#isDirty()}).
+     * <p>
+     * Loading, pinning and unloading are guarded by the lock of the {@code Book} object, which makes loads 
+     * single-flight and keeps a pinned book from being unloaded.
+     */
+    private static class Book extends Registration {
+        private static final long BOOK_WEIGHT = 256;
+        private static final long ENTRY_WEIGHT = 160;
+        private static final long STRING_WEIGHT = 40;
+        private static final long PHONE_WEIGHT = 8;
+        private static final long EMAIL_WEIGHT = 32;
+        private static final long ADDRESS_WEIGHT = 48;
+        
+        private final String id;
+        private final File location;
+        private final ContactListener tracker = new Tracker();
+        private volatile long weight;
+        private volatile int pins;
+        
+        /**
+         * Initializes a newly created {@code Book} object with the specified id and file.
+         * <p>
+         * @param id the identifier of the book
+         * @param location the file which backs the book
+         */
+        Book(String id, File location) {
+            super(null);
+            this.id = id;
+            this.location = location;
+        }
+        
+        /**
+         * Returns the contact list of this book, loading it from its file if it is not resident, marks it as 
+         * the most recently used, and pins it if requested.
+         * <p>
+         * @param pin true if this book should be pinned
+         * @return the contact list of this book
+         * @throws IllegalStateException if the book could not be loaded
+         */
+        synchronized Contact acquire(boolean pin) {
+            Contact resident = contact;
+            if (resident == null) {
+                resident = load();
+            } else {
+                synchronized (residentBooks) {
+                    residentBooks.get(this);
+                }
+            }
+            if (pin) {
+                pins++;
+            }
+            return resident;
+        }
+        
+        /**
+         * Unpins this book.
+         * <p>
+         * @param resident the contact list which was pinned
+         * @throws IllegalArgumentException if the contact list is not pinned
+         */
+        synchronized void unpin(Contact resident) {
+            if (resident != contact || pins == 0) {
+                throw new IllegalArgumentException("contact id: " + id + " not pinned");
+            }
+            pins--;
+        }
+        
+        /**
+         * Loads the contact list of this book from its file. The caller must hold the lock of this book.
+         * <p>
+         * @return the contact list of this book
+         * @throws IllegalStateException if the book could not be loaded
+         */
+        private Contact load() {
+            long start = System.nanoTime();
+            Contact loaded;
+            if (location.exists()) {
+                try {
+                    loaded = ContactUtil.loadIncremental(location, id);
+                } catch (IOException | SAXException | ParserConfigurationException | IllegalArgumentException e) {
+                    throw new IllegalStateException("contact id: " + id + " could not be loaded", e);
+                }
+            } else {
+                loaded = new Contact(id);
+            }
+            weight = 0;
+            change(BOOK_WEIGHT);
+            loaded.addListener(tracker);
+            loadNanos.addAndGet(System.nanoTime() - start);
+            loadCount.incrementAndGet();
+            contact = loaded;
+            synchronized (residentBooks) {
+                residentBooks.put(this, this);
+            }
+            return loaded;
+        }
+        
+        /**
+         * Unloads this book, writing it back to its file first if it has been modified. A book which is pinned, 
+         * could not be written back, or has been modified while it was written back stays resident, and a book 
+         * which has been released meanwhile is left alone.
+         * <p>
+         * @return true if this book was unloaded as a result of the call
+         */
+        synchronized boolean unload() {
+            Contact resident = contact;
+            if (resident == null || registry.get(id) != this) {
+                return false;
+            }
+            if (pins > 0 || (resident.isDirty() && !writeBack(resident))) {
+                synchronized (residentBooks) {
+                    residentBooks.put(this, this);
+                }
+                return false;
+            }
+            if (!resident.removeListenerIfClean(tracker)) {
+                synchronized (residentBooks) {
+                    residentBooks.put(this, this);
+                }
+                return false;
+            }
+            drop(resident);
+            evictionCount.incrementAndGet();
+            return true;
+        }
+        
+        /**
+         * Releases this book, writing its contact list back to its file first if it is resident and has been 
+         * modified. Changes made while it is written back are written back as well.
+         * <p>
+         * @param expected the contact list to release, or null to release this book whether resident or not
+         * @return true if this book was released as a result of the call
+         * @throws IllegalStateException if the contact list could not be written back
+         */
+        synchronized boolean release(Contact expected) {
+            Contact resident = contact;
+            if ((expected != null && expected != resident) || registry.get(id) != this) {
+                return false;
+            }
+            if (resident != null) {
+                while (!resident.removeListenerIfClean(tracker)) {
+                    if (!writeBack(resident)) {
+                        throw new IllegalStateException("contact id: " + id + " could not be written back");
+                    }
+                }
+                synchronized (residentBooks) {
+                    residentBooks.remove(this);
+                }
+                drop(resident);
+            }
+            unenroll(id, this);
+            return true;
+        }
+        
+        /**
+         * Forgets the specified contact list, which is no longer tracked.
+         * <p>
+         * @param resident the resident contact list
+         */
+        private void drop(Contact resident) {
+            residentWeight.addAndGet(-weight);
+            contact = null;
+            weight = 0;
+        }
+        
+        /**
+         * Writes the specified contact list back to the file of this book (see 
+         * {@link ContactUtil#compact(File, Contact)}), so that a failed write leaves the file intact.
+         * <p>
+         * @param resident the resident contact list
+         * @return true if the contact list was written back
+         */
+        private boolean writeBack(Contact resident) {
+            try {
+                ContactUtil.compact(location, resident);
+                writeBackCount.incrementAndGet();
+                return true;
+            } catch (IOException | ParserConfigurationException | TransformerException e) {
+                return false;
+            }
+        }
+        
+        /**
+         * Adds the specified delta to the weight of this book and of the resident books.
+         * <p>
+         * @param delta the weight delta
+         */
+        private void change(long delta) {
+            weight += delta;
+            residentWeight.addAndGet(delta);
+        }
+        
+        /**
+         * Returns the estimated size of the specified string.
+         * <p>
+         * @param s the string, or null
+         * @return the estimated size of the string
+         */
+        private static long weightOf(String s) {
+            return s == null ? 0 : STRING_WEIGHT + 2L * s.length();
+        }
+        
+        /**
+         * Returns the estimated size of the specified email address.
+         * <p>
+         * @param ea the email address
+         * @return the estimated size of the email address
+         */
+        private static long weightOf(EmailAddress ea) {
+            return EMAIL_WEIGHT + weightOf(ea.getUsername()) + weightOf(ea.getDomain());
+        }
+        
+        /**
+         * Returns the estimated size of the specified postal address.
+         * <p>
+         * @param pa the postal address
+         * @return the estimated size of the postal address
+         */
+        private static long weightOf(PostalAddress pa) {
+            return ADDRESS_WEIGHT + weightOf(pa.getCity()) + weightOf(pa.getStreet());
+        }
+        
+        /**
+         * Returns the estimated size of the specified contact entry.
+         * <p>
+         * @param ce the contact entry
+         * @return the estimated size of the contact entry
+         */
+        private static long weightOf(ContactEntry ce) {
+            long w = ENTRY_WEIGHT + weightOf(ce.getFirstName()) + weightOf(ce.getLastName()) 
+                    + weightOf(ce.getNote()) + PHONE_WEIGHT * ce.getPhoneNumbers().size();
+            for (EmailAddress ea : ce.getEmailAddresses()) {
+                w += weightOf(ea);
+            }
+            for (PostalAddress pa : ce.getPostalAddresses()) {
+                w += weightOf(pa);
+            }
+            return w;
+        }
+        
+        /**
+         * The {@code Tracker} class keeps the weight of the enclosing book up to date. 
+         * Its methods are called while the contact list is locked, so the weight has a single writer at a time.
+         */
+        private class Tracker extends ContactAdapter {
+            
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void entryAdded(ContactEntry ce) {
+                change(weightOf(ce));
+            }
+            
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void entryRemoved(ContactEntry ce) {
+                change(-weightOf(ce));
+            }
+            
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void phoneNumberAdded(ContactEntry ce, PhoneNumber pn) {
+                change(PHONE_WEIGHT);
+            }
+            
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void phoneNumberRemoved(ContactEntry ce, PhoneNumber pn) {
+                change(-PHONE_WEIGHT);
+            }
+            
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void emailAddressAdded(ContactEntry ce, EmailAddress ea) {
+                change(weightOf(ea));
+            }
+            
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void emailAddressRemoved(ContactEntry ce, EmailAddress ea) {
+                change(-weightOf(ea));
+            }
+            
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void postalAddressAdded(ContactEntry ce, PostalAddress pa) {
+                change(weightOf(pa));
+            }
+            
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void postalAddressRemoved(ContactEntry ce, PostalAddress pa) {
+                change(-weightOf(pa));
+            }
+            
+            /**
+             * {@inheritDoc}
+             */
+            @Override
+            public void noteChanged(ContactEntry ce, String oldNote) {
+                change(weightOf(ce.getNote()) - weightOf(oldNote));
+            }
+            
+        }
+        
     }
     
 }
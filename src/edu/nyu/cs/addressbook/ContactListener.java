@@ -0,0 +1,92 @@
+package edu.nyu.cs.addressbook;
+
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+
+/**
+ * @author shenli
+ * <p>
+ * A class can implement the {@code ContactListener} interface when it wants to be informed of changes in a
+ * {@link edu.nyu.cs.addressbook.Contact} object. The listener is registered with
+ * {@link edu.nyu.cs.addressbook.Contact#addListener(ContactListener)}.
+ * <p>
+ * Every method is called after the change has been applied, while the {@link edu.nyu.cs.addressbook.Contact}
+ * object is locked. Implementations should return quickly and must not modify the
+ * {@link edu.nyu.cs.addressbook.Contact} object or its entries.
+ */
+public interface ContactListener {
+
+    /**
+     * This method is called whenever a contact entry has been added to the {@link edu.nyu.cs.addressbook.Contact}
+     * object.
+     * <p>
+     * @param ce the added contact entry
+     */
+    public void entryAdded(ContactEntry ce);
+
+    /**
+     * This method is called whenever a contact entry has been removed from the
+     * {@link edu.nyu.cs.addressbook.Contact} object.
+     * <p>
+     * @param ce the removed contact entry
+     */
+    public void entryRemoved(ContactEntry ce);
+
+    /**
+     * This method is called whenever a phone number has been added to a contact entry.
+     * <p>
+     * @param ce the changed contact entry
+     * @param pn the added phone number
+     */
+    public void phoneNumberAdded(ContactEntry ce, PhoneNumber pn);
+
+    /**
+     * This method is called whenever a phone number has been removed from a contact entry.
+     * <p>
+     * @param ce the changed contact entry
+     * @param pn the removed phone number
+     */
+    public void phoneNumberRemoved(ContactEntry ce, PhoneNumber pn);
+
+    /**
+     * This method is called whenever an email address has been added to a contact entry.
+     * <p>
+     * @param ce the changed contact entry
+     * @param ea the added email address
+     */
+    public void emailAddressAdded(ContactEntry ce, EmailAddress ea);
+
+    /**
+     * This method is called whenever an email address has been removed from a contact entry.
+     * <p>
+     * @param ce the changed contact entry
+     * @param ea the removed email address
+     */
+    public void emailAddressRemoved(ContactEntry ce, EmailAddress ea);
+
+    /**
+     * This method is called whenever a postal address has been added to a contact entry.
+     * <p>
+     * @param ce the changed contact entry
+     * @param pa the added postal address
+     */
+    public void postalAddressAdded(ContactEntry ce, PostalAddress pa);
+
+    /**
+     * This method is called whenever a postal address has been removed from a contact entry.
+     * <p>
+     * @param ce the changed contact entry
+     * @param pa the removed postal address
+     */
+    public void postalAddressRemoved(ContactEntry ce, PostalAddress pa);
+
+    /**
+     * This method is called whenever the note of a contact entry has been changed.
+     * <p>
+     * @param ce the changed contact entry
+     * @param oldNote the note before the change
+     */
+    public void noteChanged(ContactEntry ce, String oldNote);
+
+}
@@ -1,12 +1,22 @@
 package edu.nyu.cs.addressbook;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.TransformerFactory;
@@ -26,7 +36,27 @@ import edu.nyu.cs.addressbook.component.PostalAddress;
 import edu.nyu.cs.addressbook.component.util.State;
 import edu.nyu.cs.addressbook.utils.ParameterChecker;
 
+/**
+ * @author shenli
+ * <p>
+ * The {@code ContactUtil} class loads and saves {@link edu.nyu.cs.addressbook.Contact} lists in XML format.
+ * <p>
+ * Besides full saves, a {@link edu.nyu.cs.addressbook.Contact} list could be saved incrementally: 
+ * {@link #saveDelta(OutputStream, Contact)} writes only the contact entries which have been added, modified or 
+ * removed since the list was last loaded or saved, identified by their ids (see 
+ * {@link edu.nyu.cs.addressbook.Contact#idOf(ContactEntry)}), and {@link #loadDelta(InputStream, Contact)} 
+ * overlays such a delta on a loaded list. On disk, the deltas of a base file are kept next to it as numbered 
+ * segment files ({@code book.xml.delta.1}, {@code book.xml.delta.2}, ...), written by 
+ * {@link #saveIncremental(File, Contact)}, overlaid in order by {@link #loadIncremental(File)}, and folded 
+ * into the base file by {@link #compact(File, Contact)}.
+ * <p>
+ * Every base file written by {@link #compact(File, Contact)} carries a {@code generation} attribute, one more 
+ * than the generation of the base file it replaces, and every segment carries the generation of the base file 
+ * it follows. Segments of another generation are stale: they have been folded into the base file already, 
+ * and are skipped when loading. A file without the attribute is of generation 0.
+ */
 public class ContactUtil {
+    private static final String SEGMENT_SUFFIX = ".delta.";
     
     /**
      * Suppress default constructor for non-instantiable
@@ -39,6 +69,16 @@ public class ContactUtil {
      * Reads from the specified input stream. The general contract for {@code load} is XML format. Returns 
      * the {@link edu.nyu.cs.addressbook.Contact} object specified by input stream.
      * <p>
+     * The parser creates a new string for every value read. If a shared 
+     * {@link edu.nyu.cs.addressbook.component.util.StringPool} is installed, the domains and cities read are 
+     * replaced by their canonical instances, so a large file does not keep one copy per occurrence.
+     * <p>
+     * The id of every contact entry (see {@link edu.nyu.cs.addressbook.Contact#idOf(ContactEntry)}) is restored 
+     * from the {@code uid} attribute of its {@code entry} element, and the free ids from the {@code deleted} 
+     * elements. Since every id below the highest one is either assigned or free, an id must be less than the 
+     * number of {@code entry} and {@code deleted} elements. Contact entries without the attribute are assigned 
+     * the next free ids.
+     * <p>
      * @param in the input stream
      * @return the {@link edu.nyu.cs.addressbook.Contact} object specified by input stream
      * @throws ParserConfigurationException a serious configuration error
@@ -49,76 +89,193 @@ public class ContactUtil {
     public static Contact load(InputStream in) throws SAXException, IOException, ParserConfigurationException {
         ParameterChecker.nullCheck(in, "input stream");
         
-        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        DocumentBuilder db = dbf.newDocumentBuilder();
-        Document document = db.parse(in);
-        Element rootNode = document.getDocumentElement();
+        Element rootNode = parse(in);
         Contact contact =
                 ContactFactory.getContact(parseNode(rootNode, Tag.ID));
+        addEntries(rootNode, contact);
+        contact.markClean();
+        return contact;
+    }
+    
+    /**
+     * Reads from the specified input stream like {@link #load(InputStream)}, but the returned 
+     * {@link edu.nyu.cs.addressbook.Contact} object is not registered with the 
+     * {@link edu.nyu.cs.addressbook.ContactFactory}. Used by the factory to load the books it manages.
+     * <p>
+     * @param in the input stream
+     * @param id the expected identifier of the {@link edu.nyu.cs.addressbook.Contact} object
+     * @return the {@link edu.nyu.cs.addressbook.Contact} object specified by input stream
+     * @throws ParserConfigurationException a serious configuration error
+     * @throws SAXException a general SAX error or warning
+     * @throws IOException failed or interrupted I/O operations
+     * @throws IllegalArgumentException if the XML file is ill format, or holds another id
+     */
+    static Contact load(InputStream in, String id) throws SAXException, IOException, ParserConfigurationException {
+        assert in != null && id != null;
         
+        Element rootNode = parse(in);
+        String fileId = parseNode(rootNode, Tag.ID);
+        if (!id.equals(fileId)) {
+            throw new IllegalArgumentException("contact id: " + fileId);
+        }
+        Contact contact = new Contact(id);
+        addEntries(rootNode, contact);
+        contact.markClean();
+        return contact;
+    }
+    
+    /**
+     * Parses the specified input stream and returns its root element.
+     * <p>
+     * @param in the input stream
+     * @return the root element
+     * @throws ParserConfigurationException a serious configuration error
+     * @throws SAXException a general SAX error or warning
+     * @throws IOException failed or interrupted I/O operations
+     */
+    private static Element parse(InputStream in) throws SAXException, IOException, ParserConfigurationException {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        DocumentBuilder db = dbf.newDocumentBuilder();
+        Document document = db.parse(in);
+        return document.getDocumentElement();
+    }
+    
+    /**
+     * Adds the contact entries read from the specified root element to the specified 
+     * {@link edu.nyu.cs.addressbook.Contact} object. The ids of the {@code deleted} and {@code entry} elements 
+     * are reserved first, then the contact entries with ids are added, and then those without.
+     * <p>
+     * @param rootNode the root element
+     * @param contact the {@link edu.nyu.cs.addressbook.Contact} object
+     * @throws IllegalArgumentException if the XML file is ill format
+     */
+    private static void addEntries(Element rootNode, Contact contact) {
+        NodeList deletedNodes = getNodeList(rootNode, Tag.DELETED);
         NodeList entryNodes = getNodeList(rootNode, Tag.ENTRY);
-        for (int i = 0; i < entryNodes.getLength(); i++) {
+        int bound = contact.entryIdBound() + deletedNodes.getLength() + entryNodes.getLength();
+        int reserved = 0;
+        for (int i = 0; i < deletedNodes.getLength(); i++) {
+            reserved = Math.max(reserved, parseEntryId((Element) deletedNodes.item(i), true, bound) + 1);
+        }
+        int[] entryIds = new int[entryNodes.getLength()];
+        ContactEntry[] entries = new ContactEntry[entryIds.length];
+        for (int i = 0; i < entries.length; i++) {
             Element entryNode = (Element) entryNodes.item(i);
-            ContactEntry ce =
-                    new ContactEntry.ContactEntryBuilder(
-                            parseNode(entryNode, Tag.FIRST_NAME),
-                            parseNode(entryNode, Tag.LAST_NAME)).build();
-            
-            NodeList phones = getNodeList(entryNode, Tag.PHONE);
-            for (int j = 0; j < phones.getLength(); j++) {
-                Element phoneNode = (Element) phones.item(j);
-                PhoneNumber pn =
-                        new PhoneNumber(
-                                Integer.parseInt(parseNode(phoneNode, Tag.AREA_CODE)),
-                                Integer.parseInt(parseNode(phoneNode, Tag.PREFIX)),
-                                Integer.parseInt(parseNode(phoneNode, Tag.LINE_NUMBER)));
-                ce.addPhoneNumber(pn);
+            entryIds[i] = parseEntryId(entryNode, false, bound);
+            entries[i] = parseEntry(entryNode);
+            reserved = Math.max(reserved, entryIds[i] + 1);
+        }
+        
+        contact.reserveEntryIds(reserved);
+        for (int i = 0; i < entries.length; i++) {
+            if (entryIds[i] >= 0) {
+                contact.add(entries[i], entryIds[i]);
             }
-            
-            NodeList emails = getNodeList(entryNode, Tag.EMAIL);
-            for (int j = 0; j < emails.getLength(); j++) {
-                Element emailNode = (Element) emails.item(j);
-                EmailAddress ea =
-                        new EmailAddress(
-                                parseNode(emailNode, Tag.USER_NAME),
-                                parseNode(emailNode, Tag.DOMAIN));
-                ce.addEmailAddress(ea);
+        }
+        for (int i = 0; i < entries.length; i++) {
+            if (entryIds[i] < 0) {
+                contact.add(entries[i]);
             }
+        }
+    }
+    
+    /**
+     * Returns the contact entry specified by the specified {@code entry} element.
+     * <p>
+     * @param entryNode the {@code entry} element
+     * @return the contact entry specified by the element
+     * @throws IllegalArgumentException if the element is ill format
+     */
+    private static ContactEntry parseEntry(Element entryNode) {
+        ContactEntry ce =
+                new ContactEntry.ContactEntryBuilder(
+                        parseNode(entryNode, Tag.FIRST_NAME),
+                        parseNode(entryNode, Tag.LAST_NAME)).build();
+        
+        NodeList phones = getNodeList(entryNode, Tag.PHONE);
+        for (int j = 0; j < phones.getLength(); j++) {
+            Element phoneNode = (Element) phones.item(j);
+            PhoneNumber pn =
+                    new PhoneNumber(
+                            Integer.parseInt(parseNode(phoneNode, Tag.AREA_CODE)),
+                            Integer.parseInt(parseNode(phoneNode, Tag.PREFIX)),
+                            Integer.parseInt(parseNode(phoneNode, Tag.LINE_NUMBER)));
+            ce.addPhoneNumber(pn);
+        }
+        
+        NodeList emails = getNodeList(entryNode, Tag.EMAIL);
+        for (int j = 0; j < emails.getLength(); j++) {
+            Element emailNode = (Element) emails.item(j);
+            EmailAddress ea =
+                    new EmailAddress(
+                            parseNode(emailNode, Tag.USER_NAME),
+                            parseNode(emailNode, Tag.DOMAIN));
+            ce.addEmailAddress(ea);
+        }
+        
+        NodeList addresses = getNodeList(entryNode, Tag.ADDRESS);
+        for (int j = 0; j < addresses.getLength(); j++) {
+            PostalAddress.PostalAddressBuilder paBuilder = new PostalAddress.PostalAddressBuilder();
             
-            NodeList addresses = getNodeList(entryNode, Tag.ADDRESS);
-            for (int j = 0; j < addresses.getLength(); j++) {
-                PostalAddress.PostalAddressBuilder paBuilder = new PostalAddress.PostalAddressBuilder();
-                
-                Element addressNode = (Element) addresses.item(j);
-                paBuilder.zipCode(Integer.parseInt(parseNode(addressNode, Tag.ZIPCODE)));
-                paBuilder.state(
-                        Enum.valueOf(
-                                State.class, parseNode(addressNode, Tag.STATE)));
-                String city = parseNode(addressNode, Tag.CITY);
-                if (city != null) {
-                    paBuilder.city(city);
-                }
-                String street = parseNode(addressNode, Tag.STREET);
-                if (street != null) {
-                    paBuilder.street(street);
-                }
-                
-                ce.addPostalAddress(paBuilder.build());
+            Element addressNode = (Element) addresses.item(j);
+            paBuilder.zipCode(Integer.parseInt(parseNode(addressNode, Tag.ZIPCODE)));
+            paBuilder.state(
+                    Enum.valueOf(
+                            State.class, parseNode(addressNode, Tag.STATE)));
+            String city = parseNode(addressNode, Tag.CITY);
+            if (city != null) {
+                paBuilder.city(city);
             }
-            
-            String note = parseNode(entryNode, Tag.NOTE, false);
-            if (note != null) {
-                ce.setNote(note);
+            String street = parseNode(addressNode, Tag.STREET);
+            if (street != null) {
+                paBuilder.street(street);
             }
             
-            contact.add(ce);
+            ce.addPostalAddress(paBuilder.build());
         }
-        return contact;
+        
+        String note = parseNode(entryNode, Tag.NOTE, false);
+        if (note != null) {
+            ce.setNote(note);
+        }
+        return ce;
+    }
+    
+    /**
+     * Returns the contact entry id held by the {@code uid} attribute of the specified element, or -1 if the 
+     * attribute is missing and not required.
+     * <p>
+     * @param node the element
+     * @param required true if the attribute is required
+     * @param bound the bound of the ids, which the id must be less than
+     * @return the contact entry id, or -1
+     * @throws IllegalArgumentException if the attribute is ill format or out of bounds, or is missing and 
+     * required
+     */
+    private static int parseEntryId(Element node, boolean required, int bound) {
+        String uid = node.getAttribute(Tag.UID.tagName());
+        if (uid.equals("") && !required) {
+            return -1;
+        }
+        int entryId;
+        try {
+            entryId = Integer.parseInt(uid);
+        } catch (NumberFormatException e) {
+            entryId = -1;
+        }
+        if (entryId < 0 || entryId >= bound) {
+            throw new IllegalArgumentException(
+                    "XML Parsing Error: illegal '" + Tag.UID + "' attribute");
+        }
+        return entryId;
     }
     
     /**
      * Writes the specified {@link edu.nyu.cs.addressbook.Contact} to the specified output stream. The general
-     * contract for {@code save} is XML format.
+     * contract for {@code save} is XML format. The id of every contact entry is written as the {@code uid} 
+     * attribute of its {@code entry} element, and every free id below the highest one as a {@code deleted} 
+     * element, so that the ids could be checked when they are read back. The changes of the {@link edu.nyu.cs.addressbook.Contact} are not 
+     * forgotten, as the output stream might not be its base file (see {@link #compact(File, Contact)}).
      * <p>
      * @param out the output stream
      * @param c the {@link edu.nyu.cs.addressbook.Contact} to be written
@@ -131,41 +288,521 @@ public class ContactUtil {
         ParameterChecker.nullCheck(out, "output stream");
         ParameterChecker.nullCheck(c, "contact");
         
-        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-        DocumentBuilder db = dbf.newDocumentBuilder();
-        Document document = db.newDocument();
+        save(out, c, 0);
+        return true;
+    }
+    
+    /**
+     * Writes the specified {@link edu.nyu.cs.addressbook.Contact} to the specified output stream as 
+     * {@link #save(OutputStream, Contact)} does, as a base file of the specified generation.
+     * <p>
+     * @param out the output stream
+     * @param c the {@link edu.nyu.cs.addressbook.Contact} to be written
+     * @param generation the generation of the base file, or 0 to write no {@code generation} attribute
+     * @throws ParserConfigurationException a serious configuration error
+     * @throws TransformerException an exceptional condition that occurred during the transformation process
+     */
+    private static void save(OutputStream out, Contact c, long generation) 
+            throws ParserConfigurationException, TransformerException {
+        Document document = newDocument();
         Element rootNode = addNode(document, Tag.CONTACT);
+        setGeneration(rootNode, generation);
         addNode(document, rootNode, Tag.ID, c.getID());
+        for (int entryId : c.freeEntryIds()) {
+            Element deletedNode = addNode(document, rootNode, Tag.DELETED);
+            deletedNode.setAttribute(Tag.UID.tagName(), String.valueOf(entryId));
+        }
         for (ContactEntry ce : c) {
-            Element entryNode = addNode(document, rootNode, Tag.ENTRY);
-            addNode(document, entryNode, Tag.FIRST_NAME, ce.getFirstName());
-            addNode(document, entryNode, Tag.LAST_NAME, ce.getLastName());
-            for (PhoneNumber pn : ce.getPhoneNumbers()) {
-                Element phoneNode = addNode(document, entryNode, Tag.PHONE);
-                addNode(document, phoneNode, Tag.AREA_CODE, String.valueOf(pn.getAreaCode()));
-                addNode(document, phoneNode, Tag.PREFIX, String.valueOf(pn.getPrefix()));
-                addNode(document, phoneNode, Tag.LINE_NUMBER, String.valueOf(pn.getLineNumber()));
+            addEntry(document, rootNode, ce, c.idOf(ce));
+        }
+        write(document, out);
+    }
+    
+    /**
+     * Writes the contact entries of the specified {@link edu.nyu.cs.addressbook.Contact} which have been added, 
+     * modified or removed since it was last loaded or saved to the specified output stream, as a delta in XML 
+     * format: a {@code deleted} element for every removed contact entry, followed by an {@code entry} element 
+     * for every added or modified one, all identified by their {@code uid} attribute. The changes are then 
+     * forgotten, unless writing fails.
+     * <p>
+     * @param out the output stream
+     * @param c the {@link edu.nyu.cs.addressbook.Contact} whose changes are written
+     * @return the number of contact entries written
+     * @throws ParserConfigurationException a serious configuration error
+     * @throws TransformerException an exceptional condition that occurred during the transformation process
+     */
+    public static int saveDelta(OutputStream out, Contact c) throws ParserConfigurationException, TransformerException {
+        ParameterChecker.nullCheck(out, "output stream");
+        ParameterChecker.nullCheck(c, "contact");
+        
+        EntryChanges.Delta delta = c.takeChanges();
+        try {
+            writeDelta(out, c, delta, 0);
+        } catch (ParserConfigurationException | TransformerException | RuntimeException e) {
+            c.restoreChanges(delta);
+            throw e;
+        }
+        return delta.size();
+    }
+    
+    /**
+     * Reads a delta written by {@link #saveDelta(OutputStream, Contact)} from the specified input stream and 
+     * overlays it on the specified {@link edu.nyu.cs.addressbook.Contact}: the removed contact entries are 
+     * removed, and the added or modified ones replace the contact entries with the same ids. The whole delta 
+     * is read before the {@link edu.nyu.cs.addressbook.Contact} is changed. The overlaid contact entries are 
+     * recorded as changes of the {@link edu.nyu.cs.addressbook.Contact}.
+     * <p>
+     * Every id a delta mentions was either known when the previous delta was written, or has been assigned 
+     * since, one at a time, and is then mentioned by this delta; so an id must be less than the bound of the 
+     * ids of the {@link edu.nyu.cs.addressbook.Contact} (see 
+     * {@link edu.nyu.cs.addressbook.Contact#idOf(ContactEntry)}) plus the number of {@code deleted} and 
+     * {@code entry} elements. The ids of removed contact entries which are not known yet are reserved as free.
+     * <p>
+     * @param in the input stream
+     * @param c the {@link edu.nyu.cs.addressbook.Contact} on which the delta is overlaid
+     * @throws ParserConfigurationException a serious configuration error
+     * @throws SAXException a general SAX error or warning
+     * @throws IOException failed or interrupted I/O operations
+     * @throws IllegalArgumentException if the XML file is ill format, holds an id out of bounds, or is the 
+     * delta of another id
+     */
+    public static void loadDelta(InputStream in, Contact c) throws SAXException, IOException, ParserConfigurationException {
+        ParameterChecker.nullCheck(in, "input stream");
+        ParameterChecker.nullCheck(c, "contact");
+        
+        overlay(parseDelta(in), c);
+    }
+    
+    /**
+     * Parses the delta held by the specified input stream and returns its root element.
+     * <p>
+     * @param in the input stream
+     * @return the root element of the delta
+     * @throws ParserConfigurationException a serious configuration error
+     * @throws SAXException a general SAX error or warning
+     * @throws IOException failed or interrupted I/O operations
+     * @throws IllegalArgumentException if the XML file is not a delta
+     */
+    private static Element parseDelta(InputStream in) throws SAXException, IOException, ParserConfigurationException {
+        Element rootNode = parse(in);
+        if (!rootNode.getTagName().equals(Tag.DELTA.tagName())) {
+            throw new IllegalArgumentException(
+                    "XML Parsing Error: illegal '" + Tag.DELTA + "' tag");
+        }
+        return rootNode;
+    }
+    
+    /**
+     * Overlays the delta held by the specified root element on the specified 
+     * {@link edu.nyu.cs.addressbook.Contact} (see {@link #loadDelta(InputStream, Contact)}).
+     * <p>
+     * @param rootNode the root element of the delta
+     * @param c the {@link edu.nyu.cs.addressbook.Contact} on which the delta is overlaid
+     * @throws IllegalArgumentException if the XML file is ill format, holds an id out of bounds, or is the 
+     * delta of another id
+     */
+    private static void overlay(Element rootNode, Contact c) {
+        String id = parseNode(rootNode, Tag.ID);
+        if (!c.getID().equals(id)) {
+            throw new IllegalArgumentException("contact id: " + id);
+        }
+        NodeList deletedNodes = getNodeList(rootNode, Tag.DELETED);
+        NodeList entryNodes = getNodeList(rootNode, Tag.ENTRY);
+        int bound = c.entryIdBound() + deletedNodes.getLength() + entryNodes.getLength();
+        int[] deletedIds = new int[deletedNodes.getLength()];
+        int reserved = 0;
+        for (int i = 0; i < deletedIds.length; i++) {
+            deletedIds[i] = parseEntryId((Element) deletedNodes.item(i), true, bound);
+            reserved = Math.max(reserved, deletedIds[i] + 1);
+        }
+        int[] entryIds = new int[entryNodes.getLength()];
+        ContactEntry[] entries = new ContactEntry[entryIds.length];
+        for (int i = 0; i < entries.length; i++) {
+            Element entryNode = (Element) entryNodes.item(i);
+            entryIds[i] = parseEntryId(entryNode, true, bound);
+            entries[i] = parseEntry(entryNode);
+            reserved = Math.max(reserved, entryIds[i] + 1);
+        }
+        
+        c.reserveEntryIds(reserved);
+        for (int entryId : deletedIds) {
+            c.removeEntry(entryId);
+        }
+        for (int i = 0; i < entries.length; i++) {
+            c.removeEntry(entryIds[i]);
+            c.add(entries[i], entryIds[i]);
+        }
+    }
+    
+    /**
+     * Writes the changes of the specified {@link edu.nyu.cs.addressbook.Contact} since it was last loaded or 
+     * saved as the next delta segment of the specified base file (see 
+     * {@link #saveDelta(OutputStream, Contact)}), and returns the segment file. Nothing is written if the 
+     * {@link edu.nyu.cs.addressbook.Contact} has no changes. The segment is written to a temporary file which 
+     * is then moved in place, so a reader never sees a partial segment. The segment carries the generation of 
+     * the base file.
+     * <p>
+     * @param base the base file
+     * @param c the {@link edu.nyu.cs.addressbook.Contact} whose changes are written
+     * @return the segment file, or null if there was no change to write
+     * @throws ParserConfigurationException a serious configuration error
+     * @throws TransformerException an exceptional condition that occurred during the transformation process
+     * @throws IOException failed or interrupted I/O operations
+     */
+    public static File saveIncremental(File base, Contact c) 
+            throws ParserConfigurationException, TransformerException, IOException {
+        ParameterChecker.nullCheck(base, "base file");
+        ParameterChecker.nullCheck(c, "contact");
+        
+        if (!c.isDirty()) {
+            return null;
+        }
+        int number = 1;
+        while (segmentOf(base, number).exists()) {
+            number++;
+        }
+        deleteSegments(base, number + 1);
+        File segment = segmentOf(base, number);
+        long generation = readGeneration(base);
+        EntryChanges.Delta delta = c.takeChanges();
+        File temp = File.createTempFile(segment.getName(), ".tmp", segment.getAbsoluteFile().getParentFile());
+        try {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(temp))) {
+                writeDelta(out, c, delta, generation);
+            }
+            Files.move(temp.toPath(), segment.toPath(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (ParserConfigurationException | TransformerException | IOException | RuntimeException e) {
+            c.restoreChanges(delta);
+            throw e;
+        } finally {
+            temp.delete();
+        }
+        return segment;
+    }
+    
+    /**
+     * Loads the {@link edu.nyu.cs.addressbook.Contact} held by the specified base file as 
+     * {@link #load(InputStream)} does, and overlays its delta segments on it in order (see 
+     * {@link #loadDelta(InputStream, Contact)}), skipping the stale segments of another generation than the 
+     * base file. The returned {@link edu.nyu.cs.addressbook.Contact} has no changes.
+     * <p>
+     * @param base the base file
+     * @return the {@link edu.nyu.cs.addressbook.Contact} object held by the base file and its segments
+     * @throws ParserConfigurationException a serious configuration error
+     * @throws SAXException a general SAX error or warning
+     * @throws IOException failed or interrupted I/O operations
+     * @throws IllegalArgumentException if a file is ill format
+     */
+    public static Contact loadIncremental(File base) throws SAXException, IOException, ParserConfigurationException {
+        ParameterChecker.nullCheck(base, "base file");
+        
+        Contact contact;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(base))) {
+            contact = load(in);
+        }
+        try {
+            overlaySegments(base, contact);
+        } catch (SAXException | IOException | ParserConfigurationException | RuntimeException e) {
+            contact.close();
+            throw e;
+        }
+        return contact;
+    }
+    
+    /**
+     * Loads the book with the specified id held by the specified base file and its delta segments, as 
+     * {@link #loadIncremental(File)} does, without registering it with the 
+     * {@link edu.nyu.cs.addressbook.ContactFactory}.
+     * <p>
+     * @param base the base file
+     * @param id the expected identifier of the {@link edu.nyu.cs.addressbook.Contact} object
+     * @return the {@link edu.nyu.cs.addressbook.Contact} object held by the base file and its segments
+     * @throws ParserConfigurationException a serious configuration error
+     * @throws SAXException a general SAX error or warning
+     * @throws IOException failed or interrupted I/O operations
+     * @throws IllegalArgumentException if a file is ill format, or holds another id
+     */
+    static Contact loadIncremental(File base, String id) throws SAXException, IOException, ParserConfigurationException {
+        assert base != null && id != null;
+        
+        Contact contact;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(base))) {
+            contact = load(in, id);
+        }
+        overlaySegments(base, contact);
+        return contact;
+    }
+    
+    /**
+     * Rewrites the specified base file with the whole specified {@link edu.nyu.cs.addressbook.Contact} (see 
+     * {@link #save(OutputStream, Contact)}), and removes its delta segments, which the new base file 
+     * supersedes. The changes of the {@link edu.nyu.cs.addressbook.Contact} are forgotten.
+     * <p>
+     * The base file is written to a temporary file, of the next generation, which is then moved in place, and 
+     * the segments are removed afterwards. If that is interrupted, the segments left behind are of the previous 
+     * generation, so they are skipped by {@link #loadIncremental(File)} rather than replayed over the newer 
+     * base file, and they are removed by the next {@code compact}.
+     * <p>
+     * @param base the base file
+     * @param c the {@link edu.nyu.cs.addressbook.Contact} to be written
+     * @throws ParserConfigurationException a serious configuration error
+     * @throws TransformerException an exceptional condition that occurred during the transformation process
+     * @throws IOException failed or interrupted I/O operations
+     */
+    public static void compact(File base, Contact c) throws ParserConfigurationException, TransformerException, IOException {
+        ParameterChecker.nullCheck(base, "base file");
+        ParameterChecker.nullCheck(c, "contact");
+        
+        long generation = nextGeneration(base);
+        EntryChanges.Delta delta = c.takeChanges();
+        File temp = File.createTempFile(base.getName(), ".tmp", base.getAbsoluteFile().getParentFile());
+        try {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(temp))) {
+                save(out, c, generation);
+            }
+            Files.move(temp.toPath(), base.toPath(), 
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (ParserConfigurationException | TransformerException | IOException | RuntimeException e) {
+            c.restoreChanges(delta);
+            throw e;
+        } finally {
+            temp.delete();
+        }
+        deleteSegments(base, 1);
+    }
+    
+    /**
+     * Returns the delta segment file with the specified number of the specified base file.
+     * <p>
+     * @param base the base file
+     * @param number the segment number, starting at 1
+     * @return the delta segment file
+     */
+    private static File segmentOf(File base, int number) {
+        return new File(base.getPath() + SEGMENT_SUFFIX + number);
+    }
+    
+    /**
+     * Overlays the delta segments of the specified base file on the specified 
+     * {@link edu.nyu.cs.addressbook.Contact} in order, up to the first missing segment, and forgets the 
+     * changes of the {@link edu.nyu.cs.addressbook.Contact}. Segments of another generation than the base file 
+     * are skipped.
+     * <p>
+     * @param base the base file
+     * @param c the {@link edu.nyu.cs.addressbook.Contact} loaded from the base file
+     * @throws ParserConfigurationException a serious configuration error
+     * @throws SAXException a general SAX error or warning
+     * @throws IOException failed or interrupted I/O operations
+     */
+    private static void overlaySegments(File base, Contact c) throws SAXException, IOException, ParserConfigurationException {
+        long generation = readGeneration(base);
+        for (int number = 1; segmentOf(base, number).exists(); number++) {
+            Element rootNode;
+            try (InputStream in = new BufferedInputStream(new FileInputStream(segmentOf(base, number)))) {
+                rootNode = parseDelta(in);
             }
-            for (EmailAddress ea : ce.getEmailAddresses()) {
-                Element emailNode = addNode(document, entryNode, Tag.EMAIL);
-                addNode(document, emailNode, Tag.USER_NAME, ea.getUsername());
-                addNode(document, emailNode, Tag.DOMAIN, ea.getDomain());
+            if (parseGeneration(rootNode) == generation) {
+                overlay(rootNode, c);
             }
-            for (PostalAddress pa : ce.getPostalAddresses()) {
-                Element addressNode = addNode(document, entryNode, Tag.ADDRESS);
-                addNode(document, addressNode, Tag.ZIPCODE, String.valueOf(pa.getZipCode()));
-                addNode(document, addressNode, Tag.STATE, pa.getState().name());
-                addNode(document, addressNode, Tag.CITY, pa.getCity());
-                addNode(document, addressNode, Tag.STREET, pa.getStreet());
+        }
+        c.markClean();
+    }
+    
+    /**
+     * Returns the generation of the specified base file or segment, or 0 if it does not exist. Only the root 
+     * element is read.
+     * <p>
+     * @param file the base file or segment
+     * @return the generation of the file
+     * @throws IOException failed or interrupted I/O operations
+     * @throws IllegalArgumentException if the XML file is ill format
+     */
+    private static long readGeneration(File file) throws IOException {
+        if (!file.exists()) {
+            return 0;
+        }
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            XMLStreamReader reader = XMLInputFactory.newInstance().createXMLStreamReader(in);
+            try {
+                reader.nextTag();
+                return parseGeneration(reader.getAttributeValue(null, Tag.GENERATION.tagName()));
+            } finally {
+                reader.close();
             }
-            addNode(document, entryNode, Tag.NOTE, ce.getNote());
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("XML Parsing Error: " + e.getMessage(), e);
         }
-        
+    }
+    
+    /**
+     * Returns the generation of the next base file of the specified base file: one more than the generation of 
+     * the base file and of every segment. Files which could not be read are ignored, as they are replaced or 
+     * removed.
+     * <p>
+     * @param base the base file
+     * @return the next generation
+     */
+    private static long nextGeneration(File base) {
+        long generation = 0;
+        for (int number = 0; number == 0 || segmentOf(base, number).exists(); number++) {
+            try {
+                generation = Math.max(generation, readGeneration(number == 0 ? base : segmentOf(base, number)));
+            } catch (IOException | IllegalArgumentException e) {
+                continue;
+            }
+        }
+        return generation + 1;
+    }
+    
+    /**
+     * Returns the generation held by the {@code generation} attribute of the specified root element, or 0 if 
+     * the attribute is missing.
+     * <p>
+     * @param rootNode the root element
+     * @return the generation
+     * @throws IllegalArgumentException if the attribute is ill format
+     */
+    private static long parseGeneration(Element rootNode) {
+        return parseGeneration(rootNode.getAttribute(Tag.GENERATION.tagName()));
+    }
+    
+    /**
+     * Returns the generation held by the specified attribute value, or 0 if it is missing.
+     * <p>
+     * @param value the attribute value, or null or the empty string if it is missing
+     * @return the generation
+     * @throws IllegalArgumentException if the value is ill format
+     */
+    private static long parseGeneration(String value) {
+        if (value == null || value.equals("")) {
+            return 0;
+        }
+        long generation;
+        try {
+            generation = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            generation = -1;
+        }
+        if (generation < 0) {
+            throw new IllegalArgumentException(
+                    "XML Parsing Error: illegal '" + Tag.GENERATION + "' attribute");
+        }
+        return generation;
+    }
+    
+    /**
+     * Sets the {@code generation} attribute of the specified root element, unless the generation is 0.
+     * <p>
+     * @param rootNode the root element
+     * @param generation the generation
+     */
+    private static void setGeneration(Element rootNode, long generation) {
+        if (generation > 0) {
+            rootNode.setAttribute(Tag.GENERATION.tagName(), String.valueOf(generation));
+        }
+    }
+    
+    /**
+     * Removes the delta segments of the specified base file in ascending order, from the specified number up 
+     * to the first missing segment.
+     * <p>
+     * @param base the base file
+     * @param from the number of the first segment to remove
+     */
+    private static void deleteSegments(File base, int from) {
+        int number = from;
+        while (segmentOf(base, number).delete()) {
+            number++;
+        }
+    }
+    
+    /**
+     * Writes the specified changes of the specified {@link edu.nyu.cs.addressbook.Contact} to the specified 
+     * output stream as a delta.
+     * <p>
+     * @param out the output stream
+     * @param c the {@link edu.nyu.cs.addressbook.Contact}
+     * @param delta the changes
+     * @param generation the generation of the base file the delta follows, or 0 to write no 
+     * {@code generation} attribute
+     * @throws ParserConfigurationException a serious configuration error
+     * @throws TransformerException an exceptional condition that occurred during the transformation process
+     */
+    private static void writeDelta(OutputStream out, Contact c, EntryChanges.Delta delta, long generation) 
+            throws ParserConfigurationException, TransformerException {
+        Document document = newDocument();
+        Element rootNode = addNode(document, Tag.DELTA);
+        setGeneration(rootNode, generation);
+        addNode(document, rootNode, Tag.ID, c.getID());
+        for (int entryId : delta.deletedIds) {
+            Element deletedNode = addNode(document, rootNode, Tag.DELETED);
+            deletedNode.setAttribute(Tag.UID.tagName(), String.valueOf(entryId));
+        }
+        for (int i = 0; i < delta.entries.length; i++) {
+            addEntry(document, rootNode, delta.entries[i], delta.entryIds[i]);
+        }
+        write(document, out);
+    }
+    
+    /**
+     * Returns a new empty document.
+     * <p>
+     * @return a new empty document
+     * @throws ParserConfigurationException a serious configuration error
+     */
+    private static Document newDocument() throws ParserConfigurationException {
+        DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+        DocumentBuilder db = dbf.newDocumentBuilder();
+        return db.newDocument();
+    }
+    
+    /**
+     * Writes the specified document to the specified output stream.
+     * <p>
+     * @param document the document
+     * @param out the output stream
+     * @throws TransformerException an exceptional condition that occurred during the transformation process
+     */
+    private static void write(Document document, OutputStream out) throws TransformerException {
         TransformerFactory tf = TransformerFactory.newInstance();
         Transformer transformer = tf.newTransformer();
         transformer.transform(
                 new DOMSource(document), new StreamResult(out));
-        return true;
+    }
+    
+    /**
+     * Adds an {@code entry} element for the specified contact entry, with the specified id as its {@code uid} 
+     * attribute, to the specified parent element.
+     * <p>
+     * @param document the document
+     * @param rootNode the parent element
+     * @param ce the contact entry
+     * @param entryId the id of the contact entry
+     */
+    private static void addEntry(Document document, Element rootNode, ContactEntry ce, int entryId) {
+        Element entryNode = addNode(document, rootNode, Tag.ENTRY);
+        entryNode.setAttribute(Tag.UID.tagName(), String.valueOf(entryId));
+        addNode(document, entryNode, Tag.FIRST_NAME, ce.getFirstName());
+        addNode(document, entryNode, Tag.LAST_NAME, ce.getLastName());
+        for (PhoneNumber pn : ce.getPhoneNumbers()) {
+            Element phoneNode = addNode(document, entryNode, Tag.PHONE);
+            addNode(document, phoneNode, Tag.AREA_CODE, String.valueOf(pn.getAreaCode()));
+            addNode(document, phoneNode, Tag.PREFIX, String.valueOf(pn.getPrefix()));
+            addNode(document, phoneNode, Tag.LINE_NUMBER, String.valueOf(pn.getLineNumber()));
+        }
+        for (EmailAddress ea : ce.getEmailAddresses()) {
+            Element emailNode = addNode(document, entryNode, Tag.EMAIL);
+            addNode(document, emailNode, Tag.USER_NAME, ea.getUsername());
+            addNode(document, emailNode, Tag.DOMAIN, ea.getDomain());
+        }
+        for (PostalAddress pa : ce.getPostalAddresses()) {
+            Element addressNode = addNode(document, entryNode, Tag.ADDRESS);
+            addNode(document, addressNode, Tag.ZIPCODE, String.valueOf(pa.getZipCode()));
+            addNode(document, addressNode, Tag.STATE, pa.getState().name());
+            addNode(document, addressNode, Tag.CITY, pa.getCity());
+            addNode(document, addressNode, Tag.STREET, pa.getStreet());
+        }
+        addNode(document, entryNode, Tag.NOTE, ce.getNote());
     }
     
     /**
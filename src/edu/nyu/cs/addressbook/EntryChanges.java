@@ -0,0 +1,144 @@
+package edu.nyu.cs.addressbook;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code EntryChanges} class represents the changes of the contact entries of a {@link Contact} list since
+ * it was last loaded or saved, as the ids (see {@link EntryIds}) of the contact entries which have been added
+ * or modified, and of those which have been removed. The changes are kept in bit sets, so recording one is a
+ * constant-time operation and collecting them is proportional to the highest id rather than to the number of
+ * contact entries.
+ * <p>
+ * An id which is removed and then recycled for another contact entry is both removed and modified; the removal
+ * is written before the modification, so that replaying the changes leaves the new contact entry in place.
+ * <p>
+ * The {@code EntryChanges} object is not thread-safe; it is guarded by the lock of the contact entry list.
+ */
+class EntryChanges {
+    private final BitSet dirty = new BitSet();
+    private final BitSet deleted = new BitSet();
+
+    /**
+     * @author shenli
+     * <p>
+     * The {@code Delta} class represents the changes taken from an {@code EntryChanges} object: the removed
+     * ids, and the ids and contact entries of the added or modified contact entries.
+     */
+    static class Delta {
+        final int[] deletedIds;
+        final int[] entryIds;
+        final ContactEntry[] entries;
+
+        /**
+         * Initializes a newly created {@code Delta} object.
+         * <p>
+         * @param deletedIds the ids of the removed contact entries
+         * @param entryIds the ids of the added or modified contact entries
+         * @param entries the added or modified contact entries
+         */
+        private Delta(int[] deletedIds, int[] entryIds, ContactEntry[] entries) {
+            this.deletedIds = deletedIds;
+            this.entryIds = entryIds;
+            this.entries = entries;
+        }
+
+        /**
+         * Returns the number of changes in this {@code Delta} object.
+         * <p>
+         * @return the number of changes
+         */
+        int size() {
+            return deletedIds.length + entryIds.length;
+        }
+    }
+
+    /**
+     * Records that the contact entry with the specified id has been added or modified.
+     * <p>
+     * @param id the id
+     */
+    void changed(int id) {
+        dirty.set(id);
+    }
+
+    /**
+     * Records that the contact entry with the specified id has been removed.
+     * <p>
+     * @param id the id
+     */
+    void removed(int id) {
+        dirty.clear(id);
+        deleted.set(id);
+    }
+
+    /**
+     * Returns true if no change has been recorded.
+     * <p>
+     * @return true if no change has been recorded
+     */
+    boolean isEmpty() {
+        return dirty.isEmpty() && deleted.isEmpty();
+    }
+
+    /**
+     * Returns true if the contact entry with the specified id has been removed, and the id has not been
+     * recycled since.
+     * <p>
+     * @param id the id
+     * @return true if the contact entry with the id has been removed
+     */
+    boolean isDeleted(int id) {
+        return id >= 0 && deleted.get(id) && !dirty.get(id);
+    }
+
+    /**
+     * Takes the recorded changes, which are forgotten, and marks the modified contact entries as clean.
+     * <p>
+     * @param entryIds the ids of the contact entry list
+     * @return the recorded changes
+     */
+    Delta take(EntryIds entryIds) {
+        int[] deletedIds = deleted.stream().toArray();
+        int[] ids = new int[dirty.cardinality()];
+        ContactEntry[] entries = new ContactEntry[ids.length];
+        int size = 0;
+        for (int id = dirty.nextSetBit(0); id >= 0; id = dirty.nextSetBit(id + 1)) {
+            ContactEntry ce = entryIds.entryOf(id);
+            if (ce != null) {
+                ce.markClean();
+                ids[size] = id;
+                entries[size++] = ce;
+            }
+        }
+        dirty.clear();
+        deleted.clear();
+        if (size < ids.length) {
+            ids = Arrays.copyOf(ids, size);
+            entries = Arrays.copyOf(entries, size);
+        }
+        return new Delta(deletedIds, ids, entries);
+    }
+
+    /**
+     * Records again the specified changes, which have been taken but could not be saved. Contact entries which
+     * have been removed in the meantime are left removed.
+     * <p>
+     * @param delta the changes
+     * @param entryIds the ids of the contact entry list
+     */
+    void restore(Delta delta, EntryIds entryIds) {
+        for (int id : delta.deletedIds) {
+            deleted.set(id);
+        }
+        for (int i = 0; i < delta.entryIds.length; i++) {
+            if (entryIds.entryOf(delta.entryIds[i]) == delta.entries[i]) {
+                dirty.set(delta.entryIds[i]);
+                delta.entries[i].markDirty();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,253 @@
+package edu.nyu.cs.addressbook;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code EntryIds} class represents the assignment of stable {@code int} ids to the contact entries of a
+ * {@link Contact} list.
+ * <p>
+ * An id is assigned when a contact entry is added and does not change while the contact entry stays in the
+ * list, whatever its position. Contact entries are told apart by identity, and a contact entry which is added
+ * more than once keeps a single id until its last occurrence is removed. The id of a removed contact entry is
+ * recycled by a later addition, so the ids stay dense and could index arrays. Looking up the contact entry of
+ * an id and the id of a contact entry are constant-time operations.
+ * <p>
+ * Every id below the bound (see {@link #bound()}) is either assigned or free, so the bound is the number of
+ * contact entries plus the number of free ids. Restored ids must lie below the bound, which only grows by
+ * one per assignment unless it is raised explicitly (see {@link #reserve(int)}); the free ids below a raised
+ * bound are found by a scan when they are needed, rather than listed in advance.
+ * <p>
+ * The ids are shared with the indexes registered with the {@link Contact} list (see
+ * {@link SearchIndex#attach(EntryIds)}), which keep them in their postings lists, and with its
+ * {@link SearchCache}. Only the {@link Contact} list assigns and releases ids.
+ * <p>
+ * The {@code EntryIds} object is not thread-safe; it is guarded by the lock of the contact entry list, which
+ * is held whenever listeners are informed and indexes are asked for candidates.
+ */
+public final class EntryIds {
+    private final Map<ContactEntry, int[]> ids = new IdentityHashMap<>();
+    private ContactEntry[] entries = new ContactEntry[16];
+    private int[] refCounts = new int[16];
+    private int[] free = new int[16];
+    private int freeSize;
+    private int scanned;
+    private int nextId;
+
+    /**
+     * Initializes a newly created {@code EntryIds} object with no id assigned.
+     */
+    EntryIds() {
+
+    }
+
+    /**
+     * Assigns an id to the specified contact entry, recycling the id of a removed contact entry if there is
+     * one. A contact entry which already has an id keeps it.
+     * <p>
+     * @param ce the contact entry
+     * @return the id of the contact entry
+     */
+    int assign(ContactEntry ce) {
+        int[] id = ids.get(ce);
+        if (id != null) {
+            refCounts[id[0]]++;
+            return id[0];
+        }
+        while (freeSize > 0) {
+            int candidate = free[--freeSize];
+            if (entries[candidate] == null) {
+                return put(ce, candidate);
+            }
+        }
+        while (scanned < nextId) {
+            int candidate = scanned++;
+            if (entries[candidate] == null) {
+                return put(ce, candidate);
+            }
+        }
+        return put(ce, nextId);
+    }
+
+    /**
+     * Assigns the specified id to the specified contact entry, as when restoring persisted ids.
+     * <p>
+     * @param ce the contact entry
+     * @param newId the id
+     * @return the id of the contact entry
+     * @throws IllegalArgumentException if the id is negative, lies beyond the bound, or is assigned to another
+     * contact entry, or if the contact entry already has another id
+     */
+    int assign(ContactEntry ce, int newId) {
+        if (newId < 0 || newId > nextId || (newId < nextId && entries[newId] != null && entries[newId] != ce)) {
+            throw new IllegalArgumentException("entry id: " + newId);
+        }
+        int[] id = ids.get(ce);
+        if (id != null) {
+            if (id[0] != newId) {
+                throw new IllegalArgumentException("entry id: " + newId);
+            }
+            refCounts[newId]++;
+            return newId;
+        }
+        return put(ce, newId);
+    }
+
+    /**
+     * Raises the bound to the specified value, as when restoring persisted ids, so that every id below it could
+     * be assigned by {@link #assign(ContactEntry, int)}. The ids between the old and the new bound are free.
+     * The caller is responsible for the value being sane, as the ids are backed by arrays of that size.
+     * <p>
+     * @param bound the new bound
+     */
+    void reserve(int bound) {
+        if (bound > nextId) {
+            grow(bound);
+            nextId = bound;
+        }
+    }
+
+    /**
+     * Returns the bound of the ids: every id below it is either assigned or free, and no id above it is
+     * assigned. It is the number of contact entries plus the number of free ids.
+     * <p>
+     * @return the bound of the ids
+     */
+    int bound() {
+        return nextId;
+    }
+
+    /**
+     * Returns the free ids below the bound, in ascending order.
+     * <p>
+     * @return the free ids
+     */
+    int[] freeIds() {
+        int[] result = new int[nextId - ids.size()];
+        int size = 0;
+        for (int id = 0; id < nextId; id++) {
+            if (entries[id] == null) {
+                result[size++] = id;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Removes one occurrence of the specified contact entry. Its id is released once no occurrence remains.
+     * <p>
+     * @param ce the contact entry
+     * @return the released id, or -1 if the contact entry keeps its id or has none
+     */
+    int remove(ContactEntry ce) {
+        int[] id = ids.get(ce);
+        if (id == null || --refCounts[id[0]] > 0) {
+            return -1;
+        }
+        ids.remove(ce);
+        entries[id[0]] = null;
+        release(id[0]);
+        return id[0];
+    }
+
+    /**
+     * Returns the id of the specified contact entry, or -1 if it has none.
+     * <p>
+     * @param ce the contact entry
+     * @return the id of the contact entry, or -1
+     */
+    public int idOf(ContactEntry ce) {
+        int[] id = ids.get(ce);
+        return id == null ? -1 : id[0];
+    }
+
+    /**
+     * Returns the contact entry of the specified id, or null if no contact entry has the id.
+     * <p>
+     * @param id the id
+     * @return the contact entry of the id, or null
+     */
+    public ContactEntry entryOf(int id) {
+        return id < 0 || id >= entries.length ? null : entries[id];
+    }
+
+    /**
+     * Returns the number of occurrences of the contact entry with the specified id, or 0 if no contact entry
+     * has the id. While a contact entry is being removed, its occurrence is still counted until the listeners
+     * have been informed.
+     * <p>
+     * @param id the id
+     * @return the number of occurrences of the contact entry with the id
+     */
+    public int occurrences(int id) {
+        return entryOf(id) == null ? 0 : refCounts[id];
+    }
+
+    /**
+     * Returns the contact entries with the specified ids in natural order. A contact entry which occurs more
+     * than once is returned once per occurrence; ids which are not assigned are skipped.
+     * <p>
+     * @param entryIds the ids, each of which occurs once
+     * @param size the number of ids to be used
+     * @return the contact entries with the specified ids in natural order
+     */
+    public List<ContactEntry> entries(int[] entryIds, int size) {
+        List<ContactEntry> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            for (int j = occurrences(entryIds[i]); j > 0; j--) {
+                result.add(entries[entryIds[i]]);
+            }
+        }
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * Records the specified id as assigned to the specified contact entry.
+     * <p>
+     * @param ce the contact entry
+     * @param newId the id
+     * @return the id
+     */
+    private int put(ContactEntry ce, int newId) {
+        grow(newId + 1);
+        entries[newId] = ce;
+        refCounts[newId] = 1;
+        ids.put(ce, new int[] { newId });
+        nextId = Math.max(nextId, newId + 1);
+        return newId;
+    }
+
+    /**
+     * Grows the arrays indexed by id to hold at least the specified number of ids.
+     * <p>
+     * @param capacity the number of ids
+     */
+    private void grow(int capacity) {
+        if (capacity > entries.length) {
+            capacity = Math.max(entries.length * 2, capacity);
+            entries = Arrays.copyOf(entries, capacity);
+            refCounts = Arrays.copyOf(refCounts, capacity);
+        }
+    }
+
+    /**
+     * Makes the specified id available for recycling. Ids on the free list are checked when they are taken,
+     * so an id which has been assigned explicitly in the meantime is skipped.
+     * <p>
+     * @param id the id
+     */
+    private void release(int id) {
+        if (freeSize == free.length) {
+            free = Arrays.copyOf(free, freeSize * 2);
+        }
+        free[freeSize++] = id;
+    }
+
+}
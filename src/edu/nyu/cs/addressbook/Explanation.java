@@ -0,0 +1,385 @@
+package edu.nyu.cs.addressbook;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import edu.nyu.cs.addressbook.component.util.State;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.search.impl.And;
+import edu.nyu.cs.addressbook.search.impl.ContactField;
+import edu.nyu.cs.addressbook.search.impl.Or;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code Explanation} class represents how a {@link edu.nyu.cs.addressbook.Contact} list executes a search 
+ * criteria, as returned by {@link edu.nyu.cs.addressbook.Contact#explain(SearchCriteria)} and 
+ * {@link edu.nyu.cs.addressbook.Contact#profile(SearchCriteria)}.
+ * <p>
+ * It reports the access path, that is the index and criteria which narrowed the candidate contact entries, or 
+ * a full scan, and the tree of criteria nodes evaluated against every candidate. A 
+ * {@link edu.nyu.cs.addressbook.search.impl.ContactField} criteria is split into one node per field it 
+ * constrains, so that the cost of each field is visible. In a profiled explanation every node records how 
+ * often it was evaluated, how often it passed, and the cumulative nanoseconds spent in it, its children 
+ * included. {@link #toString()} renders the explanation as indented text.
+ * <p>
+ * The counts are exact, but reading the clock costs about as much as evaluating a cheap criteria, so a node 
+ * is timed only on one in {@value #SAMPLE_INTERVAL} evaluations, its first included, and its cumulative time 
+ * is estimated by scaling the sampled time by the number of evaluations.
+ * <p>
+ * {@code Explanation} objects are not thread-safe; they are filled in by the search which creates them and are 
+ * not changed afterwards.
+ */
+public class Explanation {
+    static final int SAMPLE_INTERVAL = 16;
+
+    private final String accessPath;
+    private final int candidates;
+    private final Node root;
+    private final boolean profiled;
+    private final int matches;
+    private final long nanos;
+
+    /**
+     * Initializes a newly created {@code Explanation} object.
+     * <p>
+     * @param accessPath the description of the access path
+     * @param candidates the number of candidate contact entries
+     * @param root the root node of the criteria tree
+     * @param profiled true if the search has been executed
+     * @param matches the number of matches, or 0 if not profiled
+     * @param nanos the total nanoseconds of the execution, or 0 if not profiled
+     */
+    Explanation(String accessPath, int candidates, Node root, boolean profiled, int matches, long nanos) {
+        this.accessPath = accessPath;
+        this.candidates = candidates;
+        this.root = root;
+        this.profiled = profiled;
+        this.matches = matches;
+        this.nanos = nanos;
+    }
+
+    /**
+     * Returns the description of the access path: the index which narrowed the candidates, or a full scan.
+     * <p>
+     * @return the description of the access path
+     */
+    public String getAccessPath() {
+        return accessPath;
+    }
+
+    /**
+     * Returns the number of candidate contact entries the criteria tree is evaluated against.
+     * <p>
+     * @return the number of candidate contact entries
+     */
+    public int getCandidates() {
+        return candidates;
+    }
+
+    /**
+     * Returns the root node of the criteria tree.
+     * <p>
+     * @return the root node of the criteria tree
+     */
+    public Node getRoot() {
+        return root;
+    }
+
+    /**
+     * Returns true if the search has been executed, so that the node statistics are filled in.
+     * <p>
+     * @return true if the search has been executed
+     */
+    public boolean isProfiled() {
+        return profiled;
+    }
+
+    /**
+     * Returns the number of matches of the profiled search.
+     * <p>
+     * @return the number of matches
+     */
+    public int getMatches() {
+        return matches;
+    }
+
+    /**
+     * Returns the total nanoseconds of the profiled search.
+     * <p>
+     * @return the total nanoseconds
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * Return string representation of this {@code Explanation} object. The string representation consists of 
+     * the access path followed by the criteria tree, one node per line, indented by depth. A profiled 
+     * explanation also states the matches and how the node times are estimated.
+     * <p>
+     * @return a string representation of this {@code Explanation} object
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("access: " + accessPath + "\n");
+        if (profiled) {
+            sb.append("matches: " + matches + " of " + candidates + " candidates in " + nanos + " ns\n");
+            sb.append("node times: estimated from 1 in " + SAMPLE_INTERVAL + " evaluations\n");
+        }
+        root.appendTo(sb, 0, profiled);
+        return sb.toString();
+    }
+
+    /**
+     * Returns a one line label of the specified criteria.
+     * <p>
+     * @param criteria the search criteria
+     * @return a one line label of the specified criteria
+     */
+    static String label(SearchCriteria criteria) {
+        String name = criteria.getClass().getSimpleName();
+        if (name.isEmpty()) {
+            name = criteria.getClass().getName();
+        }
+        if (criteria instanceof And || criteria instanceof Or) {
+            return name;
+        }
+        return name + "(" + String.valueOf(criteria).trim().replace("\n", ", ") + ")";
+    }
+
+    /**
+     * Returns the criteria tree node of the specified criteria.
+     * <p>
+     * @param criteria the search criteria
+     * @return the criteria tree node of the specified criteria
+     */
+    static Node nodeOf(SearchCriteria criteria) {
+        List<SearchCriteria> children = null;
+        boolean conjunction = true;
+        if (criteria instanceof And) {
+            children = ((And) criteria).getCriterias();
+        } else if (criteria instanceof Or) {
+            children = ((Or) criteria).getCriterias();
+            conjunction = false;
+        } else if (criteria instanceof ContactField) {
+            children = fieldsOf((ContactField) criteria);
+            if (children.size() < 2) {
+                children = null;
+            }
+        }
+        List<Node> nodes = new ArrayList<>();
+        if (children != null) {
+            for (SearchCriteria sc : children) {
+                nodes.add(nodeOf(sc));
+            }
+        }
+        return new Node(criteria, nodes, conjunction);
+    }
+
+    /**
+     * Splits the specified {@code ContactField} criteria into one {@code ContactField} criteria per field it 
+     * constrains, in the order in which {@link edu.nyu.cs.addressbook.search.impl.ContactField} checks them.
+     * <p>
+     * @param cf the {@code ContactField} criteria
+     * @return the single field criteria
+     */
+    private static List<SearchCriteria> fieldsOf(ContactField cf) {
+        List<SearchCriteria> fields = new ArrayList<>();
+        if (!cf.getFirstName().equals("")) {
+            fields.add(new ContactField.ContactFieldBuilder().firstName(cf.getFirstName()).build());
+        }
+        if (!cf.getLastName().equals("")) {
+            fields.add(new ContactField.ContactFieldBuilder().lastName(cf.getLastName()).build());
+        }
+        if (cf.getAreaCode() != 0) {
+            fields.add(new ContactField.ContactFieldBuilder().areaCode(cf.getAreaCode()).build());
+        }
+        if (cf.getPrefix() != 0) {
+            fields.add(new ContactField.ContactFieldBuilder().prefix(cf.getPrefix()).build());
+        }
+        if (cf.getLineNumber() != 0) {
+            fields.add(new ContactField.ContactFieldBuilder().lineNumber(cf.getLineNumber()).build());
+        }
+        if (!cf.getUsername().equals("")) {
+            fields.add(new ContactField.ContactFieldBuilder().username(cf.getUsername()).build());
+        }
+        if (!cf.getDomain().equals("")) {
+            fields.add(new ContactField.ContactFieldBuilder().domain(cf.getDomain()).build());
+        }
+        if (cf.getZipCode() != 0) {
+            fields.add(new ContactField.ContactFieldBuilder().zipCode(cf.getZipCode()).build());
+        }
+        if (cf.getState() != State.NONE) {
+            fields.add(new ContactField.ContactFieldBuilder().state(cf.getState()).build());
+        }
+        if (!cf.getCity().equals("")) {
+            fields.add(new ContactField.ContactFieldBuilder().city(cf.getCity()).build());
+        }
+        if (!cf.getStreet().equals("")) {
+            fields.add(new ContactField.ContactFieldBuilder().street(cf.getStreet()).build());
+        }
+        if (!cf.getNote().equals("")) {
+            fields.add(new ContactField.ContactFieldBuilder().note(cf.getNote()).build());
+        }
+        return fields;
+    }
+
+    /**
+     * The {@code Node} class represents one criteria of the criteria tree, with its execution statistics.
+     */
+    public static class Node {
+        private final SearchCriteria criteria;
+        private final List<Node> children;
+        private final boolean conjunction;
+        private long invocations;
+        private long passes;
+        private long samples;
+        private long sampledNanos;
+
+        /**
+         * Initializes a newly created {@code Node} object.
+         * <p>
+         * @param criteria the search criteria
+         * @param children the child nodes, empty for a leaf
+         * @param conjunction true if all children must pass, false if any child must pass
+         */
+        private Node(SearchCriteria criteria, List<Node> children, boolean conjunction) {
+            this.criteria = criteria;
+            this.children = Collections.unmodifiableList(children);
+            this.conjunction = conjunction;
+        }
+
+        /**
+         * Returns the search criteria of this node.
+         * <p>
+         * @return the search criteria of this node
+         */
+        public SearchCriteria getCriteria() {
+            return criteria;
+        }
+
+        /**
+         * Returns a one line label of the search criteria of this node.
+         * <p>
+         * @return a one line label of the search criteria
+         */
+        public String getLabel() {
+            return label(criteria);
+        }
+
+        /**
+         * Returns an unmodifiable view of the child nodes.
+         * <p>
+         * @return an unmodifiable view of the child nodes
+         */
+        public List<Node> getChildren() {
+            return children;
+        }
+
+        /**
+         * Returns the number of times this node was evaluated.
+         * <p>
+         * @return the number of evaluations
+         */
+        public long getInvocations() {
+            return invocations;
+        }
+
+        /**
+         * Returns the number of evaluations which passed.
+         * <p>
+         * @return the number of evaluations which passed
+         */
+        public long getPasses() {
+            return passes;
+        }
+
+        /**
+         * Returns the fraction of evaluations which passed, or 0 if this node was never evaluated.
+         * <p>
+         * @return the pass rate
+         */
+        public double getPassRate() {
+            return invocations == 0 ? 0 : (double) passes / invocations;
+        }
+
+        /**
+         * Returns the number of evaluations which were timed.
+         * <p>
+         * @return the number of timed evaluations
+         */
+        public long getSamples() {
+            return samples;
+        }
+
+        /**
+         * Returns the estimated cumulative nanoseconds spent evaluating this node, its children included: the 
+         * time of the timed evaluations scaled by the number of evaluations.
+         * <p>
+         * @return the estimated cumulative nanoseconds
+         */
+        public long getNanos() {
+            return samples == 0 ? 0 : Math.round((double) sampledNanos * invocations / samples);
+        }
+
+        /**
+         * Evaluates this node against the specified contact entry, recording the statistics. Child nodes are 
+         * evaluated with the short-circuit semantics of {@code And} and {@code Or}. Only one in 
+         * {@value Explanation#SAMPLE_INTERVAL} evaluations is timed.
+         * <p>
+         * @param ce the contact entry
+         * @return true if the contact entry matches the criteria of this node
+         */
+        boolean evaluate(ContactEntry ce) {
+            boolean timed = invocations % SAMPLE_INTERVAL == 0;
+            long start = timed ? System.nanoTime() : 0;
+            boolean result;
+            if (children.isEmpty()) {
+                result = criteria.matchCondition(ce);
+            } else {
+                result = conjunction;
+                for (Node child : children) {
+                    if (child.evaluate(ce) != conjunction) {
+                        result = !conjunction;
+                        break;
+                    }
+                }
+            }
+            if (timed) {
+                sampledNanos += System.nanoTime() - start;
+                samples++;
+            }
+            invocations++;
+            if (result) {
+                passes++;
+            }
+            return result;
+        }
+
+        /**
+         * Appends the text of this node and of its children to the specified builder.
+         * <p>
+         * @param sb the builder
+         * @param depth the depth of this node
+         * @param profiled true if the statistics are to be appended
+         */
+        private void appendTo(StringBuilder sb, int depth, boolean profiled) {
+            for (int i = 0; i < depth; i++) {
+                sb.append("  ");
+            }
+            sb.append(getLabel());
+            if (profiled) {
+                sb.append(String.format(" [calls=%d, pass=%.1f%%, time=%d ns]", 
+                        invocations, getPassRate() * 100, getNanos()));
+            }
+            sb.append("\n");
+            for (Node child : children) {
+                child.appendTo(sb, depth + 1, profiled);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,333 @@
+package edu.nyu.cs.addressbook;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import edu.nyu.cs.addressbook.SearchControl.SearchControlBuilder;
+
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code FederatedSearch} class represents one search criteria fanned out across several 
+ * {@link edu.nyu.cs.addressbook.Contact} lists.
+ * <p>
+ * Every {@code Contact} list is searched by its own task on an executor, so the lists are searched in 
+ * parallel. The matches are streamed through this iterator as soon as the search of a list completes, each 
+ * tagged with the id of its {@code Contact} list; the matches of one list are delivered together and in its 
+ * natural order, while the lists are delivered in order of completion.
+ * <p>
+ * Every list is searched through {@link Contact#search(SearchCriteria, SearchControl)}, under a deadline 
+ * counted from the time its task starts, so the time a task waits in the queue of the executor is not taken 
+ * from its budget, and a cancellation token. A list whose search has not completed within the timeout is 
+ * abandoned: the search stops at the deadline, or is cancelled and interrupted if it has not noticed, its 
+ * matches are never delivered, and its id is reported by {@link #getTimedOutIds()}. The whole search could be 
+ * cancelled by {@link #cancel()}, which cancels the token of every search, so that the executor threads are 
+ * released promptly.
+ * <p>
+ * {@code FederatedSearch} objects are obtained by calls on 
+ * {@link edu.nyu.cs.addressbook.ContactFactory#search(SearchCriteria, ExecutorService, long, TimeUnit)}. 
+ * The iteration is not thread-safe, but {@link #cancel()} could be called from any thread.
+ */
+public class FederatedSearch implements Iterator<FederatedSearch.Hit> {
+    private final BlockingQueue<Task> completed = new LinkedBlockingQueue<>();
+    private final List<Task> pending = new ArrayList<>();
+    private final List<String> timedOutIds = new ArrayList<>();
+    private final long timeout;
+    private volatile boolean cancelled;
+    private Iterator<Hit> current = Collections.emptyIterator();
+
+    /**
+     * Initializes a newly created {@code FederatedSearch} object, and submits the search of every specified 
+     * {@code Contact} list to the specified executor.
+     * <p>
+     * @param contacts the {@code Contact} lists to be searched
+     * @param criteria the search criteria
+     * @param executor the executor which runs the searches
+     * @param timeout the maximum time to wait for the search of one {@code Contact} list, counted from the 
+     * time its search starts
+     * @param unit the time unit of the timeout
+     * @throws java.util.concurrent.RejectedExecutionException if a search could not be submitted, in which 
+     * case the searches already submitted are cancelled
+     */
+    FederatedSearch(Collection<Contact> contacts, SearchCriteria criteria, ExecutorService executor, 
+            long timeout, TimeUnit unit) {
+        this.timeout = unit.toNanos(timeout);
+        try {
+            for (Contact c : contacts) {
+                Task task = new Task(c, criteria);
+                task.future = executor.submit(task);
+                synchronized (pending) {
+                    pending.add(task);
+                }
+            }
+        } catch (RuntimeException e) {
+            cancel();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the ids of the {@code Contact} lists which have been abandoned so far because their search did 
+     * not complete within the timeout.
+     * <p>
+     * @return the ids of the timed out {@code Contact} lists
+     */
+    public List<String> getTimedOutIds() {
+        return Collections.unmodifiableList(new ArrayList<>(timedOutIds));
+    }
+
+    /**
+     * Cancels this federated search. The searches which have not completed yet are cancelled, and no further 
+     * matches are delivered.
+     */
+    public void cancel() {
+        cancelled = true;
+        synchronized (pending) {
+            for (Task task : pending) {
+                task.abandon();
+            }
+        }
+    }
+
+    /**
+     * Returns true if this federated search has been cancelled.
+     * <p>
+     * @return true if this federated search has been cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * This method blocks until the search of another {@code Contact} list completes or times out. If the 
+     * calling thread is interrupted while waiting, this federated search is cancelled, the interrupt status is 
+     * restored, and false is returned.
+     * <p>
+     * @throws RuntimeException the exception thrown by the search of a {@code Contact} list, in which case 
+     * this federated search is cancelled
+     */
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (cancelled || pending.isEmpty()) {
+                return false;
+            }
+            try {
+                Task task = completed.poll(waitNanos(), TimeUnit.NANOSECONDS);
+                if (task != null) {
+                    synchronized (pending) {
+                        pending.remove(task);
+                    }
+                    if (task.failure != null) {
+                        cancel();
+                        throw task.failure;
+                    }
+                    if (task.timedOut) {
+                        timedOutIds.add(task.contact.getID());
+                    } else {
+                        current = task.hits.iterator();
+                    }
+                } else {
+                    abandonPending();
+                }
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Hit next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No such element exists!");
+        }
+        return current.next();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException(
+                "Unsupported remove() operation in " + this.getClass() + " !");
+    }
+
+    /**
+     * Returns the time to wait for the next search to complete: until the earliest deadline of the running 
+     * searches, or the timeout if none is running yet, but at least a millisecond, so that searches waiting 
+     * for an executor thread are not polled in a busy loop.
+     * <p>
+     * @return the time to wait, in nanoseconds
+     */
+    private long waitNanos() {
+        long now = System.nanoTime();
+        long wait = timeout;
+        synchronized (pending) {
+            for (Task task : pending) {
+                if (task.started) {
+                    wait = Math.min(wait, task.deadline - now);
+                }
+            }
+        }
+        return Math.max(wait, TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * Abandons the running searches whose deadline has passed. A search which has completed but has not been 
+     * delivered yet is kept, and a search which is still waiting for an executor thread is not abandoned.
+     */
+    private void abandonPending() {
+        long now = System.nanoTime();
+        synchronized (pending) {
+            Iterator<Task> it = pending.iterator();
+            while (it.hasNext()) {
+                Task task = it.next();
+                if (task.started && now - task.deadline >= 0 && task.claimed.compareAndSet(false, true)) {
+                    task.abandon();
+                    timedOutIds.add(task.contact.getID());
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * The {@code Hit} class represents a contact entry found by a federated search, tagged with the id of the 
+     * {@link edu.nyu.cs.addressbook.Contact} list it was found in. {@code Hit} objects are immutable.
+     */
+    public static class Hit {
+        private final String contactId;
+        private final ContactEntry entry;
+
+        /**
+         * Initializes a newly created {@code Hit} object.
+         * <p>
+         * @param contactId the id of the {@code Contact} list
+         * @param entry the contact entry
+         */
+        private Hit(String contactId, ContactEntry entry) {
+            this.contactId = contactId;
+            this.entry = entry;
+        }
+
+        /**
+         * Returns the id of the {@code Contact} list the contact entry was found in.
+         * <p>
+         * @return the id of the {@code Contact} list
+         */
+        public String getContactId() {
+            return contactId;
+        }
+
+        /**
+         * Returns the contact entry.
+         * <p>
+         * @return the contact entry
+         */
+        public ContactEntry getEntry() {
+            return entry;
+        }
+
+        /**
+         * Return string representation of this {@code Hit} object. The string representation consists of the 
+         * id of the {@code Contact} list and the contact entry.
+         * <p>
+         * @return a string representation of this {@code Hit} object
+         */
+        @Override
+        public String toString() {
+            return contactId + ": " + entry;
+        }
+    }
+
+    /**
+     * The {@code Task} class represents the search of one {@link edu.nyu.cs.addressbook.Contact} list. The 
+     * task and the abandoning iterator race to claim the task; only a task claimed by its own completion is 
+     * delivered, either with its matches or, if its search stopped at the deadline, as timed out.
+     */
+    private class Task implements Runnable {
+        private final Contact contact;
+        private final SearchCriteria criteria;
+        private final CancellationToken token = new CancellationToken();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final List<Hit> hits = new ArrayList<>();
+        private RuntimeException failure;
+        private boolean timedOut;
+        private long deadline;
+        private volatile boolean started;
+        private volatile Future<?> future;
+
+        /**
+         * Initializes a newly created {@code Task} object.
+         * <p>
+         * @param contact the {@code Contact} list to be searched
+         * @param criteria the search criteria
+         */
+        private Task(Contact contact, SearchCriteria criteria) {
+            this.contact = contact;
+            this.criteria = criteria;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            SearchControl control = new SearchControlBuilder()
+                    .timeout(timeout, TimeUnit.NANOSECONDS).token(token).build();
+            deadline = System.nanoTime() + timeout;
+            started = true;
+            try {
+                SearchResult result = contact.search(criteria, control);
+                if (result.isTruncated()) {
+                    timedOut = true;
+                } else {
+                    for (ContactEntry ce : result.getEntries()) {
+                        hits.add(new Hit(contact.getID(), ce));
+                    }
+                }
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            if (claimed.compareAndSet(false, true)) {
+                completed.add(this);
+            }
+        }
+
+        /**
+         * Cancels the token of this search, and cancels its task, interrupting it if it is running.
+         */
+        private void abandon() {
+            token.cancel();
+            Future<?> f = future;
+            if (f != null) {
+                f.cancel(true);
+            }
+        }
+    }
+
+}
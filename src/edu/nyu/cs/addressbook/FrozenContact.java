@@ -0,0 +1,1066 @@
+package edu.nyu.cs.addressbook;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.component.util.State;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.search.impl.Compiled;
+import edu.nyu.cs.addressbook.search.impl.ContactField;
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code FrozenContact} class represents an immutable snapshot of a {@link Contact} list which is kept
+ * outside of the Java heap.
+ * <p>
+ * All data lives in direct byte buffers, so that a large read-only contact list neither occupies the heap nor
+ * adds work to the garbage collector; the heap only holds the buffer objects themselves. Strings are encoded
+ * as UTF-8 once each into a string arena, and referred to by a {@code long} holding their offset in the
+ * upper and their length in the lower 32 bits. The fields of the contact entries are kept column by column,
+ * as in {@link ColumnarContact}: string references, packed phone numbers (see
+ * {@link edu.nyu.cs.addressbook.component.PhoneNumber#pack()}), zipcodes and state ordinals, with per-row
+ * offsets into the columns of the repeated fields. The rows are in the natural order of the contact entries,
+ * so that the name columns form a sorted key array.
+ * <p>
+ * Three indexes are kept off-heap as well: the packed phone numbers in ascending order, the rows of every
+ * state, and the rows of every email domain. {@link edu.nyu.cs.addressbook.search.impl.ContactField}
+ * criteria are narrowed by the most selective index which applies and are verified directly against the
+ * encoded data, comparing UTF-8 bytes instead of decoding strings. Other criteria are evaluated against
+ * contact entries materialized from the rows.
+ * <p>
+ * The fields of a row are read through a reusable {@link View} cursor; iteration and search materialize
+ * contact entries, which are new objects equal to but not identical with the entries of the contact list.
+ * Each region is limited to two gigabytes.
+ * <p>
+ * A {@code FrozenContact} is obtained by {@link Contact#freeze()}. {@code FrozenContact} objects are constant;
+ * their values could not be changed after they are created. Because {@code FrozenContact} objects are
+ * immutable they could be shared. {@link View} cursors are not thread-safe.
+ */
+public final class FrozenContact implements Iterable<ContactEntry> {
+    private static final State[] STATES = State.values();
+
+    private final String id;
+    private final int size;
+    private final ByteBuffer strings;
+    private final LongBuffer firstNames;
+    private final LongBuffer lastNames;
+    private final LongBuffer notes;
+    private final IntBuffer phoneOffsets;
+    private final LongBuffer phoneNumbers;
+    private final IntBuffer emailOffsets;
+    private final LongBuffer usernames;
+    private final LongBuffer domains;
+    private final IntBuffer postalOffsets;
+    private final IntBuffer zipCodes;
+    private final ByteBuffer states;
+    private final LongBuffer cities;
+    private final LongBuffer streets;
+    private final LongBuffer phoneKeys;
+    private final IntBuffer phoneRows;
+    private final IntBuffer stateOffsets;
+    private final IntBuffer stateRows;
+    private final LongBuffer domainKeys;
+    private final IntBuffer domainOffsets;
+    private final IntBuffer domainRows;
+    private final long offHeapSize;
+
+    /**
+     * Initializes a newly created {@code FrozenContact} object so that it records the specified contact
+     * entries off-heap.
+     * <p>
+     * @param id the identifier of the contact list
+     * @param entries the contact entries in natural order
+     */
+    FrozenContact(String id, List<ContactEntry> entries) {
+        assert id != null && entries != null;
+        assert STATES.length <= Byte.MAX_VALUE;
+
+        this.id = id;
+        this.size = entries.size();
+        int phoneCount = 0;
+        int emailCount = 0;
+        int postalCount = 0;
+        for (ContactEntry ce : entries) {
+            phoneCount += ce.getPhoneNumbers().size();
+            emailCount += ce.getEmailAddresses().size();
+            postalCount += ce.getPostalAddresses().size();
+        }
+        StringArena arena = new StringArena();
+        long[] firstNameRefs = new long[size];
+        long[] lastNameRefs = new long[size];
+        long[] noteRefs = new long[size];
+        int[] phoneStarts = new int[size + 1];
+        long[] phones = new long[phoneCount];
+        int[] phoneRowOf = new int[phoneCount];
+        int[] emailStarts = new int[size + 1];
+        long[] usernameRefs = new long[emailCount];
+        long[] domainRefs = new long[emailCount];
+        int[] postalStarts = new int[size + 1];
+        int[] zips = new int[postalCount];
+        byte[] ordinals = new byte[postalCount];
+        long[] cityRefs = new long[postalCount];
+        long[] streetRefs = new long[postalCount];
+        Map<String, List<Integer>> rowsByDomain = new TreeMap<>();
+        List<List<Integer>> rowsByState = new ArrayList<>();
+        for (int s = 0; s < STATES.length; s++) {
+            rowsByState.add(new ArrayList<Integer>());
+        }
+        int p = 0;
+        int e = 0;
+        int a = 0;
+        for (int r = 0; r < size; r++) {
+            ContactEntry ce = entries.get(r);
+            firstNameRefs[r] = arena.add(ce.getFirstName());
+            lastNameRefs[r] = arena.add(ce.getLastName());
+            noteRefs[r] = arena.add(ce.getNote());
+            for (PhoneNumber pn : ce.getPhoneNumbers()) {
+                phoneRowOf[p] = r;
+                phones[p++] = pn.pack();
+            }
+            for (EmailAddress ea : ce.getEmailAddresses()) {
+                usernameRefs[e] = arena.add(ea.getUsername());
+                domainRefs[e++] = arena.add(ea.getDomain());
+                List<Integer> rows = rowsByDomain.get(ea.getDomain());
+                if (rows == null) {
+                    rows = new ArrayList<>();
+                    rowsByDomain.put(ea.getDomain(), rows);
+                }
+                addRow(rows, r);
+            }
+            for (PostalAddress pa : ce.getPostalAddresses()) {
+                zips[a] = pa.getZipCode();
+                ordinals[a] = (byte) pa.getState().ordinal();
+                cityRefs[a] = arena.add(pa.getCity());
+                streetRefs[a++] = arena.add(pa.getStreet());
+                addRow(rowsByState.get(pa.getState().ordinal()), r);
+            }
+            phoneStarts[r + 1] = p;
+            emailStarts[r + 1] = e;
+            postalStarts[r + 1] = a;
+        }
+        long[] domainKeyRefs = new long[rowsByDomain.size()];
+        int d = 0;
+        for (String domain : rowsByDomain.keySet()) {
+            domainKeyRefs[d++] = arena.add(domain);
+        }
+
+        this.strings = arena.toBuffer();
+        this.firstNames = toBuffer(firstNameRefs);
+        this.lastNames = toBuffer(lastNameRefs);
+        this.notes = toBuffer(noteRefs);
+        this.phoneOffsets = toBuffer(phoneStarts);
+        this.phoneNumbers = toBuffer(phones);
+        this.emailOffsets = toBuffer(emailStarts);
+        this.usernames = toBuffer(usernameRefs);
+        this.domains = toBuffer(domainRefs);
+        this.postalOffsets = toBuffer(postalStarts);
+        this.zipCodes = toBuffer(zips);
+        this.states = allocate(ordinals.length).put(0, ordinals);
+        this.cities = toBuffer(cityRefs);
+        this.streets = toBuffer(streetRefs);
+
+        Integer[] order = new Integer[phoneCount];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        final long[] keys = phones;
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer i1, Integer i2) {
+                return Long.compare(keys[i1], keys[i2]);
+            }
+        });
+        long[] sortedPhones = new long[phoneCount];
+        int[] sortedPhoneRows = new int[phoneCount];
+        for (int i = 0; i < order.length; i++) {
+            sortedPhones[i] = phones[order[i]];
+            sortedPhoneRows[i] = phoneRowOf[order[i]];
+        }
+        this.phoneKeys = toBuffer(sortedPhones);
+        this.phoneRows = toBuffer(sortedPhoneRows);
+        this.stateOffsets = toBuffer(offsetsOf(rowsByState));
+        this.stateRows = toBuffer(concat(rowsByState));
+        List<List<Integer>> domainRowLists = new ArrayList<>(rowsByDomain.values());
+        this.domainKeys = toBuffer(domainKeyRefs);
+        this.domainOffsets = toBuffer(offsetsOf(domainRowLists));
+        this.domainRows = toBuffer(concat(domainRowLists));
+
+        this.offHeapSize = strings.capacity() + states.capacity()
+                + 8L * (firstNames.capacity() + lastNames.capacity() + notes.capacity() + phoneNumbers.capacity()
+                        + usernames.capacity() + domains.capacity() + cities.capacity() + streets.capacity()
+                        + phoneKeys.capacity() + domainKeys.capacity())
+                + 4L * (phoneOffsets.capacity() + emailOffsets.capacity() + postalOffsets.capacity()
+                        + zipCodes.capacity() + phoneRows.capacity() + stateOffsets.capacity()
+                        + stateRows.capacity() + domainOffsets.capacity() + domainRows.capacity());
+    }
+
+    /**
+     * Returns the identifier of the contact list this snapshot was taken from.
+     * <p>
+     * @return the identifier of the contact list
+     */
+    public String getID() {
+        return id;
+    }
+
+    /**
+     * Returns the number of rows.
+     * <p>
+     * @return the number of rows
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of bytes held outside of the Java heap.
+     * <p>
+     * @return the number of bytes held outside of the Java heap
+     */
+    public long getOffHeapSize() {
+        return offHeapSize;
+    }
+
+    /**
+     * Returns a new cursor positioned at the specified row.
+     * <p>
+     * @param index the row
+     * @return a new cursor positioned at the row
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range
+     */
+    public View view(int index) {
+        return new View().moveTo(index);
+    }
+
+    /**
+     * Returns a contact entry materialized from the specified row.
+     * <p>
+     * @param index the row
+     * @return a contact entry materialized from the row
+     * @throws java.lang.IndexOutOfBoundsException if the row is out of range
+     */
+    public ContactEntry getEntry(int index) {
+        return view(index).toEntry();
+    }
+
+    /**
+     * Returns the row of the contact entry with the specified first name and last name, or -1 if there is no
+     * such contact entry. The row is found by binary search over the name columns.
+     * <p>
+     * @param firstName the first name
+     * @param lastName the last name
+     * @return the row of the contact entry, or -1
+     */
+    public int indexOf(String firstName, String lastName) {
+        ParameterChecker.nullCheck(firstName, "first name");
+        ParameterChecker.nullCheck(lastName, "last name");
+
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int diff = decode(lastNames.get(mid)).compareTo(lastName);
+            if (diff == 0) {
+                diff = decode(firstNames.get(mid)).compareTo(firstName);
+            }
+            if (diff < 0) {
+                low = mid + 1;
+            } else if (diff > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the rows, in ascending order, whose contact entries match the specified criteria. A
+     * {@link edu.nyu.cs.addressbook.search.impl.ContactField} criteria, or a
+     * {@link edu.nyu.cs.addressbook.search.impl.Compiled} one compiled from it, is narrowed by the indexes and
+     * verified against the encoded data; any other criteria is evaluated against materialized contact entries.
+     * <p>
+     * @param criteria the search criteria
+     * @return the matching rows in ascending order
+     */
+    public int[] rowsOf(SearchCriteria criteria) {
+        ParameterChecker.nullCheck(criteria, "criteria");
+
+        SearchCriteria source = criteria instanceof Compiled ? ((Compiled) criteria).getSource() : criteria;
+        int[] rows = new int[16];
+        int count = 0;
+        if (source instanceof ContactField) {
+            ContactField cf = (ContactField) source;
+            Probe probe = new Probe(cf);
+            int[] candidates = candidatesOf(cf);
+            int n = candidates == null ? size : candidates.length;
+            for (int i = 0; i < n; i++) {
+                int r = candidates == null ? i : candidates[i];
+                if (matches(r, cf, probe)) {
+                    if (count == rows.length) {
+                        rows = Arrays.copyOf(rows, count * 2);
+                    }
+                    rows[count++] = r;
+                }
+            }
+        } else {
+            View view = new View();
+            for (int r = 0; r < size; r++) {
+                if (criteria.matchCondition(view.moveTo(r).toEntry())) {
+                    if (count == rows.length) {
+                        rows = Arrays.copyOf(rows, count * 2);
+                    }
+                    rows[count++] = r;
+                }
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    /**
+     * Returns the contact entries, in natural order, which match the specified criteria. The contact entries
+     * are materialized from the matching rows (see {@link #rowsOf(SearchCriteria)}).
+     * <p>
+     * @param criteria the search criteria
+     * @return the matching contact entries in natural order
+     */
+    public List<ContactEntry> search(SearchCriteria criteria) {
+        final int[] rows = rowsOf(criteria);
+        final ContactEntry[] entries = new ContactEntry[rows.length];
+        View view = new View();
+        for (int i = 0; i < rows.length; i++) {
+            entries[i] = view.moveTo(rows[i]).toEntry();
+        }
+        return new EntryList(entries);
+    }
+
+    /**
+     * Returns an iterator over the contact entries materialized from the rows, in natural order.
+     * <p>
+     * @return an iterator over the contact entries materialized from the rows
+     */
+    @Override
+    public Iterator<ContactEntry> iterator() {
+        return new Iterator<ContactEntry>() {
+            private final View view = new View();
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            public ContactEntry next() {
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return view.moveTo(next++).toEntry();
+            }
+        };
+    }
+
+    /**
+     * Returns the rows, in ascending order and without duplicates, offered by the most selective index which
+     * applies to the specified criteria, or null if no index applies.
+     * <p>
+     * @param cf the criteria
+     * @return the candidate rows, or null if no index applies
+     */
+    private int[] candidatesOf(ContactField cf) {
+        int[] best = null;
+        if (cf.getState() != State.NONE) {
+            int ordinal = cf.getState().ordinal();
+            best = slice(stateRows, stateOffsets.get(ordinal), stateOffsets.get(ordinal + 1));
+        }
+        if (!cf.getDomain().equals("")) {
+            int d = indexOfDomain(cf.getDomain());
+            int[] rows = d < 0 ? new int[0] : slice(domainRows, domainOffsets.get(d), domainOffsets.get(d + 1));
+            best = best == null || rows.length < best.length ? rows : best;
+        }
+        if (cf.getAreaCode() != 0) {
+            long low = (cf.getAreaCode() & PhoneNumber.FIELD_MASK) << PhoneNumber.AREA_CODE_SHIFT;
+            long high = low + (1L << PhoneNumber.AREA_CODE_SHIFT);
+            int from = lowerBound(phoneKeys, low);
+            int to = lowerBound(phoneKeys, high);
+            if (best == null || to - from < best.length) {
+                int[] rows = slice(phoneRows, from, to);
+                Arrays.sort(rows);
+                best = distinct(rows);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Returns true if the contact entry of the specified row matches the populated fields of the specified
+     * criteria.
+     * <p>
+     * @param r the row
+     * @param cf the criteria
+     * @param probe the encoded strings of the criteria
+     * @return true if the row matches the criteria
+     */
+    private boolean matches(int r, ContactField cf, Probe probe) {
+        if (probe.firstName != null && !equalsUtf8(firstNames.get(r), probe.firstName)) {
+            return false;
+        }
+        if (probe.lastName != null && !equalsUtf8(lastNames.get(r), probe.lastName)) {
+            return false;
+        }
+        if (cf.getAreaCode() != 0 && !containsPhoneNumberPart(r, PhoneNumber.AREA_CODE_SHIFT, cf.getAreaCode())) {
+            return false;
+        }
+        if (cf.getPrefix() != 0 && !containsPhoneNumberPart(r, PhoneNumber.PREFIX_SHIFT, cf.getPrefix())) {
+            return false;
+        }
+        if (cf.getLineNumber() != 0
+                && !containsPhoneNumberPart(r, PhoneNumber.LINE_NUMBER_SHIFT, cf.getLineNumber())) {
+            return false;
+        }
+        if (probe.username != null
+                && !containsEqual(usernames, emailOffsets.get(r), emailOffsets.get(r + 1), probe.username)) {
+            return false;
+        }
+        if (probe.domain != null
+                && !containsEqual(domains, emailOffsets.get(r), emailOffsets.get(r + 1), probe.domain)) {
+            return false;
+        }
+        if (cf.getZipCode() != 0 || cf.getState() != State.NONE || probe.city != null || probe.street != null) {
+            boolean zipCode = cf.getZipCode() == 0;
+            boolean state = cf.getState() == State.NONE;
+            boolean city = probe.city == null;
+            boolean street = probe.street == null;
+            for (int i = postalOffsets.get(r); i < postalOffsets.get(r + 1); i++) {
+                zipCode = zipCode || zipCodes.get(i) == cf.getZipCode();
+                state = state || states.get(i) == cf.getState().ordinal();
+                city = city || equalsUtf8(cities.get(i), probe.city);
+                street = street || containsUtf8(streets.get(i), probe.street);
+            }
+            if (!(zipCode && state && city && street)) {
+                return false;
+            }
+        }
+        return probe.note == null || containsUtf8(notes.get(r), probe.note);
+    }
+
+    /**
+     * Returns true if any phone number of the specified row has the specified value in the part at the
+     * specified bit position.
+     * <p>
+     * @param r the row
+     * @param shift the bit position of the part
+     * @param value the value of the part
+     * @return true if any phone number of the row has the value in the part
+     */
+    private boolean containsPhoneNumberPart(int r, int shift, int value) {
+        long mask = PhoneNumber.FIELD_MASK << shift;
+        long target = (value & PhoneNumber.FIELD_MASK) << shift;
+        for (int i = phoneOffsets.get(r); i < phoneOffsets.get(r + 1); i++) {
+            if ((phoneNumbers.get(i) & mask) == target) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if any string referred to by the specified column from {@code from} to {@code to} is equal
+     * to the specified UTF-8 bytes.
+     * <p>
+     * @param column the column of string references
+     * @param from the first element, inclusive
+     * @param to the last element, exclusive
+     * @param bytes the UTF-8 bytes
+     * @return true if any string in the range is equal to the bytes
+     */
+    private boolean containsEqual(LongBuffer column, int from, int to, byte[] bytes) {
+        for (int i = from; i < to; i++) {
+            if (equalsUtf8(column.get(i), bytes)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns true if the string referred to by the specified reference is equal to the specified UTF-8 bytes.
+     * <p>
+     * @param ref the string reference
+     * @param bytes the UTF-8 bytes
+     * @return true if the string is equal to the bytes
+     */
+    private boolean equalsUtf8(long ref, byte[] bytes) {
+        if ((int) ref != bytes.length) {
+            return false;
+        }
+        int offset = (int) (ref >>> 32);
+        for (int i = 0; i < bytes.length; i++) {
+            if (strings.get(offset + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the string referred to by the specified reference contains the specified UTF-8 bytes.
+     * Because UTF-8 is self-synchronizing, a byte match is a character match.
+     * <p>
+     * @param ref the string reference
+     * @param bytes the UTF-8 bytes
+     * @return true if the string contains the bytes
+     */
+    private boolean containsUtf8(long ref, byte[] bytes) {
+        int offset = (int) (ref >>> 32);
+        int last = (int) ref - bytes.length;
+        for (int start = 0; start <= last; start++) {
+            int i = 0;
+            while (i < bytes.length && strings.get(offset + start + i) == bytes[i]) {
+                i++;
+            }
+            if (i == bytes.length) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the string referred to by the specified reference.
+     * <p>
+     * @param ref the string reference
+     * @return the string
+     */
+    private String decode(long ref) {
+        byte[] bytes = new byte[(int) ref];
+        strings.get((int) (ref >>> 32), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the position of the specified domain in the domain index, or -1 if it is not present.
+     * <p>
+     * @param domain the domain
+     * @return the position of the domain, or -1
+     */
+    private int indexOfDomain(String domain) {
+        int low = 0;
+        int high = domainKeys.capacity() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int diff = decode(domainKeys.get(mid)).compareTo(domain);
+            if (diff < 0) {
+                low = mid + 1;
+            } else if (diff > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the position of the first key which is not less than the specified key.
+     * <p>
+     * @param keys the keys in ascending order
+     * @param key the key
+     * @return the position of the first key which is not less than the key
+     */
+    private static int lowerBound(LongBuffer keys, long key) {
+        int low = 0;
+        int high = keys.capacity();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys.get(mid) < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Returns a heap copy of the specified range of the specified buffer.
+     * <p>
+     * @param buffer the buffer
+     * @param from the first element, inclusive
+     * @param to the last element, exclusive
+     * @return a copy of the range
+     */
+    private static int[] slice(IntBuffer buffer, int from, int to) {
+        int[] result = new int[to - from];
+        buffer.get(from, result);
+        return result;
+    }
+
+    /**
+     * Returns the distinct elements of the specified sorted array.
+     * <p>
+     * @param sorted the array in ascending order
+     * @return the distinct elements in ascending order
+     */
+    private static int[] distinct(int[] sorted) {
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (count == 0 || sorted[count - 1] != sorted[i]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, count);
+    }
+
+    /**
+     * Appends the specified row to the specified list unless it is already the last element. Rows are visited
+     * in ascending order, so the list stays free of duplicates.
+     * <p>
+     * @param rows the rows
+     * @param r the row
+     */
+    private static void addRow(List<Integer> rows, int r) {
+        if (rows.isEmpty() || rows.get(rows.size() - 1) != r) {
+            rows.add(r);
+        }
+    }
+
+    /**
+     * Returns the offsets of the specified lists when they are concatenated.
+     * <p>
+     * @param lists the lists
+     * @return the offsets of the lists, followed by their total size
+     */
+    private static int[] offsetsOf(List<List<Integer>> lists) {
+        int[] offsets = new int[lists.size() + 1];
+        for (int i = 0; i < lists.size(); i++) {
+            offsets[i + 1] = offsets[i] + lists.get(i).size();
+        }
+        return offsets;
+    }
+
+    /**
+     * Returns the concatenation of the specified lists.
+     * <p>
+     * @param lists the lists
+     * @return the concatenation of the lists
+     */
+    private static int[] concat(List<List<Integer>> lists) {
+        int[] result = new int[offsetsOf(lists)[lists.size()]];
+        int i = 0;
+        for (List<Integer> list : lists) {
+            for (Integer r : list) {
+                result[i++] = r;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new direct byte buffer of the specified capacity, in native byte order.
+     * <p>
+     * @param capacity the capacity in bytes
+     * @return a new direct byte buffer
+     */
+    private static ByteBuffer allocate(int capacity) {
+        return ByteBuffer.allocateDirect(capacity).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Returns a direct buffer holding a copy of the specified array.
+     * <p>
+     * @param array the array
+     * @return a direct buffer holding a copy of the array
+     */
+    private static LongBuffer toBuffer(long[] array) {
+        return allocate(array.length * 8).asLongBuffer().put(0, array);
+    }
+
+    /**
+     * Returns a direct buffer holding a copy of the specified array.
+     * <p>
+     * @param array the array
+     * @return a direct buffer holding a copy of the array
+     */
+    private static IntBuffer toBuffer(int[] array) {
+        return allocate(array.length * 4).asIntBuffer().put(0, array);
+    }
+
+    /**
+     * Returns string representation of this {@code FrozenContact} object. The string representation consists
+     * of the identifier and the number of rows.
+     * <p>
+     * @return a string representation of this {@code FrozenContact} object
+     */
+    @Override
+    public String toString() {
+        return id + " (" + size + " rows)";
+    }
+
+    /**
+     * The {@code StringArena} class represents the builder of the string arena. Every distinct string is
+     * encoded once.
+     */
+    private static class StringArena {
+        private final Map<String, Long> refs = new HashMap<>();
+        private final List<byte[]> encoded = new ArrayList<>();
+        private long length = 0;
+
+        /**
+         * Adds the specified string to this arena, unless it has been added before, and returns its reference.
+         * <p>
+         * @param str the string
+         * @return the reference of the string
+         * @throws java.lang.IllegalStateException if the arena exceeds two gigabytes
+         */
+        long add(String str) {
+            Long ref = refs.get(str);
+            if (ref == null) {
+                byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+                if (length + bytes.length > Integer.MAX_VALUE) {
+                    throw new IllegalStateException("string arena: " + (length + bytes.length));
+                }
+                ref = (length << 32) | bytes.length;
+                refs.put(str, ref);
+                encoded.add(bytes);
+                length += bytes.length;
+            }
+            return ref;
+        }
+
+        /**
+         * Returns a direct byte buffer holding the encoded strings, in the order they were added.
+         * <p>
+         * @return a direct byte buffer holding the encoded strings
+         */
+        ByteBuffer toBuffer() {
+            ByteBuffer buffer = allocate((int) length);
+            int offset = 0;
+            for (byte[] bytes : encoded) {
+                buffer.put(offset, bytes);
+                offset += bytes.length;
+            }
+            return buffer;
+        }
+
+    }
+
+    /**
+     * The {@code Probe} class represents the UTF-8 encoding of the populated string fields of a
+     * {@link edu.nyu.cs.addressbook.search.impl.ContactField} criteria. Unpopulated fields are null.
+     */
+    private static class Probe {
+        private final byte[] firstName;
+        private final byte[] lastName;
+        private final byte[] username;
+        private final byte[] domain;
+        private final byte[] city;
+        private final byte[] street;
+        private final byte[] note;
+
+        /**
+         * Initializes a newly created {@code Probe} object so that it records the encoding of the specified
+         * criteria.
+         * <p>
+         * @param cf the criteria
+         */
+        Probe(ContactField cf) {
+            this.firstName = encode(cf.getFirstName());
+            this.lastName = encode(cf.getLastName());
+            this.username = encode(cf.getUsername());
+            this.domain = encode(cf.getDomain());
+            this.city = encode(cf.getCity());
+            this.street = encode(cf.getStreet());
+            this.note = encode(cf.getNote());
+        }
+
+        /**
+         * Returns the UTF-8 encoding of the specified string, or null if it is empty.
+         * <p>
+         * @param str the string
+         * @return the UTF-8 encoding of the string, or null
+         */
+        private static byte[] encode(String str) {
+            return str.equals("") ? null : str.getBytes(StandardCharsets.UTF_8);
+        }
+
+    }
+
+    /**
+     * The {@code EntryList} class represents an unmodifiable list of materialized contact entries.
+     */
+    private static class EntryList extends AbstractList<ContactEntry> implements RandomAccess {
+        private final ContactEntry[] entries;
+
+        /**
+         * Initializes a newly created {@code EntryList} object over the specified array.
+         * <p>
+         * @param entries the contact entries
+         */
+        EntryList(ContactEntry[] entries) {
+            this.entries = entries;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public ContactEntry get(int index) {
+            return entries[index];
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int size() {
+            return entries.length;
+        }
+
+    }
+
+    /**
+     * @author shenli
+     * <p>
+     * The {@code View} class represents a cursor over the rows of a {@link FrozenContact}. The fields of the
+     * row the cursor is positioned at are decoded from the off-heap data on access; a cursor could be moved to
+     * another row and reused, so that a scan over all rows allocates a single cursor.
+     * <p>
+     * {@code View} objects are not constant; their position could be changed after they are created. The
+     * {@code View} object is not thread-safe.
+     */
+    public final class View {
+        private int index;
+
+        /**
+         * Initializes a newly created {@code View} object positioned at the first row.
+         */
+        private View() {
+
+        }
+
+        /**
+         * Positions this cursor at the specified row.
+         * <p>
+         * @param index the row
+         * @return this cursor
+         * @throws java.lang.IndexOutOfBoundsException if the row is out of range
+         */
+        public View moveTo(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("index: " + index);
+            }
+            this.index = index;
+            return this;
+        }
+
+        /**
+         * Returns the row this cursor is positioned at.
+         * <p>
+         * @return the row this cursor is positioned at
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Returns first name.
+         * <p>
+         * @return first name
+         */
+        public String getFirstName() {
+            return decode(firstNames.get(index));
+        }
+
+        /**
+         * Returns last name.
+         * <p>
+         * @return last name
+         */
+        public String getLastName() {
+            return decode(lastNames.get(index));
+        }
+
+        /**
+         * Returns note.
+         * <p>
+         * @return note
+         */
+        public String getNote() {
+            return decode(notes.get(index));
+        }
+
+        /**
+         * Returns the number of phone numbers.
+         * <p>
+         * @return the number of phone numbers
+         */
+        public int getPhoneNumberCount() {
+            return phoneOffsets.get(index + 1) - phoneOffsets.get(index);
+        }
+
+        /**
+         * Returns the packed representation of the specified phone number (see
+         * {@link edu.nyu.cs.addressbook.component.PhoneNumber#pack()}).
+         * <p>
+         * @param i the position of the phone number
+         * @return the packed phone number
+         * @throws java.lang.IndexOutOfBoundsException if the position is out of range
+         */
+        public long getPackedPhoneNumber(int i) {
+            return phoneNumbers.get(phoneOffsets.get(index) + checkIndex(i, getPhoneNumberCount()));
+        }
+
+        /**
+         * Returns the number of email addresses.
+         * <p>
+         * @return the number of email addresses
+         */
+        public int getEmailAddressCount() {
+            return emailOffsets.get(index + 1) - emailOffsets.get(index);
+        }
+
+        /**
+         * Returns the user name of the specified email address.
+         * <p>
+         * @param i the position of the email address
+         * @return the user name
+         * @throws java.lang.IndexOutOfBoundsException if the position is out of range
+         */
+        public String getUsername(int i) {
+            return decode(usernames.get(emailOffsets.get(index) + checkIndex(i, getEmailAddressCount())));
+        }
+
+        /**
+         * Returns the domain of the specified email address.
+         * <p>
+         * @param i the position of the email address
+         * @return the domain
+         * @throws java.lang.IndexOutOfBoundsException if the position is out of range
+         */
+        public String getDomain(int i) {
+            return decode(domains.get(emailOffsets.get(index) + checkIndex(i, getEmailAddressCount())));
+        }
+
+        /**
+         * Returns the number of postal addresses.
+         * <p>
+         * @return the number of postal addresses
+         */
+        public int getPostalAddressCount() {
+            return postalOffsets.get(index + 1) - postalOffsets.get(index);
+        }
+
+        /**
+         * Returns the zipcode of the specified postal address.
+         * <p>
+         * @param i the position of the postal address
+         * @return the zipcode
+         * @throws java.lang.IndexOutOfBoundsException if the position is out of range
+         */
+        public int getZipCode(int i) {
+            return zipCodes.get(postalOffsets.get(index) + checkIndex(i, getPostalAddressCount()));
+        }
+
+        /**
+         * Returns the state of the specified postal address.
+         * <p>
+         * @param i the position of the postal address
+         * @return the state
+         * @throws java.lang.IndexOutOfBoundsException if the position is out of range
+         */
+        public State getState(int i) {
+            return STATES[states.get(postalOffsets.get(index) + checkIndex(i, getPostalAddressCount()))];
+        }
+
+        /**
+         * Returns the city of the specified postal address.
+         * <p>
+         * @param i the position of the postal address
+         * @return the city
+         * @throws java.lang.IndexOutOfBoundsException if the position is out of range
+         */
+        public String getCity(int i) {
+            return decode(cities.get(postalOffsets.get(index) + checkIndex(i, getPostalAddressCount())));
+        }
+
+        /**
+         * Returns the street of the specified postal address.
+         * <p>
+         * @param i the position of the postal address
+         * @return the street
+         * @throws java.lang.IndexOutOfBoundsException if the position is out of range
+         */
+        public String getStreet(int i) {
+            return decode(streets.get(postalOffsets.get(index) + checkIndex(i, getPostalAddressCount())));
+        }
+
+        /**
+         * Returns a contact entry materialized from the row this cursor is positioned at.
+         * <p>
+         * @return a contact entry materialized from the row
+         */
+        public ContactEntry toEntry() {
+            ContactEntry.ContactEntryBuilder builder =
+                    new ContactEntry.ContactEntryBuilder(getFirstName(), getLastName()).note(getNote());
+            for (int i = 0; i < getPhoneNumberCount(); i++) {
+                builder.phoneNumber(PhoneNumber.valueOf(getPackedPhoneNumber(i)));
+            }
+            for (int i = 0; i < getEmailAddressCount(); i++) {
+                builder.emailAddress(new EmailAddress(getUsername(i), getDomain(i)));
+            }
+            for (int i = 0; i < getPostalAddressCount(); i++) {
+                builder.postalAddress(new PostalAddress.PostalAddressBuilder()
+                        .zipCode(getZipCode(i)).state(getState(i)).city(getCity(i)).street(getStreet(i)).build());
+            }
+            return builder.build();
+        }
+
+        /**
+         * Returns string representation of the row this cursor is positioned at, in the format of
+         * {@link ContactEntry#toString()}.
+         * <p>
+         * @return a string representation of the row
+         */
+        @Override
+        public String toString() {
+            return toEntry().toString();
+        }
+
+        /**
+         * Returns the specified position if it is within the specified count.
+         * <p>
+         * @param i the position
+         * @param count the count
+         * @return the position
+         * @throws java.lang.IndexOutOfBoundsException if the position is out of range
+         */
+        private int checkIndex(int i, int count) {
+            if (i < 0 || i >= count) {
+                throw new IndexOutOfBoundsException("index: " + i);
+            }
+            return i;
+        }
+
+    }
+
+}
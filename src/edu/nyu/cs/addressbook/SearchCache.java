@@ -0,0 +1,367 @@
+package edu.nyu.cs.addressbook;
+
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.component.util.State;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.search.impl.And;
+import edu.nyu.cs.addressbook.search.impl.ContactField;
+import edu.nyu.cs.addressbook.search.impl.NonNull;
+import edu.nyu.cs.addressbook.search.impl.Or;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code SearchCache} class represents the search result cache of a {@link edu.nyu.cs.addressbook.Contact}
+ * object.
+ * <p>
+ * Results are keyed by {@link edu.nyu.cs.addressbook.search.SearchCriteria} equality and stored as the
+ * stable ids of the matching contact entries (see
+ * {@link edu.nyu.cs.addressbook.Contact#idOf(ContactEntry)}) in natural order. Each result remembers the versions of
+ * the contact entry parts (phone numbers, email addresses, postal addresses, note) which its criteria reads;
+ * the result is discarded as soon as one of those parts, or the contact entry list itself, has changed.
+ * Results are evicted in least recently used order once their total weight, an estimate of their size in
+ * bytes, exceeds the maximum weight.
+ * <p>
+ * {@code SearchCache} objects are obtained by {@link edu.nyu.cs.addressbook.Contact#enableSearchCache(long)}.
+ * {@code SearchCache} objects are thread-safe.
+ */
+public class SearchCache extends ContactAdapter {
+    private static final long ENTRY_OVERHEAD = 64;
+    private static final long ID_WEIGHT = 4;
+
+    private final Map<SearchCriteria, Result> results = new LinkedHashMap<>(16, 0.75f, true);
+    private final long maximumWeight;
+    private final long[] versions = new long[Part.values().length];
+    private long listVersion;
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * @author shenli
+     * <p>
+     * The {@code Part} enum represents the mutable parts of a contact entry which a criteria might read.
+     */
+    private enum Part {
+        PHONE, EMAIL, ADDRESS, NOTE;
+    }
+
+    /**
+     * @author shenli
+     * <p>
+     * The {@code Result} class represents a cached search result along with the versions it was computed at.
+     */
+    private static class Result {
+        private final int[] ids;
+        private final Set<Part> parts;
+        private final long listVersion;
+        private final long[] versions;
+
+        /**
+         * Initializes a newly created {@code Result} object.
+         * <p>
+         * @param ids the ids of the matching contact entries
+         * @param parts the contact entry parts read by the criteria
+         * @param listVersion the version of the contact entry list
+         * @param versions the versions of the contact entry parts
+         */
+        private Result(int[] ids, Set<Part> parts, long listVersion, long[] versions) {
+            this.ids = ids;
+            this.parts = parts;
+            this.listVersion = listVersion;
+            this.versions = versions;
+        }
+
+        /**
+         * Returns the weight of this {@code Result} object.
+         * <p>
+         * @return the weight of this {@code Result} object
+         */
+        private long weight() {
+            return ENTRY_OVERHEAD + ID_WEIGHT * ids.length;
+        }
+    }
+
+    /**
+     * Initializes a newly created {@code SearchCache} object with the specified maximum weight.
+     * <p>
+     * @param maximumWeight the maximum total weight of the cached results, in bytes
+     */
+    SearchCache(long maximumWeight) {
+        assert maximumWeight >= 0;
+
+        this.maximumWeight = maximumWeight;
+    }
+
+    /**
+     * Returns the cached ids of the contact entries which match the specified criteria, or null if no
+     * up-to-date result is cached.
+     * <p>
+     * @param criteria the search criteria
+     * @return the cached ids, or null if no up-to-date result is cached
+     */
+    synchronized int[] get(SearchCriteria criteria) {
+        Result result = results.get(criteria);
+        if (result != null && !isCurrent(result)) {
+            results.remove(criteria);
+            weight -= result.weight();
+            result = null;
+        }
+        if (result == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return result.ids;
+    }
+
+    /**
+     * Caches the ids of the contact entries which match the specified criteria, evicting the least
+     * recently used results if the maximum weight is exceeded.
+     * <p>
+     * @param criteria the search criteria
+     * @param ids the ids of the matching contact entries, in natural order
+     */
+    synchronized void put(SearchCriteria criteria, int[] ids) {
+        Result result = new Result(ids, partsOf(criteria), listVersion, versions.clone());
+        if (result.weight() > maximumWeight) {
+            return;
+        }
+        Result old = results.put(criteria, result);
+        if (old != null) {
+            weight -= old.weight();
+        }
+        weight += result.weight();
+        Iterator<Result> iter = results.values().iterator();
+        while (weight > maximumWeight) {
+            Result eldest = iter.next();
+            iter.remove();
+            weight -= eldest.weight();
+            evictionCount++;
+        }
+    }
+
+    /**
+     * Returns the number of lookups which found an up-to-date result.
+     * <p>
+     * @return the number of lookups which found an up-to-date result
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of lookups which found no up-to-date result.
+     * <p>
+     * @return the number of lookups which found no up-to-date result
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of results evicted because the maximum weight was exceeded.
+     * <p>
+     * @return the number of results evicted because the maximum weight was exceeded
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns the total weight of the cached results, in bytes.
+     * <p>
+     * @return the total weight of the cached results
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    /**
+     * Returns the maximum total weight of the cached results, in bytes.
+     * <p>
+     * @return the maximum total weight of the cached results
+     */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Returns the number of cached results.
+     * <p>
+     * @return the number of cached results
+     */
+    public synchronized int size() {
+        return results.size();
+    }
+
+    /**
+     * Removes all of the cached results. The counters are unchanged.
+     */
+    public synchronized void clear() {
+        results.clear();
+        weight = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void entryAdded(ContactEntry ce) {
+        listVersion++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void entryRemoved(ContactEntry ce) {
+        listVersion++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void phoneNumberAdded(ContactEntry ce, PhoneNumber pn) {
+        versions[Part.PHONE.ordinal()]++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void phoneNumberRemoved(ContactEntry ce, PhoneNumber pn) {
+        versions[Part.PHONE.ordinal()]++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void emailAddressAdded(ContactEntry ce, EmailAddress ea) {
+        versions[Part.EMAIL.ordinal()]++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void emailAddressRemoved(ContactEntry ce, EmailAddress ea) {
+        versions[Part.EMAIL.ordinal()]++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void postalAddressAdded(ContactEntry ce, PostalAddress pa) {
+        versions[Part.ADDRESS.ordinal()]++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void postalAddressRemoved(ContactEntry ce, PostalAddress pa) {
+        versions[Part.ADDRESS.ordinal()]++;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void noteChanged(ContactEntry ce, String oldNote) {
+        versions[Part.NOTE.ordinal()]++;
+    }
+
+    /**
+     * Returns true if none of the parts read by the result has changed since the result was computed.
+     * <p>
+     * @param result the cached result
+     * @return true if the result is up to date
+     */
+    private boolean isCurrent(Result result) {
+        if (result.listVersion != listVersion) {
+            return false;
+        }
+        for (Part part : result.parts) {
+            if (result.versions[part.ordinal()] != versions[part.ordinal()]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the contact entry parts which the specified criteria reads. Names are not included because they
+     * could not be changed. Criteria of unknown type are assumed to read every part.
+     * <p>
+     * @param criteria the search criteria
+     * @return the contact entry parts which the specified criteria reads
+     */
+    private static Set<Part> partsOf(SearchCriteria criteria) {
+        if (criteria == NonNull.INSTANCE) {
+            return EnumSet.noneOf(Part.class);
+        }
+        if (criteria instanceof ContactField) {
+            return partsOf((ContactField) criteria);
+        }
+        if (criteria instanceof And || criteria instanceof Or) {
+            Set<Part> parts = EnumSet.noneOf(Part.class);
+            for (SearchCriteria sc : criterias(criteria)) {
+                parts.addAll(partsOf(sc));
+            }
+            return parts;
+        }
+        return EnumSet.allOf(Part.class);
+    }
+
+    /**
+     * Returns the contact entry parts which the specified {@link edu.nyu.cs.addressbook.search.impl.ContactField}
+     * reads.
+     * <p>
+     * @param cf the contact field criteria
+     * @return the contact entry parts which the specified criteria reads
+     */
+    private static Set<Part> partsOf(ContactField cf) {
+        Set<Part> parts = EnumSet.noneOf(Part.class);
+        if (cf.getAreaCode() != 0 || cf.getPrefix() != 0 || cf.getLineNumber() != 0) {
+            parts.add(Part.PHONE);
+        }
+        if (!cf.getUsername().equals("") || !cf.getDomain().equals("")) {
+            parts.add(Part.EMAIL);
+        }
+        if (cf.getZipCode() != 0 || cf.getState() != State.NONE
+                || !cf.getCity().equals("") || !cf.getStreet().equals("")) {
+            parts.add(Part.ADDRESS);
+        }
+        if (!cf.getNote().equals("")) {
+            parts.add(Part.NOTE);
+        }
+        return parts;
+    }
+
+    /**
+     * Returns the children of the specified {@link edu.nyu.cs.addressbook.search.impl.And} or
+     * {@link edu.nyu.cs.addressbook.search.impl.Or} criteria.
+     * <p>
+     * @param criteria the composite criteria
+     * @return the children of the specified criteria
+     */
+    private static Iterable<SearchCriteria> criterias(SearchCriteria criteria) {
+        return criteria instanceof And
+                ? ((And) criteria).getCriterias()
+                : ((Or) criteria).getCriterias();
+    }
+
+}
@@ -0,0 +1,152 @@
+package edu.nyu.cs.addressbook;
+
+import java.util.concurrent.TimeUnit;
+
+import edu.nyu.cs.addressbook.builder.Builder;
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code SearchControl} class represents the limits imposed on a search: a deadline, a 
+ * {@link edu.nyu.cs.addressbook.CancellationToken} and a maximum number of contact entries to be examined.
+ * <p>
+ * The limits are checked cooperatively between contact entries, and while a 
+ * {@link edu.nyu.cs.addressbook.search.impl.Regex} criteria is matching, so that even a regular expression 
+ * with catastrophic backtracking is stopped. A search which hits a limit returns the matches found so far 
+ * together with the {@link edu.nyu.cs.addressbook.Truncation} reason.
+ * <p>
+ * The deadline is fixed when the {@code SearchControl} is built. {@code SearchControl} are constant; their 
+ * value could not be changed after they are created. Because {@code SearchControl} objects are immutable they 
+ * could be shared.
+ */
+public class SearchControl {
+    private final long deadline;
+    private final boolean hasDeadline;
+    private final CancellationToken token;
+    private final int maxExamined;
+
+    /**
+     * @author shenli
+     * <p>
+     * The {@code SearchControlBuilder} class represents building search control information.
+     * <p>
+     * {@code SearchControlBuilder} objects are not constant; their values could be changed after they are 
+     * created. The {@code SearchControlBuilder} object is not thread-safe. To use it concurrently, user must
+     * surround each method invocation with external synchronization of the users' choosing.
+     */
+    public static class SearchControlBuilder implements Builder<SearchControl> {
+        private long timeout = -1;
+        private CancellationToken token = null;
+        private int maxExamined = Integer.MAX_VALUE;
+
+        /**
+         * Initializes a newly created {@code SearchControlBuilder} object with no limit.
+         */
+        public SearchControlBuilder() {
+
+        }
+
+        /**
+         * Returns this {@code SearchControlBuilder} with specified timeout, counted from the time the 
+         * {@code SearchControl} is built.
+         * <p>
+         * @param duration the timeout
+         * @param unit the time unit of the timeout
+         * @return this {@code SearchControlBuilder} with specified timeout
+         * @throws IllegalArgumentException if duration is negative
+         */
+        public SearchControlBuilder timeout(long duration, TimeUnit unit) {
+            ParameterChecker.nullCheck(unit, "time unit");
+            if (duration < 0) {
+                throw new IllegalArgumentException("timeout: " + duration);
+            }
+
+            timeout = unit.toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Returns this {@code SearchControlBuilder} with specified cancellation token.
+         * <p>
+         * @param t the cancellation token
+         * @return this {@code SearchControlBuilder} with specified cancellation token
+         */
+        public SearchControlBuilder token(CancellationToken t) {
+            ParameterChecker.nullCheck(t, "cancellation token");
+
+            token = t;
+            return this;
+        }
+
+        /**
+         * Returns this {@code SearchControlBuilder} with specified maximum number of contact entries to be 
+         * examined.
+         * <p>
+         * @param val the maximum number of contact entries to be examined
+         * @return this {@code SearchControlBuilder} with specified maximum number of examined contact entries
+         * @throws IllegalArgumentException if val is negative
+         */
+        public SearchControlBuilder maxExamined(int val) {
+            ParameterChecker.rangeCheck(val, Integer.MAX_VALUE, "maximum examined");
+
+            maxExamined = val;
+            return this;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public SearchControl build() {
+            return new SearchControl(this);
+        }
+    }
+
+    /**
+     * Initializes a newly created {@code SearchControl} object from the specified builder.
+     * <p>
+     * @param builder the {@code SearchControlBuilder}
+     */
+    private SearchControl(SearchControlBuilder builder) {
+        this.hasDeadline = builder.timeout >= 0;
+        this.deadline = System.nanoTime() + Math.max(builder.timeout, 0);
+        this.token = builder.token;
+        this.maxExamined = builder.maxExamined;
+    }
+
+    /**
+     * Returns the maximum number of contact entries to be examined.
+     * <p>
+     * @return the maximum number of contact entries to be examined
+     */
+    public int getMaxExamined() {
+        return maxExamined;
+    }
+
+    /**
+     * Returns the cancellation token, or null if there is none.
+     * <p>
+     * @return the cancellation token, or null if there is none
+     */
+    public CancellationToken getToken() {
+        return token;
+    }
+
+    /**
+     * Returns the reason to stop now because of the deadline or the cancellation token, or 
+     * {@link edu.nyu.cs.addressbook.Truncation#NONE} if the search could go on.
+     * <p>
+     * @return the reason to stop now, or {@code NONE}
+     */
+    Truncation check() {
+        if (token != null && token.isCancelled()) {
+            return Truncation.CANCELLED;
+        }
+        if (hasDeadline && System.nanoTime() - deadline >= 0) {
+            return Truncation.DEADLINE;
+        }
+        return Truncation.NONE;
+    }
+
+}
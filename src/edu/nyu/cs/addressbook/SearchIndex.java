@@ -0,0 +1,47 @@
+package edu.nyu.cs.addressbook;
+
+import java.util.List;
+
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+
+/**
+ * @author shenli
+ * <p>
+ * A class can implement the {@code SearchIndex} interface when it maintains an index over the contact entries
+ * of a {@link edu.nyu.cs.addressbook.Contact} object. The index is registered with
+ * {@link edu.nyu.cs.addressbook.Contact#addIndex(SearchIndex)} and is kept up to date through the
+ * {@link edu.nyu.cs.addressbook.ContactListener} methods.
+ * <p>
+ * Searches on the {@link edu.nyu.cs.addressbook.Contact} object ask every registered index to narrow the
+ * criteria, and verify only the smallest candidate list instead of scanning every contact entry.
+ * <p>
+ * An index serves a single {@link edu.nyu.cs.addressbook.Contact} object, whose stable contact entry ids (see
+ * {@link edu.nyu.cs.addressbook.Contact#idOf(ContactEntry)}) it is attached to when it is registered, so that
+ * it keeps those ids rather than numbering the contact entries itself.
+ */
+public interface SearchIndex extends ContactListener {
+
+    /**
+     * Attaches this index to the ids of the contact entries of the {@link edu.nyu.cs.addressbook.Contact}
+     * object it is being registered with. This method is called by
+     * {@link edu.nyu.cs.addressbook.Contact#addIndex(SearchIndex)} before this index is informed of any
+     * contact entry. The ids are read only while the {@link edu.nyu.cs.addressbook.Contact} object is locked.
+     * <p>
+     * @param entryIds the ids of the contact entries
+     * @throws IllegalArgumentException if this index has already been registered
+     */
+    public void attach(EntryIds entryIds);
+
+    /**
+     * Returns the contact entries which might match the specified criteria, in natural order, or null if this
+     * index could not narrow the specified criteria. Every contact entry which matches the criteria must be
+     * returned; the returned contact entries are verified by
+     * {@link edu.nyu.cs.addressbook.search.SearchCriteria#matchCondition(ContactEntry)} afterwards. The 
+     * returned list belongs to the caller, which could walk it later, so it must not be changed by the index.
+     * <p>
+     * @param criteria the search criteria
+     * @return the candidate contact entries in natural order, or null if the criteria could not be narrowed
+     */
+    public List<ContactEntry> candidates(SearchCriteria criteria);
+
+}
@@ -14,6 +14,10 @@ import edu.nyu.cs.addressbook.utils.ParameterChecker;
  * The {@code SearchIterator} object wraps an {@link java.util.Iterator} object and implements criteria on
  * each iterator element of the collection.
  * <p>
+ * An iterator created with a {@link edu.nyu.cs.addressbook.SearchControl} stops early once the deadline 
+ * passes, the cancellation token is cancelled or the maximum number of elements has been examined; 
+ * {@link #hasNext()} then returns false and {@link #getTruncation()} tells why.
+ * <p>
  * {@code SearchIterator} objects are not constant; their values could be changed after they are created. The 
  * {@code SearchIterator} object is not thread-safe. To use it concurrently, user must surround each method 
  * invocation with external synchronization of the users' choosing.
@@ -21,6 +25,7 @@ import edu.nyu.cs.addressbook.utils.ParameterChecker;
 public class SearchIterator<E extends SearchCriteria> implements Iterator<ContactEntry> {
     private final Iterator<ContactEntry> iterator;
     private final E criteria;
+    private final Budget budget;
     private ContactEntry nextElement;
     
     /**
@@ -36,6 +41,44 @@ public class SearchIterator<E extends SearchCriteria> implements Iterator<Contac
         
         this.iterator = iterator;
         this.criteria = criteria;
+        this.budget = null;
+    }
+    
+    /**
+     * Initializes a newly created {@code SearchIterator} object so that it records search criteria iterator 
+     * information, and stops at the limits of the specified search control.
+     * <p>
+     * @param iterator the iterator
+     * @param criteria the search criteria
+     * @param control the search control
+     */
+    public SearchIterator(Iterator<ContactEntry> iterator, E criteria, SearchControl control) {
+        ParameterChecker.nullCheck(iterator, "iterator");
+        ParameterChecker.nullCheck(criteria, "criteria");
+        ParameterChecker.nullCheck(control, "search control");
+        
+        this.iterator = iterator;
+        this.criteria = criteria;
+        this.budget = new Budget(control);
+    }
+    
+    /**
+     * Returns the reason this iterator stopped early, or {@link edu.nyu.cs.addressbook.Truncation#NONE} if it 
+     * has not.
+     * <p>
+     * @return the reason this iterator stopped early
+     */
+    public Truncation getTruncation() {
+        return budget == null ? Truncation.NONE : budget.getTruncation();
+    }
+    
+    /**
+     * Returns true if this iterator stopped before every element was examined.
+     * <p>
+     * @return true if this iterator stopped early
+     */
+    public boolean isTruncated() {
+        return getTruncation() != Truncation.NONE;
     }
     
     /**
@@ -47,9 +90,18 @@ public class SearchIterator<E extends SearchCriteria> implements Iterator<Contac
             return true;
         }
         while (iterator.hasNext()) {
-            nextElement = iterator.next();
-            if (criteria.matchCondition(nextElement)) {
-                return true;
+            if (budget == null) {
+                nextElement = iterator.next();
+                if (criteria.matchCondition(nextElement)) {
+                    return true;
+                }
+            } else if (!budget.examine()) {
+                break;
+            } else {
+                nextElement = iterator.next();
+                if (budget.matches(criteria, nextElement)) {
+                    return true;
+                }
             }
         }
         nextElement = null;
@@ -0,0 +1,183 @@
+package edu.nyu.cs.addressbook;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code SearchPublisher} class represents a search of a {@link edu.nyu.cs.addressbook.Contact} list 
+ * published as a reactive stream of the matching contact entries.
+ * <p>
+ * Every subscription searches independently, through a cursor (see 
+ * {@link edu.nyu.cs.addressbook.Contact#cursor(SearchCriteria)}) taken when the first element is requested. 
+ * The candidates are examined on the executor only as far as the demand signalled through 
+ * {@link java.util.concurrent.Flow.Subscription#request(long)} requires, a bounded number of candidates per 
+ * hold of the lock of the {@code Contact} list. A scan of the whole {@code Contact} list resumes after the last 
+ * contact entry examined, so neither the contact entries nor the matches are ever copied; a subscription 
+ * narrowed by an index holds the candidate list which the index built for it. The subscriber is always called 
+ * without holding the lock. Signals to one subscriber are serialized, as the reactive 
+ * streams specification requires.
+ * <p>
+ * {@code SearchPublisher} objects are thread-safe.
+ */
+class SearchPublisher implements Flow.Publisher<ContactEntry> {
+    private final Contact contact;
+    private final SearchCriteria criteria;
+    private final Executor executor;
+
+    /**
+     * Initializes a newly created {@code SearchPublisher} object which publishes the contact entries of the 
+     * specified {@code Contact} list matching the specified criteria.
+     * <p>
+     * @param contact the {@code Contact} list
+     * @param criteria the search criteria
+     * @param executor the executor which runs the search
+     */
+    SearchPublisher(Contact contact, SearchCriteria criteria, Executor executor) {
+        assert contact != null && criteria != null && executor != null;
+        
+        this.contact = contact;
+        this.criteria = criteria;
+        this.executor = executor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super ContactEntry> subscriber) {
+        ParameterChecker.nullCheck(subscriber, "subscriber");
+        
+        subscriber.onSubscribe(new Subscription(subscriber));
+    }
+
+    /**
+     * The {@code Subscription} class represents the search of one subscriber. Requests and cancellations only 
+     * record the demand and schedule a drain; the drain runs on the executor, one at a time.
+     */
+    private class Subscription implements Flow.Subscription, Runnable {
+        private final Flow.Subscriber<? super ContactEntry> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pending = new AtomicInteger();
+        private volatile boolean cancelled;
+        private volatile long invalidRequest;
+        private Contact.ScanCursor cursor;
+
+        /**
+         * Initializes a newly created {@code Subscription} object for the specified subscriber.
+         * <p>
+         * @param subscriber the subscriber
+         */
+        private Subscription(Flow.Subscriber<? super ContactEntry> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = n == 0 ? -1 : n;
+            } else {
+                long current;
+                long next;
+                do {
+                    current = demand.get();
+                    next = current + n < 0 ? Long.MAX_VALUE : current + n;
+                } while (!demand.compareAndSet(current, next));
+            }
+            schedule();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Schedules a drain on the executor, unless one is already scheduled or running.
+         */
+        private void schedule() {
+            if (pending.getAndIncrement() == 0) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    cancelled = true;
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        /**
+         * Delivers matches while there is demand, and completes the subscriber once every candidate has been 
+         * examined.
+         */
+        @Override
+        public void run() {
+            int missed = 1;
+            do {
+                try {
+                    drain();
+                } catch (RuntimeException e) {
+                    if (!cancelled) {
+                        cancelled = true;
+                        subscriber.onError(e);
+                    }
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Examines candidates and delivers matches as long as there is demand.
+         */
+        private void drain() {
+            while (!cancelled) {
+                if (invalidRequest != 0) {
+                    cancelled = true;
+                    subscriber.onError(new IllegalArgumentException(
+                            "request: " + (invalidRequest == -1 ? 0 : invalidRequest)));
+                    return;
+                }
+                if (cursor == null) {
+                    cursor = contact.cursor(criteria);
+                }
+                if (cursor.isExhausted()) {
+                    cancelled = true;
+                    subscriber.onComplete();
+                    return;
+                }
+                long requested = demand.get();
+                if (requested == 0) {
+                    return;
+                }
+                List<ContactEntry> matches = new ArrayList<>();
+                contact.scan(cursor, criteria, (int) Math.min(requested, Contact.SCAN_BATCH), matches);
+                for (ContactEntry ce : matches) {
+                    if (cancelled) {
+                        return;
+                    }
+                    subscriber.onNext(ce);
+                }
+                if (requested != Long.MAX_VALUE) {
+                    demand.addAndGet(-matches.size());
+                }
+            }
+        }
+
+    }
+
+}
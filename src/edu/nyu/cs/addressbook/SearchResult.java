@@ -0,0 +1,82 @@
+package edu.nyu.cs.addressbook;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code SearchResult} class represents the outcome of a search controlled by a 
+ * {@link edu.nyu.cs.addressbook.SearchControl}: the matches found, and whether the search was truncated 
+ * before every contact entry was examined.
+ * <p>
+ * {@code SearchResult} are constant; their value could not be changed after they are created. Because 
+ * {@code SearchResult} objects are immutable they could be shared.
+ */
+public class SearchResult {
+    private final List<ContactEntry> entries;
+    private final Truncation truncation;
+    private final int examined;
+
+    /**
+     * Initializes a newly created {@code SearchResult} object.
+     * <p>
+     * @param entries the matches found
+     * @param truncation the reason the search was truncated, or {@code NONE}
+     * @param examined the number of contact entries examined
+     */
+    SearchResult(List<ContactEntry> entries, Truncation truncation, int examined) {
+        this.entries = Collections.unmodifiableList(entries);
+        this.truncation = truncation;
+        this.examined = examined;
+    }
+
+    /**
+     * Returns an unmodifiable view of the matches found, in the order of the search.
+     * <p>
+     * @return an unmodifiable view of the matches found
+     */
+    public List<ContactEntry> getEntries() {
+        return entries;
+    }
+
+    /**
+     * Returns true if the search stopped before every contact entry was examined, in which case the matches 
+     * are partial.
+     * <p>
+     * @return true if the search was truncated
+     */
+    public boolean isTruncated() {
+        return truncation != Truncation.NONE;
+    }
+
+    /**
+     * Returns the reason the search was truncated, or {@link edu.nyu.cs.addressbook.Truncation#NONE}.
+     * <p>
+     * @return the reason the search was truncated
+     */
+    public Truncation getTruncation() {
+        return truncation;
+    }
+
+    /**
+     * Returns the number of contact entries examined by the search.
+     * <p>
+     * @return the number of contact entries examined
+     */
+    public int getExamined() {
+        return examined;
+    }
+
+    /**
+     * Return string representation of this {@code SearchResult} object. The string representation consists of 
+     * the number of matches, the number of examined contact entries and the truncation reason.
+     * <p>
+     * @return a string representation of this {@code SearchResult} object
+     */
+    @Override
+    public String toString() {
+        return entries.size() + " matches, " + examined + " examined, truncation " + truncation;
+    }
+
+}
@@ -0,0 +1,166 @@
+package edu.nyu.cs.addressbook;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.search.impl.And;
+import edu.nyu.cs.addressbook.search.impl.FullText;
+import edu.nyu.cs.addressbook.search.impl.Or;
+import edu.nyu.cs.addressbook.search.impl.Regex;
+import edu.nyu.cs.addressbook.utils.Tokenizer;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code SharedScan} class represents the evaluation of a batch of search criteria in a single pass over 
+ * the contact entries.
+ * <p>
+ * Every entry is visited once for the whole batch. Per entry, the values several criteria depend on are 
+ * derived at most once: the string representation matched by {@link edu.nyu.cs.addressbook.search.impl.Regex} 
+ * criteria and the tokens matched by {@link edu.nyu.cs.addressbook.search.impl.FullText} criteria. Equal 
+ * criteria, and equal sub-criteria of {@link edu.nyu.cs.addressbook.search.impl.And} and 
+ * {@link edu.nyu.cs.addressbook.search.impl.Or} criteria, are evaluated once per entry and their result is 
+ * shared.
+ * <p>
+ * {@code SharedScan} objects are not thread-safe; they are confined to one call of 
+ * {@link edu.nyu.cs.addressbook.Contact#searchAll(java.util.List)}.
+ */
+class SharedScan {
+    private final List<SearchCriteria> criterias;
+    private final Set<SearchCriteria> shared;
+    private final Map<SearchCriteria, Boolean> memo = new HashMap<>();
+    private ContactEntry entry;
+    private String text;
+    private Set<String> tokens;
+
+    /**
+     * Initializes a newly created {@code SharedScan} object for the specified batch of criteria.
+     * <p>
+     * @param criterias the batch of search criteria
+     */
+    SharedScan(List<SearchCriteria> criterias) {
+        this.criterias = criterias;
+        Map<SearchCriteria, Integer> occurrences = new HashMap<>();
+        for (SearchCriteria sc : criterias) {
+            count(sc, occurrences);
+        }
+        this.shared = new HashSet<>();
+        for (Map.Entry<SearchCriteria, Integer> e : occurrences.entrySet()) {
+            if (e.getValue() > 1) {
+                shared.add(e.getKey());
+            }
+        }
+    }
+
+    /**
+     * Returns, for each criteria of the batch in order, the contact entries which match it, in the order of 
+     * the specified entries.
+     * <p>
+     * @param entries the contact entries to be scanned
+     * @return the matching contact entries of each criteria of the batch
+     */
+    List<List<ContactEntry>> scan(Iterable<ContactEntry> entries) {
+        List<List<ContactEntry>> results = new ArrayList<>(criterias.size());
+        for (int i = 0; i < criterias.size(); i++) {
+            results.add(new ArrayList<ContactEntry>());
+        }
+        for (ContactEntry ce : entries) {
+            entry = ce;
+            text = null;
+            tokens = null;
+            memo.clear();
+            for (int i = 0; i < criterias.size(); i++) {
+                if (evaluate(criterias.get(i))) {
+                    results.get(i).add(ce);
+                }
+            }
+        }
+        entry = null;
+        return results;
+    }
+
+    /**
+     * Returns true if the current entry matches the specified criteria, reusing the result of an equal 
+     * criteria evaluated before on the same entry.
+     * <p>
+     * @param criteria the search criteria
+     * @return true if the current entry matches the specified criteria
+     */
+    private boolean evaluate(SearchCriteria criteria) {
+        if (!shared.contains(criteria)) {
+            return compute(criteria);
+        }
+        Boolean result = memo.get(criteria);
+        if (result == null) {
+            result = compute(criteria);
+            memo.put(criteria, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the current entry matches the specified criteria.
+     * <p>
+     * @param criteria the search criteria
+     * @return true if the current entry matches the specified criteria
+     */
+    private boolean compute(SearchCriteria criteria) {
+        if (criteria instanceof And) {
+            for (SearchCriteria sc : ((And) criteria).getCriterias()) {
+                if (!evaluate(sc)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (criteria instanceof Or) {
+            for (SearchCriteria sc : ((Or) criteria).getCriterias()) {
+                if (evaluate(sc)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        if (criteria instanceof Regex) {
+            if (text == null) {
+                text = entry.toString();
+            }
+            return ((Regex) criteria).getPattern().matcher(text).find();
+        }
+        if (criteria instanceof FullText) {
+            if (tokens == null) {
+                tokens = Tokenizer.tokenize(entry);
+            }
+            return tokens.containsAll(((FullText) criteria).getTokens());
+        }
+        return criteria.matchCondition(entry);
+    }
+
+    /**
+     * Counts the occurrences of the specified criteria and its sub-criteria.
+     * <p>
+     * @param criteria the search criteria
+     * @param occurrences the occurrences counted so far
+     */
+    private static void count(SearchCriteria criteria, Map<SearchCriteria, Integer> occurrences) {
+        Integer n = occurrences.get(criteria);
+        occurrences.put(criteria, n == null ? 1 : n + 1);
+        List<SearchCriteria> children = null;
+        if (criteria instanceof And) {
+            children = ((And) criteria).getCriterias();
+        } else if (criteria instanceof Or) {
+            children = ((Or) criteria).getCriterias();
+        }
+        if (children != null) {
+            for (SearchCriteria sc : children) {
+                count(sc, occurrences);
+            }
+        }
+    }
+
+}
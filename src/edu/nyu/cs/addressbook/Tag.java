@@ -21,6 +21,22 @@ enum Tag {
      * contact entry
      */
     ENTRY,
+    /**
+     * contact entry id
+     */
+    UID,
+    /**
+     * delta segment
+     */
+    DELTA,
+    /**
+     * base file generation
+     */
+    GENERATION,
+    /**
+     * removed contact entry
+     */
+    DELETED,
     /**
      * contact entry first name
      */
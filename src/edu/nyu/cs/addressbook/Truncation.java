@@ -0,0 +1,29 @@
+package edu.nyu.cs.addressbook;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code Truncation} enum represents why a search controlled by a 
+ * {@link edu.nyu.cs.addressbook.SearchControl} stopped before examining every contact entry.
+ * <p>
+ * {@code Truncation} are constant; their values could not be changed after they are created. Because 
+ * {@code Truncation} objects are immutable they could be shared.
+ */
+public enum Truncation {
+    /**
+     * the search was not truncated
+     */
+    NONE,
+    /**
+     * the deadline passed
+     */
+    DEADLINE,
+    /**
+     * the cancellation token was cancelled
+     */
+    CANCELLED,
+    /**
+     * the maximum number of examined contact entries was reached
+     */
+    BUDGET
+}
@@ -1,5 +1,6 @@
 package edu.nyu.cs.addressbook.component;
 
+import edu.nyu.cs.addressbook.component.util.StringPool;
 import edu.nyu.cs.addressbook.utils.ParameterChecker;
 
 /**
@@ -7,6 +8,9 @@ import edu.nyu.cs.addressbook.utils.ParameterChecker;
  * <p>
  * The {@code EmailAddress} class represents email address information.
  * <p>
+ * The domain is canonicalized through the shared {@link edu.nyu.cs.addressbook.component.util.StringPool}, 
+ * if one is installed.
+ * <p>
  * {@code EmailAddress} are constant; their value could not be changed after they are created. Because 
  * {@code EmailAddress} objects are immutable they could be shared.
  */
@@ -28,7 +32,7 @@ public final class EmailAddress implements Cloneable, Comparable<EmailAddress> {
         ParameterChecker.emptyCheck(domain.trim(), "domain");
         
         this.username = username.toLowerCase().trim();
-        this.domain = domain.toLowerCase().trim();
+        this.domain = StringPool.canonical(domain.toLowerCase().trim());
     }
     
     /**
@@ -7,6 +7,11 @@ import edu.nyu.cs.addressbook.utils.ParameterChecker;
  * <p>
  * The {@code PhoneNumber} class represents phone number information.
  * <p>
+ * The three parts are packed into a single {@code long}, sixteen bits each: the area code from bit 32, the 
+ * prefix from bit 16 and the line number from bit 0. {@link edu.nyu.cs.addressbook.ContactEntry} keeps its 
+ * phone numbers in this packed form, and {@link #valueOf(long)} serves {@code PhoneNumber} objects for packed 
+ * values from a small flyweight cache.
+ * <p>
  * {@code PhoneNumber} are constant; their value could not be changed after they are created. Because 
  * {@code PhoneNumber} objects are immutable they could be shared.
  */
@@ -14,11 +19,30 @@ public class PhoneNumber implements Cloneable, Comparable<PhoneNumber> {
     private static final short MAX_AREACODE = 999;
     private static final short MAX_PREFIX = 999;
     private static final short MAX_LINENUMBER = 9999;
+    private static final int CACHE_BITS = 10;
+    private static final PhoneNumber[] CACHE = new PhoneNumber[1 << CACHE_BITS];
+    
+    /**
+     * The bit position of the area code in the packed representation.
+     */
+    public static final int AREA_CODE_SHIFT = 32;
+    
+    /**
+     * The bit position of the prefix in the packed representation.
+     */
+    public static final int PREFIX_SHIFT = 16;
     
-    private final short areaCode;
-    private final short prefix;
-    private final short lineNumber;
-    private volatile int hashCode;
+    /**
+     * The bit position of the line number in the packed representation.
+     */
+    public static final int LINE_NUMBER_SHIFT = 0;
+    
+    /**
+     * The mask of one part of the packed representation, before shifting.
+     */
+    public static final long FIELD_MASK = 0xFFFFL;
+    
+    private final long packed;
     
     /**
      * Initializes a newly created {@code PhoneNumber} object so that it records phone number information. 
@@ -32,9 +56,40 @@ public class PhoneNumber implements Cloneable, Comparable<PhoneNumber> {
         ParameterChecker.rangeCheck(prefix, MAX_PREFIX, "prefix");
         ParameterChecker.rangeCheck(lineNumber, MAX_LINENUMBER, "line number");
         
-        this.areaCode = (short) areaCode;
-        this.prefix = (short) prefix;
-        this.lineNumber = (short) lineNumber;
+        this.packed = ((long) areaCode << AREA_CODE_SHIFT) | ((long) prefix << PREFIX_SHIFT) 
+                | ((long) lineNumber << LINE_NUMBER_SHIFT);
+    }
+    
+    /**
+     * Returns a {@code PhoneNumber} object of the specified packed representation. Recently requested phone 
+     * numbers are served from a cache rather than created again.
+     * <p>
+     * @param packed the packed representation
+     * @return a {@code PhoneNumber} object of the specified packed representation
+     * @throws IllegalArgumentException if a part is out of range
+     */
+    public static PhoneNumber valueOf(long packed) {
+        int index = (int) ((packed * 0x9E3779B97F4A7C15L) >>> (64 - CACHE_BITS));
+        PhoneNumber result = CACHE[index];
+        if (result == null || result.packed != packed) {
+            if ((packed & ~((FIELD_MASK << AREA_CODE_SHIFT) | (FIELD_MASK << PREFIX_SHIFT) 
+                    | (FIELD_MASK << LINE_NUMBER_SHIFT))) != 0) {
+                throw new IllegalArgumentException("packed phone number: " + Long.toHexString(packed));
+            }
+            result = new PhoneNumber((int) (packed >>> AREA_CODE_SHIFT & FIELD_MASK), 
+                    (int) (packed >>> PREFIX_SHIFT & FIELD_MASK), (int) (packed >>> LINE_NUMBER_SHIFT & FIELD_MASK));
+            CACHE[index] = result;
+        }
+        return result;
+    }
+    
+    /**
+     * Returns the packed representation of this {@code PhoneNumber}.
+     * <p>
+     * @return the packed representation
+     */
+    public long pack() {
+        return packed;
     }
     
     /**
@@ -43,7 +98,7 @@ public class PhoneNumber implements Cloneable, Comparable<PhoneNumber> {
      * @return area code
      */
     public short getAreaCode() {
-        return areaCode;
+        return (short) (packed >>> AREA_CODE_SHIFT & FIELD_MASK);
     }
     
     /**
@@ -52,7 +107,7 @@ public class PhoneNumber implements Cloneable, Comparable<PhoneNumber> {
      * @return prefix
      */
     public short getPrefix() {
-        return prefix;
+        return (short) (packed >>> PREFIX_SHIFT & FIELD_MASK);
     }
     
     /**
@@ -61,7 +116,7 @@ public class PhoneNumber implements Cloneable, Comparable<PhoneNumber> {
      * @return line number
      */
     public short getLineNumber() {
-        return lineNumber;
+        return (short) (packed >>> LINE_NUMBER_SHIFT & FIELD_MASK);
     }
     
     /**
@@ -87,9 +142,7 @@ public class PhoneNumber implements Cloneable, Comparable<PhoneNumber> {
             return false;
         }
         PhoneNumber pn = (PhoneNumber) o;
-        return areaCode == pn.areaCode
-                && prefix == pn.prefix
-                && lineNumber == pn.lineNumber;
+        return packed == pn.packed;
     }
     
     /**
@@ -99,15 +152,11 @@ public class PhoneNumber implements Cloneable, Comparable<PhoneNumber> {
      */
     @Override
     public int hashCode() {
-        int result = hashCode;
-        if (result == 0) {
-            final int prime = 31;
-            result = 17;
-            result = result * prime + areaCode;
-            result = result * prime + prefix;
-            result = result * prime + lineNumber;
-            hashCode = result;
-        }
+        final int prime = 31;
+        int result = 17;
+        result = result * prime + getAreaCode();
+        result = result * prime + getPrefix();
+        result = result * prime + getLineNumber();
         return result;
     }
     
@@ -128,7 +177,7 @@ public class PhoneNumber implements Cloneable, Comparable<PhoneNumber> {
     @Override
     public String toString() {
         return String.format("(%03d) %03d-%04d",
-                                areaCode, prefix, lineNumber);
+                                getAreaCode(), getPrefix(), getLineNumber());
     }
     
     /**
@@ -168,15 +217,7 @@ public class PhoneNumber implements Cloneable, Comparable<PhoneNumber> {
     public int compareTo(PhoneNumber pn) {
         ParameterChecker.nullCheck(pn, "compared edu.nyu.cs.addressbook.component.PhoneNumber");
         
-        int areaCodeDiff = areaCode - pn.areaCode;
-        if (areaCodeDiff != 0) {
-            return areaCodeDiff;
-        }
-        int prefixDiff = prefix - pn.prefix;
-        if (prefixDiff != 0) {
-            return prefixDiff;
-        }
-        return lineNumber - pn.lineNumber;
+        return Long.compare(packed, pn.packed);
     }
 
 }
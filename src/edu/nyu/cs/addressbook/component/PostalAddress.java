@@ -2,6 +2,7 @@ package edu.nyu.cs.addressbook.component;
 
 import edu.nyu.cs.addressbook.builder.Builder;
 import edu.nyu.cs.addressbook.component.util.State;
+import edu.nyu.cs.addressbook.component.util.StringPool;
 import edu.nyu.cs.addressbook.utils.ParameterChecker;
 
 /**
@@ -9,6 +10,9 @@ import edu.nyu.cs.addressbook.utils.ParameterChecker;
  * <p>
  * The {@code PostalAddress} class represents postal address information.
  * <p>
+ * The city is canonicalized through the shared {@link edu.nyu.cs.addressbook.component.util.StringPool}, if 
+ * one is installed.
+ * <p>
  * {@code PostalAddress} are constant; their value could not be changed after they are created. Because 
  * {@code PostalAddress} objects are immutable they could be shared.
  */
@@ -81,7 +85,7 @@ public final class PostalAddress implements Cloneable, Comparable<PostalAddress>
         public PostalAddressBuilder city(String str) {
             ParameterChecker.nullCheck(str, "city");
             
-            city = str.trim();
+            city = StringPool.canonical(str.trim());
             return this;
         }
         
@@ -0,0 +1,112 @@
+package edu.nyu.cs.addressbook.component.util;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code StringPool} class represents a canonicalization pool of strings: equal strings passed to 
+ * {@link #intern(String)} are replaced by a single canonical instance, so that values repeated across many 
+ * components, such as email domains and cities, are stored once.
+ * <p>
+ * The pool only holds its strings weakly, so a canonical string which is no longer referenced elsewhere is 
+ * reclaimed by the garbage collector. The pool is split into independently locked stripes, selected by hash 
+ * code, so that concurrent loads rarely contend.
+ * <p>
+ * Canonicalization is optional. The {@link edu.nyu.cs.addressbook.component.EmailAddress} constructor and 
+ * {@link edu.nyu.cs.addressbook.component.PostalAddress.PostalAddressBuilder} canonicalize domains and cities 
+ * through the shared pool, which is installed by {@link #setShared(StringPool)} and is absent by default.
+ * <p>
+ * {@code StringPool} objects are thread-safe.
+ */
+public final class StringPool {
+    private static final int STRIPES = 16;
+    private static volatile StringPool shared;
+    
+    private final List<Map<String, WeakReference<String>>> stripes = new ArrayList<>(STRIPES);
+
+    /**
+     * Initializes a newly created empty {@code StringPool} object.
+     */
+    public StringPool() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes.add(new WeakHashMap<String, WeakReference<String>>());
+        }
+    }
+
+    /**
+     * Returns the shared pool used by the components, or null if canonicalization is disabled.
+     * <p>
+     * @return the shared pool, or null
+     */
+    public static StringPool getShared() {
+        return shared;
+    }
+
+    /**
+     * Installs the specified pool as the shared pool used by the components. Passing null disables 
+     * canonicalization; strings already canonicalized stay shared.
+     * <p>
+     * @param pool the shared pool, or null
+     */
+    public static void setShared(StringPool pool) {
+        shared = pool;
+    }
+
+    /**
+     * Returns the canonical instance of the specified string in the shared pool, or the string itself if 
+     * there is no shared pool.
+     * <p>
+     * @param str the string
+     * @return the canonical instance of the specified string
+     */
+    public static String canonical(String str) {
+        StringPool pool = shared;
+        return pool == null ? str : pool.intern(str);
+    }
+
+    /**
+     * Returns the canonical instance of the specified string. If no string equal to it is in this pool, the 
+     * specified string becomes the canonical instance.
+     * <p>
+     * @param str the string
+     * @return the canonical instance of the specified string
+     */
+    public String intern(String str) {
+        ParameterChecker.nullCheck(str, "string");
+        
+        int h = str.hashCode();
+        Map<String, WeakReference<String>> stripe = stripes.get((h ^ (h >>> 16)) & (STRIPES - 1));
+        synchronized (stripe) {
+            WeakReference<String> ref = stripe.get(str);
+            String result = ref == null ? null : ref.get();
+            if (result == null) {
+                stripe.put(str, new WeakReference<>(str));
+                result = str;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Returns the number of canonical strings in this pool which have not been reclaimed yet.
+     * <p>
+     * @return the number of canonical strings in this pool
+     */
+    public int size() {
+        int result = 0;
+        for (Map<String, WeakReference<String>> stripe : stripes) {
+            synchronized (stripe) {
+                result += stripe.size();
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,115 @@
+package edu.nyu.cs.addressbook.index;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import edu.nyu.cs.addressbook.ContactAdapter;
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.EntryIds;
+import edu.nyu.cs.addressbook.SearchIndex;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code EntryIndex} class is the skeleton of the indexes of this package.
+ * <p>
+ * The postings lists of an index hold the stable ids which the {@link edu.nyu.cs.addressbook.Contact} list
+ * assigns to its contact entries (see {@link edu.nyu.cs.addressbook.Contact#idOf(ContactEntry)}), which the
+ * index is attached to when it is registered. A contact entry object which occurs more than once in the
+ * {@link edu.nyu.cs.addressbook.Contact} list shares a single id, so it is indexed when its first occurrence is
+ * added and unindexed when its last occurrence is removed.
+ * <p>
+ * {@code EntryIndex} objects synchronize on themselves, as their subclasses do.
+ */
+abstract class EntryIndex extends ContactAdapter implements SearchIndex {
+    private final BitSet indexed = new BitSet();
+    private EntryIds entryIds;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void attach(EntryIds entryIds) {
+        if (this.entryIds != null) {
+            throw new IllegalArgumentException("index already registered");
+        }
+        this.entryIds = entryIds;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void entryAdded(ContactEntry ce) {
+        int id = entryIds().idOf(ce);
+        if (id >= 0 && !indexed.get(id)) {
+            indexed.set(id);
+            index(ce, id);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void entryRemoved(ContactEntry ce) {
+        int id = entryIds().idOf(ce);
+        if (id >= 0 && indexed.get(id) && entryIds.occurrences(id) == 1) {
+            indexed.clear(id);
+            unindex(ce, id);
+        }
+    }
+
+    /**
+     * Adds the specified contact entry, whose first occurrence has been added, to this index.
+     * <p>
+     * @param ce the contact entry
+     * @param id the id of the contact entry
+     */
+    abstract void index(ContactEntry ce, int id);
+
+    /**
+     * Removes the specified contact entry, whose last occurrence has been removed, from this index.
+     * <p>
+     * @param ce the contact entry
+     * @param id the id of the contact entry
+     */
+    abstract void unindex(ContactEntry ce, int id);
+
+    /**
+     * Returns the id of the specified contact entry, or -1 if it is not in this index.
+     * <p>
+     * @param ce the contact entry
+     * @return the id of the contact entry, or -1
+     */
+    int idOf(ContactEntry ce) {
+        int id = entryIds().idOf(ce);
+        return id >= 0 && indexed.get(id) ? id : -1;
+    }
+
+    /**
+     * Returns the contact entries with the specified ids in natural order, once per occurrence.
+     * <p>
+     * @param ids the ids
+     * @param size the number of ids to be used
+     * @return the contact entries with the specified ids in natural order
+     */
+    List<ContactEntry> entries(int[] ids, int size) {
+        return entryIds == null ? new ArrayList<ContactEntry>() : entryIds.entries(ids, size);
+    }
+
+    /**
+     * Returns the ids this index is attached to.
+     * <p>
+     * @return the ids this index is attached to
+     * @throws IllegalStateException if this index has not been registered
+     */
+    private EntryIds entryIds() {
+        if (entryIds == null) {
+            throw new IllegalStateException("index not registered");
+        }
+        return entryIds;
+    }
+
+}
@@ -0,0 +1,187 @@
+package edu.nyu.cs.addressbook.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.search.impl.FullText;
+import edu.nyu.cs.addressbook.utils.Tokenizer;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code FullTextIndex} class represents an inverted index over the textual fields of contact entries:
+ * first name, last name, note, street, city, user name and domain.
+ * <p>
+ * Every token is mapped to a postings list of contact entry ids (see
+ * {@link edu.nyu.cs.addressbook.Contact#idOf(ContactEntry)}). The index answers
+ * {@link edu.nyu.cs.addressbook.search.impl.FullText} criteria by intersecting the postings lists of the
+ * query tokens, shortest first. It is registered with
+ * {@link edu.nyu.cs.addressbook.Contact#addIndex(edu.nyu.cs.addressbook.SearchIndex)} and is updated
+ * incrementally on every change of the contact entries.
+ * <p>
+ * {@code FullTextIndex} objects are thread-safe.
+ */
+public class FullTextIndex extends EntryIndex {
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * Initializes a newly created empty {@code FullTextIndex} object.
+     */
+    public FullTextIndex() {
+
+    }
+
+    /**
+     * Returns the number of distinct tokens in this index.
+     * <p>
+     * @return the number of distinct tokens in this index
+     */
+    public synchronized int getTokenCount() {
+        return postings.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<ContactEntry> candidates(SearchCriteria criteria) {
+        if (!(criteria instanceof FullText)) {
+            return null;
+        }
+        List<Postings> lists = new ArrayList<>();
+        for (String token : ((FullText) criteria).getTokens()) {
+            Postings p = postings.get(token);
+            if (p == null) {
+                return Collections.emptyList();
+            }
+            lists.add(p);
+        }
+        int[] docIds = Postings.intersect(lists);
+        return entries(docIds, docIds.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void index(ContactEntry ce, int id) {
+        addTokens(id, Tokenizer.tokenize(ce));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void unindex(ContactEntry ce, int id) {
+        for (String token : Tokenizer.tokenize(ce)) {
+            removeToken(id, token);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void emailAddressAdded(ContactEntry ce, EmailAddress ea) {
+        addTokens(idOf(ce), Tokenizer.tokenize(ea.getUsername() + " " + ea.getDomain()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void emailAddressRemoved(ContactEntry ce, EmailAddress ea) {
+        removeTokens(ce, Tokenizer.tokenize(ea.getUsername() + " " + ea.getDomain()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void postalAddressAdded(ContactEntry ce, PostalAddress pa) {
+        addTokens(idOf(ce), Tokenizer.tokenize(pa.getStreet() + " " + pa.getCity()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void postalAddressRemoved(ContactEntry ce, PostalAddress pa) {
+        removeTokens(ce, Tokenizer.tokenize(pa.getStreet() + " " + pa.getCity()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void noteChanged(ContactEntry ce, String oldNote) {
+        removeTokens(ce, Tokenizer.tokenize(oldNote));
+        addTokens(idOf(ce), Tokenizer.tokenize(ce.getNote()));
+    }
+
+    /**
+     * Adds the specified contact entry id to the postings lists of the specified tokens.
+     * <p>
+     * @param docId the contact entry id
+     * @param tokens the tokens
+     */
+    private void addTokens(int docId, Set<String> tokens) {
+        if (docId < 0) {
+            return;
+        }
+        for (String token : tokens) {
+            Postings p = postings.get(token);
+            if (p == null) {
+                p = new Postings();
+                postings.put(token, p);
+            }
+            p.add(docId);
+        }
+    }
+
+    /**
+     * Removes the contact entry id of the specified contact entry from the postings lists of those specified tokens
+     * which no longer occur in the contact entry.
+     * <p>
+     * @param ce the changed contact entry
+     * @param tokens the tokens of the removed text
+     */
+    private void removeTokens(ContactEntry ce, Set<String> tokens) {
+        int docId = idOf(ce);
+        if (docId < 0) {
+            return;
+        }
+        Set<String> remaining = Tokenizer.tokenize(ce);
+        for (String token : tokens) {
+            if (!remaining.contains(token)) {
+                removeToken(docId, token);
+            }
+        }
+    }
+
+    /**
+     * Removes the specified contact entry id from the postings list of the specified token, forgetting the token
+     * once its postings list is empty.
+     * <p>
+     * @param docId the contact entry id
+     * @param token the token
+     */
+    private void removeToken(int docId, String token) {
+        Postings p = postings.get(token);
+        if (p != null) {
+            p.remove(docId);
+            if (p.isEmpty()) {
+                postings.remove(token);
+            }
+        }
+    }
+
+}
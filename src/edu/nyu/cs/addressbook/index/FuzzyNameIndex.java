@@ -0,0 +1,230 @@
+package edu.nyu.cs.addressbook.index;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.search.impl.Fuzzy;
+import edu.nyu.cs.addressbook.utils.EditDistance;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code FuzzyNameIndex} class represents a BK-tree over the lower case first and last names of contact
+ * entries.
+ * <p>
+ * Every distinct name is a node of the tree, and holds the postings list of the contact entries which bear
+ * it, as contact entry ids (see {@link edu.nyu.cs.addressbook.Contact#idOf(ContactEntry)}). A child hangs off its parent under the edit distance between the two names, so by the triangle
+ * inequality a lookup within distance {@code k} of a query only descends into the children whose edge lies
+ * within {@code k} of the distance between the query and the parent. The index answers
+ * {@link edu.nyu.cs.addressbook.search.impl.Fuzzy} criteria while computing the edit distance to a small
+ * fraction of the names. It is registered with
+ * {@link edu.nyu.cs.addressbook.Contact#addIndex(edu.nyu.cs.addressbook.SearchIndex)}.
+ * <p>
+ * A name is not unlinked from the tree when its last contact entry is removed, since that would require 
+ * rebuilding the subtree below it; it keeps its node with an empty postings list as a tombstone, and is revived 
+ * when the name is added again. Once the tombstones outnumber the live names, and there are at least 
+ * {@value #MIN_TOMBSTONES} of them, the tree is rebuilt from the live names, so its size stays proportional to 
+ * the names in use at an amortized cost of a few insertions per removal.
+ * <p>
+ * {@code FuzzyNameIndex} objects are thread-safe.
+ */
+public class FuzzyNameIndex extends EntryIndex {
+    private static final int MIN_TOMBSTONES = 64;
+    
+    private final Map<String, Node> nodes = new HashMap<>();
+    private Node root;
+    private int nameCount;
+
+    /**
+     * Initializes a newly created empty {@code FuzzyNameIndex} object.
+     */
+    public FuzzyNameIndex() {
+
+    }
+
+    /**
+     * Returns the number of distinct names borne by at least one contact entry in this index.
+     * <p>
+     * @return the number of distinct names in this index
+     */
+    public synchronized int getNameCount() {
+        return nameCount;
+    }
+
+    /**
+     * Returns the number of nodes in the tree, including the tombstones of names no longer borne by any contact 
+     * entry.
+     * <p>
+     * @return the number of nodes in the tree
+     */
+    synchronized int getNodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<ContactEntry> candidates(SearchCriteria criteria) {
+        if (!(criteria instanceof Fuzzy)) {
+            return null;
+        }
+        String name = ((Fuzzy) criteria).getName();
+        int maxDistance = ((Fuzzy) criteria).getMaxDistance();
+        int[] docIds = new int[0];
+        int size = 0;
+        Deque<Node> stack = new ArrayDeque<>();
+        if (root != null) {
+            stack.push(root);
+        }
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            int distance = EditDistance.distance(name, node.name);
+            if (distance <= maxDistance && !node.docs.isEmpty()) {
+                int[] ids = node.docs.toArray();
+                if (size + ids.length > docIds.length) {
+                    docIds = Arrays.copyOf(docIds, Math.max(docIds.length * 2, size + ids.length));
+                }
+                System.arraycopy(ids, 0, docIds, size, ids.length);
+                size += ids.length;
+            }
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= maxDistance) {
+                    stack.push(child.getValue());
+                }
+            }
+        }
+        Arrays.sort(docIds, 0, size);
+        int distinct = 0;
+        for (int i = 0; i < size; i++) {
+            if (distinct == 0 || docIds[distinct - 1] != docIds[i]) {
+                docIds[distinct++] = docIds[i];
+            }
+        }
+        return entries(docIds, distinct);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void index(ContactEntry ce, int id) {
+        addPosting(ce.getFirstName().toLowerCase(), id);
+        addPosting(ce.getLastName().toLowerCase(), id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void unindex(ContactEntry ce, int id) {
+        removePosting(ce.getFirstName().toLowerCase(), id);
+        removePosting(ce.getLastName().toLowerCase(), id);
+        int tombstones = nodes.size() - nameCount;
+        if (tombstones >= MIN_TOMBSTONES && tombstones > nameCount) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Adds the specified contact entry id to the postings list of the specified name, inserting the name into the
+     * tree if it is new.
+     * <p>
+     * @param name the lower case name
+     * @param docId the contact entry id
+     */
+    private void addPosting(String name, int docId) {
+        Node node = nodes.get(name);
+        if (node == null) {
+            node = new Node(name);
+            nodes.put(name, node);
+            insert(node);
+        }
+        if (node.docs.isEmpty()) {
+            nameCount++;
+        }
+        node.docs.add(docId);
+    }
+
+    /**
+     * Removes the specified contact entry id from the postings list of the specified name.
+     * <p>
+     * @param name the lower case name
+     * @param docId the contact entry id
+     */
+    private void removePosting(String name, int docId) {
+        Node node = nodes.get(name);
+        if (node != null && node.docs.contains(docId)) {
+            node.docs.remove(docId);
+            if (node.docs.isEmpty()) {
+                nameCount--;
+            }
+        }
+    }
+
+    /**
+     * Rebuilds the tree from the nodes of the names which are still borne by a contact entry, dropping the 
+     * tombstones.
+     */
+    private void rebuild() {
+        root = null;
+        Iterator<Node> it = nodes.values().iterator();
+        while (it.hasNext()) {
+            Node node = it.next();
+            node.children.clear();
+            if (node.docs.isEmpty()) {
+                it.remove();
+            } else {
+                insert(node);
+            }
+        }
+    }
+
+    /**
+     * Links the specified new node into the tree.
+     * <p>
+     * @param node the new node
+     */
+    private void insert(Node node) {
+        if (root == null) {
+            root = node;
+            return;
+        }
+        Node parent = root;
+        while (true) {
+            int distance = EditDistance.distance(node.name, parent.name);
+            Node child = parent.children.get(distance);
+            if (child == null) {
+                parent.children.put(distance, node);
+                return;
+            }
+            parent = child;
+        }
+    }
+
+    /**
+     * The {@code Node} class represents a distinct name in the tree.
+     */
+    private static class Node {
+        private final String name;
+        private final Postings docs = new Postings();
+        private final Map<Integer, Node> children = new HashMap<>();
+
+        /**
+         * Initializes a newly created {@code Node} object for the specified name.
+         * <p>
+         * @param name the lower case name
+         */
+        private Node(String name) {
+            this.name = name;
+        }
+    }
+
+}
@@ -0,0 +1,114 @@
+package edu.nyu.cs.addressbook.index;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.search.impl.SoundsLike;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code PhoneticIndex} class represents a hash index from the Soundex codes of the first and last names
+ * of contact entries to postings lists of contact entry ids (see
+ * {@link edu.nyu.cs.addressbook.Contact#idOf(ContactEntry)}).
+ * <p>
+ * The codes of a contact entry are computed once and kept by it (see
+ * {@link edu.nyu.cs.addressbook.ContactEntry#getFirstNameSoundex()}), so that
+ * {@link edu.nyu.cs.addressbook.search.impl.SoundsLike} criteria are answered by a single hash probe and the
+ * candidates are verified without encoding their names again. It is
+ * registered with {@link edu.nyu.cs.addressbook.Contact#addIndex(edu.nyu.cs.addressbook.SearchIndex)}.
+ * <p>
+ * {@code PhoneticIndex} objects are thread-safe.
+ */
+public class PhoneticIndex extends EntryIndex {
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * Initializes a newly created empty {@code PhoneticIndex} object.
+     */
+    public PhoneticIndex() {
+
+    }
+
+    /**
+     * Returns the number of distinct Soundex codes in this index.
+     * <p>
+     * @return the number of distinct Soundex codes in this index
+     */
+    public synchronized int getCodeCount() {
+        return postings.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<ContactEntry> candidates(SearchCriteria criteria) {
+        if (!(criteria instanceof SoundsLike)) {
+            return null;
+        }
+        Postings p = postings.get(((SoundsLike) criteria).getCode());
+        if (p == null) {
+            return Collections.emptyList();
+        }
+        return entries(p.toArray(), p.size());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void index(ContactEntry ce, int id) {
+        addPosting(ce.getFirstNameSoundex(), id);
+        addPosting(ce.getLastNameSoundex(), id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void unindex(ContactEntry ce, int id) {
+        removePosting(ce.getFirstNameSoundex(), id);
+        removePosting(ce.getLastNameSoundex(), id);
+    }
+
+    /**
+     * Adds the specified contact entry id to the postings list of the specified code.
+     * <p>
+     * @param code the Soundex code
+     * @param docId the contact entry id
+     */
+    private void addPosting(String code, int docId) {
+        if (code.isEmpty()) {
+            return;
+        }
+        Postings p = postings.get(code);
+        if (p == null) {
+            p = new Postings();
+            postings.put(code, p);
+        }
+        p.add(docId);
+    }
+
+    /**
+     * Removes the specified contact entry id from the postings list of the specified code, forgetting the code
+     * once its postings list is empty.
+     * <p>
+     * @param code the Soundex code
+     * @param docId the contact entry id
+     */
+    private void removePosting(String code, int docId) {
+        Postings p = postings.get(code);
+        if (p != null) {
+            p.remove(docId);
+            if (p.isEmpty()) {
+                postings.remove(code);
+            }
+        }
+    }
+
+}
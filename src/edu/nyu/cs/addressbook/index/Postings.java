@@ -0,0 +1,162 @@
+package edu.nyu.cs.addressbook.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code Postings} class represents a postings list: the sorted document ids in which a key occurs.
+ * <p>
+ * The ids are kept in a primitive array. Intersections follow implicit skip pointers spaced at the square
+ * root of the list length, so a short list intersected with a long one skips most of the long list instead
+ * of stepping through every id.
+ * <p>
+ * {@code Postings} objects are not thread-safe; the owning index synchronizes access.
+ */
+class Postings {
+    private static final Comparator<Postings> BY_SIZE = new Comparator<Postings>() {
+        @Override
+        public int compare(Postings p1, Postings p2) {
+            return p1.size - p2.size;
+        }
+    };
+    
+    private int[] ids = new int[4];
+    private int size;
+    
+    /**
+     * Returns the document ids which occur in every one of the specified postings lists, intersecting the 
+     * shortest lists first.
+     * <p>
+     * @param postings the non-empty collection of postings lists
+     * @return the sorted document ids which occur in every postings list
+     */
+    static int[] intersect(Collection<Postings> postings) {
+        assert !postings.isEmpty();
+        
+        List<Postings> lists = new ArrayList<>(postings);
+        Collections.sort(lists, BY_SIZE);
+        int[] docIds = lists.get(0).toArray();
+        int length = docIds.length;
+        for (int i = 1; i < lists.size() && length > 0; i++) {
+            length = lists.get(i).retainAll(docIds, length);
+        }
+        return Arrays.copyOf(docIds, length);
+    }
+
+    /**
+     * Adds the specified document id, if it is not present.
+     * <p>
+     * @param id the document id
+     */
+    void add(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return;
+        }
+        index = -index - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, index, ids, index + 1, size - index);
+        ids[index] = id;
+        size++;
+    }
+
+    /**
+     * Removes the specified document id, if it is present.
+     * <p>
+     * @param id the document id
+     */
+    void remove(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+    }
+
+    /**
+     * Returns true if this postings list contains the specified document id.
+     * <p>
+     * @param id the document id
+     * @return true if this postings list contains the specified document id
+     */
+    boolean contains(int id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    /**
+     * Returns the number of document ids.
+     * <p>
+     * @return the number of document ids
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this postings list is empty.
+     * <p>
+     * @return true if this postings list is empty
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns a copy of the document ids.
+     * <p>
+     * @return a copy of the document ids
+     */
+    int[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    /**
+     * Returns the document ids which occur in both the specified sorted array and this postings list. The
+     * result is written into the specified array, and its length is returned.
+     * <p>
+     * @param docIds the sorted document ids, overwritten by the result
+     * @param length the number of document ids to be used
+     * @return the number of document ids in the result
+     */
+    int retainAll(int[] docIds, int length) {
+        int skipA = (int) Math.sqrt(length);
+        int skipB = (int) Math.sqrt(size);
+        int i = 0;
+        int j = 0;
+        int result = 0;
+        while (i < length && j < size) {
+            if (docIds[i] == ids[j]) {
+                docIds[result++] = docIds[i];
+                i++;
+                j++;
+            } else if (docIds[i] < ids[j]) {
+                if (skipA > 1 && i + skipA < length && docIds[i + skipA] <= ids[j]) {
+                    while (i + skipA < length && docIds[i + skipA] <= ids[j]) {
+                        i += skipA;
+                    }
+                } else {
+                    i++;
+                }
+            } else {
+                if (skipB > 1 && j + skipB < size && ids[j + skipB] <= docIds[i]) {
+                    while (j + skipB < size && ids[j + skipB] <= docIds[i]) {
+                        j += skipB;
+                    }
+                } else {
+                    j++;
+                }
+            }
+        }
+        return result;
+    }
+
+}
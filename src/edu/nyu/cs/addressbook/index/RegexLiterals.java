@@ -0,0 +1,244 @@
+package edu.nyu.cs.addressbook.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author shenli
+ * <p>
+ * A non-instantiability {@code RegexLiterals} object used to extract the literal strings which every match of
+ * a regular expression must contain.
+ * <p>
+ * The extraction is conservative: it walks the top level of the pattern and collects runs of plain characters
+ * which are not made optional by a quantifier. Groups, character classes and escapes other than escaped
+ * punctuation end a run without contributing to it; the operands of such escapes, as the digits of
+ * {@code \x74} or the name of {@code \p{Alpha}}, are skipped along with them. Patterns with top-level alternation, comment mode or
+ * quoting yield no literal at all, so the caller falls back to a full scan.
+ */
+class RegexLiterals {
+
+    /**
+     * Suppress default constructor for non-instantiable
+     */
+    private RegexLiterals() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Returns the literal strings which every match of the specified regular expression must contain. Returns
+     * an empty list if no such literal could be determined.
+     * <p>
+     * @param regex the regular expression
+     * @return the literal strings which every match must contain
+     */
+    static List<String> requiredLiterals(String regex) {
+        List<String> literals = new ArrayList<>();
+        if (regex.contains("(?x") || regex.contains("\\Q") || hasTopLevelAlternation(regex)) {
+            return literals;
+        }
+        StringBuilder run = new StringBuilder();
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\' && i + 1 < regex.length() && !Character.isLetterOrDigit(regex.charAt(i + 1))) {
+                run.append(regex.charAt(i + 1));
+                i += 2;
+            } else if (c == '\\') {
+                flush(run, literals);
+                i = skipEscape(regex, i);
+            } else if (c == '[') {
+                flush(run, literals);
+                i = skipClass(regex, i);
+            } else if (c == '(') {
+                flush(run, literals);
+                i = skipGroup(regex, i);
+            } else if (c == '?' || c == '*' || (c == '{' && regex.startsWith("{0", i))) {
+                if (run.length() > 0) {
+                    run.setLength(run.length() - 1);
+                }
+                flush(run, literals);
+                i = c == '{' ? regex.indexOf('}', i) + 1 : i + 1;
+            } else if (c == '+' || c == '{') {
+                flush(run, literals);
+                i = c == '{' ? regex.indexOf('}', i) + 1 : i + 1;
+            } else if (c == '.' || c == '^' || c == '$') {
+                flush(run, literals);
+                i++;
+            } else {
+                run.append(c);
+                i++;
+            }
+            if (i <= 0) {
+                return new ArrayList<>();
+            }
+        }
+        flush(run, literals);
+        return literals;
+    }
+
+    /**
+     * Adds the specified run to the literals, and empties the run.
+     * <p>
+     * @param run the run of plain characters
+     * @param literals the literals
+     */
+    private static void flush(StringBuilder run, List<String> literals) {
+        if (run.length() > 0) {
+            literals.add(run.toString());
+            run.setLength(0);
+        }
+    }
+
+    /**
+     * Returns the index following the escape which starts at the specified index, including its operand, or 0
+     * if the operand is not closed.
+     * <p>
+     * @param regex the regular expression
+     * @param start the index of the backslash
+     * @return the index following the escape, or 0 if the operand is not closed
+     */
+    private static int skipEscape(String regex, int start) {
+        if (start + 1 >= regex.length()) {
+            return regex.length();
+        }
+        int i = start + 2;
+        switch (regex.charAt(start + 1)) {
+        case 'x':
+            i = regex.startsWith("{", i) ? regex.indexOf('}', i) + 1 : i + 2;
+            break;
+        case 'u':
+            i += 4;
+            break;
+        case 'c':
+            i += 1;
+            break;
+        case 'p':
+        case 'P':
+            i = regex.startsWith("{", i) ? regex.indexOf('}', i) + 1 : i + 1;
+            break;
+        case 'N':
+            i = regex.indexOf('}', i) + 1;
+            break;
+        case 'k':
+            i = regex.indexOf('>', i) + 1;
+            break;
+        case '0':
+            while (i < regex.length() && i < start + 5 && regex.charAt(i) >= '0' && regex.charAt(i) <= '7') {
+                i++;
+            }
+            break;
+        default:
+            if (Character.isDigit(regex.charAt(start + 1))) {
+                while (i < regex.length() && Character.isDigit(regex.charAt(i))) {
+                    i++;
+                }
+            }
+            break;
+        }
+        return i <= start ? 0 : Math.min(i, regex.length());
+    }
+
+    /**
+     * Returns the index following the character class which starts at the specified index, or 0 if the class
+     * is not closed.
+     * <p>
+     * @param regex the regular expression
+     * @param start the index of the opening bracket
+     * @return the index following the character class, or 0 if the class is not closed
+     */
+    private static int skipClass(String regex, int start) {
+        int depth = 0;
+        for (int i = start; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                depth++;
+            } else if (c == ']' && i > start + 1 && --depth == 0) {
+                return skipQuantifier(regex, i + 1);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the index following the group which starts at the specified index, or 0 if the group is not
+     * closed.
+     * <p>
+     * @param regex the regular expression
+     * @param start the index of the opening parenthesis
+     * @return the index following the group, or 0 if the group is not closed
+     */
+    private static int skipGroup(String regex, int start) {
+        int depth = 0;
+        for (int i = start; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                i = skipClass(regex, i) - 1;
+                if (i < 0) {
+                    return 0;
+                }
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')' && --depth == 0) {
+                return skipQuantifier(regex, i + 1);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the index following the quantifier which starts at the specified index, or the index itself if
+     * there is no quantifier.
+     * <p>
+     * @param regex the regular expression
+     * @param index the index
+     * @return the index following the quantifier
+     */
+    private static int skipQuantifier(String regex, int index) {
+        if (index < regex.length()) {
+            char c = regex.charAt(index);
+            if (c == '?' || c == '*' || c == '+') {
+                index++;
+            } else if (c == '{' && regex.indexOf('}', index) > 0) {
+                index = regex.indexOf('}', index) + 1;
+            }
+            if (index < regex.length() && (regex.charAt(index) == '?' || regex.charAt(index) == '+')) {
+                index++;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns true if the specified regular expression has an alternation outside of any group or class.
+     * <p>
+     * @param regex the regular expression
+     * @return true if the specified regular expression has a top-level alternation
+     */
+    private static boolean hasTopLevelAlternation(String regex) {
+        int depth = 0;
+        for (int i = 0; i < regex.length(); i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                i++;
+            } else if (c == '[') {
+                int end = skipClass(regex, i);
+                if (end == 0) {
+                    return true;
+                }
+                i = end - 1;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == '|' && depth == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+}
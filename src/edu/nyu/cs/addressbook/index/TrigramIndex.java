@@ -0,0 +1,276 @@
+package edu.nyu.cs.addressbook.index;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.search.impl.ContactField;
+import edu.nyu.cs.addressbook.search.impl.Regex;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code TrigramIndex} class represents an index of the character trigrams of contact entries.
+ * <p>
+ * Every overlapping three character window of the string representation of a contact entry, compared
+ * case-insensitively, is mapped to a postings list of contact entry ids (see
+ * {@link edu.nyu.cs.addressbook.Contact#idOf(ContactEntry)}). A substring of length three or more could
+ * only occur in those contact entries which contain all of its trigrams, so the index narrows
+ * {@link edu.nyu.cs.addressbook.search.impl.Regex} criteria by the literals which every match must contain,
+ * and {@link edu.nyu.cs.addressbook.search.impl.ContactField} criteria by their textual fields. The candidates
+ * are then verified by the criteria itself. It is registered with
+ * {@link edu.nyu.cs.addressbook.Contact#addIndex(edu.nyu.cs.addressbook.SearchIndex)} and is updated
+ * incrementally on every change of the contact entries.
+ * <p>
+ * {@code TrigramIndex} objects are thread-safe.
+ */
+public class TrigramIndex extends EntryIndex {
+    private final Map<Long, Postings> postings = new HashMap<>();
+
+    /**
+     * Initializes a newly created empty {@code TrigramIndex} object.
+     */
+    public TrigramIndex() {
+
+    }
+
+    /**
+     * Returns the number of distinct trigrams in this index.
+     * <p>
+     * @return the number of distinct trigrams in this index
+     */
+    public synchronized int getTrigramCount() {
+        return postings.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized List<ContactEntry> candidates(SearchCriteria criteria) {
+        Set<Long> trigrams = new HashSet<>();
+        if (criteria instanceof Regex) {
+            for (String literal : RegexLiterals.requiredLiterals(((Regex) criteria).getRegex())) {
+                for (String line : literal.split("\n")) {
+                    addTrigrams(line, trigrams);
+                }
+            }
+        } else if (criteria instanceof ContactField) {
+            ContactField cf = (ContactField) criteria;
+            addTrigrams(cf.getFirstName(), trigrams);
+            addTrigrams(cf.getLastName(), trigrams);
+            addTrigrams(cf.getUsername(), trigrams);
+            addTrigrams(cf.getDomain(), trigrams);
+            addTrigrams(cf.getCity(), trigrams);
+            addTrigrams(cf.getStreet(), trigrams);
+            addTrigrams(cf.getNote(), trigrams);
+        }
+        if (trigrams.isEmpty()) {
+            return null;
+        }
+        List<Postings> lists = new ArrayList<>();
+        for (Long trigram : trigrams) {
+            Postings p = postings.get(trigram);
+            if (p == null) {
+                return Collections.emptyList();
+            }
+            lists.add(p);
+        }
+        int[] docIds = Postings.intersect(lists);
+        return entries(docIds, docIds.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void index(ContactEntry ce, int id) {
+        addPostings(id, trigramsOf(ce));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    void unindex(ContactEntry ce, int id) {
+        for (Long trigram : trigramsOf(ce)) {
+            removePosting(id, trigram);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void phoneNumberAdded(ContactEntry ce, PhoneNumber pn) {
+        addPostings(idOf(ce), trigramsOf(pn.toString()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void phoneNumberRemoved(ContactEntry ce, PhoneNumber pn) {
+        removePostings(ce, trigramsOf(pn.toString()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void emailAddressAdded(ContactEntry ce, EmailAddress ea) {
+        addPostings(idOf(ce), trigramsOf(ea.toString()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void emailAddressRemoved(ContactEntry ce, EmailAddress ea) {
+        removePostings(ce, trigramsOf(ea.toString()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void postalAddressAdded(ContactEntry ce, PostalAddress pa) {
+        addPostings(idOf(ce), trigramsOf(pa.toString()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void postalAddressRemoved(ContactEntry ce, PostalAddress pa) {
+        removePostings(ce, trigramsOf(pa.toString()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void noteChanged(ContactEntry ce, String oldNote) {
+        removePostings(ce, trigramsOf(String.valueOf(oldNote)));
+        addPostings(idOf(ce), trigramsOf(String.valueOf(ce.getNote())));
+    }
+
+    /**
+     * Returns the trigrams of the specified contact entry. The trigrams of each component are taken
+     * separately, so that the trigrams of a contact entry do not depend on the order of its components.
+     * <p>
+     * @param ce the contact entry
+     * @return the trigrams of the specified contact entry
+     */
+    private static Set<Long> trigramsOf(ContactEntry ce) {
+        Set<Long> trigrams = new HashSet<>();
+        addTrigrams(ce.getFirstName() + " " + ce.getLastName(), trigrams);
+        for (PhoneNumber pn : ce.getPhoneNumbers()) {
+            addTrigrams(pn.toString(), trigrams);
+        }
+        for (EmailAddress ea : ce.getEmailAddresses()) {
+            addTrigrams(ea.toString(), trigrams);
+        }
+        for (PostalAddress pa : ce.getPostalAddresses()) {
+            addTrigrams(pa.toString(), trigrams);
+        }
+        addTrigrams(String.valueOf(ce.getNote()), trigrams);
+        return trigrams;
+    }
+
+    /**
+     * Returns the trigrams of the specified text.
+     * <p>
+     * @param text the text
+     * @return the trigrams of the specified text
+     */
+    private static Set<Long> trigramsOf(String text) {
+        Set<Long> trigrams = new HashSet<>();
+        addTrigrams(text, trigrams);
+        return trigrams;
+    }
+
+    /**
+     * Adds the case-insensitive trigrams of the specified text to the specified set. Each trigram is packed
+     * into a long, sixteen bits per character.
+     * <p>
+     * @param text the text
+     * @param trigrams the set of trigrams
+     */
+    private static void addTrigrams(String text, Set<Long> trigrams) {
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            long trigram = 0;
+            for (int j = i; j < i + 3; j++) {
+                trigram = (trigram << 16) | Character.toLowerCase(text.charAt(j));
+            }
+            trigrams.add(trigram);
+        }
+    }
+
+    /**
+     * Adds the specified contact entry id to the postings lists of the specified trigrams.
+     * <p>
+     * @param docId the contact entry id
+     * @param trigrams the trigrams
+     */
+    private void addPostings(int docId, Set<Long> trigrams) {
+        if (docId < 0) {
+            return;
+        }
+        for (Long trigram : trigrams) {
+            Postings p = postings.get(trigram);
+            if (p == null) {
+                p = new Postings();
+                postings.put(trigram, p);
+            }
+            p.add(docId);
+        }
+    }
+
+    /**
+     * Removes the contact entry id of the specified contact entry from the postings lists of those specified
+     * trigrams which no longer occur in the contact entry.
+     * <p>
+     * @param ce the changed contact entry
+     * @param trigrams the trigrams of the removed text
+     */
+    private void removePostings(ContactEntry ce, Set<Long> trigrams) {
+        int docId = idOf(ce);
+        if (docId < 0) {
+            return;
+        }
+        Set<Long> remaining = trigramsOf(ce);
+        for (Long trigram : trigrams) {
+            if (!remaining.contains(trigram)) {
+                removePosting(docId, trigram);
+            }
+        }
+    }
+
+    /**
+     * Removes the specified contact entry id from the postings list of the specified trigram, forgetting the
+     * trigram once its postings list is empty.
+     * <p>
+     * @param docId the contact entry id
+     * @param trigram the trigram
+     */
+    private void removePosting(int docId, Long trigram) {
+        Postings p = postings.get(trigram);
+        if (p != null) {
+            p.remove(docId);
+            if (p.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+}
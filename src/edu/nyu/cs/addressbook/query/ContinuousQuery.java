@@ -0,0 +1,272 @@
+package edu.nyu.cs.addressbook.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import edu.nyu.cs.addressbook.ContactAdapter;
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code ContinuousQuery} class represents a standing search criteria whose matches are kept up to date 
+ * as the contact entries change.
+ * <p>
+ * The query is registered with 
+ * {@link edu.nyu.cs.addressbook.Contact#addListener(edu.nyu.cs.addressbook.ContactListener)}, which reports 
+ * the existing contact entries as added. On every change only the contact entry touched by the change is 
+ * evaluated against the criteria, including changes of its phone numbers, email addresses, postal addresses 
+ * and note. Whenever a contact entry starts or stops matching, an {@code ENTER} or {@code LEAVE} 
+ * {@link edu.nyu.cs.addressbook.query.MatchEvent} is put on a bounded queue, and the queued events are 
+ * delivered in batches to the {@link edu.nyu.cs.addressbook.query.MatchListener} on the specified executor, 
+ * so a slow listener never blocks the thread changing the contact entries.
+ * <p>
+ * If the queue is full, further events are dropped and counted by {@link #getDroppedCount()}; a listener which 
+ * falls behind could resynchronize from {@link #getMatches()}. If the executor rejects a delivery, for instance 
+ * because it has been shut down, the queued events are dropped and counted as well, and the next event 
+ * schedules a delivery again; the change of the contact entries which published the event never fails because 
+ * of the query.
+ * <p>
+ * {@code ContinuousQuery} objects are thread-safe.
+ */
+public class ContinuousQuery extends ContactAdapter {
+    private final SearchCriteria criteria;
+    private final MatchListener listener;
+    private final Executor executor;
+    private final BlockingQueue<MatchEvent> queue;
+    private final Map<ContactEntry, int[]> occurrences = new IdentityHashMap<>();
+    private final Map<ContactEntry, Boolean> matches = new IdentityHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Runnable delivery = new Runnable() {
+        @Override
+        public void run() {
+            deliver();
+        }
+    };
+
+    /**
+     * Initializes a newly created {@code ContinuousQuery} object with no matches.
+     * <p>
+     * @param criteria the standing search criteria
+     * @param listener the listener to be informed of the match events
+     * @param executor the executor which delivers the match events
+     * @param capacity the maximum number of undelivered match events
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public ContinuousQuery(SearchCriteria criteria, MatchListener listener, Executor executor, int capacity) {
+        ParameterChecker.nullCheck(criteria, "criteria");
+        ParameterChecker.nullCheck(listener, "listener");
+        ParameterChecker.nullCheck(executor, "executor");
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+
+        this.criteria = criteria;
+        this.listener = listener;
+        this.executor = executor;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    /**
+     * Returns the standing search criteria.
+     * <p>
+     * @return the standing search criteria
+     */
+    public SearchCriteria getCriteria() {
+        return criteria;
+    }
+
+    /**
+     * Returns the contact entries which currently match the criteria, in natural order.
+     * <p>
+     * @return the contact entries which currently match the criteria
+     */
+    public synchronized List<ContactEntry> getMatches() {
+        List<ContactEntry> result = new ArrayList<>(matches.keySet());
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * Returns the number of match events dropped because the queue was full, or because the executor rejected 
+     * their delivery.
+     * <p>
+     * @return the number of dropped match events
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void entryAdded(ContactEntry ce) {
+        int[] count = occurrences.get(ce);
+        if (count != null) {
+            count[0]++;
+            return;
+        }
+        occurrences.put(ce, new int[] { 1 });
+        if (criteria.matchCondition(ce)) {
+            matches.put(ce, Boolean.TRUE);
+            publish(new MatchEvent(MatchEvent.Type.ENTER, ce));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void entryRemoved(ContactEntry ce) {
+        int[] count = occurrences.get(ce);
+        if (count == null || --count[0] > 0) {
+            return;
+        }
+        occurrences.remove(ce);
+        if (matches.remove(ce) != null) {
+            publish(new MatchEvent(MatchEvent.Type.LEAVE, ce));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void phoneNumberAdded(ContactEntry ce, PhoneNumber pn) {
+        reevaluate(ce);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void phoneNumberRemoved(ContactEntry ce, PhoneNumber pn) {
+        reevaluate(ce);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void emailAddressAdded(ContactEntry ce, EmailAddress ea) {
+        reevaluate(ce);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void emailAddressRemoved(ContactEntry ce, EmailAddress ea) {
+        reevaluate(ce);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void postalAddressAdded(ContactEntry ce, PostalAddress pa) {
+        reevaluate(ce);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void postalAddressRemoved(ContactEntry ce, PostalAddress pa) {
+        reevaluate(ce);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void noteChanged(ContactEntry ce, String oldNote) {
+        reevaluate(ce);
+    }
+
+    /**
+     * Evaluates the specified changed contact entry against the criteria, and publishes a match event if it 
+     * started or stopped matching.
+     * <p>
+     * @param ce the changed contact entry
+     */
+    private synchronized void reevaluate(ContactEntry ce) {
+        if (!occurrences.containsKey(ce)) {
+            return;
+        }
+        boolean matched = matches.containsKey(ce);
+        if (criteria.matchCondition(ce) == matched) {
+            return;
+        }
+        if (matched) {
+            matches.remove(ce);
+            publish(new MatchEvent(MatchEvent.Type.LEAVE, ce));
+        } else {
+            matches.put(ce, Boolean.TRUE);
+            publish(new MatchEvent(MatchEvent.Type.ENTER, ce));
+        }
+    }
+
+    /**
+     * Puts the specified match event on the queue, and schedules a delivery unless one is already scheduled.
+     * <p>
+     * @param event the match event
+     */
+    private void publish(MatchEvent event) {
+        if (!queue.offer(event)) {
+            dropped.incrementAndGet();
+        }
+        schedule();
+    }
+
+    /**
+     * Schedules a delivery on the executor unless one is already scheduled. If the executor rejects the 
+     * delivery, the queued match events are dropped.
+     */
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            try {
+                executor.execute(delivery);
+            } catch (RejectedExecutionException e) {
+                List<MatchEvent> rejected = new ArrayList<>();
+                dropped.addAndGet(queue.drainTo(rejected));
+                scheduled.set(false);
+            }
+        }
+    }
+
+    /**
+     * Delivers the queued match events in batches until the queue is empty.
+     */
+    private void deliver() {
+        try {
+            List<MatchEvent> batch = new ArrayList<>();
+            while (queue.drainTo(batch) > 0) {
+                listener.matchesChanged(Collections.unmodifiableList(batch));
+                batch = new ArrayList<>();
+            }
+        } finally {
+            scheduled.set(false);
+        }
+        if (!queue.isEmpty()) {
+            schedule();
+        }
+    }
+
+}
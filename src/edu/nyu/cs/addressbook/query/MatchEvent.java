@@ -0,0 +1,72 @@
+package edu.nyu.cs.addressbook.query;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code MatchEvent} class represents a contact entry starting or stopping to match the criteria of a 
+ * {@link edu.nyu.cs.addressbook.query.ContinuousQuery}.
+ * <p>
+ * {@code MatchEvent} are constant; their value could not be changed after they are created. Because 
+ * {@code MatchEvent} objects are immutable they could be shared.
+ */
+public class MatchEvent {
+    private final Type type;
+    private final ContactEntry entry;
+
+    /**
+     * Initializes a newly created {@code MatchEvent} object.
+     * <p>
+     * @param type the type of the event
+     * @param entry the contact entry
+     */
+    MatchEvent(Type type, ContactEntry entry) {
+        this.type = type;
+        this.entry = entry;
+    }
+
+    /**
+     * Returns the type of this event.
+     * <p>
+     * @return the type of this event
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the contact entry which entered or left the matches.
+     * <p>
+     * @return the contact entry
+     */
+    public ContactEntry getEntry() {
+        return entry;
+    }
+
+    /**
+     * Return string representation of this {@code MatchEvent} object. The string representation consists of 
+     * the type followed by the first and last name of the contact entry.
+     * <p>
+     * @return a string representation of this {@code MatchEvent} object
+     */
+    @Override
+    public String toString() {
+        return type + " " + entry.getFirstName() + " " + entry.getLastName();
+    }
+
+    /**
+     * The {@code Type} enum represents the kind of a {@code MatchEvent}.
+     */
+    public enum Type {
+        /**
+         * the contact entry started to match
+         */
+        ENTER,
+        /**
+         * the contact entry stopped to match
+         */
+        LEAVE
+    }
+
+}
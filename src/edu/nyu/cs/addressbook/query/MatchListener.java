@@ -0,0 +1,21 @@
+package edu.nyu.cs.addressbook.query;
+
+import java.util.List;
+
+/**
+ * @author shenli
+ * <p>
+ * A class can implement the {@code MatchListener} interface when it wants to be informed of the contact 
+ * entries entering and leaving the matches of a {@link edu.nyu.cs.addressbook.query.ContinuousQuery}.
+ */
+public interface MatchListener {
+
+    /**
+     * This method is called with a batch of match events, in the order in which they occurred. Batches are 
+     * delivered one at a time, in order.
+     * <p>
+     * @param events the non-empty batch of match events
+     */
+    public void matchesChanged(List<MatchEvent> events);
+
+}
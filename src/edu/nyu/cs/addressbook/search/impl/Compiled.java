@@ -0,0 +1,117 @@
+package edu.nyu.cs.addressbook.search.impl;
+
+import java.lang.invoke.MethodHandle;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code Compiled} class represents criteria information.
+ * <p>
+ * The specified criteria is the element should match the source criteria, evaluated by a predicate compiled 
+ * from the source criteria tree when this object is created: the {@link ContactField} leaves test only their 
+ * populated fields, and the {@link And} and {@link Or} combinators are composed into one method handle rather 
+ * than dispatched per child. Criteria which could not be compiled, such as user-defined criteria, are 
+ * evaluated as they are. Changes of the source criteria after compilation are not seen. A 
+ * {@link edu.nyu.cs.addressbook.Contact} list plans the search of a {@code Compiled} criteria by its source, 
+ * so registered indexes are still used.
+ * <p>
+ * {@code Compiled} are constant; their value could not be changed after they are created. Because 
+ * {@code Compiled} objects are immutable they could be shared.
+ */
+public class Compiled implements SearchCriteria {
+    private final SearchCriteria source;
+    private final MethodHandle handle;
+    
+    /**
+     * Initializes a newly created {@code Compiled} object so that it records the compiled form of the 
+     * specified criteria.
+     * <p>
+     * @param source the criteria to be compiled
+     */
+    public Compiled(SearchCriteria source) {
+        ParameterChecker.nullCheck(source, "criteria");
+        
+        this.source = source instanceof Compiled ? ((Compiled) source).source : source;
+        this.handle = CriteriaCompiler.compile(source);
+    }
+
+    /**
+     * Returns the criteria this criteria was compiled from.
+     * <p>
+     * @return the source criteria
+     */
+    public SearchCriteria getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the compiled predicate, of type {@code (ContactEntry)boolean}.
+     * <p>
+     * @return the compiled predicate
+     */
+    MethodHandle getHandle() {
+        return handle;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matchCondition(ContactEntry element) {
+        if (element == null) {
+            return false;
+        }
+        try {
+            return (boolean) handle.invokeExact(element);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+    
+    /**
+     * Compares the specified object with this {@code Compiled} object for equality. Returns true if and only 
+     * if the specified object is also a {@code Compiled} object, both objects have the same source criteria.
+     * <p>
+     * @param o the object to be compared for equality with this {@code Compiled} object
+     * @return true if the specified object is equal to this {@code Compiled} object
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (! (o instanceof Compiled)) {
+            return false;
+        }
+        Compiled c = (Compiled) o;
+        return source.equals(c.source);
+    }
+    
+    /**
+     * Returns the hash code value for this {@code Compiled} object.
+     * <p>
+     * @return the hash code value for this {@code Compiled} object
+     */
+    @Override
+    public int hashCode() {
+        return 17 * 31 + source.hashCode();
+    }
+
+    /**
+     * Return string representation of this {@code Compiled} object. The string representation is the one of 
+     * the source criteria.
+     * <p>
+     * @return a string representation of this {@code Compiled} object
+     */
+    @Override
+    public String toString() {
+        return source.toString();
+    }
+    
+}
@@ -242,6 +242,114 @@ public class ContactField implements SearchCriteria {
         this.note = builder.note;
     }
     
+    /**
+     * Returns the first name to be matched, or empty string if the first name is not part of this criteria.
+     * <p>
+     * @return the first name to be matched
+     */
+    public String getFirstName() {
+        return firstName;
+    }
+    
+    /**
+     * Returns the last name to be matched, or empty string if the last name is not part of this criteria.
+     * <p>
+     * @return the last name to be matched
+     */
+    public String getLastName() {
+        return lastName;
+    }
+    
+    /**
+     * Returns the area code to be matched, or zero if the area code is not part of this criteria.
+     * <p>
+     * @return the area code to be matched
+     */
+    public short getAreaCode() {
+        return areaCode;
+    }
+    
+    /**
+     * Returns the prefix to be matched, or zero if the prefix is not part of this criteria.
+     * <p>
+     * @return the prefix to be matched
+     */
+    public short getPrefix() {
+        return prefix;
+    }
+    
+    /**
+     * Returns the line number to be matched, or zero if the line number is not part of this criteria.
+     * <p>
+     * @return the line number to be matched
+     */
+    public short getLineNumber() {
+        return lineNumber;
+    }
+    
+    /**
+     * Returns the user name to be matched, or empty string if the user name is not part of this criteria.
+     * <p>
+     * @return the user name to be matched
+     */
+    public String getUsername() {
+        return username;
+    }
+    
+    /**
+     * Returns the domain to be matched, or empty string if the domain is not part of this criteria.
+     * <p>
+     * @return the domain to be matched
+     */
+    public String getDomain() {
+        return domain;
+    }
+    
+    /**
+     * Returns the zip code to be matched, or zero if the zip code is not part of this criteria.
+     * <p>
+     * @return the zip code to be matched
+     */
+    public int getZipCode() {
+        return zipCode;
+    }
+    
+    /**
+     * Returns the state to be matched, or {@link edu.nyu.cs.addressbook.component.util.State#NONE} if the state is not part of this criteria.
+     * <p>
+     * @return the state to be matched
+     */
+    public State getState() {
+        return state;
+    }
+    
+    /**
+     * Returns the city to be matched, or empty string if the city is not part of this criteria.
+     * <p>
+     * @return the city to be matched
+     */
+    public String getCity() {
+        return city;
+    }
+    
+    /**
+     * Returns the street to be matched, or empty string if the street is not part of this criteria.
+     * <p>
+     * @return the street to be matched
+     */
+    public String getStreet() {
+        return street;
+    }
+    
+    /**
+     * Returns the note to be matched, or empty string if the note is not part of this criteria.
+     * <p>
+     * @return the note to be matched
+     */
+    public String getNote() {
+        return note;
+    }
+    
     /**
      * {@inheritDoc}
      */
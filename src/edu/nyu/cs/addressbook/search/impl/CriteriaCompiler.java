@@ -0,0 +1,234 @@
+package edu.nyu.cs.addressbook.search.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.util.State;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+
+/**
+ * @author shenli
+ * <p>
+ * A non-instantiability {@code CriteriaCompiler} object used to compile a criteria tree into a single 
+ * {@link java.lang.invoke.MethodHandle} of type {@code (ContactEntry)boolean}.
+ * <p>
+ * A {@link ContactField} becomes the conjunction of the tests of its populated fields only, each one a 
+ * contains method of {@link edu.nyu.cs.addressbook.ContactEntry} bound to the field value, so no sentinel is 
+ * checked at match time. {@link And} and {@link Or} become chains of 
+ * {@link java.lang.invoke.MethodHandles#guardWithTest(MethodHandle, MethodHandle, MethodHandle)} which short 
+ * circuit like the interpreted criteria, and which the JIT could inline as a whole instead of dispatching 
+ * through the {@link edu.nyu.cs.addressbook.search.SearchCriteria} interface. Any other criteria, including 
+ * user-defined ones, is called through its own {@link SearchCriteria#matchCondition(ContactEntry)}.
+ */
+class CriteriaCompiler {
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+    private static final MethodType PREDICATE = MethodType.methodType(boolean.class, ContactEntry.class);
+    private static final MethodHandle TRUE = constant(true);
+    private static final MethodHandle FALSE = constant(false);
+    private static final MethodHandle MATCH_CONDITION;
+    private static final MethodHandle STRING_EQUALS;
+    private static final MethodHandle STRING_CONTAINS;
+    private static final MethodHandle GET_FIRST_NAME;
+    private static final MethodHandle GET_LAST_NAME;
+    private static final MethodHandle GET_NOTE;
+    private static final MethodHandle CONTAINS_AREA_CODE;
+    private static final MethodHandle CONTAINS_PREFIX;
+    private static final MethodHandle CONTAINS_LINE_NUMBER;
+    private static final MethodHandle CONTAINS_USERNAME;
+    private static final MethodHandle CONTAINS_DOMAIN;
+    private static final MethodHandle CONTAINS_ZIPCODE;
+    private static final MethodHandle CONTAINS_STATE;
+    private static final MethodHandle CONTAINS_CITY;
+    private static final MethodHandle CONTAINS_STREET;
+    
+    static {
+        try {
+            MATCH_CONDITION = LOOKUP.findVirtual(SearchCriteria.class, "matchCondition", PREDICATE);
+            STRING_EQUALS = LOOKUP.findVirtual(String.class, "equals", 
+                    MethodType.methodType(boolean.class, Object.class));
+            STRING_CONTAINS = LOOKUP.findVirtual(String.class, "contains", 
+                    MethodType.methodType(boolean.class, CharSequence.class));
+            GET_FIRST_NAME = getter("getFirstName");
+            GET_LAST_NAME = getter("getLastName");
+            GET_NOTE = getter("getNote");
+            CONTAINS_AREA_CODE = contains("containsAreaCode", int.class);
+            CONTAINS_PREFIX = contains("containsPrefix", int.class);
+            CONTAINS_LINE_NUMBER = contains("containsLineNumber", int.class);
+            CONTAINS_USERNAME = contains("containsUsername", String.class);
+            CONTAINS_DOMAIN = contains("containsDomain", String.class);
+            CONTAINS_ZIPCODE = contains("containsZipcode", int.class);
+            CONTAINS_STATE = contains("containsState", State.class);
+            CONTAINS_CITY = contains("containsCity", String.class);
+            CONTAINS_STREET = contains("containsStreet", String.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    /**
+     * Suppress default constructor for non-instantiable
+     */
+    private CriteriaCompiler() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Returns the method handle of type {@code (ContactEntry)boolean} which evaluates the specified criteria 
+     * on a non-null contact entry.
+     * <p>
+     * @param criteria the criteria
+     * @return the compiled criteria
+     */
+    static MethodHandle compile(SearchCriteria criteria) {
+        if (criteria instanceof Compiled) {
+            return ((Compiled) criteria).getHandle();
+        }
+        if (criteria instanceof NonNull) {
+            return TRUE;
+        }
+        if (criteria instanceof ContactField) {
+            return compileContactField((ContactField) criteria);
+        }
+        if (criteria instanceof And) {
+            return chain(((And) criteria).getCriterias(), true);
+        }
+        if (criteria instanceof Or) {
+            return chain(((Or) criteria).getCriterias(), false);
+        }
+        return MATCH_CONDITION.bindTo(criteria);
+    }
+
+    /**
+     * Returns the conjunction of the tests of the populated fields of the specified criteria.
+     * <p>
+     * @param cf the criteria
+     * @return the compiled criteria
+     */
+    private static MethodHandle compileContactField(ContactField cf) {
+        List<MethodHandle> tests = new ArrayList<>();
+        if (!cf.getFirstName().equals("")) {
+            tests.add(MethodHandles.filterArguments(equalsTo(cf.getFirstName()), 0, GET_FIRST_NAME));
+        }
+        if (!cf.getLastName().equals("")) {
+            tests.add(MethodHandles.filterArguments(equalsTo(cf.getLastName()), 0, GET_LAST_NAME));
+        }
+        if (cf.getAreaCode() != 0) {
+            tests.add(MethodHandles.insertArguments(CONTAINS_AREA_CODE, 1, (int) cf.getAreaCode()));
+        }
+        if (cf.getPrefix() != 0) {
+            tests.add(MethodHandles.insertArguments(CONTAINS_PREFIX, 1, (int) cf.getPrefix()));
+        }
+        if (cf.getLineNumber() != 0) {
+            tests.add(MethodHandles.insertArguments(CONTAINS_LINE_NUMBER, 1, (int) cf.getLineNumber()));
+        }
+        if (!cf.getUsername().equals("")) {
+            tests.add(MethodHandles.insertArguments(CONTAINS_USERNAME, 1, cf.getUsername()));
+        }
+        if (!cf.getDomain().equals("")) {
+            tests.add(MethodHandles.insertArguments(CONTAINS_DOMAIN, 1, cf.getDomain()));
+        }
+        if (cf.getZipCode() != 0) {
+            tests.add(MethodHandles.insertArguments(CONTAINS_ZIPCODE, 1, cf.getZipCode()));
+        }
+        if (cf.getState() != State.NONE) {
+            tests.add(MethodHandles.insertArguments(CONTAINS_STATE, 1, cf.getState()));
+        }
+        if (!cf.getCity().equals("")) {
+            tests.add(MethodHandles.insertArguments(CONTAINS_CITY, 1, cf.getCity()));
+        }
+        if (!cf.getStreet().equals("")) {
+            tests.add(MethodHandles.insertArguments(CONTAINS_STREET, 1, cf.getStreet()));
+        }
+        if (!cf.getNote().equals("")) {
+            MethodHandle contains = MethodHandles.insertArguments(STRING_CONTAINS, 1, cf.getNote());
+            tests.add(MethodHandles.filterArguments(contains, 0, GET_NOTE));
+        }
+        return combine(tests, true);
+    }
+
+    /**
+     * Returns the conjunction or disjunction of the compiled children.
+     * <p>
+     * @param criterias the children
+     * @param and true for a conjunction, false for a disjunction
+     * @return the compiled criteria
+     */
+    private static MethodHandle chain(List<SearchCriteria> criterias, boolean and) {
+        List<MethodHandle> tests = new ArrayList<>();
+        for (SearchCriteria sc : criterias) {
+            tests.add(compile(sc));
+        }
+        return combine(tests, and);
+    }
+
+    /**
+     * Returns the short-circuiting conjunction or disjunction of the specified tests, built from the last test 
+     * backwards so that the tests are evaluated in order.
+     * <p>
+     * @param tests the tests
+     * @param and true for a conjunction, false for a disjunction
+     * @return the combined test
+     */
+    private static MethodHandle combine(List<MethodHandle> tests, boolean and) {
+        MethodHandle result = and ? TRUE : FALSE;
+        for (int i = tests.size() - 1; i >= 0; i--) {
+            MethodHandle test = tests.get(i);
+            if (i == tests.size() - 1) {
+                result = test;
+            } else if (and) {
+                result = MethodHandles.guardWithTest(test, result, FALSE);
+            } else {
+                result = MethodHandles.guardWithTest(test, TRUE, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the test of type {@code (String)boolean} which compares its argument with the specified string.
+     * <p>
+     * @param str the string
+     * @return the equality test
+     */
+    private static MethodHandle equalsTo(String str) {
+        return STRING_EQUALS.bindTo(str).asType(MethodType.methodType(boolean.class, String.class));
+    }
+
+    /**
+     * Returns the constant test of type {@code (ContactEntry)boolean} which ignores its argument.
+     * <p>
+     * @param value the constant value
+     * @return the constant test
+     */
+    private static MethodHandle constant(boolean value) {
+        return MethodHandles.dropArguments(MethodHandles.constant(boolean.class, value), 0, ContactEntry.class);
+    }
+
+    /**
+     * Returns the handle of the specified {@code String} getter of {@link edu.nyu.cs.addressbook.ContactEntry}.
+     * <p>
+     * @param name the name of the getter
+     * @return the handle of the getter
+     * @throws ReflectiveOperationException if the getter could not be found
+     */
+    private static MethodHandle getter(String name) throws ReflectiveOperationException {
+        return LOOKUP.findVirtual(ContactEntry.class, name, MethodType.methodType(String.class));
+    }
+
+    /**
+     * Returns the handle of the specified contains method of {@link edu.nyu.cs.addressbook.ContactEntry}.
+     * <p>
+     * @param name the name of the contains method
+     * @param type the parameter type of the contains method
+     * @return the handle of the contains method
+     * @throws ReflectiveOperationException if the contains method could not be found
+     */
+    private static MethodHandle contains(String name, Class<?> type) throws ReflectiveOperationException {
+        return LOOKUP.findVirtual(ContactEntry.class, name, MethodType.methodType(boolean.class, type));
+    }
+
+}
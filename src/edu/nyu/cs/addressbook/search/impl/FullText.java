@@ -0,0 +1,113 @@
+package edu.nyu.cs.addressbook.search.impl;
+
+import java.util.Collections;
+import java.util.Set;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+import edu.nyu.cs.addressbook.utils.Tokenizer;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code FullText} class represents criteria information.
+ * <p>
+ * The specified criteria is the element should contain every word of the query in its textual fields: first
+ * name, last name, note, street, city, user name and domain. Words are compared case-insensitively as whole
+ * tokens; see {@link edu.nyu.cs.addressbook.utils.Tokenizer}. {@code FullText} are constant; their value could
+ * not be changed after they are created. Because {@code FullText} objects are immutable they could be shared.
+ * <p>
+ * Searches through {@link edu.nyu.cs.addressbook.Contact#search(SearchCriteria)} are answered from a
+ * {@link edu.nyu.cs.addressbook.index.FullTextIndex} when one is registered.
+ */
+public class FullText implements SearchCriteria {
+    private final String query;
+    private final Set<String> tokens;
+    private volatile int hashCode;
+
+    /**
+     * Initializes a newly created {@code FullText} object so that it records full text criteria information.
+     * <p>
+     * @param query the query words
+     * @throws IllegalArgumentException if the query has no word, such as a query of punctuation only
+     */
+    public FullText(String query) {
+        ParameterChecker.nullCheck(query, "query");
+        ParameterChecker.emptyCheck(query.trim(), "query");
+        Set<String> tokens = Tokenizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            throw new IllegalArgumentException("query: " + query + " has no word!");
+        }
+
+        this.query = query.trim();
+        this.tokens = Collections.unmodifiableSet(tokens);
+    }
+
+    /**
+     * Returns an unmodifiable view of the distinct tokens of the query.
+     * <p>
+     * @return an unmodifiable view of the distinct tokens of the query
+     */
+    public Set<String> getTokens() {
+        return tokens;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matchCondition(ContactEntry element) {
+        if (element == null) {
+            return false;
+        }
+        return Tokenizer.tokenize(element).containsAll(tokens);
+    }
+
+    /**
+     * Compares the specified object with this {@code FullText} object for equality. Returns true if and only
+     * if the specified object is also a {@code FullText} object, both objects have the same query tokens.
+     * <p>
+     * @param o the object to be compared for equality with this {@code FullText} object
+     * @return true if the specified object is equal to this {@code FullText} object
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (! (o instanceof FullText)) {
+            return false;
+        }
+        FullText ft = (FullText) o;
+        return tokens.equals(ft.tokens);
+    }
+
+    /**
+     * Returns the hash code value for this {@code FullText} object.
+     * <p>
+     * @return the hash code value for this {@code FullText} object
+     */
+    @Override
+    public int hashCode() {
+        int result = hashCode;
+        if (result == 0) {
+            result = 17;
+            result = result * 31 + tokens.hashCode();
+            hashCode = result;
+        }
+        return result;
+    }
+
+    /**
+     * Return string representation of this {@code FullText} object. The string representation consists of the
+     * query.
+     * <p>
+     * @return a string representation of this {@code FullText} object
+     */
+    @Override
+    public String toString() {
+        return query;
+    }
+
+}
@@ -0,0 +1,120 @@
+package edu.nyu.cs.addressbook.search.impl;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.utils.EditDistance;
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code Fuzzy} class represents criteria information.
+ * <p>
+ * The specified criteria is the first name or the last name of the element should be within the specified
+ * Levenshtein distance of the name, compared case-insensitively. {@code Fuzzy} are constant; their value could
+ * not be changed after they are created. Because {@code Fuzzy} objects are immutable they could be shared.
+ * <p>
+ * Searches through {@link edu.nyu.cs.addressbook.Contact#search(SearchCriteria)} are answered from a
+ * {@link edu.nyu.cs.addressbook.index.FuzzyNameIndex} when one is registered.
+ */
+public class Fuzzy implements SearchCriteria {
+    private final String name;
+    private final int maxDistance;
+    private volatile int hashCode;
+
+    /**
+     * Initializes a newly created {@code Fuzzy} object so that it records fuzzy name criteria information.
+     * <p>
+     * @param name the name
+     * @param maxDistance the maximum edit distance
+     */
+    public Fuzzy(String name, int maxDistance) {
+        ParameterChecker.nullCheck(name, "name");
+        ParameterChecker.emptyCheck(name, "name");
+        ParameterChecker.rangeCheck(maxDistance, Integer.MAX_VALUE - 1, "maximum edit distance");
+
+        this.name = name.toLowerCase();
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * Returns the lower case name.
+     * <p>
+     * @return the lower case name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the maximum edit distance.
+     * <p>
+     * @return the maximum edit distance
+     */
+    public int getMaxDistance() {
+        return maxDistance;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matchCondition(ContactEntry element) {
+        if (element == null) {
+            return false;
+        }
+        return EditDistance.distance(name, element.getFirstName().toLowerCase(), maxDistance) 
+                    <= maxDistance
+                || EditDistance.distance(name, element.getLastName().toLowerCase(), maxDistance) 
+                    <= maxDistance;
+    }
+
+    /**
+     * Compares the specified object with this {@code Fuzzy} object for equality. Returns true if and only if
+     * the specified object is also a {@code Fuzzy} object, both objects have the same name and maximum edit
+     * distance.
+     * <p>
+     * @param o the object to be compared for equality with this {@code Fuzzy} object
+     * @return true if the specified object is equal to this {@code Fuzzy} object
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (! (o instanceof Fuzzy)) {
+            return false;
+        }
+        Fuzzy f = (Fuzzy) o;
+        return name.equals(f.name) && maxDistance == f.maxDistance;
+    }
+
+    /**
+     * Returns the hash code value for this {@code Fuzzy} object.
+     * <p>
+     * @return the hash code value for this {@code Fuzzy} object
+     */
+    @Override
+    public int hashCode() {
+        int result = hashCode;
+        if (result == 0) {
+            result = 17;
+            result = result * 31 + name.hashCode();
+            result = result * 31 + maxDistance;
+            hashCode = result;
+        }
+        return result;
+    }
+
+    /**
+     * Return string representation of this {@code Fuzzy} object. The string representation consists of the
+     * name followed by a tilde and the maximum edit distance.
+     * <p>
+     * @return a string representation of this {@code Fuzzy} object
+     */
+    @Override
+    public String toString() {
+        return name + "~" + maxDistance;
+    }
+
+}
@@ -1,5 +1,6 @@
 package edu.nyu.cs.addressbook.search.impl;
 
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -34,6 +35,15 @@ public class Or implements SearchCriteria {
         }
     }
     
+    /**
+     * Returns an unmodifiable view of the criteria list of this {@code Or} object.
+     * <p>
+     * @return an unmodifiable view of the criteria list
+     */
+    public List<SearchCriteria> getCriterias() {
+        return Collections.unmodifiableList(criterias);
+    }
+    
     /**
      * {@inheritDoc}
      */
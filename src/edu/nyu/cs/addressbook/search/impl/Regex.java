@@ -18,6 +18,7 @@ import edu.nyu.cs.addressbook.utils.ParameterChecker;
  */
 public class Regex implements SearchCriteria {
     private final String regex;
+    private volatile Pattern pattern;
     private volatile int hashCode;
     
     /**
@@ -31,8 +32,32 @@ public class Regex implements SearchCriteria {
         ParameterChecker.emptyCheck(regex, "regular expression");
         
         this.regex = regex;
-    } 
-    
+    }
+
+    /**
+     * Returns the regular expression.
+     * <p>
+     * @return the regular expression
+     */
+    public String getRegex() {
+        return regex;
+    }
+
+    /**
+     * Returns the compiled regular expression. The regular expression is compiled on first use.
+     * <p>
+     * @return the compiled regular expression
+     * @throws java.util.regex.PatternSyntaxException if the regular expression's syntax is invalid
+     */
+    public Pattern getPattern() {
+        Pattern result = pattern;
+        if (result == null) {
+            result = Pattern.compile(regex);
+            pattern = result;
+        }
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -41,8 +66,7 @@ public class Regex implements SearchCriteria {
         if (element == null) {
             return false;
         }
-        Pattern pattern = Pattern.compile(regex);
-        Matcher matcher = pattern.matcher(element.toString());
+        Matcher matcher = getPattern().matcher(element.toString());
         return matcher.find();
     }
     
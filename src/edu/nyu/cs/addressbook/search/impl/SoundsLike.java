@@ -0,0 +1,112 @@
+package edu.nyu.cs.addressbook.search.impl;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+import edu.nyu.cs.addressbook.utils.Soundex;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code SoundsLike} class represents criteria information.
+ * <p>
+ * The specified criteria is the first name or the last name of the element should have the same Soundex code
+ * as the name; see {@link edu.nyu.cs.addressbook.utils.Soundex}. {@code SoundsLike} are constant; their value
+ * could not be changed after they are created. Because {@code SoundsLike} objects are immutable they could be
+ * shared.
+ * <p>
+ * The name is encoded once when the criteria is created, and the names of a contact entry are encoded once
+ * and kept by the contact entry (see {@link edu.nyu.cs.addressbook.ContactEntry#getFirstNameSoundex()}), so
+ * matching compares codes only.
+ * <p>
+ * Searches through {@link edu.nyu.cs.addressbook.Contact#search(SearchCriteria)} are answered from a
+ * {@link edu.nyu.cs.addressbook.index.PhoneticIndex} when one is registered.
+ */
+public class SoundsLike implements SearchCriteria {
+    private final String name;
+    private final String code;
+    private volatile int hashCode;
+
+    /**
+     * Initializes a newly created {@code SoundsLike} object so that it records sound-alike criteria
+     * information.
+     * <p>
+     * @param name the name
+     * @throws IllegalArgumentException if the name has no letter
+     */
+    public SoundsLike(String name) {
+        ParameterChecker.nullCheck(name, "name");
+        String code = Soundex.encode(name);
+        ParameterChecker.emptyCheck(code, "name");
+
+        this.name = name;
+        this.code = code;
+    }
+
+    /**
+     * Returns the Soundex code of the name.
+     * <p>
+     * @return the Soundex code of the name
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean matchCondition(ContactEntry element) {
+        if (element == null) {
+            return false;
+        }
+        return code.equals(element.getFirstNameSoundex()) || code.equals(element.getLastNameSoundex());
+    }
+
+    /**
+     * Compares the specified object with this {@code SoundsLike} object for equality. Returns true if and only
+     * if the specified object is also a {@code SoundsLike} object, both objects have the same Soundex code.
+     * <p>
+     * @param o the object to be compared for equality with this {@code SoundsLike} object
+     * @return true if the specified object is equal to this {@code SoundsLike} object
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (! (o instanceof SoundsLike)) {
+            return false;
+        }
+        SoundsLike sl = (SoundsLike) o;
+        return code.equals(sl.code);
+    }
+
+    /**
+     * Returns the hash code value for this {@code SoundsLike} object.
+     * <p>
+     * @return the hash code value for this {@code SoundsLike} object
+     */
+    @Override
+    public int hashCode() {
+        int result = hashCode;
+        if (result == 0) {
+            result = 17;
+            result = result * 31 + code.hashCode();
+            hashCode = result;
+        }
+        return result;
+    }
+
+    /**
+     * Return string representation of this {@code SoundsLike} object. The string representation consists of
+     * the name.
+     * <p>
+     * @return a string representation of this {@code SoundsLike} object
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+
+}
@@ -0,0 +1,259 @@
+package edu.nyu.cs.addressbook.stats;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.nyu.cs.addressbook.Contact;
+import edu.nyu.cs.addressbook.ContactAdapter;
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code AddressBookSketch} class represents approximate analytics over the email domains, cities and 
+ * area codes of one or more {@link edu.nyu.cs.addressbook.Contact} lists: the number of distinct keys, the 
+ * number of occurrences of any key, and the most frequent keys. Every email address, postal address and 
+ * phone number is one occurrence of its key. The memory used is fixed, whatever the number of keys.
+ * <p>
+ * A sketch of one {@code Contact} list is computed in one pass by {@link #of(edu.nyu.cs.addressbook.Contact)}, 
+ * or kept up to date by registering it with 
+ * {@link edu.nyu.cs.addressbook.Contact#addListener(edu.nyu.cs.addressbook.ContactListener)}. Removed keys 
+ * are subtracted from the counts, but distinct counts include every key seen since the sketch was created. 
+ * Sketches of different lists are combined by {@link #merge(AddressBookSketch)}, and could be serialized to 
+ * be merged in another process.
+ * <p>
+ * {@code AddressBookSketch} objects are thread-safe.
+ */
+public class AddressBookSketch extends ContactAdapter implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * The kinds of keys summarized by an {@code AddressBookSketch}.
+     */
+    public enum Field {
+        /**
+         * The domain of an email address.
+         */
+        DOMAIN,
+        
+        /**
+         * The city of a postal address.
+         */
+        CITY,
+        
+        /**
+         * The area code of a phone number.
+         */
+        AREA_CODE
+    }
+    
+    private final Map<Field, KeySketch> sketches = new EnumMap<>(Field.class);
+
+    /**
+     * Initializes a newly created empty {@code AddressBookSketch} object.
+     */
+    public AddressBookSketch() {
+        for (Field field : Field.values()) {
+            sketches.put(field, new KeySketch());
+        }
+    }
+
+    /**
+     * Returns the sketch of the specified {@code Contact} list, computed in one pass over its contact entries.
+     * <p>
+     * @param contact the {@code Contact} list
+     * @return the sketch of the specified {@code Contact} list
+     */
+    public static AddressBookSketch of(Contact contact) {
+        ParameterChecker.nullCheck(contact, "contact");
+        
+        AddressBookSketch result = new AddressBookSketch();
+        contact.addListener(result);
+        contact.removeListener(result);
+        return result;
+    }
+
+    /**
+     * Returns the merged sketch of the specified {@code Contact} lists, for instance of 
+     * {@link edu.nyu.cs.addressbook.ContactFactory#getContacts()}.
+     * <p>
+     * @param contacts the {@code Contact} lists
+     * @return the merged sketch of the specified {@code Contact} lists
+     */
+    public static AddressBookSketch ofAll(Collection<Contact> contacts) {
+        ParameterChecker.nullCheck(contacts, "contacts");
+        
+        AddressBookSketch result = new AddressBookSketch();
+        for (Contact contact : contacts) {
+            contact.addListener(result);
+            contact.removeListener(result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the estimated number of distinct keys of the specified field.
+     * <p>
+     * @param field the field
+     * @return the estimated number of distinct keys
+     */
+    public synchronized long getDistinctCount(Field field) {
+        ParameterChecker.nullCheck(field, "field");
+        
+        return sketches.get(field).distinctCount();
+    }
+
+    /**
+     * Returns the estimated number of occurrences of the specified key of the specified field. The estimate 
+     * never underestimates.
+     * <p>
+     * @param field the field
+     * @param key the key, an area code being given in decimal
+     * @return the estimated number of occurrences of the specified key
+     */
+    public synchronized long getCount(Field field, String key) {
+        ParameterChecker.nullCheck(field, "field");
+        ParameterChecker.nullCheck(key, "key");
+        
+        return sketches.get(field).count(field == Field.DOMAIN ? key.toLowerCase() : key);
+    }
+
+    /**
+     * Returns at most {@code n} keys of the specified field with the highest estimated counts, in descending 
+     * order of count.
+     * <p>
+     * @param field the field
+     * @param n the maximum number of keys to be returned
+     * @return at most {@code n} keys with the highest estimated counts
+     * @throws IllegalArgumentException if n is negative
+     */
+    public synchronized List<String> getTop(Field field, int n) {
+        ParameterChecker.nullCheck(field, "field");
+        
+        return sketches.get(field).top(n);
+    }
+
+    /**
+     * Merges the specified sketch into this sketch, so that this sketch summarizes the keys of both. The 
+     * specified sketch is copied first, so the two sketches are never locked together.
+     * <p>
+     * @param other the sketch to be merged
+     */
+    public void merge(AddressBookSketch other) {
+        ParameterChecker.nullCheck(other, "sketch");
+        
+        Map<Field, KeySketch> copy = new EnumMap<>(Field.class);
+        synchronized (other) {
+            for (Field field : Field.values()) {
+                KeySketch sketch = new KeySketch();
+                sketch.merge(other.sketches.get(field));
+                copy.put(field, sketch);
+            }
+        }
+        synchronized (this) {
+            for (Field field : Field.values()) {
+                sketches.get(field).merge(copy.get(field));
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void entryAdded(ContactEntry ce) {
+        for (PhoneNumber pn : ce.getPhoneNumbers()) {
+            phoneNumberAdded(ce, pn);
+        }
+        for (EmailAddress ea : ce.getEmailAddresses()) {
+            emailAddressAdded(ce, ea);
+        }
+        for (PostalAddress pa : ce.getPostalAddresses()) {
+            postalAddressAdded(ce, pa);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void entryRemoved(ContactEntry ce) {
+        for (PhoneNumber pn : ce.getPhoneNumbers()) {
+            phoneNumberRemoved(ce, pn);
+        }
+        for (EmailAddress ea : ce.getEmailAddresses()) {
+            emailAddressRemoved(ce, ea);
+        }
+        for (PostalAddress pa : ce.getPostalAddresses()) {
+            postalAddressRemoved(ce, pa);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void phoneNumberAdded(ContactEntry ce, PhoneNumber pn) {
+        sketches.get(Field.AREA_CODE).add(String.valueOf(pn.getAreaCode()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void phoneNumberRemoved(ContactEntry ce, PhoneNumber pn) {
+        sketches.get(Field.AREA_CODE).remove(String.valueOf(pn.getAreaCode()));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void emailAddressAdded(ContactEntry ce, EmailAddress ea) {
+        sketches.get(Field.DOMAIN).add(ea.getDomain());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void emailAddressRemoved(ContactEntry ce, EmailAddress ea) {
+        sketches.get(Field.DOMAIN).remove(ea.getDomain());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void postalAddressAdded(ContactEntry ce, PostalAddress pa) {
+        sketches.get(Field.CITY).add(pa.getCity());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void postalAddressRemoved(ContactEntry ce, PostalAddress pa) {
+        sketches.get(Field.CITY).remove(pa.getCity());
+    }
+
+    /**
+     * Writes this sketch while holding its lock, so that a consistent state is serialized.
+     * <p>
+     * @param out the output stream
+     * @throws IOException if an I/O error occurs
+     */
+    private synchronized void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+    }
+
+}
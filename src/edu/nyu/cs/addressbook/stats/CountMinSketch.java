@@ -0,0 +1,143 @@
+package edu.nyu.cs.addressbook.stats;
+
+import java.io.Serializable;
+
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code CountMinSketch} class represents a sketch which estimates the count of any key in a fixed number 
+ * of counters.
+ * <p>
+ * Every key is hashed to one counter in each of {@code depth} rows of {@code width} counters, and its count is 
+ * estimated by the minimum of its counters. As long as no count becomes negative the estimate never 
+ * underestimates, and with probability {@code 1 - 2^-depth} it overestimates by at most 
+ * {@code 2 * total / width}. Counts could be decremented, so the sketch could be maintained as keys are removed.
+ * <p>
+ * The row positions are derived from a single 64-bit hash which does not depend on the JVM, so two sketches 
+ * of the same dimensions are merged by adding their counters.
+ * <p>
+ * {@code CountMinSketch} objects are not thread-safe; the owner synchronizes access.
+ */
+public class CountMinSketch implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    private final int depth;
+    private final int width;
+    private final long[] counters;
+    private long total;
+
+    /**
+     * Initializes a newly created empty {@code CountMinSketch} object with the specified dimensions.
+     * <p>
+     * @param depth the number of rows
+     * @param width the number of counters per row
+     * @throws IllegalArgumentException if depth or width is not positive
+     */
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1) {
+            throw new IllegalArgumentException("depth: " + depth);
+        }
+        if (width < 1) {
+            throw new IllegalArgumentException("width: " + width);
+        }
+        
+        this.depth = depth;
+        this.width = width;
+        this.counters = new long[depth * width];
+    }
+
+    /**
+     * Returns the number of rows.
+     * <p>
+     * @return the number of rows
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Returns the number of counters per row.
+     * <p>
+     * @return the number of counters per row
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the total of all counts added.
+     * <p>
+     * @return the total count
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Adds the specified delta to the count of the specified key.
+     * <p>
+     * @param key the key
+     * @param delta the delta, negative to remove occurrences
+     */
+    public void add(String key, long delta) {
+        ParameterChecker.nullCheck(key, "key");
+        
+        long hash = Hashing.hash64(key);
+        for (int row = 0; row < depth; row++) {
+            counters[row * width + column(hash, row)] += delta;
+        }
+        total += delta;
+    }
+
+    /**
+     * Returns the estimated count of the specified key.
+     * <p>
+     * @param key the key
+     * @return the estimated count of the specified key
+     */
+    public long estimate(String key) {
+        ParameterChecker.nullCheck(key, "key");
+        
+        long hash = Hashing.hash64(key);
+        long result = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            result = Math.min(result, counters[row * width + column(hash, row)]);
+        }
+        return result;
+    }
+
+    /**
+     * Merges the specified sketch into this sketch, so that this sketch estimates the sum of the counts of 
+     * both.
+     * <p>
+     * @param other the sketch to be merged
+     * @throws IllegalArgumentException if the dimensions differ
+     */
+    public void merge(CountMinSketch other) {
+        ParameterChecker.nullCheck(other, "sketch");
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("dimensions: " + other.depth + "x" + other.width);
+        }
+        
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] += other.counters[i];
+        }
+        total += other.total;
+    }
+
+    /**
+     * Returns the column of the specified hash in the specified row, combining the two halves of the hash as 
+     * independent hash functions.
+     * <p>
+     * @param hash the 64-bit hash of the key
+     * @param row the row
+     * @return the column in the specified row
+     */
+    private int column(long hash, int row) {
+        int combined = (int) hash + row * (int) (hash >>> 32);
+        return (combined & Integer.MAX_VALUE) % width;
+    }
+
+}
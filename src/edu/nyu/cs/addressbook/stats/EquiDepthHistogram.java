@@ -0,0 +1,110 @@
+package edu.nyu.cs.addressbook.stats;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.SortedMap;
+
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code EquiDepthHistogram} class represents an equi-depth histogram over integer values: the value range 
+ * is cut into buckets holding roughly the same number of occurrences, and each bucket records its bounds, its 
+ * number of occurrences and its number of distinct values.
+ * <p>
+ * The number of occurrences of a value is estimated under the uniformity assumption, as the occurrences of its 
+ * bucket divided by the distinct values of its bucket. Because buckets are narrow where the values are dense, 
+ * the estimate adapts to skew.
+ * <p>
+ * {@code EquiDepthHistogram} are constant; their value could not be changed after they are created. Because 
+ * {@code EquiDepthHistogram} objects are immutable they could be shared.
+ */
+public class EquiDepthHistogram {
+    private final int[] upperBounds;
+    private final long[] counts;
+    private final int[] distincts;
+    private final long total;
+    private final int min;
+
+    /**
+     * Initializes a newly created {@code EquiDepthHistogram} object from the specified value counts.
+     * <p>
+     * @param valueCounts the number of occurrences of each value, in ascending order of value
+     * @param buckets the maximum number of buckets
+     * @throws IllegalArgumentException if buckets is not positive
+     */
+    public EquiDepthHistogram(SortedMap<Integer, ? extends Number> valueCounts, int buckets) {
+        ParameterChecker.nullCheck(valueCounts, "value counts");
+        if (buckets < 1) {
+            throw new IllegalArgumentException("buckets: " + buckets);
+        }
+
+        long sum = 0;
+        for (Number n : valueCounts.values()) {
+            sum += n.longValue();
+        }
+        int[] bounds = new int[buckets];
+        long[] bucketCounts = new long[buckets];
+        int[] bucketDistincts = new int[buckets];
+        int size = 0;
+        int first = 0;
+        long depth = Math.max(1, (sum + buckets - 1) / buckets);
+        for (Map.Entry<Integer, ? extends Number> entry : valueCounts.entrySet()) {
+            long count = entry.getValue().longValue();
+            if (count <= 0) {
+                continue;
+            }
+            if (size == 0) {
+                first = entry.getKey();
+            }
+            if (size == 0 || (bucketCounts[size - 1] >= depth && size < buckets)) {
+                size++;
+            }
+            bounds[size - 1] = entry.getKey();
+            bucketCounts[size - 1] += count;
+            bucketDistincts[size - 1]++;
+        }
+        this.upperBounds = Arrays.copyOf(bounds, size);
+        this.counts = Arrays.copyOf(bucketCounts, size);
+        this.distincts = Arrays.copyOf(bucketDistincts, size);
+        this.total = sum;
+        this.min = first;
+    }
+
+    /**
+     * Returns the number of buckets.
+     * <p>
+     * @return the number of buckets
+     */
+    public int getBucketCount() {
+        return upperBounds.length;
+    }
+
+    /**
+     * Returns the total number of occurrences.
+     * <p>
+     * @return the total number of occurrences
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Returns the estimated number of occurrences of the specified value.
+     * <p>
+     * @param value the value
+     * @return the estimated number of occurrences of the specified value
+     */
+    public double estimate(int value) {
+        int index = Arrays.binarySearch(upperBounds, value);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        if (index == upperBounds.length || value < min) {
+            return 0;
+        }
+        return (double) counts[index] / distincts[index];
+    }
+
+}
@@ -0,0 +1,504 @@
+package edu.nyu.cs.addressbook.stats;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import edu.nyu.cs.addressbook.ContactAdapter;
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.component.util.State;
+import edu.nyu.cs.addressbook.search.impl.ContactField;
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code FieldStatistics} class represents selectivity statistics over the fields of contact entries, used 
+ * to estimate the number of matches of a {@link edu.nyu.cs.addressbook.search.impl.ContactField} without 
+ * scanning.
+ * <p>
+ * The statistics consist of exact per-{@link edu.nyu.cs.addressbook.component.util.State} counts, 
+ * {@link SpaceSaving} heavy-hitter sketches of area codes, domains and cities, an 
+ * {@link EquiDepthHistogram} of zip codes, and the number of phone numbers, email addresses and postal 
+ * addresses. Like {@link edu.nyu.cs.addressbook.view.StateCountView}, a contact entry is counted once for 
+ * every distinct key it contains. The statistics are registered with 
+ * {@link edu.nyu.cs.addressbook.Contact#addListener(edu.nyu.cs.addressbook.ContactListener)} and are kept up 
+ * to date on every change; the zip code histogram is rebuilt lazily on the first estimate after a change.
+ * <p>
+ * {@code FieldStatistics} objects are thread-safe.
+ */
+public class FieldStatistics extends ContactAdapter {
+    /**
+     * The selectivity assumed for a field compared for equality which has no statistics.
+     */
+    public static final double EQUALITY_SELECTIVITY = 0.01;
+    
+    /**
+     * The selectivity assumed for a field compared by substring which has no statistics.
+     */
+    public static final double SUBSTRING_SELECTIVITY = 0.1;
+    
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final int DEFAULT_BUCKETS = 32;
+    
+    private final int[] stateCounts = new int[State.values().length];
+    private final SpaceSaving<Short> areaCodes;
+    private final SpaceSaving<String> domains;
+    private final SpaceSaving<String> cities;
+    private final SortedMap<Integer, Integer> zipCodes = new TreeMap<>();
+    private final int buckets;
+    private EquiDepthHistogram zipCodeHistogram;
+    private int entries;
+    private long phoneNumbers;
+    private long emailAddresses;
+    private long postalAddresses;
+
+    /**
+     * Initializes a newly created empty {@code FieldStatistics} object with default sketch sizes.
+     */
+    public FieldStatistics() {
+        this(DEFAULT_CAPACITY, DEFAULT_BUCKETS);
+    }
+
+    /**
+     * Initializes a newly created empty {@code FieldStatistics} object with the specified sketch sizes.
+     * <p>
+     * @param capacity the number of counters of each heavy-hitter sketch
+     * @param buckets the maximum number of buckets of the zip code histogram
+     * @throws IllegalArgumentException if capacity or buckets is not positive
+     */
+    public FieldStatistics(int capacity, int buckets) {
+        if (buckets < 1) {
+            throw new IllegalArgumentException("buckets: " + buckets);
+        }
+        
+        this.areaCodes = new SpaceSaving<>(capacity);
+        this.domains = new SpaceSaving<>(capacity);
+        this.cities = new SpaceSaving<>(capacity);
+        this.buckets = buckets;
+    }
+
+    /**
+     * Returns the number of contact entries.
+     * <p>
+     * @return the number of contact entries
+     */
+    public synchronized int getEntryCount() {
+        return entries;
+    }
+
+    /**
+     * Returns the number of contact entries which have at least one postal address in the specified state.
+     * <p>
+     * @param state the state
+     * @return the number of contact entries which have at least one postal address in the specified state
+     */
+    public synchronized int getStateCount(State state) {
+        ParameterChecker.nullCheck(state, "state");
+        
+        return stateCounts[state.ordinal()];
+    }
+
+    /**
+     * Returns the estimated number of contact entries which have at least one phone number with the specified 
+     * area code.
+     * <p>
+     * @param areaCode the area code
+     * @return the estimated number of contact entries with the specified area code
+     */
+    public synchronized long getAreaCodeCount(int areaCode) {
+        return areaCodes.estimate((short) areaCode);
+    }
+
+    /**
+     * Returns the estimated number of contact entries which have at least one email address in the specified 
+     * domain.
+     * <p>
+     * @param domain the domain
+     * @return the estimated number of contact entries with the specified domain
+     */
+    public synchronized long getDomainCount(String domain) {
+        ParameterChecker.nullCheck(domain, "domain");
+        
+        return domains.estimate(domain.toLowerCase());
+    }
+
+    /**
+     * Returns the estimated number of contact entries which have at least one postal address in the specified 
+     * city.
+     * <p>
+     * @param city the city
+     * @return the estimated number of contact entries with the specified city
+     */
+    public synchronized long getCityCount(String city) {
+        ParameterChecker.nullCheck(city, "city");
+        
+        return cities.estimate(city);
+    }
+
+    /**
+     * Returns the estimated number of contact entries which have at least one postal address with the 
+     * specified zip code, read from the equi-depth histogram.
+     * <p>
+     * @param zipCode the zip code
+     * @return the estimated number of contact entries with the specified zip code
+     */
+    public synchronized double getZipCodeCount(int zipCode) {
+        return histogram().estimate(zipCode);
+    }
+
+    /**
+     * Returns the average number of phone numbers per contact entry.
+     * <p>
+     * @return the average number of phone numbers per contact entry
+     */
+    public synchronized double getAveragePhoneNumbers() {
+        return entries == 0 ? 0 : (double) phoneNumbers / entries;
+    }
+
+    /**
+     * Returns the average number of email addresses per contact entry.
+     * <p>
+     * @return the average number of email addresses per contact entry
+     */
+    public synchronized double getAverageEmailAddresses() {
+        return entries == 0 ? 0 : (double) emailAddresses / entries;
+    }
+
+    /**
+     * Returns the average number of postal addresses per contact entry.
+     * <p>
+     * @return the average number of postal addresses per contact entry
+     */
+    public synchronized double getAveragePostalAddresses() {
+        return entries == 0 ? 0 : (double) postalAddresses / entries;
+    }
+
+    /**
+     * Returns the estimated number of contact entries matching the specified criteria, without scanning.
+     * <p>
+     * The selectivity of every field set in the criteria is taken from the statistics: exact for the state, 
+     * from the sketches for the area code, domain and city, and from the histogram for the zip code. Fields 
+     * without statistics are assumed to have {@link #EQUALITY_SELECTIVITY} or {@link #SUBSTRING_SELECTIVITY}. 
+     * The fields are assumed to be independent, so the selectivities are multiplied.
+     * <p>
+     * @param cf the criteria
+     * @return the estimated number of contact entries matching the specified criteria
+     */
+    public synchronized double estimate(ContactField cf) {
+        ParameterChecker.nullCheck(cf, "contact field");
+        
+        if (entries == 0) {
+            return 0;
+        }
+        double selectivity = 1;
+        if (!cf.getFirstName().equals("")) {
+            selectivity *= EQUALITY_SELECTIVITY;
+        }
+        if (!cf.getLastName().equals("")) {
+            selectivity *= EQUALITY_SELECTIVITY;
+        }
+        if (cf.getAreaCode() != 0) {
+            selectivity *= fraction(areaCodes.estimate(cf.getAreaCode()));
+        }
+        if (cf.getPrefix() != 0) {
+            selectivity *= EQUALITY_SELECTIVITY;
+        }
+        if (cf.getLineNumber() != 0) {
+            selectivity *= EQUALITY_SELECTIVITY;
+        }
+        if (!cf.getUsername().equals("")) {
+            selectivity *= EQUALITY_SELECTIVITY;
+        }
+        if (!cf.getDomain().equals("")) {
+            selectivity *= fraction(domains.estimate(cf.getDomain().toLowerCase()));
+        }
+        if (cf.getZipCode() != 0) {
+            selectivity *= fraction(histogram().estimate(cf.getZipCode()));
+        }
+        if (cf.getState() != State.NONE) {
+            selectivity *= fraction(stateCounts[cf.getState().ordinal()]);
+        }
+        if (!cf.getCity().equals("")) {
+            selectivity *= fraction(cities.estimate(cf.getCity()));
+        }
+        if (!cf.getStreet().equals("")) {
+            selectivity *= SUBSTRING_SELECTIVITY;
+        }
+        if (!cf.getNote().equals("")) {
+            selectivity *= SUBSTRING_SELECTIVITY;
+        }
+        return entries * selectivity;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void entryAdded(ContactEntry ce) {
+        entries++;
+        phoneNumbers += ce.getPhoneNumbers().size();
+        emailAddresses += ce.getEmailAddresses().size();
+        postalAddresses += ce.getPostalAddresses().size();
+        for (Short areaCode : areaCodesOf(ce)) {
+            areaCodes.increment(areaCode);
+        }
+        for (String domain : domainsOf(ce)) {
+            domains.increment(domain);
+        }
+        for (String city : citiesOf(ce)) {
+            cities.increment(city);
+        }
+        for (State state : statesOf(ce)) {
+            stateCounts[state.ordinal()]++;
+        }
+        for (Integer zipCode : zipCodesOf(ce)) {
+            addZipCode(zipCode, 1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void entryRemoved(ContactEntry ce) {
+        entries--;
+        phoneNumbers -= ce.getPhoneNumbers().size();
+        emailAddresses -= ce.getEmailAddresses().size();
+        postalAddresses -= ce.getPostalAddresses().size();
+        for (Short areaCode : areaCodesOf(ce)) {
+            areaCodes.decrement(areaCode);
+        }
+        for (String domain : domainsOf(ce)) {
+            domains.decrement(domain);
+        }
+        for (String city : citiesOf(ce)) {
+            cities.decrement(city);
+        }
+        for (State state : statesOf(ce)) {
+            stateCounts[state.ordinal()]--;
+        }
+        for (Integer zipCode : zipCodesOf(ce)) {
+            addZipCode(zipCode, -1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void phoneNumberAdded(ContactEntry ce, PhoneNumber pn) {
+        phoneNumbers++;
+        int occurrences = 0;
+        for (PhoneNumber tmp : ce.getPhoneNumbers()) {
+            if (tmp.getAreaCode() == pn.getAreaCode()) {
+                occurrences++;
+            }
+        }
+        if (occurrences == 1) {
+            areaCodes.increment(pn.getAreaCode());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void phoneNumberRemoved(ContactEntry ce, PhoneNumber pn) {
+        phoneNumbers--;
+        if (!ce.containsAreaCode(pn.getAreaCode())) {
+            areaCodes.decrement(pn.getAreaCode());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void emailAddressAdded(ContactEntry ce, EmailAddress ea) {
+        emailAddresses++;
+        int occurrences = 0;
+        for (EmailAddress tmp : ce.getEmailAddresses()) {
+            if (tmp.getDomain().equals(ea.getDomain())) {
+                occurrences++;
+            }
+        }
+        if (occurrences == 1) {
+            domains.increment(ea.getDomain());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void emailAddressRemoved(ContactEntry ce, EmailAddress ea) {
+        emailAddresses--;
+        if (!ce.containsDomain(ea.getDomain())) {
+            domains.decrement(ea.getDomain());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void postalAddressAdded(ContactEntry ce, PostalAddress pa) {
+        postalAddresses++;
+        int states = 0;
+        int cityOccurrences = 0;
+        int zipCodeOccurrences = 0;
+        for (PostalAddress tmp : ce.getPostalAddresses()) {
+            if (tmp.getState() == pa.getState()) {
+                states++;
+            }
+            if (tmp.getCity().equals(pa.getCity())) {
+                cityOccurrences++;
+            }
+            if (tmp.getZipCode() == pa.getZipCode()) {
+                zipCodeOccurrences++;
+            }
+        }
+        if (states == 1) {
+            stateCounts[pa.getState().ordinal()]++;
+        }
+        if (cityOccurrences == 1) {
+            cities.increment(pa.getCity());
+        }
+        if (zipCodeOccurrences == 1) {
+            addZipCode(pa.getZipCode(), 1);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void postalAddressRemoved(ContactEntry ce, PostalAddress pa) {
+        postalAddresses--;
+        if (!ce.containsState(pa.getState())) {
+            stateCounts[pa.getState().ordinal()]--;
+        }
+        if (!ce.containsCity(pa.getCity())) {
+            cities.decrement(pa.getCity());
+        }
+        if (!ce.containsZipcode(pa.getZipCode())) {
+            addZipCode(pa.getZipCode(), -1);
+        }
+    }
+
+    /**
+     * Returns the specified number of contact entries as a fraction of all contact entries.
+     * <p>
+     * @param count the number of contact entries
+     * @return the fraction of all contact entries
+     */
+    private double fraction(double count) {
+        return Math.min(1, count / entries);
+    }
+
+    /**
+     * Adds the specified delta to the count of the specified zip code, and invalidates the histogram.
+     * <p>
+     * @param zipCode the zip code
+     * @param delta the delta
+     */
+    private void addZipCode(int zipCode, int delta) {
+        Integer count = zipCodes.get(zipCode);
+        int result = (count == null ? 0 : count) + delta;
+        if (result <= 0) {
+            zipCodes.remove(zipCode);
+        } else {
+            zipCodes.put(zipCode, result);
+        }
+        zipCodeHistogram = null;
+    }
+
+    /**
+     * Returns the zip code histogram, rebuilding it if the zip codes changed since it was built.
+     * <p>
+     * @return the zip code histogram
+     */
+    private EquiDepthHistogram histogram() {
+        if (zipCodeHistogram == null) {
+            zipCodeHistogram = new EquiDepthHistogram(zipCodes, buckets);
+        }
+        return zipCodeHistogram;
+    }
+
+    /**
+     * Returns the distinct area codes of the phone numbers of the specified contact entry.
+     * <p>
+     * @param ce the contact entry
+     * @return the distinct area codes of the specified contact entry
+     */
+    private static Set<Short> areaCodesOf(ContactEntry ce) {
+        Set<Short> result = new HashSet<>();
+        for (PhoneNumber pn : ce.getPhoneNumbers()) {
+            result.add(pn.getAreaCode());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the distinct domains of the email addresses of the specified contact entry.
+     * <p>
+     * @param ce the contact entry
+     * @return the distinct domains of the specified contact entry
+     */
+    private static Set<String> domainsOf(ContactEntry ce) {
+        Set<String> result = new HashSet<>();
+        for (EmailAddress ea : ce.getEmailAddresses()) {
+            result.add(ea.getDomain());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the distinct cities of the postal addresses of the specified contact entry.
+     * <p>
+     * @param ce the contact entry
+     * @return the distinct cities of the specified contact entry
+     */
+    private static Set<String> citiesOf(ContactEntry ce) {
+        Set<String> result = new HashSet<>();
+        for (PostalAddress pa : ce.getPostalAddresses()) {
+            result.add(pa.getCity());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the distinct states of the postal addresses of the specified contact entry.
+     * <p>
+     * @param ce the contact entry
+     * @return the distinct states of the specified contact entry
+     */
+    private static Set<State> statesOf(ContactEntry ce) {
+        Set<State> result = EnumSet.noneOf(State.class);
+        for (PostalAddress pa : ce.getPostalAddresses()) {
+            result.add(pa.getState());
+        }
+        return result;
+    }
+
+    /**
+     * Returns the distinct zip codes of the postal addresses of the specified contact entry.
+     * <p>
+     * @param ce the contact entry
+     * @return the distinct zip codes of the specified contact entry
+     */
+    private static Set<Integer> zipCodesOf(ContactEntry ce) {
+        Set<Integer> result = new HashSet<>();
+        for (PostalAddress pa : ce.getPostalAddresses()) {
+            result.add(pa.getZipCode());
+        }
+        return result;
+    }
+
+}
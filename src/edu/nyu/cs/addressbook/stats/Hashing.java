@@ -0,0 +1,45 @@
+package edu.nyu.cs.addressbook.stats;
+
+/**
+ * @author shenli
+ * <p>
+ * A non-instantiability {@code Hashing} object used to compute the 64-bit hash codes of sketch keys.
+ * <p>
+ * {@link java.lang.String#hashCode()} has only 32 bits and clusters on short keys, which biases the 
+ * cardinality estimates of {@link HyperLogLog}. The characters are therefore folded with FNV-1a and the result 
+ * is mixed with the MurmurHash3 finalizer. The hash does not depend on the JVM, so sketches built in different 
+ * processes could be merged.
+ */
+class Hashing {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Suppress default constructor for non-instantiable
+     */
+    private Hashing() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Returns the 64-bit hash code of the specified key.
+     * <p>
+     * @param key the key
+     * @return the 64-bit hash code of the specified key
+     */
+    static long hash64(String key) {
+        long h = FNV_OFFSET_BASIS;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            h = (h ^ (c & 0xff)) * FNV_PRIME;
+            h = (h ^ (c >>> 8)) * FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+}
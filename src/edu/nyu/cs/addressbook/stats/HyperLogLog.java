@@ -0,0 +1,145 @@
+package edu.nyu.cs.addressbook.stats;
+
+import java.io.Serializable;
+
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code HyperLogLog} class represents a sketch which estimates the number of distinct keys offered to it.
+ * <p>
+ * The 64-bit hash of a key selects one of {@code 2^precision} registers by its leading bits, and the register 
+ * keeps the maximum position of the first one bit in the remaining bits. The harmonic mean of the registers 
+ * gives the estimate, with linear counting for small cardinalities. The standard error is about 
+ * {@code 1.04 / sqrt(2^precision)}, so the default precision of 12 uses 4 KB for an error of about 1.6%.
+ * <p>
+ * Two sketches of the same precision are merged by taking the maximum of every register, which gives exactly 
+ * the sketch of the union. Keys could not be removed: the estimate counts every key offered since the sketch 
+ * was created.
+ * <p>
+ * {@code HyperLogLog} objects are not thread-safe; the owner synchronizes access.
+ */
+public class HyperLogLog implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * The default precision.
+     */
+    public static final int DEFAULT_PRECISION = 12;
+    
+    private static final int MIN_PRECISION = 4;
+    private static final int MAX_PRECISION = 16;
+    
+    private final int precision;
+    private final byte[] registers;
+
+    /**
+     * Initializes a newly created empty {@code HyperLogLog} object with the default precision.
+     */
+    public HyperLogLog() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Initializes a newly created empty {@code HyperLogLog} object with {@code 2^precision} registers.
+     * <p>
+     * @param precision the number of index bits, from 4 to 16
+     * @throws IllegalArgumentException if precision is out of range
+     */
+    public HyperLogLog(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("precision: " + precision);
+        }
+        
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    /**
+     * Returns the precision of this sketch.
+     * <p>
+     * @return the precision of this sketch
+     */
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Offers the specified key to this sketch.
+     * <p>
+     * @param key the key
+     */
+    public void offer(String key) {
+        ParameterChecker.nullCheck(key, "key");
+        
+        long hash = Hashing.hash64(key);
+        int index = (int) (hash >>> (64 - precision));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << precision), 64 - precision) + 1;
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    /**
+     * Returns the estimated number of distinct keys offered to this sketch.
+     * <p>
+     * @return the estimated number of distinct keys
+     */
+    public long cardinality() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * Merges the specified sketch into this sketch, so that this sketch estimates the distinct keys offered to 
+     * either of them.
+     * <p>
+     * @param other the sketch to be merged
+     * @throws IllegalArgumentException if the precisions differ
+     */
+    public void merge(HyperLogLog other) {
+        ParameterChecker.nullCheck(other, "sketch");
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("precision: " + other.precision);
+        }
+        
+        for (int i = 0; i < registers.length; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    /**
+     * Returns the bias correction constant for the specified number of registers.
+     * <p>
+     * @param m the number of registers
+     * @return the bias correction constant
+     */
+    private static double alpha(int m) {
+        switch (m) {
+        case 16:
+            return 0.673;
+        case 32:
+            return 0.697;
+        case 64:
+            return 0.709;
+        default:
+            return 0.7213 / (1 + 1.079 / m);
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package edu.nyu.cs.addressbook.stats;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code KeySketch} class represents the approximate analytics of one kind of key: a {@link HyperLogLog} 
+ * of the distinct keys, a {@link CountMinSketch} of the count of every key, and a {@link SpaceSaving} sketch 
+ * of the most frequent keys. Its size does not depend on the number of keys.
+ * <p>
+ * {@code KeySketch} objects are not thread-safe; the owner synchronizes access.
+ */
+class KeySketch implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 2048;
+    private static final int CAPACITY = 256;
+    
+    private final HyperLogLog distinct = new HyperLogLog();
+    private final CountMinSketch counts = new CountMinSketch(DEPTH, WIDTH);
+    private final SpaceSaving<String> heavyHitters = new SpaceSaving<>(CAPACITY);
+
+    /**
+     * Initializes a newly created empty {@code KeySketch} object.
+     */
+    KeySketch() {
+
+    }
+
+    /**
+     * Adds one occurrence of the specified key.
+     * <p>
+     * @param key the key
+     */
+    void add(String key) {
+        distinct.offer(key);
+        counts.add(key, 1);
+        heavyHitters.increment(key);
+    }
+
+    /**
+     * Removes one occurrence of the specified key. The distinct count is not affected.
+     * <p>
+     * @param key the key
+     */
+    void remove(String key) {
+        counts.add(key, -1);
+        heavyHitters.decrement(key);
+    }
+
+    /**
+     * Returns the estimated number of distinct keys.
+     * <p>
+     * @return the estimated number of distinct keys
+     */
+    long distinctCount() {
+        return distinct.cardinality();
+    }
+
+    /**
+     * Returns the estimated number of occurrences of the specified key.
+     * <p>
+     * @param key the key
+     * @return the estimated number of occurrences of the specified key
+     */
+    long count(String key) {
+        return counts.estimate(key);
+    }
+
+    /**
+     * Returns at most {@code n} keys with the highest estimated counts, in descending order of count.
+     * <p>
+     * @param n the maximum number of keys to be returned
+     * @return at most {@code n} keys with the highest estimated counts
+     */
+    List<String> top(int n) {
+        return heavyHitters.getTop(n);
+    }
+
+    /**
+     * Merges the specified sketch into this sketch.
+     * <p>
+     * @param other the sketch to be merged
+     */
+    void merge(KeySketch other) {
+        distinct.merge(other.distinct);
+        counts.merge(other.counts);
+        heavyHitters.merge(other.heavyHitters);
+    }
+
+}
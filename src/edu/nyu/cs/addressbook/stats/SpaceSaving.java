@@ -0,0 +1,223 @@
+package edu.nyu.cs.addressbook.stats;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code SpaceSaving} class represents a heavy-hitter sketch which tracks the approximate counts of the 
+ * most frequent keys in a fixed number of counters.
+ * <p>
+ * While fewer distinct keys than counters have been seen the counts are exact. Once every counter is taken, a 
+ * new key replaces the key with the smallest count and inherits that count as its overestimation error, so 
+ * every key whose true count exceeds the total divided by the capacity is guaranteed to be tracked. Decrements 
+ * are applied to tracked keys only, which keeps the sketch exact for workloads with few distinct keys and 
+ * approximate otherwise.
+ * <p>
+ * Two sketches are merged by adding the counts of every key, counting a key missing from a full sketch with 
+ * the smallest count of that sketch, and keeping the keys with the highest counts.
+ * <p>
+ * {@code SpaceSaving} objects are not thread-safe; the owner synchronizes access.
+ * <p>
+ * @param <K> the type of the keys
+ */
+public class SpaceSaving<K> implements Serializable {
+    private static final long serialVersionUID = 1L;
+    
+    private final int capacity;
+    private final Map<K, long[]> counters = new HashMap<>();
+    private long total;
+
+    /**
+     * Initializes a newly created empty {@code SpaceSaving} object with the specified number of counters.
+     * <p>
+     * @param capacity the number of counters
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public SpaceSaving(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity: " + capacity);
+        }
+
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns the number of counters.
+     * <p>
+     * @return the number of counters
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the total of all increments minus all applied decrements.
+     * <p>
+     * @return the total count
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Increments the count of the specified key.
+     * <p>
+     * @param key the key
+     */
+    public void increment(K key) {
+        ParameterChecker.nullCheck(key, "key");
+
+        total++;
+        long[] counter = counters.get(key);
+        if (counter != null) {
+            counter[0]++;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(key, new long[] { 1, 0 });
+            return;
+        }
+        K min = minKey();
+        long[] evicted = counters.remove(min);
+        counters.put(key, new long[] { evicted[0] + 1, evicted[0] });
+    }
+
+    /**
+     * Decrements the count of the specified key, if it is tracked. A key whose count drops to zero is forgotten.
+     * <p>
+     * @param key the key
+     */
+    public void decrement(K key) {
+        ParameterChecker.nullCheck(key, "key");
+
+        long[] counter = counters.get(key);
+        if (counter == null) {
+            return;
+        }
+        total--;
+        if (--counter[0] <= 0) {
+            counters.remove(key);
+        } else if (counter[1] > counter[0]) {
+            counter[1] = counter[0];
+        }
+    }
+
+    /**
+     * Returns the estimated count of the specified key. The estimate of a tracked key never underestimates its 
+     * true count by more than its error; an untracked key is estimated by the smallest tracked count, which 
+     * bounds its true count, or 0 while the sketch is exact.
+     * <p>
+     * @param key the key
+     * @return the estimated count of the specified key
+     */
+    public long estimate(K key) {
+        ParameterChecker.nullCheck(key, "key");
+
+        long[] counter = counters.get(key);
+        if (counter != null) {
+            return counter[0];
+        }
+        return counters.size() < capacity ? 0 : counters.get(minKey())[0];
+    }
+
+    /**
+     * Returns the maximum overestimation of the count of the specified tracked key, or 0 if it is not tracked.
+     * <p>
+     * @param key the key
+     * @return the maximum overestimation of the count
+     */
+    public long error(K key) {
+        long[] counter = counters.get(key);
+        return counter == null ? 0 : counter[1];
+    }
+
+    /**
+     * Returns at most {@code n} tracked keys with the highest estimated counts, in descending order of count.
+     * <p>
+     * @param n the maximum number of keys to be returned
+     * @return at most {@code n} keys with the highest estimated counts
+     * @throws IllegalArgumentException if n is negative
+     */
+    public List<K> getTop(int n) {
+        ParameterChecker.rangeCheck(n, Integer.MAX_VALUE, "n");
+
+        List<Map.Entry<K, long[]>> entries = new ArrayList<>(counters.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<K, long[]>>() {
+            @Override
+            public int compare(Map.Entry<K, long[]> e1, Map.Entry<K, long[]> e2) {
+                return Long.compare(e2.getValue()[0], e1.getValue()[0]);
+            }
+        });
+        List<K> result = new ArrayList<>();
+        for (Map.Entry<K, long[]> entry : entries.subList(0, Math.min(n, entries.size()))) {
+            result.add(entry.getKey());
+        }
+        return result;
+    }
+
+    /**
+     * Merges the specified sketch into this sketch, so that this sketch approximates the sum of the counts of 
+     * both. This sketch keeps its capacity.
+     * <p>
+     * @param other the sketch to be merged
+     */
+    public void merge(SpaceSaving<K> other) {
+        ParameterChecker.nullCheck(other, "sketch");
+        
+        long thisMin = counters.size() < capacity ? 0 : counters.get(minKey())[0];
+        long otherMin = other.counters.size() < other.capacity ? 0 : other.counters.get(other.minKey())[0];
+        final Map<K, long[]> merged = new HashMap<>();
+        for (Map.Entry<K, long[]> entry : counters.entrySet()) {
+            long[] theirs = other.counters.get(entry.getKey());
+            long[] counter = entry.getValue();
+            merged.put(entry.getKey(), theirs == null
+                    ? new long[] { counter[0] + otherMin, counter[1] + otherMin }
+                    : new long[] { counter[0] + theirs[0], counter[1] + theirs[1] });
+        }
+        for (Map.Entry<K, long[]> entry : other.counters.entrySet()) {
+            if (!counters.containsKey(entry.getKey())) {
+                long[] counter = entry.getValue();
+                merged.put(entry.getKey(), new long[] { counter[0] + thisMin, counter[1] + thisMin });
+            }
+        }
+        List<K> keys = new ArrayList<>(merged.keySet());
+        Collections.sort(keys, new Comparator<K>() {
+            @Override
+            public int compare(K k1, K k2) {
+                return Long.compare(merged.get(k2)[0], merged.get(k1)[0]);
+            }
+        });
+        counters.clear();
+        for (K key : keys.subList(0, Math.min(capacity, keys.size()))) {
+            counters.put(key, merged.get(key));
+        }
+        total += other.total;
+    }
+
+    /**
+     * Returns the tracked key with the smallest count.
+     * <p>
+     * @return the tracked key with the smallest count
+     */
+    private K minKey() {
+        K min = null;
+        long minCount = Long.MAX_VALUE;
+        for (Map.Entry<K, long[]> entry : counters.entrySet()) {
+            if (entry.getValue()[0] < minCount) {
+                min = entry.getKey();
+                minCount = entry.getValue()[0];
+            }
+        }
+        return min;
+    }
+
+}
@@ -0,0 +1,83 @@
+package edu.nyu.cs.addressbook.utils;
+
+/**
+ * @author shenli
+ * <p>
+ * A non-instantiability {@code EditDistance} object used to compute the Levenshtein distance between strings:
+ * the minimum number of single character insertions, deletions and substitutions which transform one string
+ * into the other.
+ */
+public class EditDistance {
+
+    /**
+     * Suppress default constructor for non-instantiable
+     */
+    private EditDistance() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Returns the Levenshtein distance between the specified strings.
+     * <p>
+     * @param s the first string
+     * @param t the second string
+     * @return the Levenshtein distance between the specified strings
+     */
+    public static int distance(String s, String t) {
+        return distance(s, t, Integer.MAX_VALUE - 1);
+    }
+
+    /**
+     * Returns the Levenshtein distance between the specified strings if it does not exceed the specified
+     * maximum, otherwise {@code max + 1}. Only the diagonal band of width {@code 2 * max + 1} is computed, and
+     * the computation stops as soon as every cell of a row exceeds the maximum.
+     * <p>
+     * @param s the first string
+     * @param t the second string
+     * @param max the maximum distance of interest
+     * @return the Levenshtein distance, or {@code max + 1} if it exceeds the specified maximum
+     */
+    public static int distance(String s, String t, int max) {
+        ParameterChecker.nullCheck(s, "first string");
+        ParameterChecker.nullCheck(t, "second string");
+        ParameterChecker.rangeCheck(max, Integer.MAX_VALUE - 1, "maximum distance");
+
+        if (Math.abs(s.length() - t.length()) > max) {
+            return max + 1;
+        }
+        int[] previous = new int[t.length() + 1];
+        int[] current = new int[t.length() + 1];
+        for (int j = 0; j <= t.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= s.length(); i++) {
+            int from = Math.max(1, i - max);
+            int to = (int) Math.min(t.length(), (long) i + max);
+            current[0] = i;
+            if (from > 1) {
+                current[from - 1] = max + 1;
+            }
+            int rowMin = from > 1 ? max + 1 : i;
+            for (int j = from; j <= to; j++) {
+                int cost = s.charAt(i - 1) == t.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(previous[j - 1] + cost, Math.min(previous[j], current[j - 1]) + 1);
+                if (j - i == max) {
+                    value = Math.min(previous[j - 1] + cost, current[j - 1] + 1);
+                }
+                current[j] = Math.min(value, max + 1);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (to < t.length()) {
+                current[to + 1] = max + 1;
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return Math.min(previous[t.length()], max + 1);
+    }
+
+}
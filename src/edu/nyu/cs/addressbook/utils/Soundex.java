@@ -0,0 +1,134 @@
+package edu.nyu.cs.addressbook.utils;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * @author shenli
+ * <p>
+ * A non-instantiability {@code Soundex} object used to compute the American Soundex code of a name: its first
+ * letter followed by three digits which encode the consonants that follow, so that names which sound alike,
+ * such as "Robert" and "Rupert", share a code.
+ * <p>
+ * Accented Latin letters are folded to the letters a to z before encoding, so that "&Ntilde;u&ntilde;ez" and 
+ * "Nunez" share a code; other characters are ignored. A name which has letters, but none of them Latin, is 
+ * encoded as its letters in upper case, so that it only sounds like names spelled the same way.
+ */
+public class Soundex {
+    private static final String CODES = "01230120022455012623010202";
+
+    /**
+     * Suppress default constructor for non-instantiable
+     */
+    private Soundex() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Returns the Soundex code of the specified name, the letters of the name in upper case if none of them 
+     * is Latin, or the empty string if the name has no letter.
+     * <p>
+     * @param name the name
+     * @return the Soundex code of the specified name, or the empty string if the name has no letter
+     */
+    public static String encode(String name) {
+        ParameterChecker.nullCheck(name, "name");
+
+        String folded = fold(name);
+        char[] code = { '0', '0', '0', '0' };
+        int length = 0;
+        char last = 0;
+        for (int i = 0; i < folded.length() && length < code.length; i++) {
+            char c = Character.toLowerCase(folded.charAt(i));
+            if (c < 'a' || c > 'z') {
+                continue;
+            }
+            char digit = CODES.charAt(c - 'a');
+            if (length == 0) {
+                code[length++] = Character.toUpperCase(c);
+            } else if (digit != '0' && digit != last) {
+                code[length++] = digit;
+            }
+            if (c != 'h' && c != 'w') {
+                last = digit;
+            }
+        }
+        return length == 0 ? lettersOf(name) : new String(code);
+    }
+
+    /**
+     * Returns the specified name with its accented Latin letters folded to the letters a to z: diacritical 
+     * marks are stripped, and the letters which do not decompose, such as "&szlig;" and "&aelig;", are 
+     * spelled out. A name of ASCII characters is returned as is.
+     * <p>
+     * @param name the name
+     * @return the folded name
+     */
+    private static String fold(String name) {
+        int i = 0;
+        while (i < name.length() && name.charAt(i) < 0x80) {
+            i++;
+        }
+        if (i == name.length()) {
+            return name;
+        }
+        String decomposed = Normalizer.normalize(name.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        StringBuilder sb = new StringBuilder(decomposed.length());
+        for (int j = 0; j < decomposed.length(); j++) {
+            char c = decomposed.charAt(j);
+            switch (Character.getType(c)) {
+            case Character.NON_SPACING_MARK:
+            case Character.COMBINING_SPACING_MARK:
+            case Character.ENCLOSING_MARK:
+                continue;
+            default:
+                break;
+            }
+            switch (c) {
+            case '\u00df':
+                sb.append("ss");
+                break;
+            case '\u00e6':
+                sb.append("ae");
+                break;
+            case '\u0153':
+                sb.append("oe");
+                break;
+            case '\u00fe':
+                sb.append("th");
+                break;
+            case '\u00f8':
+                sb.append('o');
+                break;
+            case '\u0111':
+                sb.append('d');
+                break;
+            case '\u0142':
+                sb.append('l');
+                break;
+            default:
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the letters of the specified name in upper case, or the empty string if it has no letter.
+     * <p>
+     * @param name the name
+     * @return the letters of the specified name in upper case
+     */
+    private static String lettersOf(String name) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < name.length(); ) {
+            int cp = name.codePointAt(i);
+            if (Character.isLetter(cp)) {
+                sb.appendCodePoint(Character.toUpperCase(cp));
+            }
+            i += Character.charCount(cp);
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,84 @@
+package edu.nyu.cs.addressbook.utils;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+
+/**
+ * @author shenli
+ * <p>
+ * A non-instantiability {@code Tokenizer} object used to split text into search tokens.
+ * <p>
+ * A token is a maximal run of letters and digits, converted to lower case.
+ */
+public class Tokenizer {
+
+    /**
+     * Suppress default constructor for non-instantiable
+     */
+    private Tokenizer() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Returns the distinct tokens of the specified text, in order of first occurrence.
+     * <p>
+     * @param text the text
+     * @return the distinct tokens of the specified text
+     */
+    public static Set<String> tokenize(String text) {
+        ParameterChecker.nullCheck(text, "text");
+
+        Set<String> tokens = new LinkedHashSet<>();
+        addTokens(text, tokens);
+        return tokens;
+    }
+
+    /**
+     * Returns the distinct tokens of the textual fields of the specified contact entry: first name, last name,
+     * note, street, city, user name and domain.
+     * <p>
+     * @param ce the contact entry
+     * @return the distinct tokens of the textual fields of the specified contact entry
+     */
+    public static Set<String> tokenize(ContactEntry ce) {
+        ParameterChecker.nullCheck(ce, "contact entry");
+
+        Set<String> tokens = new LinkedHashSet<>();
+        addTokens(ce.getFirstName(), tokens);
+        addTokens(ce.getLastName(), tokens);
+        addTokens(ce.getNote(), tokens);
+        for (PostalAddress pa : ce.getPostalAddresses()) {
+            addTokens(pa.getStreet(), tokens);
+            addTokens(pa.getCity(), tokens);
+        }
+        for (EmailAddress ea : ce.getEmailAddresses()) {
+            addTokens(ea.getUsername(), tokens);
+            addTokens(ea.getDomain(), tokens);
+        }
+        return tokens;
+    }
+
+    /**
+     * Adds the tokens of the specified text to the specified set.
+     * <p>
+     * @param text the text
+     * @param tokens the set of tokens
+     */
+    private static void addTokens(String text, Set<String> tokens) {
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean inToken = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (inToken && start < 0) {
+                start = i;
+            } else if (!inToken && start >= 0) {
+                tokens.add(text.substring(start, i).toLowerCase());
+                start = -1;
+            }
+        }
+    }
+
+}
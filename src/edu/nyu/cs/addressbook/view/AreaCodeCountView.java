@@ -0,0 +1,114 @@
+package edu.nyu.cs.addressbook.view;
+
+import java.util.Arrays;
+
+import edu.nyu.cs.addressbook.ContactAdapter;
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code AreaCodeCountView} class represents the number of contact entries per phone area code.
+ * <p>
+ * A contact entry is counted once for every area code of its phone numbers. The view is registered with
+ * {@link edu.nyu.cs.addressbook.Contact#addListener(edu.nyu.cs.addressbook.ContactListener)} and is kept up to
+ * date on every change, so reading a count never scans the contact entries. The counts are held in a
+ * primitive array indexed by area code.
+ * <p>
+ * {@code AreaCodeCountView} objects are thread-safe.
+ */
+public class AreaCodeCountView extends ContactAdapter {
+    private static final int MAX_AREACODE = 999;
+
+    private final int[] counts = new int[MAX_AREACODE + 1];
+
+    /**
+     * Initializes a newly created {@code AreaCodeCountView} object with all counts being zero.
+     */
+    public AreaCodeCountView() {
+
+    }
+
+    /**
+     * Returns the number of contact entries which have at least one phone number with the specified area code.
+     * <p>
+     * @param areaCode the area code
+     * @return the number of contact entries which have at least one phone number with the specified area code
+     * @throws IllegalArgumentException if area code is out of range
+     */
+    public synchronized int getCount(int areaCode) {
+        ParameterChecker.rangeCheck(areaCode, MAX_AREACODE, "area code");
+
+        return counts[areaCode];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void entryAdded(ContactEntry ce) {
+        for (int areaCode : areaCodesOf(ce)) {
+            counts[areaCode]++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void entryRemoved(ContactEntry ce) {
+        for (int areaCode : areaCodesOf(ce)) {
+            counts[areaCode]--;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void phoneNumberAdded(ContactEntry ce, PhoneNumber pn) {
+        int occurrences = 0;
+        for (PhoneNumber tmp : ce.getPhoneNumbers()) {
+            if (tmp.getAreaCode() == pn.getAreaCode()) {
+                occurrences++;
+            }
+        }
+        if (occurrences == 1) {
+            counts[pn.getAreaCode()]++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void phoneNumberRemoved(ContactEntry ce, PhoneNumber pn) {
+        if (!ce.containsAreaCode(pn.getAreaCode())) {
+            counts[pn.getAreaCode()]--;
+        }
+    }
+
+    /**
+     * Returns the distinct area codes of the phone numbers of the specified contact entry.
+     * <p>
+     * @param ce the contact entry
+     * @return the distinct area codes of the phone numbers of the specified contact entry
+     */
+    private static int[] areaCodesOf(ContactEntry ce) {
+        int[] areaCodes = new int[ce.getPhoneNumbers().size()];
+        int size = 0;
+        outer:
+        for (PhoneNumber pn : ce.getPhoneNumbers()) {
+            for (int i = 0; i < size; i++) {
+                if (areaCodes[i] == pn.getAreaCode()) {
+                    continue outer;
+                }
+            }
+            areaCodes[size++] = pn.getAreaCode();
+        }
+        return Arrays.copyOf(areaCodes, size);
+    }
+
+}
@@ -0,0 +1,164 @@
+package edu.nyu.cs.addressbook.view;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import edu.nyu.cs.addressbook.ContactAdapter;
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code DomainCountView} class represents the number of contact entries per email domain.
+ * <p>
+ * A contact entry is counted once for every domain of its email addresses. The view is registered with
+ * {@link edu.nyu.cs.addressbook.Contact#addListener(edu.nyu.cs.addressbook.ContactListener)} and is kept up to
+ * date on every change, so reading a count never scans the contact entries. Domains whose count drops to zero
+ * are forgotten.
+ * <p>
+ * {@code DomainCountView} objects are thread-safe.
+ */
+public class DomainCountView extends ContactAdapter {
+    private final Map<String, int[]> counts = new HashMap<>();
+
+    /**
+     * Initializes a newly created {@code DomainCountView} object with no domain.
+     */
+    public DomainCountView() {
+
+    }
+
+    /**
+     * Returns the number of contact entries which have at least one email address in the specified domain.
+     * <p>
+     * @param domain the domain
+     * @return the number of contact entries which have at least one email address in the specified domain
+     */
+    public synchronized int getCount(String domain) {
+        ParameterChecker.nullCheck(domain, "domain");
+
+        int[] count = counts.get(domain.toLowerCase().trim());
+        return count == null ? 0 : count[0];
+    }
+
+    /**
+     * Returns at most {@code n} domains with the highest counts, in descending order of count. Domains with
+     * the same count are in lexicographical order.
+     * <p>
+     * @param n the maximum number of domains to be returned
+     * @return at most {@code n} domains with the highest counts
+     * @throws IllegalArgumentException if n is negative
+     */
+    public synchronized List<String> getTopDomains(int n) {
+        ParameterChecker.rangeCheck(n, Integer.MAX_VALUE, "n");
+
+        List<Map.Entry<String, int[]>> entries = new ArrayList<>(counts.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<String, int[]>>() {
+            @Override
+            public int compare(Map.Entry<String, int[]> e1, Map.Entry<String, int[]> e2) {
+                int countDiff = e2.getValue()[0] - e1.getValue()[0];
+                return countDiff != 0 ? countDiff : e1.getKey().compareTo(e2.getKey());
+            }
+        });
+        List<String> result = new ArrayList<>();
+        for (Map.Entry<String, int[]> entry : entries.subList(0, Math.min(n, entries.size()))) {
+            result.add(entry.getKey());
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void entryAdded(ContactEntry ce) {
+        for (String domain : domainsOf(ce)) {
+            increment(domain);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void entryRemoved(ContactEntry ce) {
+        for (String domain : domainsOf(ce)) {
+            decrement(domain);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void emailAddressAdded(ContactEntry ce, EmailAddress ea) {
+        int occurrences = 0;
+        for (EmailAddress tmp : ce.getEmailAddresses()) {
+            if (tmp.getDomain().equals(ea.getDomain())) {
+                occurrences++;
+            }
+        }
+        if (occurrences == 1) {
+            increment(ea.getDomain());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void emailAddressRemoved(ContactEntry ce, EmailAddress ea) {
+        if (!ce.containsDomain(ea.getDomain())) {
+            decrement(ea.getDomain());
+        }
+    }
+
+    /**
+     * Increments the count of the specified domain.
+     * <p>
+     * @param domain the domain
+     */
+    private void increment(String domain) {
+        int[] count = counts.get(domain);
+        if (count == null) {
+            count = new int[1];
+            counts.put(domain, count);
+        }
+        count[0]++;
+    }
+
+    /**
+     * Decrements the count of the specified domain, forgetting the domain once its count drops to zero.
+     * <p>
+     * @param domain the domain
+     */
+    private void decrement(String domain) {
+        int[] count = counts.get(domain);
+        if (count != null && --count[0] == 0) {
+            counts.remove(domain);
+        }
+    }
+
+    /**
+     * Returns the distinct domains of the email addresses of the specified contact entry.
+     * <p>
+     * @param ce the contact entry
+     * @return the distinct domains of the email addresses of the specified contact entry
+     */
+    private static Set<String> domainsOf(ContactEntry ce) {
+        Set<String> domains = new HashSet<>();
+        for (EmailAddress ea : ce.getEmailAddresses()) {
+            domains.add(ea.getDomain());
+        }
+        return domains;
+    }
+
+}
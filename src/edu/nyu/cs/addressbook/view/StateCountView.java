@@ -0,0 +1,117 @@
+package edu.nyu.cs.addressbook.view;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import edu.nyu.cs.addressbook.ContactAdapter;
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.component.util.State;
+import edu.nyu.cs.addressbook.utils.ParameterChecker;
+
+/**
+ * @author shenli
+ * <p>
+ * The {@code StateCountView} class represents the number of contact entries per
+ * {@link edu.nyu.cs.addressbook.component.util.State}.
+ * <p>
+ * A contact entry is counted once for every state in which it has at least one postal address. The view is
+ * registered with {@link edu.nyu.cs.addressbook.Contact#addListener(edu.nyu.cs.addressbook.ContactListener)}
+ * and is kept up to date on every change, so reading a count never scans the contact entries. The counts are
+ * held in a primitive array indexed by the state ordinal.
+ * <p>
+ * {@code StateCountView} objects are thread-safe.
+ */
+public class StateCountView extends ContactAdapter {
+    private final int[] counts = new int[State.values().length];
+
+    /**
+     * Initializes a newly created {@code StateCountView} object with all counts being zero.
+     */
+    public StateCountView() {
+
+    }
+
+    /**
+     * Returns the number of contact entries which have at least one postal address in the specified state.
+     * <p>
+     * @param state the state
+     * @return the number of contact entries which have at least one postal address in the specified state
+     */
+    public synchronized int getCount(State state) {
+        ParameterChecker.nullCheck(state, "state");
+
+        return counts[state.ordinal()];
+    }
+
+    /**
+     * Returns a copy of the counts, indexed by {@link java.lang.Enum#ordinal()} of
+     * {@link edu.nyu.cs.addressbook.component.util.State}.
+     * <p>
+     * @return a copy of the counts indexed by state ordinal
+     */
+    public synchronized int[] getCounts() {
+        return counts.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void entryAdded(ContactEntry ce) {
+        for (State state : statesOf(ce)) {
+            counts[state.ordinal()]++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void entryRemoved(ContactEntry ce) {
+        for (State state : statesOf(ce)) {
+            counts[state.ordinal()]--;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void postalAddressAdded(ContactEntry ce, PostalAddress pa) {
+        int occurrences = 0;
+        for (PostalAddress tmp : ce.getPostalAddresses()) {
+            if (tmp.getState() == pa.getState()) {
+                occurrences++;
+            }
+        }
+        if (occurrences == 1) {
+            counts[pa.getState().ordinal()]++;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public synchronized void postalAddressRemoved(ContactEntry ce, PostalAddress pa) {
+        if (!ce.containsState(pa.getState())) {
+            counts[pa.getState().ordinal()]--;
+        }
+    }
+
+    /**
+     * Returns the distinct states of the postal addresses of the specified contact entry.
+     * <p>
+     * @param ce the contact entry
+     * @return the distinct states of the postal addresses of the specified contact entry
+     */
+    private static Set<State> statesOf(ContactEntry ce) {
+        Set<State> states = EnumSet.noneOf(State.class);
+        for (PostalAddress pa : ce.getPostalAddresses()) {
+            states.add(pa.getState());
+        }
+        return states;
+    }
+
+}
@@ -0,0 +1,200 @@
+package edu.nyu.cs.addressbook;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.component.util.State;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.search.impl.Compiled;
+import edu.nyu.cs.addressbook.search.impl.ContactField;
+import edu.nyu.cs.addressbook.search.impl.Regex;
+
+public class ColumnarContactTest {
+    private static final String[] CITIES = {"Brooklyn", "Queens", "Boston"};
+    private static final String[] DOMAINS = {"nyu.edu", "gmail.com", "yahoo.com"};
+    private static final State[] STATES = {State.NY, State.MA, State.CA};
+
+    private Contact contact;
+    private ColumnarContact columnar;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        contact = new Contact("Columns");
+        Random random = new Random(45);
+        for (int i = 0; i < 150; i++) {
+            ContactEntry.ContactEntryBuilder builder =
+                    new ContactEntry.ContactEntryBuilder("First" + (i % 7), "Last" + i).note("note " + (i % 5));
+            for (int j = 0; j < i % 3; j++) {
+                builder.phoneNumber(new PhoneNumber(200 + random.nextInt(3), 555, random.nextInt(10)));
+            }
+            for (int j = 0; j < i % 4; j++) {
+                builder.emailAddress(new EmailAddress("user" + random.nextInt(4), DOMAINS[random.nextInt(3)]));
+            }
+            for (int j = 0; j < i % 2 + (i % 5 == 0 ? 1 : 0); j++) {
+                int k = random.nextInt(3);
+                builder.postalAddress(new PostalAddress.PostalAddressBuilder()
+                        .zipCode(10000 + random.nextInt(3)).state(STATES[k]).city(CITIES[k])
+                        .street(random.nextInt(100) + " Main Street").build());
+            }
+            contact.add(builder.build());
+        }
+        columnar = contact.toColumnar();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#toColumnar()}.
+     */
+    @Test
+    public void testToColumnar() {
+        assertEquals(contact.getID(), columnar.getID());
+        assertEquals(contact.getContacts().size(), columnar.size());
+        for (int r = 0; r < columnar.size(); r++) {
+            ContactEntry ce = contact.getContacts().get(r);
+            ContactEntry materialized = columnar.getEntry(r);
+            assertEquals(ce, materialized);
+            assertNotSame(ce, materialized);
+            assertEquals(ce.toString(), materialized.toString());
+        }
+        assertEquals(0, new Contact("Empty").toColumnar().size());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ColumnarContact#rowsOf(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testRowsOfAgreesWithSearch() {
+        Random random = new Random(46);
+        for (int i = 0; i < 300; i++) {
+            ContactField.ContactFieldBuilder builder = new ContactField.ContactFieldBuilder();
+            switch (random.nextInt(8)) {
+            case 0:
+                builder.state(STATES[random.nextInt(3)]).zipCode(10000 + random.nextInt(3));
+                break;
+            case 1:
+                builder.areaCode(200 + random.nextInt(3)).lineNumber(random.nextInt(10));
+                break;
+            case 2:
+                builder.domain(DOMAINS[random.nextInt(3)]).username("user" + random.nextInt(4));
+                break;
+            case 3:
+                builder.city(CITIES[random.nextInt(3)]).street(random.nextInt(10) + " Main");
+                break;
+            case 4:
+                builder.firstName("First" + random.nextInt(7)).note("note " + random.nextInt(5));
+                break;
+            case 5:
+                builder.lastName("Last" + random.nextInt(150)).prefix(555);
+                break;
+            case 6:
+                builder.domain(DOMAINS[random.nextInt(3)]).state(STATES[random.nextInt(3)]);
+                break;
+            default:
+                break;
+            }
+            ContactField cf = builder.build();
+            assertEquals(cf.toString(), contact.search(cf), columnar.search(cf));
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ColumnarContact#rowsOf(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testRowsOfWithOtherCriteria() {
+        SearchCriteria regex = new Regex("Last1[0-4]\\b");
+        assertEquals(contact.search(regex), columnar.search(regex));
+
+        SearchCriteria compiled = new Compiled(new ContactField.ContactFieldBuilder().state(State.MA).build());
+        assertEquals(contact.search(compiled), columnar.search(compiled));
+
+        int[] rows = columnar.rowsOf(new ContactField.ContactFieldBuilder().build());
+        assertEquals(columnar.size(), rows.length);
+        for (int r = 0; r < rows.length; r++) {
+            assertEquals(r, rows[r]);
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ColumnarContact#rowsOf(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testRowsOfWithNullObject() {
+        columnar.rowsOf(null);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ColumnarContact#row(int)}.
+     */
+    @Test
+    public void testRow() {
+        ColumnarContact.Row row = columnar.row(0);
+        for (int r = 0; r < columnar.size(); r++) {
+            ContactEntry ce = contact.getContacts().get(r);
+            row.moveTo(r);
+            assertEquals(r, row.getIndex());
+            assertEquals(ce.getFirstName(), row.getFirstName());
+            assertEquals(ce.getLastName(), row.getLastName());
+            assertEquals(ce.getNote(), row.getNote());
+            assertEquals(ce.getPhoneNumbers().size(), row.getPhoneNumberCount());
+            for (int i = 0; i < row.getPhoneNumberCount(); i++) {
+                assertEquals(ce.getPhoneNumbers().get(i).pack(), row.getPackedPhoneNumber(i));
+            }
+            assertEquals(ce.getEmailAddresses().size(), row.getEmailAddressCount());
+            for (int i = 0; i < row.getEmailAddressCount(); i++) {
+                assertEquals(ce.getEmailAddresses().get(i).getDomain(), row.getDomain(i));
+                assertEquals(ce.getEmailAddresses().get(i).getUsername(), row.getUsername(i));
+            }
+            assertEquals(ce.getPostalAddresses().size(), row.getPostalAddressCount());
+            for (int i = 0; i < row.getPostalAddressCount(); i++) {
+                PostalAddress pa = ce.getPostalAddresses().get(i);
+                assertEquals(pa.getZipCode(), row.getZipCode(i));
+                assertEquals(pa.getState(), row.getState(i));
+                assertEquals(pa.getCity(), row.getCity(i));
+                assertEquals(pa.getStreet(), row.getStreet(i));
+            }
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ColumnarContact#row(int)}.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRowWithIllegalIndex() {
+        columnar.row(columnar.size());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ColumnarContact.Row#getDomain(int)}.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetDomainWithIllegalIndex() {
+        columnar.row(0).getDomain(0);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ColumnarContact#search(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testSearchIsSnapshot() {
+        ContactField cf = new ContactField.ContactFieldBuilder().firstName("First0").build();
+        List<ContactEntry> before = columnar.search(cf);
+        contact.add(new ContactEntry.ContactEntryBuilder("First0", "Zed").build());
+        assertEquals(before, columnar.search(cf));
+        assertEquals(before.size() + 1, contact.search(cf).size());
+        assertEquals(Arrays.asList(new ContactEntry.ContactEntryBuilder("First0", "Zed").build()),
+                contact.toColumnar().search(new ContactField.ContactFieldBuilder().lastName("Zed").build()));
+    }
+
+}
@@ -142,6 +142,25 @@ public class ContactEntryTest {
         assertEquals("Darlington", contactEntryWithNothing.getLastName());
     }
 
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactEntry#getFirstNameSoundex()}.
+     */
+    @Test
+    public void testGetFirstNameSoundex() {
+        assertEquals("S500", contactEntry.getFirstNameSoundex());
+        assertSame(contactEntry.getFirstNameSoundex(), contactEntry.getFirstNameSoundex());
+        assertEquals("", new ContactEntry.ContactEntryBuilder("42", "Li").build().getFirstNameSoundex());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactEntry#getLastNameSoundex()}.
+     */
+    @Test
+    public void testGetLastNameSoundex() {
+        assertEquals("L000", contactEntry.getLastNameSoundex());
+        assertEquals("D645", contactEntryWithNothing.getLastNameSoundex());
+    }
+
     /**
      * Test method for {@link edu.nyu.cs.addressbook.ContactEntry#getPhoneNumbers()}.
      */
@@ -188,6 +207,53 @@ public class ContactEntryTest {
         assertEquals(postalAddressEmpty, contactEntryWithNothing.getPostalAddresses());
     }
 
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactEntry#getEmailAddresses()}.
+     */
+    @Test
+    public void testGetEmailAddressesReadsThrough() {
+        List<EmailAddress> view = contactEntryWithNothing.getEmailAddresses();
+        assertSame(view, contactEntryWithNothing.getEmailAddresses());
+        assertTrue(view.isEmpty());
+        EmailAddress ea = new EmailAddress("jennifer", "nyu.edu");
+        contactEntryWithNothing.addEmailAddress(ea);
+        assertEquals(Arrays.asList(ea), view);
+        contactEntryWithNothing.clearEmailAddresses();
+        assertTrue(view.isEmpty());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactEntry#getEmailAddresses()}.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGetEmailAddressesIsUnmodifiable() {
+        contactEntry.getEmailAddresses().add(new EmailAddress("jennifer", "nyu.edu"));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactEntry#getPostalAddresses()}.
+     */
+    @Test
+    public void testGetPostalAddressesReadsThrough() {
+        List<PostalAddress> view = contactEntry.getPostalAddresses();
+        assertSame(view, contactEntry.getPostalAddresses());
+        PostalAddress first = view.get(0);
+        PostalAddress second = view.get(1);
+        assertTrue(contactEntry.removePostalAddress(first));
+        assertEquals(Arrays.asList(second), view);
+        assertTrue(contactEntry.addPostalAddress(first));
+        assertEquals(Arrays.asList(second, first), view);
+        assertTrue(contactEntry.containsZipcode(11220));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactEntry#getPostalAddresses()}.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetPostalAddressesWithIllegalIndex() {
+        contactEntry.getPostalAddresses().get(2);
+    }
+
     /**
      * Test method for {@link edu.nyu.cs.addressbook.ContactEntry#getNote()}.
      */
@@ -352,6 +418,24 @@ public class ContactEntryTest {
         assertFalse(contactEntry.containsAreaCode(123));
         assertFalse(contactEntryWithNothing.containsAreaCode(646));
     }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactEntry#containsAreaCode(int)}.
+     */
+    @Test
+    public void testContainsAreaCodeWithMutations() {
+        PhoneNumber first = new PhoneNumber(212, 555, 1234);
+        PhoneNumber second = new PhoneNumber(718, 555, 4321);
+        contactEntryWithNothing.addPhoneNumber(first);
+        contactEntryWithNothing.addPhoneNumber(second);
+        assertTrue(contactEntryWithNothing.containsAreaCode(718));
+        assertTrue(contactEntryWithNothing.containsLineNumber(1234));
+        assertTrue(contactEntryWithNothing.containsAreaCode(65536 + 212));
+        assertTrue(contactEntryWithNothing.removePhoneNumber(first));
+        assertFalse(contactEntryWithNothing.containsAreaCode(212));
+        assertTrue(contactEntryWithNothing.containsPrefix(555));
+        assertEquals(Arrays.asList(second), contactEntryWithNothing.getPhoneNumbers());
+    }
 
     /**
      * Test method for {@link edu.nyu.cs.addressbook.ContactEntry#containsPrefix(int)}.
@@ -681,6 +765,31 @@ public class ContactEntryTest {
         }
     }
 
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactEntry#isDirty()}.
+     */
+    @Test
+    public void testIsDirty() {
+        assertFalse(contactEntry.isDirty());
+        contactEntry.setNote("note");
+        assertTrue(contactEntry.isDirty());
+        contactEntry.markClean();
+        assertFalse(contactEntry.isDirty());
+        assertFalse(contactEntry.addPhoneNumber(new PhoneNumber(646, 620, 5666)));
+        assertFalse(contactEntry.isDirty());
+        assertTrue(contactEntry.addPhoneNumber(new PhoneNumber(212, 998, 3011)));
+        assertTrue(contactEntry.isDirty());
+        contactEntry.markClean();
+        contactEntry.clearPostalAddresses();
+        assertTrue(contactEntry.isDirty());
+        
+        contactEntryWithNothing.clearPostalAddresses();
+        contactEntryWithNothing.clearEmailAddresses();
+        assertFalse(contactEntryWithNothing.isDirty());
+        contactEntryWithNothing.addEmailAddress(new EmailAddress("jenny", "gmail.com"));
+        assertTrue(contactEntryWithNothing.isDirty());
+    }
+
     /**
      * Test method for {@link edu.nyu.cs.addressbook.ContactEntry#hashCode()}.
      */
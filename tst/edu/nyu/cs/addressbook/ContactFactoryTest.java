@@ -2,11 +2,23 @@ package edu.nyu.cs.addressbook;
 
 import static org.junit.Assert.*;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.Test;
 
+import edu.nyu.cs.addressbook.search.impl.NonNull;
+
 public class ContactFactoryTest {
     
     /**
@@ -57,4 +69,387 @@ public class ContactFactoryTest {
         assertEquals(contacts, ContactFactory.getContacts());
     }
 
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#getContacts()}.
+     */
+    @Test
+    public void testGetContactsInCreationOrder() {
+        Contact bernadette = ContactFactory.getContact("Bernadette");
+        Contact raj = ContactFactory.getContact("Raj");
+        assertTrue(ContactFactory.release("Bernadette"));
+        Contact newBernadette = ContactFactory.getContact("Bernadette");
+        List<Contact> contacts = ContactFactory.getContacts();
+        int size = contacts.size();
+        assertSame(raj, contacts.get(size - 2));
+        assertSame(newBernadette, contacts.get(size - 1));
+        for (Contact contact : contacts) {
+            assertNotSame(bernadette, contact);
+        }
+        assertTrue(ContactFactory.release("Raj"));
+        assertTrue(ContactFactory.release("Bernadette"));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#search(edu.nyu.cs.addressbook.search.SearchCriteria, java.util.concurrent.ExecutorService, long, java.util.concurrent.TimeUnit)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testSearchWithNegativeTimeout() {
+        ContactFactory.search(NonNull.INSTANCE, ForkJoinPool.commonPool(), -1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#lookup(java.lang.String)}.
+     */
+    @Test
+    public void testLookup() {
+        Contact contact = ContactFactory.getContact("Amy");
+        assertSame(contact, ContactFactory.lookup("Amy"));
+        assertSame(contact, ContactFactory.lookup("  Amy "));
+        assertNull(ContactFactory.lookup("Nobody"));
+        assertTrue(ContactFactory.release("Amy"));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#lookup(java.lang.String)}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testLookupWithNullObject() {
+        ContactFactory.lookup(null);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#release(java.lang.String)}.
+     */
+    @Test
+    public void testRelease() {
+        Contact contact = ContactFactory.getContact("Stuart");
+        assertTrue(ContactFactory.release(" Stuart"));
+        assertNull(ContactFactory.lookup("Stuart"));
+        assertFalse(ContactFactory.getContacts().contains(contact));
+        assertFalse(ContactFactory.release("Stuart"));
+        Contact again = ContactFactory.getContact("Stuart");
+        assertNotSame(contact, again);
+        assertSame(again, ContactFactory.lookup("Stuart"));
+        assertTrue(ContactFactory.release("Stuart"));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#close()}.
+     */
+    @Test
+    public void testClose() {
+        Contact stale = ContactFactory.getContact("Bert");
+        stale.close();
+        assertNull(ContactFactory.lookup("Bert"));
+        Contact contact = ContactFactory.getContact("Bert");
+        stale.close();
+        assertSame(contact, ContactFactory.lookup("Bert"));
+        try (Contact c = contact) {
+            assertEquals("Bert", c.getID());
+        }
+        assertNull(ContactFactory.lookup("Bert"));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#evictIdle(long, java.util.concurrent.TimeUnit)}.
+     */
+    @Test
+    public void testEvictIdle() throws InterruptedException {
+        Contact contact = ContactFactory.getContact("Zack");
+        assertEquals(0, ContactFactory.evictIdle(1, TimeUnit.HOURS));
+        assertSame(contact, ContactFactory.lookup("Zack"));
+        Thread.sleep(20);
+        ContactFactory.evictIdle(10, TimeUnit.MILLISECONDS);
+        assertNull(ContactFactory.lookup("Zack"));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#evictIdle(long, java.util.concurrent.TimeUnit)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testEvictIdleWithNegativeTime() {
+        ContactFactory.evictIdle(-1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#register(java.lang.String, java.io.File)}.
+     */
+    @Test
+    public void testRegister() throws Exception {
+        File location = File.createTempFile("Kripke", ".xml");
+        try {
+            Contact saved = new Contact("Kripke");
+            saved.add(new ContactEntry.ContactEntryBuilder("Barry", "Kripke").note("string theory").build());
+            try (OutputStream out = new FileOutputStream(location)) {
+                ContactUtil.save(out, saved);
+            }
+            long hits = ContactFactory.getBookHitCount();
+            long misses = ContactFactory.getBookMissCount();
+            long loads = ContactFactory.getBookLoadCount();
+            ContactFactory.register(" Kripke ", location);
+            assertFalse(ContactFactory.getContacts().contains(saved));
+            Contact contact = ContactFactory.lookup("Kripke");
+            assertEquals(saved.getContacts(), contact.getContacts());
+            assertSame(contact, ContactFactory.lookup("Kripke"));
+            assertTrue(ContactFactory.getContacts().contains(contact));
+            assertEquals(hits + 1, ContactFactory.getBookHitCount());
+            assertEquals(misses + 1, ContactFactory.getBookMissCount());
+            assertEquals(loads + 1, ContactFactory.getBookLoadCount());
+            assertTrue(ContactFactory.getBookLoadTime(TimeUnit.NANOSECONDS) > 0);
+            assertTrue(ContactFactory.getResidentWeight() > 0);
+        } finally {
+            ContactFactory.release("Kripke");
+            location.delete();
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#register(java.lang.String, java.io.File)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testRegisterWithExistObject() throws Exception {
+        File location = new File("Priya.xml");
+        try {
+            ContactFactory.register("Priya", location);
+            ContactFactory.register("  Priya ", location);
+        } finally {
+            ContactFactory.release("Priya");
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#lookup(java.lang.String)}.
+     */
+    @Test
+    public void testLookupIsSingleFlight() throws Exception {
+        File location = File.createTempFile("Wil", ".xml");
+        location.delete();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            ContactFactory.register("Wil", location);
+            long loads = ContactFactory.getBookLoadCount();
+            final CountDownLatch start = new CountDownLatch(1);
+            Callable<Contact> lookup = new Callable<Contact>() {
+                @Override
+                public Contact call() throws Exception {
+                    start.await();
+                    return ContactFactory.lookup("Wil");
+                }
+            };
+            List<Future<Contact>> futures = Arrays.asList(
+                    executor.submit(lookup), executor.submit(lookup), executor.submit(lookup),
+                    executor.submit(lookup), executor.submit(lookup), executor.submit(lookup),
+                    executor.submit(lookup), executor.submit(lookup));
+            start.countDown();
+            Contact contact = futures.get(0).get();
+            assertEquals(0, contact.getContacts().size());
+            for (Future<Contact> future : futures) {
+                assertSame(contact, future.get());
+            }
+            assertEquals(loads + 1, ContactFactory.getBookLoadCount());
+        } finally {
+            executor.shutdown();
+            ContactFactory.release("Wil");
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#lookup(java.lang.String)}.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testLookupWithIllFormatBook() throws Exception {
+        File location = File.createTempFile("Arthur", ".xml");
+        try {
+            try (OutputStream out = new FileOutputStream(location)) {
+                ContactUtil.save(out, new Contact("Mary"));
+            }
+            ContactFactory.register("Arthur", location);
+            ContactFactory.lookup("Arthur");
+        } finally {
+            ContactFactory.release("Arthur");
+            location.delete();
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#setHeapBudget(long)}.
+     */
+    @Test
+    public void testSetHeapBudget() throws Exception {
+        File leslie = File.createTempFile("Leslie", ".xml");
+        File barry = File.createTempFile("Barry", ".xml");
+        leslie.delete();
+        barry.delete();
+        try {
+            ContactFactory.register("Leslie", leslie);
+            ContactFactory.register("Barry", barry);
+            long evictions = ContactFactory.getBookEvictionCount();
+            long writeBacks = ContactFactory.getBookWriteBackCount();
+            Contact contact = ContactFactory.lookup("Leslie");
+            long weight = ContactFactory.getResidentWeight();
+            contact.add(new ContactEntry.ContactEntryBuilder("Leslie", "Winkle").note("cellist").build());
+            assertTrue(ContactFactory.getResidentWeight() > weight);
+            ContactFactory.setHeapBudget(ContactFactory.getResidentWeight());
+            assertSame(contact, ContactFactory.lookup("Leslie"));
+            assertFalse(leslie.exists());
+
+            Contact other = ContactFactory.lookup("Barry");
+            assertEquals(evictions + 1, ContactFactory.getBookEvictionCount());
+            assertEquals(writeBacks + 1, ContactFactory.getBookWriteBackCount());
+            assertTrue(leslie.exists());
+            assertTrue(ContactFactory.getContacts().contains(other));
+            assertFalse(ContactFactory.getContacts().contains(contact));
+
+            Contact reloaded = ContactFactory.lookup("Leslie");
+            assertNotSame(contact, reloaded);
+            assertEquals(contact.getContacts(), reloaded.getContacts());
+            assertEquals(evictions + 2, ContactFactory.getBookEvictionCount());
+            assertEquals(writeBacks + 1, ContactFactory.getBookWriteBackCount());
+            assertFalse(barry.exists());
+
+            ContactFactory.setHeapBudget(0);
+            assertEquals(0, ContactFactory.getResidentWeight());
+            assertFalse(ContactFactory.getContacts().contains(reloaded));
+        } finally {
+            ContactFactory.setHeapBudget(Long.MAX_VALUE);
+            ContactFactory.release("Leslie");
+            ContactFactory.release("Barry");
+            leslie.delete();
+            barry.delete();
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#pin(java.lang.String)}.
+     */
+    @Test
+    public void testPin() throws Exception {
+        File location = File.createTempFile("Bernadette", ".xml");
+        location.delete();
+        try {
+            ContactFactory.register("Bernadette", location);
+            Contact contact = ContactFactory.pin("Bernadette");
+            assertSame(contact, ContactFactory.pin("Bernadette"));
+            contact.add(new ContactEntry.ContactEntryBuilder("Bernadette", "Rostenkowski").note("microbiologist").build());
+            ContactFactory.setHeapBudget(0);
+            assertTrue(ContactFactory.getContacts().contains(contact));
+            assertFalse(location.exists());
+
+            ContactFactory.unpin(contact);
+            assertTrue(ContactFactory.getContacts().contains(contact));
+            ContactFactory.unpin(contact);
+            assertFalse(ContactFactory.getContacts().contains(contact));
+            assertTrue(location.exists());
+            assertEquals(contact.getContacts(), ContactFactory.lookup("Bernadette").getContacts());
+        } finally {
+            ContactFactory.setHeapBudget(Long.MAX_VALUE);
+            ContactFactory.release("Bernadette");
+            location.delete();
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#pin(java.lang.String)}.
+     */
+    @Test
+    public void testPinWhileEvicting() throws Exception {
+        File location = File.createTempFile("Stuart", ".xml");
+        location.delete();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            ContactFactory.register("Stuart", location);
+            final int count = 200;
+            final CountDownLatch done = new CountDownLatch(1);
+            Future<?> writer = executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    try {
+                        for (int i = 0; i < count; i++) {
+                            Contact contact = ContactFactory.pin("Stuart");
+                            try {
+                                contact.add(new ContactEntry.ContactEntryBuilder("Stuart", "Bloom" + i).build());
+                            } finally {
+                                ContactFactory.unpin(contact);
+                            }
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                    return null;
+                }
+            });
+            Future<?> evicter = executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    while (done.getCount() > 0) {
+                        ContactFactory.setHeapBudget(0);
+                        ContactFactory.setHeapBudget(Long.MAX_VALUE);
+                    }
+                    return null;
+                }
+            });
+            writer.get();
+            evicter.get();
+            assertEquals(count, ContactFactory.lookup("Stuart").getContacts().size());
+            ContactFactory.setHeapBudget(0);
+            assertEquals(count, ContactFactory.lookup("Stuart").getContacts().size());
+        } finally {
+            executor.shutdown();
+            ContactFactory.setHeapBudget(Long.MAX_VALUE);
+            ContactFactory.release("Stuart");
+            location.delete();
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#release(java.lang.String)}.
+     */
+    @Test
+    public void testReleaseBook() throws Exception {
+        File location = File.createTempFile("Zack", ".xml");
+        location.delete();
+        try {
+            ContactFactory.register("Zack", location);
+            Contact contact = ContactFactory.lookup("Zack");
+            contact.add(new ContactEntry.ContactEntryBuilder("Zack", "Johnson").note("bartender").build());
+            contact.close();
+            assertNull(ContactFactory.lookup("Zack"));
+            assertTrue(location.exists());
+
+            ContactFactory.register("Zack", location);
+            Contact reloaded = ContactFactory.lookup("Zack");
+            assertEquals(contact.getContacts(), reloaded.getContacts());
+            reloaded.add(new ContactEntry.ContactEntryBuilder("Zack", "Martin").build());
+            assertTrue(ContactFactory.release("Zack"));
+
+            ContactFactory.register("Zack", location);
+            assertEquals(reloaded.getContacts(), ContactFactory.lookup("Zack").getContacts());
+        } finally {
+            ContactFactory.release("Zack");
+            location.delete();
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#unpin(edu.nyu.cs.addressbook.Contact)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnpinWithUnpinnedBook() {
+        File location = new File("Emily.xml");
+        try {
+            ContactFactory.register("Emily", location);
+            ContactFactory.unpin(ContactFactory.lookup("Emily"));
+        } finally {
+            ContactFactory.release("Emily");
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactFactory#setHeapBudget(long)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetHeapBudgetWithNegativeBytes() {
+        ContactFactory.setHeapBudget(-1);
+    }
+
 }
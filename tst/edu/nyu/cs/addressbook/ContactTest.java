@@ -2,11 +2,19 @@ package edu.nyu.cs.addressbook;
 
 import static org.junit.Assert.*;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.NoSuchElementException;
 
 import org.junit.Before;
@@ -16,6 +24,25 @@ import edu.nyu.cs.addressbook.component.EmailAddress;
 import edu.nyu.cs.addressbook.component.PhoneNumber;
 import edu.nyu.cs.addressbook.component.PostalAddress;
 import edu.nyu.cs.addressbook.component.util.State;
+import edu.nyu.cs.addressbook.index.FullTextIndex;
+import edu.nyu.cs.addressbook.index.FuzzyNameIndex;
+import edu.nyu.cs.addressbook.index.PhoneticIndex;
+import edu.nyu.cs.addressbook.index.TrigramIndex;
+import edu.nyu.cs.addressbook.query.ContinuousQuery;
+import edu.nyu.cs.addressbook.query.MatchEvent;
+import edu.nyu.cs.addressbook.query.MatchListener;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.search.impl.And;
+import edu.nyu.cs.addressbook.search.impl.Compiled;
+import edu.nyu.cs.addressbook.search.impl.ContactField;
+import edu.nyu.cs.addressbook.search.impl.FullText;
+import edu.nyu.cs.addressbook.search.impl.Fuzzy;
+import edu.nyu.cs.addressbook.search.impl.NonNull;
+import edu.nyu.cs.addressbook.search.impl.Or;
+import edu.nyu.cs.addressbook.search.impl.Regex;
+import edu.nyu.cs.addressbook.search.impl.SoundsLike;
+import edu.nyu.cs.addressbook.stats.AddressBookSketch;
+import edu.nyu.cs.addressbook.view.StateCountView;
 
 public class ContactTest {
     private Contact contact;
@@ -252,6 +279,749 @@ public class ContactTest {
         assertFalse(contact.getContacts().get(2).equals(ce));
     }
 
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#idOf(edu.nyu.cs.addressbook.ContactEntry)}.
+     */
+    @Test
+    public void testIdOf() {
+        ContactEntry zed = new ContactEntry.ContactEntryBuilder("Zed", "Zulu").build();
+        ContactEntry abe = new ContactEntry.ContactEntryBuilder("Abe", "Alpha").build();
+        assertEquals(-1, contactWithNothing.idOf(zed));
+        contactWithNothing.add(zed);
+        contactWithNothing.add(abe);
+        assertEquals(0, contactWithNothing.idOf(zed));
+        assertEquals(1, contactWithNothing.idOf(abe));
+        assertSame(zed, contactWithNothing.getContacts().get(1));
+        assertSame(zed, contactWithNothing.getEntry(0));
+        assertSame(abe, contactWithNothing.getEntry(1));
+        assertNull(contactWithNothing.getEntry(2));
+        assertNull(contactWithNothing.getEntry(-1));
+        
+        ContactEntry otherZed = new ContactEntry.ContactEntryBuilder("Zed", "Zulu").build();
+        assertEquals(-1, contactWithNothing.idOf(otherZed));
+        assertTrue(contactWithNothing.remove(zed));
+        assertNull(contactWithNothing.getEntry(0));
+        contactWithNothing.add(otherZed);
+        assertEquals(0, contactWithNothing.idOf(otherZed));
+        assertEquals(1, contactWithNothing.idOf(abe));
+        
+        contactWithNothing.add(abe);
+        assertTrue(contactWithNothing.remove(abe));
+        assertEquals(1, contactWithNothing.idOf(abe));
+        contactWithNothing.clear();
+        assertEquals(-1, contactWithNothing.idOf(abe));
+        assertNull(contactWithNothing.getEntry(1));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#idOf(edu.nyu.cs.addressbook.ContactEntry)}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testIdOfWithNullObject() {
+        contact.idOf(null);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#add(edu.nyu.cs.addressbook.ContactEntry, int)}.
+     */
+    @Test
+    public void testAddWithEntryId() {
+        ContactEntry first = new ContactEntry.ContactEntryBuilder("First", "Entry").build();
+        ContactEntry second = new ContactEntry.ContactEntryBuilder("Second", "Entry").build();
+        ContactEntry third = new ContactEntry.ContactEntryBuilder("Third", "Entry").build();
+        contactWithNothing.reserveEntryIds(4);
+        assertEquals(4, contactWithNothing.entryIdBound());
+        contactWithNothing.add(first, 3);
+        contactWithNothing.add(second, 1);
+        contactWithNothing.add(third);
+        assertEquals(3, contactWithNothing.idOf(first));
+        assertEquals(1, contactWithNothing.idOf(second));
+        assertTrue(contactWithNothing.idOf(third) == 0 || contactWithNothing.idOf(third) == 2);
+        contactWithNothing.add(new ContactEntry.ContactEntryBuilder("Fourth", "Entry").build());
+        assertNotNull(contactWithNothing.getEntry(0));
+        assertNotNull(contactWithNothing.getEntry(2));
+        assertNull(contactWithNothing.getEntry(4));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#add(edu.nyu.cs.addressbook.ContactEntry, int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddWithEntryIdBeyondBound() {
+        contactWithNothing.add(new ContactEntry.ContactEntryBuilder("First", "Entry").build(), 0);
+        contactWithNothing.add(new ContactEntry.ContactEntryBuilder("Second", "Entry").build(), 2);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#add(edu.nyu.cs.addressbook.ContactEntry, int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddWithTakenEntryId() {
+        contactWithNothing.reserveEntryIds(3);
+        contactWithNothing.add(new ContactEntry.ContactEntryBuilder("First", "Entry").build(), 2);
+        contactWithNothing.add(new ContactEntry.ContactEntryBuilder("Second", "Entry").build(), 2);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#isDirty()}.
+     */
+    @Test
+    public void testIsDirty() {
+        assertTrue(contact.isDirty());
+        contact.markClean();
+        assertFalse(contact.isDirty());
+        assertFalse(contactEntryList.get(1).isDirty());
+        
+        contactEntryList.get(1).clearPostalAddresses();
+        assertTrue(contact.isDirty());
+        assertTrue(contactEntryList.get(1).isDirty());
+        EntryChanges.Delta delta = contact.takeChanges();
+        assertArrayEquals(new int[] { contact.idOf(contactEntryList.get(1)) }, delta.entryIds);
+        assertFalse(contact.isDirty());
+        assertFalse(contactEntryList.get(1).isDirty());
+        
+        contactEntryList.get(2).setNote("I am an astronaut.");
+        contactEntryList.get(0).addPhoneNumber(new PhoneNumber(212, 998, 3011));
+        delta = contact.takeChanges();
+        assertEquals(2, delta.size());
+        contact.restoreChanges(delta);
+        assertTrue(contactEntryList.get(0).isDirty());
+        assertTrue(contactEntryList.get(2).isDirty());
+        assertEquals(2, contact.takeChanges().size());
+        
+        contactWithNothing.markClean();
+        assertFalse(contactWithNothing.isDirty());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#isDeleted(int)}.
+     */
+    @Test
+    public void testIsDeleted() {
+        int entryId = contact.idOf(contactEntryList.get(0));
+        contact.markClean();
+        assertFalse(contact.isDeleted(entryId));
+        assertTrue(contact.remove(contactEntryList.get(0)));
+        assertTrue(contact.isDirty());
+        assertTrue(contact.isDeleted(entryId));
+        assertFalse(contact.isDeleted(-1));
+        
+        ContactEntry ce = new ContactEntry.ContactEntryBuilder("Amy", "Fowler").build();
+        contact.add(ce);
+        assertEquals(entryId, contact.idOf(ce));
+        assertFalse(contact.isDeleted(entryId));
+        EntryChanges.Delta delta = contact.takeChanges();
+        assertArrayEquals(new int[] { entryId }, delta.deletedIds);
+        assertArrayEquals(new ContactEntry[] { ce }, delta.entries);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#removeEntry(int)}.
+     */
+    @Test
+    public void testRemoveEntry() {
+        ContactEntry first = new ContactEntry.ContactEntryBuilder("Jennifer", "Darlington").build();
+        contact.add(first);
+        int entryId = contact.idOf(first);
+        assertTrue(contact.removeEntry(entryId));
+        assertEquals(-1, contact.idOf(first));
+        assertSame(contactEntryList.get(0), contact.getEntry(contact.idOf(contactEntryList.get(0))));
+        assertEquals(3, contact.getContacts().size());
+        assertFalse(contact.removeEntry(entryId));
+        assertFalse(contact.removeEntry(-1));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#search(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testSearchWithNullCriteria() {
+        contact.search(null);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#search(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testSearchWithAllMatches() {
+        assertEquals(contactEntryList, contact.search(NonNull.INSTANCE));
+        assertEquals(Arrays.asList(contactEntryList.get(2)),
+                contact.search(new ContactField.ContactFieldBuilder().areaCode(987).build()));
+        assertEquals(Collections.emptyList(), contactWithNothing.search(NonNull.INSTANCE));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#search(edu.nyu.cs.addressbook.search.SearchCriteria, int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testSearchWithNegativeLimit() {
+        contact.search(NonNull.INSTANCE, -1);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#search(edu.nyu.cs.addressbook.search.SearchCriteria, int)}.
+     */
+    @Test
+    public void testSearchWithLimit() {
+        assertEquals(Collections.emptyList(), contact.search(NonNull.INSTANCE, 0));
+        assertEquals(contactEntryList.subList(0, 2), contact.search(NonNull.INSTANCE, 2));
+        assertEquals(contactEntryList, contact.search(NonNull.INSTANCE, 10));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#search(edu.nyu.cs.addressbook.search.SearchCriteria, int, java.util.Comparator)}.
+     */
+    @Test
+    public void testSearchWithComparator() {
+        Comparator<ContactEntry> byFirstNameDesc = new Comparator<ContactEntry>() {
+            @Override
+            public int compare(ContactEntry ce1, ContactEntry ce2) {
+                return ce2.getFirstName().compareTo(ce1.getFirstName());
+            }
+        };
+        assertEquals(Arrays.asList(contactEntryList.get(1), contactEntryList.get(0)),
+                contact.search(NonNull.INSTANCE, 2, byFirstNameDesc));
+        assertEquals(
+                Arrays.asList(contactEntryList.get(1), contactEntryList.get(0), contactEntryList.get(2)),
+                contact.search(NonNull.INSTANCE, 5, byFirstNameDesc));
+        assertEquals(contactEntryList.subList(0, 2),
+                contact.search(NonNull.INSTANCE, 2, Comparator.<ContactEntry>naturalOrder()));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#search(edu.nyu.cs.addressbook.search.SearchCriteria, int, java.util.Comparator)}.
+     */
+    @Test
+    public void testSearchWithComparatorTies() {
+        Comparator<ContactEntry> allEqual = new Comparator<ContactEntry>() {
+            @Override
+            public int compare(ContactEntry ce1, ContactEntry ce2) {
+                return 0;
+            }
+        };
+        assertEquals(contactEntryList.subList(0, 2), contact.search(NonNull.INSTANCE, 2, allEqual));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#search(edu.nyu.cs.addressbook.search.SearchCriteria, edu.nyu.cs.addressbook.SearchControl)}.
+     */
+    @Test
+    public void testSearchWithControl() {
+        SearchResult result = contact.search(NonNull.INSTANCE, new SearchControl.SearchControlBuilder().build());
+        assertEquals(contactEntryList, result.getEntries());
+        assertFalse(result.isTruncated());
+        assertEquals(3, result.getExamined());
+        
+        result = contact.search(NonNull.INSTANCE, new SearchControl.SearchControlBuilder().maxExamined(2).build());
+        assertEquals(contactEntryList.subList(0, 2), result.getEntries());
+        assertEquals(Truncation.BUDGET, result.getTruncation());
+        
+        CancellationToken token = new CancellationToken();
+        token.cancel();
+        result = contact.search(NonNull.INSTANCE, new SearchControl.SearchControlBuilder().token(token).build());
+        assertEquals(Collections.emptyList(), result.getEntries());
+        assertEquals(Truncation.CANCELLED, result.getTruncation());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#search(edu.nyu.cs.addressbook.search.SearchCriteria, edu.nyu.cs.addressbook.SearchControl)}.
+     */
+    @Test(timeout = 10000)
+    public void testSearchWithControlStopsRunawayRegex() {
+        StringBuilder note = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            note.append('a');
+        }
+        contactEntryList.get(0).setNote(note.toString());
+        SearchResult result = contact.search(new And(NonNull.INSTANCE, new Regex("(.*a){8}x")), 
+                new SearchControl.SearchControlBuilder().timeout(100, TimeUnit.MILLISECONDS).build());
+        assertTrue(result.isTruncated());
+        assertEquals(Truncation.DEADLINE, result.getTruncation());
+        assertEquals(Collections.emptyList(), result.getEntries());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#search(edu.nyu.cs.addressbook.search.SearchCriteria, edu.nyu.cs.addressbook.SearchControl)}.
+     */
+    @Test(timeout = 10000)
+    public void testSearchWithControlStopsCompiledRunawayRegex() {
+        StringBuilder note = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            note.append('a');
+        }
+        contactEntryList.get(0).setNote(note.toString());
+        SearchResult result = contact.search(new Compiled(new And(NonNull.INSTANCE, new Regex("(.*a){8}x"))), 
+                new SearchControl.SearchControlBuilder().timeout(100, TimeUnit.MILLISECONDS).build());
+        assertEquals(Truncation.DEADLINE, result.getTruncation());
+        assertEquals(Collections.emptyList(), result.getEntries());
+        
+        SearchIterator<SearchCriteria> iterator = new SearchIterator<SearchCriteria>(contactEntryList.iterator(), 
+                new Compiled(new Regex("(.*a){8}x")), 
+                new SearchControl.SearchControlBuilder().timeout(100, TimeUnit.MILLISECONDS).build());
+        assertFalse(iterator.hasNext());
+        assertEquals(Truncation.DEADLINE, iterator.getTruncation());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#explain(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testExplain() {
+        Explanation explanation = contact.explain(new And(new FullText("nyu"), 
+                new ContactField.ContactFieldBuilder().areaCode(646).city("Brooklyn").build()));
+        assertEquals("full scan -> 3 candidates", explanation.getAccessPath());
+        assertFalse(explanation.isProfiled());
+        assertEquals(2, explanation.getRoot().getChildren().size());
+        assertEquals(2, explanation.getRoot().getChildren().get(1).getChildren().size());
+        assertEquals("ContactField(area code: 646)", 
+                explanation.getRoot().getChildren().get(1).getChildren().get(0).getLabel());
+        
+        contact.addIndex(new FullTextIndex());
+        explanation = contact.explain(new Or(new FullText("nyu"), new FullText("jennifer")));
+        assertEquals("union of [FullTextIndex for FullText(nyu) -> 2 candidates; "
+                + "FullTextIndex for FullText(jennifer) -> 1 candidates] -> 3 candidates", 
+                explanation.getAccessPath());
+        assertEquals(3, explanation.getCandidates());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#profile(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testProfile() {
+        Explanation explanation = contact.profile(new And(new FullText("nyu"), 
+                new ContactField.ContactFieldBuilder().areaCode(646).city("Brooklyn").build()));
+        assertTrue(explanation.isProfiled());
+        assertEquals(1, explanation.getMatches());
+        Explanation.Node root = explanation.getRoot();
+        assertEquals(3, root.getInvocations());
+        assertEquals(1, root.getPasses());
+        Explanation.Node fullText = root.getChildren().get(0);
+        assertEquals(3, fullText.getInvocations());
+        assertEquals(2, fullText.getPasses());
+        Explanation.Node areaCode = root.getChildren().get(1).getChildren().get(0);
+        assertEquals(2, areaCode.getInvocations());
+        assertEquals(0.5, areaCode.getPassRate(), 1e-9);
+        assertEquals(1, root.getSamples());
+        assertTrue(root.getNanos() >= fullText.getNanos());
+        assertTrue(explanation.toString().startsWith("access: full scan -> 3 candidates\nmatches: 1 of 3"));
+        assertTrue(explanation.toString().contains("\nnode times: estimated from 1 in 16 evaluations\n"));
+        assertTrue(explanation.toString().contains("\n    ContactField(city: Brooklyn) [calls=1, pass=100.0%"));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#profile(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testProfileSamplesTimes() {
+        for (int i = 0; i < 37; i++) {
+            contact.add(new ContactEntry.ContactEntryBuilder("Amy", "Zeta" + i).build());
+        }
+        Explanation.Node root = contact.profile(new FullText("nyu")).getRoot();
+        assertEquals(40, root.getInvocations());
+        assertEquals(2, root.getPasses());
+        assertEquals(3, root.getSamples());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#searchAll(java.util.List)}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testSearchAllWithNullCriteria() {
+        contact.searchAll(Arrays.asList(NonNull.INSTANCE, null));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#searchAll(java.util.List)}.
+     */
+    @Test
+    public void testSearchAll() {
+        ContactField areaCode = new ContactField.ContactFieldBuilder().areaCode(123).build();
+        List<SearchCriteria> criterias = Arrays.asList(
+                new Regex("nyu\\.edu"),
+                new FullText("I am"),
+                new And(new Regex("nyu\\.edu"), areaCode),
+                new Or(areaCode, new FullText("brooklyn")),
+                new Regex("nyu\\.edu"),
+                new ContactField.ContactFieldBuilder().firstName("Sheldon").build());
+        List<List<ContactEntry>> results = contact.searchAll(criterias);
+        assertEquals(criterias.size(), results.size());
+        for (int i = 0; i < criterias.size(); i++) {
+            assertEquals(contact.search(criterias.get(i)), results.get(i));
+        }
+        assertEquals(Collections.emptyList(), contact.searchAll(new ArrayList<SearchCriteria>()));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#searchAsync(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testSearchAsync() throws Exception {
+        assertEquals(contactEntryList.subList(1, 3), contact.searchAsync(new FullText("I am")).get(5, TimeUnit.SECONDS));
+        assertEquals(Collections.emptyList(), contact.searchAsync(new FullText("Sheldon"), new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        }).getNow(null));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#publish(edu.nyu.cs.addressbook.search.SearchCriteria, java.util.concurrent.Executor)}.
+     */
+    @Test
+    public void testPublishWithBackpressure() {
+        final List<String> events = new ArrayList<>();
+        final Flow.Subscription[] subscription = new Flow.Subscription[1];
+        contact.publish(NonNull.INSTANCE, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        }).subscribe(new Flow.Subscriber<ContactEntry>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(ContactEntry item) {
+                events.add(item.getFirstName());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                events.add("error");
+            }
+
+            @Override
+            public void onComplete() {
+                events.add("complete");
+            }
+        });
+        assertEquals(Collections.emptyList(), events);
+        subscription[0].request(1);
+        assertEquals(Arrays.asList("Jennifer"), events);
+        subscription[0].request(5);
+        assertEquals(Arrays.asList("Jennifer", "Shen", "Howard", "complete"), events);
+        subscription[0].request(1);
+        assertEquals(4, events.size());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#publish(edu.nyu.cs.addressbook.search.SearchCriteria, java.util.concurrent.Executor)}.
+     */
+    @Test
+    public void testPublishWithChangesAhead() {
+        final List<String> events = new ArrayList<>();
+        final Flow.Subscription[] subscription = new Flow.Subscription[1];
+        contact.publish(NonNull.INSTANCE, new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        }).subscribe(new Flow.Subscriber<ContactEntry>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(ContactEntry item) {
+                events.add(item.getFirstName());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                events.add("error");
+            }
+
+            @Override
+            public void onComplete() {
+                events.add("complete");
+            }
+        });
+        subscription[0].request(1);
+        assertEquals(Arrays.asList("Jennifer"), events);
+        ContactEntry jennifer = contact.getContacts().get(0);
+        ContactEntry shen = contact.getContacts().get(1);
+        contact.remove(jennifer);
+        contact.add(shen);
+        contact.add(new ContactEntry.ContactEntryBuilder("Amy", "Zeta").build());
+        subscription[0].request(10);
+        assertEquals(Arrays.asList("Jennifer", "Shen", "Shen", "Howard", "Amy", "complete"), events);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#publish(edu.nyu.cs.addressbook.search.SearchCriteria, java.util.concurrent.Executor)}.
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testPublishWithInvalidRequest() throws Exception {
+        final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        Flow.Subscriber<ContactEntry> subscriber = new Flow.Subscriber<ContactEntry>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                s.request(0);
+            }
+
+            @Override
+            public void onNext(ContactEntry item) {
+                events.add(item.getFirstName());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                events.add(throwable.getClass().getSimpleName());
+            }
+
+            @Override
+            public void onComplete() {
+                events.add("complete");
+            }
+        };
+        contact.publish(new FullText("I am"), ForkJoinPool.commonPool()).subscribe(subscriber);
+        assertEquals("IllegalArgumentException", events.poll(5, TimeUnit.SECONDS));
+        contact.publish(NonNull.INSTANCE, ForkJoinPool.commonPool()).subscribe(new Flow.Subscriber<ContactEntry>() {
+            @Override
+            public void onSubscribe(Flow.Subscription s) {
+                s.request(Long.MAX_VALUE);
+            }
+
+            @Override
+            public void onNext(ContactEntry item) {
+                events.add(item.getFirstName());
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                events.add("error");
+            }
+
+            @Override
+            public void onComplete() {
+                events.add("complete");
+            }
+        });
+        assertEquals("Jennifer", events.poll(5, TimeUnit.SECONDS));
+        assertEquals("Shen", events.poll(5, TimeUnit.SECONDS));
+        assertEquals("Howard", events.poll(5, TimeUnit.SECONDS));
+        assertEquals("complete", events.poll(5, TimeUnit.SECONDS));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#addListener(edu.nyu.cs.addressbook.ContactListener)}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testAddListenerWithNullObject() {
+        contact.addListener(null);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#addListener(edu.nyu.cs.addressbook.ContactListener)}.
+     */
+    @Test
+    public void testAddListenerWithEntryChanges() {
+        StateCountView view = new StateCountView();
+        contact.addListener(view);
+        assertEquals(1, view.getCount(State.NY));
+        assertEquals(1, view.getCount(State.CA));
+        
+        ContactEntry ce = contactEntryList.get(2);
+        ce.addPostalAddress(new PostalAddress.PostalAddressBuilder().state(State.NY).build());
+        assertEquals(2, view.getCount(State.NY));
+        contactEntryList.get(1).clearPostalAddresses();
+        assertEquals(1, view.getCount(State.NY));
+        assertEquals(0, view.getCount(State.CA));
+        assertTrue(contact.remove(new ContactEntry.ContactEntryBuilder("Howard", "Wolowitz").build()));
+        assertEquals(0, view.getCount(State.NY));
+        ce.addPostalAddress(new PostalAddress.PostalAddressBuilder().state(State.CA).build());
+        assertEquals(0, view.getCount(State.CA));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#addListener(edu.nyu.cs.addressbook.ContactListener)}.
+     */
+    @Test
+    public void testAddListenerWithContinuousQuery() {
+        final List<String> events = new ArrayList<>();
+        MatchListener listener = new MatchListener() {
+            @Override
+            public void matchesChanged(List<MatchEvent> batch) {
+                for (MatchEvent event : batch) {
+                    events.add(event.toString());
+                }
+            }
+        };
+        Executor direct = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                command.run();
+            }
+        };
+        ContinuousQuery query = new ContinuousQuery(new FullText("student"), listener, direct, 16);
+        contact.addListener(query);
+        contactEntryList.get(2).setNote("Former student of MIT.");
+        contact.remove(contactEntryList.get(1));
+        assertEquals(Arrays.asList("ENTER Shen Li", "ENTER Howard Wolowitz", "LEAVE Shen Li"), events);
+        assertEquals(Arrays.asList(contactEntryList.get(2)), query.getMatches());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#removeListener(edu.nyu.cs.addressbook.ContactListener)}.
+     */
+    @Test
+    public void testRemoveListener() {
+        StateCountView view = new StateCountView();
+        contact.addListener(view);
+        assertTrue(contact.removeListener(view));
+        assertFalse(contact.removeListener(view));
+        contact.clear();
+        assertEquals(1, view.getCount(State.NY));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#addListener(edu.nyu.cs.addressbook.ContactListener)}.
+     */
+    @Test
+    public void testAddListenerWithAddressBookSketch() {
+        AddressBookSketch sketch = new AddressBookSketch();
+        contact.addListener(sketch);
+        assertEquals(4, sketch.getDistinctCount(AddressBookSketch.Field.DOMAIN));
+        assertEquals(2, sketch.getDistinctCount(AddressBookSketch.Field.CITY));
+        assertEquals(3, sketch.getDistinctCount(AddressBookSketch.Field.AREA_CODE));
+        ContactEntry ce = new ContactEntry.ContactEntryBuilder("Amy", "Farrah Fowler")
+                .postalAddress(new PostalAddress.PostalAddressBuilder().city("Brooklyn").build()).build();
+        contact.add(ce);
+        assertEquals(2, sketch.getCount(AddressBookSketch.Field.CITY, "Brooklyn"));
+        assertEquals(Arrays.asList("Brooklyn"), sketch.getTop(AddressBookSketch.Field.CITY, 1));
+        contact.remove(ce);
+        assertEquals(1, sketch.getCount(AddressBookSketch.Field.CITY, "Brooklyn"));
+        AddressBookSketch merged = AddressBookSketch.ofAll(Arrays.asList(contact, contact));
+        assertEquals(2, merged.getCount(AddressBookSketch.Field.DOMAIN, "NYU.edu"));
+        assertEquals(4, merged.getDistinctCount(AddressBookSketch.Field.DOMAIN));
+        assertEquals(1, AddressBookSketch.of(contact).getCount(AddressBookSketch.Field.AREA_CODE, "646"));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#search(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testSearchWithCompiled() {
+        SearchCriteria criteria = new Or(new FullText("nyu"), new FullText("jennifer"));
+        assertEquals(contact.search(criteria), contact.search(new Compiled(criteria)));
+        contact.addIndex(new FullTextIndex());
+        assertEquals("union of [FullTextIndex for FullText(nyu) -> 2 candidates; "
+                + "FullTextIndex for FullText(jennifer) -> 1 candidates] -> 3 candidates", 
+                contact.explain(new Compiled(criteria)).getAccessPath());
+        assertEquals(Arrays.asList(contactEntryList.get(2)), contact.search(new Compiled(
+                new And(new FullText("am"), new ContactField.ContactFieldBuilder().areaCode(123).build()))));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#addIndex(edu.nyu.cs.addressbook.SearchIndex)}.
+     */
+    @Test
+    public void testAddIndexWithSearch() {
+        contact.addIndex(new FullTextIndex());
+        assertEquals(contactEntryList.subList(1, 3), contact.search(new FullText("I am")));
+        assertEquals(Arrays.asList(contactEntryList.get(1)), contact.search(new FullText("Brooklyn NYU")));
+        assertEquals(Arrays.asList(contactEntryList.get(2)), contact.search(
+                new And(new FullText("am"), new ContactField.ContactFieldBuilder().areaCode(123).build())));
+        assertEquals(Arrays.asList(contactEntryList.get(0), contactEntryList.get(2)), contact.search(
+                new Or(new FullText("jennifer"), new FullText("cit"))));
+        
+        contactEntryList.get(0).setNote("I am new here.");
+        assertEquals(contactEntryList, contact.search(new FullText("i am")));
+        contact.remove(contactEntryList.get(1));
+        assertEquals(Collections.emptyList(), contact.search(new FullText("brooklyn")));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#addIndex(edu.nyu.cs.addressbook.SearchIndex)}.
+     */
+    @Test
+    public void testAddTrigramIndexWithSearch() {
+        List<ContactEntry> expected = contact.search(new Regex("Street"));
+        contact.addIndex(new TrigramIndex());
+        assertEquals(expected, contact.search(new Regex("Street")));
+        assertEquals(Arrays.asList(contactEntryList.get(1)), contact.search(new Regex("Li\\n\\(646\\)")));
+        assertEquals(Arrays.asList(contactEntryList.get(2)), contact.search(new Regex("w@cs\\.nyu")));
+        for (ContactEntry ce : contactEntryList) {
+            assertEquals(Arrays.asList(ce), contact.search(new Regex(ce.getFirstName() + " " + ce.getLastName())));
+        }
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#addIndex(edu.nyu.cs.addressbook.SearchIndex)}.
+     */
+    @Test
+    public void testAddFuzzyNameIndexWithSearch() {
+        contact.addIndex(new FuzzyNameIndex());
+        assertEquals(Arrays.asList(contactEntryList.get(2)), contact.search(new Fuzzy("Wolowits", 1)));
+        assertEquals(Arrays.asList(contactEntryList.get(0), contactEntryList.get(2)), 
+                contact.search(new Or(new Fuzzy("Jenifer", 1), new Fuzzy("Haward", 1))));
+        contact.remove(contactEntryList.get(2));
+        assertEquals(Collections.emptyList(), contact.search(new Fuzzy("Wolowits", 1)));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#addIndex(edu.nyu.cs.addressbook.SearchIndex)}.
+     */
+    @Test
+    public void testAddPhoneticIndexWithSearch() {
+        contact.addIndex(new PhoneticIndex());
+        assertEquals(Arrays.asList(contactEntryList.get(1)), contact.search(new SoundsLike("Shan")));
+        assertEquals(Arrays.asList(contactEntryList.get(2)), contact.search(
+                new And(new SoundsLike("Hayward"), new ContactField.ContactFieldBuilder().areaCode(123).build())));
+        assertEquals(Arrays.asList(contactEntryList.get(0), contactEntryList.get(2)), 
+                contact.search(new Or(new SoundsLike("Jenifer"), new SoundsLike("Wolowits"))));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#addIndex(edu.nyu.cs.addressbook.SearchIndex)}.
+     */
+    @Test
+    public void testAddIndexWithDuplicateEntries() {
+        ContactEntry ce = contactEntryList.get(0);
+        TrigramIndex index = new TrigramIndex();
+        contact.add(ce);
+        contact.addIndex(index);
+        assertEquals(Arrays.asList(ce, ce), index.candidates(new Regex("Darlington")));
+        contact.remove(ce);
+        assertEquals(Arrays.asList(ce), index.candidates(new Regex("Darlington")));
+        contact.remove(ce);
+        assertEquals(Collections.emptyList(), index.candidates(new Regex("Darlington")));
+        contact.add(ce);
+        assertEquals(Arrays.asList(ce), index.candidates(new Regex("Darlington")));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#addIndex(edu.nyu.cs.addressbook.SearchIndex)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddIndexWithRegisteredIndex() {
+        FullTextIndex index = new FullTextIndex();
+        contact.addIndex(index);
+        contact.removeIndex(index);
+        contact.addIndex(index);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#removeIndex(edu.nyu.cs.addressbook.SearchIndex)}.
+     */
+    @Test
+    public void testRemoveIndex() {
+        FullTextIndex index = new FullTextIndex();
+        contact.addIndex(index);
+        assertTrue(contact.removeIndex(index));
+        assertFalse(contact.removeIndex(index));
+        contactEntryList.get(0).setNote("Brooklyn");
+        assertEquals(Arrays.asList(contactEntryList.get(0), contactEntryList.get(1)),
+                contact.search(new FullText("brooklyn")));
+    }
+    
     /**
      * Test method for {@link edu.nyu.cs.addressbook.Contact#iterator()}.
      */
@@ -3,6 +3,8 @@ package edu.nyu.cs.addressbook;
 import static org.junit.Assert.*;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -11,6 +13,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -242,6 +246,28 @@ public class ContactUtilTest {
         }
     }
     
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactUtil#load(java.io.InputStream)}.
+     * @throws SAXException 
+     * @throws ParserConfigurationException 
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadWithIllegalUidObject() throws SAXException, ParserConfigurationException {
+        InputStream input;
+        try {
+            input = new BufferedInputStream(
+                            new FileInputStream(
+                                    TEST_FILES_ROOT + "input_test_with_illegal_uid.xml"));
+            @SuppressWarnings("unused")
+            Contact c = ContactUtil.load(input);
+            input.close();
+        } catch (FileNotFoundException e) {
+            e.printStackTrace();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+    
     /**
      * Test method for {@link edu.nyu.cs.addressbook.ContactUtil#load(java.io.InputStream)}.
      * @throws SAXException 
@@ -613,4 +639,293 @@ public class ContactUtilTest {
         }
     }
 
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactUtil#save(java.io.OutputStream, edu.nyu.cs.addressbook.Contact)}.
+     * @throws ParserConfigurationException 
+     * @throws SAXException 
+     * @throws TransformerException 
+     * @throws IOException 
+     */
+    @Test
+    public void testSaveWithEntryIds() 
+            throws ParserConfigurationException, SAXException, TransformerException, IOException {
+        Contact originContact = new Contact("Bernadette");
+        for (ContactEntry ce : contactEntryList) {
+            originContact.add(ce);
+        }
+        originContact.remove(contactEntryList.get(1));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ContactUtil.save(output, originContact);
+        Contact newContact = ContactUtil.load(new ByteArrayInputStream(output.toByteArray()));
+        assertEquals(originContact.getContacts(), newContact.getContacts());
+        for (ContactEntry ce : originContact) {
+            assertEquals(ce, newContact.getEntry(originContact.idOf(ce)));
+        }
+        assertNull(newContact.getEntry(1));
+        ContactEntry ce = new ContactEntry.ContactEntryBuilder("Amy", "Fowler").build();
+        newContact.add(ce);
+        assertEquals(1, newContact.idOf(ce));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactUtil#saveDelta(java.io.OutputStream, edu.nyu.cs.addressbook.Contact)}.
+     * @throws ParserConfigurationException 
+     * @throws SAXException 
+     * @throws TransformerException 
+     * @throws IOException 
+     */
+    @Test
+    public void testSaveDelta() 
+            throws ParserConfigurationException, SAXException, TransformerException, IOException {
+        Contact originContact = new Contact("Stuart");
+        for (ContactEntry ce : contactEntryList) {
+            originContact.add(ce);
+        }
+        ByteArrayOutputStream base = new ByteArrayOutputStream();
+        ContactUtil.save(base, originContact);
+        originContact.markClean();
+        
+        contactEntryList.get(2).setNote("I am a graduate student.");
+        contactEntryList.get(1).clearPostalAddresses();
+        originContact.remove(contactEntryList.get(0));
+        originContact.add(new ContactEntry.ContactEntryBuilder("Amy", "Fowler").note("neuroscientist").build());
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        assertEquals(4, ContactUtil.saveDelta(delta, originContact));
+        assertFalse(originContact.isDirty());
+        assertFalse(contactEntryList.get(2).isDirty());
+        assertFalse(new String(delta.toByteArray()).contains("Wolowitz"));
+        
+        Contact newContact = ContactUtil.load(new ByteArrayInputStream(base.toByteArray()), "Stuart");
+        ContactUtil.loadDelta(new ByteArrayInputStream(delta.toByteArray()), newContact);
+        assertEquals(originContact.toString(), newContact.toString());
+        for (ContactEntry ce : originContact) {
+            assertEquals(ce.toString(), newContact.getEntry(originContact.idOf(ce)).toString());
+        }
+        
+        ByteArrayOutputStream empty = new ByteArrayOutputStream();
+        assertEquals(0, ContactUtil.saveDelta(empty, originContact));
+        ContactUtil.loadDelta(new ByteArrayInputStream(empty.toByteArray()), newContact);
+        assertEquals(originContact.toString(), newContact.toString());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactUtil#loadDelta(java.io.InputStream, edu.nyu.cs.addressbook.Contact)}.
+     * @throws ParserConfigurationException 
+     * @throws SAXException 
+     * @throws TransformerException 
+     * @throws IOException 
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadDeltaWithOtherId() 
+            throws ParserConfigurationException, SAXException, TransformerException, IOException {
+        Contact originContact = new Contact("Stuart");
+        originContact.add(contactEntryList.get(0));
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        ContactUtil.saveDelta(delta, originContact);
+        ContactUtil.loadDelta(new ByteArrayInputStream(delta.toByteArray()), new Contact("Kripke"));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactUtil#loadDelta(java.io.InputStream, edu.nyu.cs.addressbook.Contact)}.
+     * @throws ParserConfigurationException 
+     * @throws SAXException 
+     * @throws TransformerException 
+     * @throws IOException 
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadDeltaWithBaseFile() 
+            throws ParserConfigurationException, SAXException, TransformerException, IOException {
+        Contact originContact = new Contact("Stuart");
+        ByteArrayOutputStream base = new ByteArrayOutputStream();
+        ContactUtil.save(base, originContact);
+        ContactUtil.loadDelta(new ByteArrayInputStream(base.toByteArray()), originContact);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactUtil#loadDelta(java.io.InputStream, edu.nyu.cs.addressbook.Contact)}.
+     * @throws ParserConfigurationException 
+     * @throws SAXException 
+     * @throws TransformerException 
+     * @throws IOException 
+     */
+    @Test
+    public void testLoadDeltaWithIllegalUid() 
+            throws ParserConfigurationException, SAXException, TransformerException, IOException {
+        Contact originContact = new Contact("Stuart");
+        originContact.add(contactEntryList.get(0));
+        ByteArrayOutputStream delta = new ByteArrayOutputStream();
+        ContactUtil.saveDelta(delta, originContact);
+        String corrupt = delta.toString("UTF-8").replace("uid=\"0\"", "uid=\"2147483646\"");
+        
+        Contact newContact = new Contact("Stuart");
+        try {
+            ContactUtil.loadDelta(new ByteArrayInputStream(corrupt.getBytes("UTF-8")), newContact);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(0, newContact.getContacts().size());
+            assertEquals(0, newContact.entryIdBound());
+        }
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactUtil#loadIncremental(java.io.File)}.
+     * @throws ParserConfigurationException 
+     * @throws SAXException 
+     * @throws TransformerException 
+     * @throws IOException 
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testLoadIncrementalWithIllegalUid() 
+            throws ParserConfigurationException, SAXException, TransformerException, IOException {
+        File base = File.createTempFile("Wyatt", ".xml");
+        File first = new File(base.getPath() + ".delta.1");
+        Contact originContact = new Contact("Wyatt");
+        originContact.add(contactEntryList.get(0));
+        try {
+            ContactUtil.compact(base, originContact);
+            originContact.add(contactEntryList.get(1));
+            assertEquals(first, ContactUtil.saveIncremental(base, originContact));
+            String delta = new String(Files.readAllBytes(first.toPath()), "UTF-8");
+            Files.write(first.toPath(), delta.replace("uid=\"1\"", "uid=\"3\"").getBytes("UTF-8"));
+            ContactUtil.loadIncremental(base);
+        } finally {
+            base.delete();
+            first.delete();
+        }
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactUtil#saveIncremental(java.io.File, edu.nyu.cs.addressbook.Contact)}.
+     * @throws ParserConfigurationException 
+     * @throws SAXException 
+     * @throws TransformerException 
+     * @throws IOException 
+     */
+    @Test
+    public void testSaveIncremental() 
+            throws ParserConfigurationException, SAXException, TransformerException, IOException {
+        File base = File.createTempFile("Wyatt", ".xml");
+        File first = new File(base.getPath() + ".delta.1");
+        File second = new File(base.getPath() + ".delta.2");
+        Contact originContact = new Contact("Wyatt");
+        for (ContactEntry ce : contactEntryList) {
+            originContact.add(ce);
+        }
+        try {
+            ContactUtil.compact(base, originContact);
+            assertFalse(originContact.isDirty());
+            assertNull(ContactUtil.saveIncremental(base, originContact));
+            
+            contactEntryList.get(1).addPhoneNumber(new PhoneNumber(212, 998, 3011));
+            assertEquals(first, ContactUtil.saveIncremental(base, originContact));
+            originContact.remove(contactEntryList.get(1));
+            contactEntryList.get(2).setNote("I am a graduate student.");
+            assertEquals(second, ContactUtil.saveIncremental(base, originContact));
+            
+            try (Contact newContact = ContactUtil.loadIncremental(base)) {
+                assertFalse(newContact.isDirty());
+                assertEquals(originContact.toString(), newContact.toString());
+            }
+            
+            ContactUtil.compact(base, originContact);
+            assertFalse(first.exists());
+            assertFalse(second.exists());
+            try (Contact newContact = ContactUtil.loadIncremental(base)) {
+                assertEquals(originContact.toString(), newContact.toString());
+            }
+        } finally {
+            base.delete();
+            first.delete();
+            second.delete();
+        }
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactUtil#compact(java.io.File, edu.nyu.cs.addressbook.Contact)}.
+     * @throws ParserConfigurationException 
+     * @throws SAXException 
+     * @throws TransformerException 
+     * @throws IOException 
+     */
+    @Test
+    public void testCompactWithSegmentsLeftBehind() 
+            throws ParserConfigurationException, SAXException, TransformerException, IOException {
+        File base = File.createTempFile("Wyatt", ".xml");
+        File first = new File(base.getPath() + ".delta.1");
+        File second = new File(base.getPath() + ".delta.2");
+        File kept = new File(base.getPath() + ".kept");
+        Contact originContact = new Contact("Wyatt");
+        originContact.add(contactEntryList.get(0));
+        originContact.add(contactEntryList.get(1));
+        try {
+            ContactUtil.compact(base, originContact);
+            contactEntryList.get(0).setNote("I am a cheerleader.");
+            originContact.remove(contactEntryList.get(1));
+            assertEquals(first, ContactUtil.saveIncremental(base, originContact));
+            Files.copy(first.toPath(), kept.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            
+            contactEntryList.get(0).setNote("I am a waitress.");
+            originContact.add(contactEntryList.get(2));
+            ContactUtil.compact(base, originContact);
+            assertFalse(first.exists());
+            Files.move(kept.toPath(), first.toPath());
+            try (Contact newContact = ContactUtil.loadIncremental(base)) {
+                assertEquals(originContact.toString(), newContact.toString());
+            }
+            
+            contactEntryList.get(2).setNote("I am a graduate student.");
+            assertEquals(second, ContactUtil.saveIncremental(base, originContact));
+            try (Contact newContact = ContactUtil.loadIncremental(base)) {
+                assertEquals(originContact.toString(), newContact.toString());
+                assertEquals(originContact.idOf(contactEntryList.get(2)), 
+                        newContact.idOf(newContact.getContacts().get(1)));
+            }
+            
+            ContactUtil.compact(base, originContact);
+            assertFalse(first.exists());
+            assertFalse(second.exists());
+        } finally {
+            base.delete();
+            first.delete();
+            second.delete();
+            kept.delete();
+        }
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.ContactUtil#saveIncremental(java.io.File, edu.nyu.cs.addressbook.Contact)}.
+     * @throws ParserConfigurationException 
+     * @throws SAXException 
+     * @throws TransformerException 
+     * @throws IOException 
+     */
+    @Test
+    public void testSaveIncrementalWithStaleSegments() 
+            throws ParserConfigurationException, SAXException, TransformerException, IOException {
+        File base = File.createTempFile("Wyatt", ".xml");
+        File first = new File(base.getPath() + ".delta.1");
+        File second = new File(base.getPath() + ".delta.2");
+        Contact originContact = new Contact("Wyatt");
+        originContact.add(contactEntryList.get(0));
+        try {
+            ContactUtil.compact(base, originContact);
+            originContact.add(contactEntryList.get(2));
+            try (OutputStream stale = new FileOutputStream(second)) {
+                ContactUtil.saveDelta(stale, originContact);
+            }
+            
+            contactEntryList.get(0).setNote("I am a cheerleader.");
+            assertEquals(first, ContactUtil.saveIncremental(base, originContact));
+            assertFalse(second.exists());
+            try (Contact newContact = ContactUtil.loadIncremental(base)) {
+                assertEquals(1, newContact.getContacts().size());
+                assertEquals("I am a cheerleader.", newContact.getContacts().get(0).getNote());
+            }
+        } finally {
+            base.delete();
+            first.delete();
+            second.delete();
+        }
+    }
+
 }
@@ -198,4 +198,28 @@ public class CriteriaIteratorTest {
 		contactMatcherCriteriaIterator.remove();
 	}
 
+	/**
+	 * Test method for {@link edu.nyu.cs.addressbook.SearchIterator#getTruncation()}.
+	 */
+	@Test
+	public void testSearchIteratorWithControl() {
+		SearchIterator<SearchCriteria> it = new SearchIterator<SearchCriteria>(
+				contactEntryList.iterator(), NonNull.INSTANCE,
+				new SearchControl.SearchControlBuilder().maxExamined(2).build());
+		assertEquals(contactEntryList.get(0), it.next());
+		assertEquals(contactEntryList.get(1), it.next());
+		assertFalse(it.hasNext());
+		assertTrue(it.isTruncated());
+		assertEquals(Truncation.BUDGET, it.getTruncation());
+		
+		it = new SearchIterator<SearchCriteria>(
+				contactEntryList.iterator(), new Regex("nyu\\.edu"),
+				new SearchControl.SearchControlBuilder().maxExamined(3).build());
+		assertEquals(contactEntryList.get(1), it.next());
+		assertEquals(contactEntryList.get(2), it.next());
+		assertFalse(it.hasNext());
+		assertFalse(it.isTruncated());
+		assertFalse(nonNullCriteriaIterator.isTruncated());
+	}
+	
 }
@@ -0,0 +1,88 @@
+package edu.nyu.cs.addressbook;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class EntryChangesTest {
+    private EntryIds ids;
+    private EntryChanges changes;
+    private ContactEntry[] entries;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        ids = new EntryIds();
+        changes = new EntryChanges();
+        entries = new ContactEntry[8];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new ContactEntry.ContactEntryBuilder("First", "Last" + i).build();
+            ids.assign(entries[i]);
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.EntryChanges#take(edu.nyu.cs.addressbook.EntryIds)}.
+     */
+    @Test
+    public void testTake() {
+        assertTrue(changes.isEmpty());
+        changes.changed(5);
+        changes.changed(2);
+        changes.changed(5);
+        entries[2].markDirty();
+        ids.remove(entries[3]);
+        changes.removed(3);
+        assertFalse(changes.isEmpty());
+        assertTrue(changes.isDeleted(3));
+
+        EntryChanges.Delta delta = changes.take(ids);
+        assertTrue(changes.isEmpty());
+        assertArrayEquals(new int[] { 3 }, delta.deletedIds);
+        assertArrayEquals(new int[] { 2, 5 }, delta.entryIds);
+        assertArrayEquals(new ContactEntry[] { entries[2], entries[5] }, delta.entries);
+        assertFalse(entries[2].isDirty());
+        assertEquals(3, delta.size());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.EntryChanges#take(edu.nyu.cs.addressbook.EntryIds)}.
+     */
+    @Test
+    public void testTakeWithRecycledId() {
+        changes.changed(4);
+        ids.remove(entries[4]);
+        changes.removed(4);
+        ContactEntry ce = new ContactEntry.ContactEntryBuilder("Other", "Last4").build();
+        changes.changed(ids.assign(ce));
+        assertFalse(changes.isDeleted(4));
+
+        EntryChanges.Delta delta = changes.take(ids);
+        assertArrayEquals(new int[] { 4 }, delta.deletedIds);
+        assertArrayEquals(new ContactEntry[] { ce }, delta.entries);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.EntryChanges#restore(edu.nyu.cs.addressbook.EntryChanges.Delta, edu.nyu.cs.addressbook.EntryIds)}.
+     */
+    @Test
+    public void testRestore() {
+        changes.changed(1);
+        changes.changed(6);
+        changes.removed(7);
+        EntryChanges.Delta delta = changes.take(ids);
+        ids.remove(entries[6]);
+        changes.removed(6);
+        changes.restore(delta, ids);
+        assertTrue(entries[1].isDirty());
+        assertFalse(entries[6].isDirty());
+
+        EntryChanges.Delta again = changes.take(ids);
+        assertArrayEquals(new int[] { 6, 7 }, again.deletedIds);
+        assertArrayEquals(new int[] { 1 }, again.entryIds);
+    }
+
+}
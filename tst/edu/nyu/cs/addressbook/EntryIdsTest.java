@@ -0,0 +1,134 @@
+package edu.nyu.cs.addressbook;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class EntryIdsTest {
+    private EntryIds ids;
+    private ContactEntry[] entries;
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        ids = new EntryIds();
+        entries = new ContactEntry[40];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = new ContactEntry.ContactEntryBuilder("First", "Last" + i).build();
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.EntryIds#assign(edu.nyu.cs.addressbook.ContactEntry)}.
+     */
+    @Test
+    public void testAssign() {
+        for (int i = 0; i < entries.length; i++) {
+            assertEquals(i, ids.assign(entries[i]));
+        }
+        assertEquals(7, ids.assign(entries[7]));
+        assertEquals(-1, ids.remove(entries[7]));
+        assertEquals(7, ids.remove(entries[7]));
+        assertEquals(30, ids.remove(entries[30]));
+        ContactEntry ce = new ContactEntry.ContactEntryBuilder("First", "Last7").build();
+        assertEquals(30, ids.assign(ce));
+        assertEquals(7, ids.assign(entries[7]));
+        assertEquals(entries.length, ids.assign(entries[30]));
+        assertSame(ce, ids.entryOf(30));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.EntryIds#assign(edu.nyu.cs.addressbook.ContactEntry, int)}.
+     */
+    @Test
+    public void testAssignWithId() {
+        ids.reserve(21);
+        assertEquals(21, ids.bound());
+        assertEquals(20, ids.assign(entries[0], 20));
+        assertEquals(5, ids.assign(entries[1], 5));
+        assertEquals(20, ids.assign(entries[0], 20));
+        assertEquals(-1, ids.remove(entries[0]));
+        for (int i = 2; i < 21; i++) {
+            int id = ids.assign(entries[i]);
+            assertTrue(id != 5 && id != 20);
+            assertSame(entries[i], ids.entryOf(id));
+        }
+        assertEquals(21, ids.assign(entries[21]));
+        assertEquals(0, ids.freeIds().length);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.EntryIds#assign(edu.nyu.cs.addressbook.ContactEntry, int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testAssignWithIdBeyondBound() {
+        ids.reserve(3);
+        ids.assign(entries[0], 4);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.EntryIds#freeIds()}.
+     */
+    @Test
+    public void testFreeIds() {
+        ids.reserve(3);
+        ids.assign(entries[0], 1);
+        ids.assign(entries[1]);
+        assertArrayEquals(new int[] { 2 }, ids.freeIds());
+        ids.remove(entries[0]);
+        assertArrayEquals(new int[] { 1, 2 }, ids.freeIds());
+        assertEquals(3, ids.bound());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.EntryIds#assign(edu.nyu.cs.addressbook.ContactEntry, int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testAssignWithNegativeId() {
+        ids.assign(entries[0], -1);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.EntryIds#assign(edu.nyu.cs.addressbook.ContactEntry, int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testAssignWithOtherId() {
+        ids.reserve(5);
+        ids.assign(entries[0], 3);
+        ids.assign(entries[0], 4);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.EntryIds#entries(int[], int)}.
+     */
+    @Test
+    public void testEntries() {
+        ids.assign(entries[2]);
+        ids.assign(entries[1]);
+        ids.assign(entries[2]);
+        ids.assign(entries[3]);
+        assertEquals(2, ids.occurrences(0));
+        assertEquals(0, ids.occurrences(7));
+        assertEquals(Arrays.asList(entries[1], entries[2], entries[2]), ids.entries(new int[] { 0, 1, 7 }, 3));
+        assertEquals(Arrays.asList(entries[2], entries[2]), ids.entries(new int[] { 0, 1 }, 1));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.EntryIds#idOf(edu.nyu.cs.addressbook.ContactEntry)}.
+     */
+    @Test
+    public void testIdOf() {
+        assertEquals(-1, ids.idOf(entries[0]));
+        ids.assign(entries[0]);
+        assertEquals(0, ids.idOf(entries[0]));
+        assertEquals(-1, ids.idOf(new ContactEntry.ContactEntryBuilder("First", "Last0").build()));
+        assertNull(ids.entryOf(1));
+        assertNull(ids.entryOf(100));
+    }
+
+}
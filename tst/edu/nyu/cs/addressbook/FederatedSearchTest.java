@@ -0,0 +1,233 @@
+package edu.nyu.cs.addressbook;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.SynchronousQueue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.search.impl.ContactField;
+import edu.nyu.cs.addressbook.search.impl.Regex;
+
+public class FederatedSearchTest {
+    private ExecutorService executor;
+    private Contact eleven;
+    private Contact sheldon;
+    private ContactEntry shen;
+    private ContactEntry howard;
+    private ContactEntry leonard;
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        executor = Executors.newFixedThreadPool(2);
+        eleven = new Contact("Eleven");
+        sheldon = new Contact("Sheldon");
+        shen = new ContactEntry.ContactEntryBuilder("Shen", "Li")
+                    .phoneNumber(new PhoneNumber(646, 620, 5666)).build();
+        howard = new ContactEntry.ContactEntryBuilder("Howard", "Wolowitz")
+                    .phoneNumber(new PhoneNumber(646, 620, 5666)).build();
+        leonard = new ContactEntry.ContactEntryBuilder("Leonard", "Hofstadter")
+                    .phoneNumber(new PhoneNumber(123, 456, 7890)).build();
+        eleven.add(shen);
+        eleven.add(leonard);
+        sheldon.add(howard);
+    }
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.FederatedSearch#next()}.
+     */
+    @Test
+    public void testSearch() {
+        FederatedSearch fs = new FederatedSearch(Arrays.asList(eleven, sheldon), 
+                new ContactField.ContactFieldBuilder().areaCode(646).build(), executor, 10, TimeUnit.SECONDS);
+        List<String> hits = new ArrayList<>();
+        while (fs.hasNext()) {
+            FederatedSearch.Hit hit = fs.next();
+            hits.add(hit.getContactId() + ":" + hit.getEntry().getFirstName());
+        }
+        Collections.sort(hits);
+        assertEquals(Arrays.asList("Eleven:Shen", "Sheldon:Howard"), hits);
+        assertEquals(Collections.emptyList(), fs.getTimedOutIds());
+        assertFalse(fs.isCancelled());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.FederatedSearch#getTimedOutIds()}.
+     */
+    @Test
+    public void testSearchWithTimeout() {
+        final CountDownLatch latch = new CountDownLatch(1);
+        SearchCriteria blocking = new SearchCriteria() {
+            @Override
+            public boolean matchCondition(ContactEntry element) {
+                if (element == howard) {
+                    try {
+                        latch.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                return true;
+            }
+        };
+        FederatedSearch fs = new FederatedSearch(
+                Arrays.asList(eleven, sheldon), blocking, executor, 200, TimeUnit.MILLISECONDS);
+        List<ContactEntry> entries = new ArrayList<>();
+        while (fs.hasNext()) {
+            entries.add(fs.next().getEntry());
+        }
+        latch.countDown();
+        assertEquals(Arrays.asList(leonard, shen), entries);
+        assertEquals(Arrays.asList("Sheldon"), fs.getTimedOutIds());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.FederatedSearch#cancel()}.
+     */
+    @Test
+    public void testCancel() {
+        FederatedSearch fs = new FederatedSearch(Arrays.asList(eleven, sheldon), 
+                new ContactField.ContactFieldBuilder().areaCode(646).build(), executor, 10, TimeUnit.SECONDS);
+        fs.cancel();
+        assertTrue(fs.isCancelled());
+        assertFalse(fs.hasNext());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.FederatedSearch#getTimedOutIds()}.
+     */
+    @Test
+    public void testSearchWithQueuedList() {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        try {
+            SearchCriteria slow = new SearchCriteria() {
+                @Override
+                public boolean matchCondition(ContactEntry element) {
+                    spin(TimeUnit.MILLISECONDS.toNanos(element == howard ? 600 : 300));
+                    return element != leonard;
+                }
+            };
+            FederatedSearch fs = new FederatedSearch(
+                    Arrays.asList(eleven, sheldon), slow, single, 1, TimeUnit.SECONDS);
+            List<ContactEntry> entries = new ArrayList<>();
+            while (fs.hasNext()) {
+                entries.add(fs.next().getEntry());
+            }
+            assertEquals(Arrays.asList(shen, howard), entries);
+            assertEquals(Collections.emptyList(), fs.getTimedOutIds());
+        } finally {
+            single.shutdownNow();
+        }
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.FederatedSearch#cancel()}.
+     * @throws Exception 
+     */
+    @Test
+    public void testCancelReleasesThread() throws Exception {
+        ExecutorService single = Executors.newSingleThreadExecutor();
+        Contact penny = new Contact("Penny");
+        for (int i = 0; i < 500; i++) {
+            penny.add(new ContactEntry.ContactEntryBuilder("Penny" + i, "Hofstadter").build());
+        }
+        SearchCriteria slow = new SearchCriteria() {
+            @Override
+            public boolean matchCondition(ContactEntry element) {
+                spin(TimeUnit.MILLISECONDS.toNanos(10));
+                return true;
+            }
+        };
+        try {
+            FederatedSearch fs = new FederatedSearch(Arrays.asList(penny), slow, single, 1, TimeUnit.MINUTES);
+            Thread.sleep(50);
+            fs.cancel();
+            Future<?> probe = single.submit(new Runnable() {
+                @Override
+                public void run() {
+                }
+            });
+            probe.get(1, TimeUnit.SECONDS);
+            assertFalse(fs.hasNext());
+        } finally {
+            single.shutdownNow();
+        }
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.FederatedSearch#FederatedSearch(java.util.Collection, edu.nyu.cs.addressbook.search.SearchCriteria, java.util.concurrent.ExecutorService, long, java.util.concurrent.TimeUnit)}.
+     * @throws Exception 
+     */
+    @Test
+    public void testSearchWithRejection() throws Exception {
+        SearchCriteria blocking = new SearchCriteria() {
+            @Override
+            public boolean matchCondition(ContactEntry element) {
+                spin(TimeUnit.MILLISECONDS.toNanos(10));
+                return true;
+            }
+        };
+        Contact penny = new Contact("Penny");
+        for (int i = 0; i < 500; i++) {
+            penny.add(new ContactEntry.ContactEntryBuilder("Penny" + i, "Hofstadter").build());
+        }
+        ExecutorService bounded = new ThreadPoolExecutor(
+                1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<Runnable>());
+        try {
+            new FederatedSearch(Arrays.asList(penny, eleven), blocking, bounded, 1, TimeUnit.MINUTES);
+            fail();
+        } catch (RejectedExecutionException e) {
+            bounded.shutdown();
+            assertTrue(bounded.awaitTermination(1, TimeUnit.SECONDS));
+        } finally {
+            bounded.shutdownNow();
+        }
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.FederatedSearch#hasNext()}.
+     */
+    @Test(expected = java.util.regex.PatternSyntaxException.class)
+    public void testSearchWithFailure() {
+        FederatedSearch fs = new FederatedSearch(
+                Arrays.asList(eleven, sheldon), new Regex("+=-*"), executor, 10, TimeUnit.SECONDS);
+        fs.hasNext();
+    }
+    
+    /**
+     * Busy-waits for the specified time, ignoring interrupts, as a search which does not check them would.
+     */
+    private static void spin(long nanos) {
+        long end = System.nanoTime() + nanos;
+        while (System.nanoTime() - end < 0) {
+            Thread.onSpinWait();
+        }
+    }
+
+}
@@ -0,0 +1,150 @@
+package edu.nyu.cs.addressbook;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+import edu.nyu.cs.addressbook.search.impl.ContactField;
+import edu.nyu.cs.addressbook.search.impl.Regex;
+
+public class SearchCacheTest {
+    private Contact contact;
+    private SearchCache cache;
+    private ContactEntry shen;
+    private ContactEntry howard;
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        contact = new Contact("Eleven");
+        shen = new ContactEntry.ContactEntryBuilder("Shen", "Li")
+                    .phoneNumber(new PhoneNumber(646, 620, 5666))
+                    .emailAddress(new EmailAddress("sl3268", "nyu.edu"))
+                    .note("I am an internation student in NYU.").build();
+        howard = new ContactEntry.ContactEntryBuilder("Howard", "Wolowitz")
+                    .phoneNumber(new PhoneNumber(646, 456, 7890))
+                    .emailAddress(new EmailAddress("howardw", "cs.nyu.edu"))
+                    .note("I am a engineering in CIT.").build();
+        contact.add(shen);
+        contact.add(howard);
+        cache = contact.enableSearchCache(1024);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#enableSearchCache(long)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testEnableSearchCacheWithNegativeWeight() {
+        contact.enableSearchCache(-1);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.SearchCache#getHitCount()}.
+     */
+    @Test
+    public void testHitAndMiss() {
+        SearchCriteria criteria = new ContactField.ContactFieldBuilder().areaCode(646).build();
+        assertEquals(Arrays.asList(shen, howard), contact.search(criteria));
+        assertEquals(Arrays.asList(shen, howard),
+                contact.search(new ContactField.ContactFieldBuilder().areaCode(646).build()));
+        assertEquals(Arrays.asList(shen), contact.search(criteria, 1));
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#search(edu.nyu.cs.addressbook.search.SearchCriteria, int)}.
+     */
+    @Test
+    public void testMissWithLimit() {
+        SearchCriteria criteria = new ContactField.ContactFieldBuilder().areaCode(646).build();
+        assertEquals(Arrays.asList(shen), contact.search(criteria, 1));
+        assertEquals(0, cache.size());
+        assertEquals(Arrays.asList(shen, howard), contact.search(criteria, 3));
+        assertEquals(1, cache.size());
+        assertEquals(Arrays.asList(shen), contact.search(criteria, 1));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        
+        SearchCriteria note = new ContactField.ContactFieldBuilder().note("I am").build();
+        assertEquals(Arrays.asList(howard), 
+                contact.search(note, 1, Collections.<ContactEntry>reverseOrder()));
+        assertEquals(2, cache.size());
+        assertEquals(Arrays.asList(shen), contact.search(note, 1));
+        assertEquals(2, cache.getHitCount());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.SearchCache#noteChanged(edu.nyu.cs.addressbook.ContactEntry, java.lang.String)}.
+     */
+    @Test
+    public void testInvalidationByTouchedPart() {
+        SearchCriteria phone = new ContactField.ContactFieldBuilder().prefix(620).build();
+        SearchCriteria note = new ContactField.ContactFieldBuilder().note("student").build();
+        contact.search(phone);
+        contact.search(note);
+        howard.setNote("I am a student in CIT.");
+        assertEquals(Arrays.asList(shen), contact.search(phone));
+        assertEquals(Arrays.asList(shen, howard), contact.search(note));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        
+        howard.addPhoneNumber(new PhoneNumber(212, 620, 1234));
+        assertEquals(Arrays.asList(shen, howard), contact.search(phone));
+        assertEquals(4, cache.getMissCount());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.SearchCache#entryAdded(edu.nyu.cs.addressbook.ContactEntry)}.
+     */
+    @Test
+    public void testInvalidationByListChange() {
+        SearchCriteria criteria = new Regex("nyu\\.edu");
+        assertEquals(Arrays.asList(shen, howard), contact.search(criteria));
+        ContactEntry amy = new ContactEntry.ContactEntryBuilder("Amy", "Fowler")
+                                .emailAddress(new EmailAddress("amy", "nyu.edu")).build();
+        contact.add(amy);
+        assertEquals(Arrays.asList(amy, shen, howard), contact.search(criteria));
+        contact.remove(shen);
+        assertEquals(Arrays.asList(amy, howard), contact.search(criteria));
+        assertEquals(0, cache.getHitCount());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.SearchCache#getEvictionCount()}.
+     */
+    @Test
+    public void testEviction() {
+        SearchCache small = contact.enableSearchCache(150);
+        contact.search(new ContactField.ContactFieldBuilder().firstName("Shen").build());
+        contact.search(new ContactField.ContactFieldBuilder().firstName("Howard").build());
+        assertEquals(2, small.size());
+        contact.search(new ContactField.ContactFieldBuilder().lastName("Li").build());
+        assertEquals(1, small.getEvictionCount());
+        assertEquals(2, small.size());
+        assertTrue(small.getWeight() <= small.getMaximumWeight());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.Contact#disableSearchCache()}.
+     */
+    @Test
+    public void testDisableSearchCache() {
+        contact.disableSearchCache();
+        assertNull(contact.getSearchCache());
+        assertEquals(Collections.emptyList(),
+                contact.search(new ContactField.ContactFieldBuilder().firstName("Amy").build()));
+        assertEquals(0, cache.getMissCount());
+    }
+
+}
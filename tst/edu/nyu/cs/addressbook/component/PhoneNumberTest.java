@@ -188,5 +188,42 @@ public class PhoneNumberTest {
         assertTrue(phoneNumber.compareTo(phoneNumberEqual) == 0);
         assertTrue(phoneNumberEqual.compareTo(phoneNumber) == 0);
     }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.component.PhoneNumber#pack()}.
+     */
+    @Test
+    public void testPack() {
+        assertEquals((646L << 32) | (620L << 16) | 5666L, phoneNumber.pack());
+        assertEquals(0L, new PhoneNumber(0, 0, 0).pack());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.component.PhoneNumber#valueOf(long)}.
+     */
+    @Test
+    public void testValueOf() {
+        PhoneNumber pn = PhoneNumber.valueOf(phoneNumber.pack());
+        assertEquals(phoneNumber, pn);
+        assertEquals(phoneNumber.hashCode(), pn.hashCode());
+        assertEquals("(646) 620-5666", pn.toString());
+        assertSame(pn, PhoneNumber.valueOf(phoneNumber.pack()));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.component.PhoneNumber#valueOf(long)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testValueOfWithIllegalPart() {
+        PhoneNumber.valueOf(1000L << PhoneNumber.AREA_CODE_SHIFT);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.component.PhoneNumber#valueOf(long)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testValueOfWithStrayBits() {
+        PhoneNumber.valueOf(1L << 60);
+    }
 
 }
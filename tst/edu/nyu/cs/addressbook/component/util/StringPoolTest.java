@@ -0,0 +1,75 @@
+package edu.nyu.cs.addressbook.component.util;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+
+public class StringPoolTest {
+    private StringPool pool;
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        pool = new StringPool();
+    }
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        StringPool.setShared(null);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.component.util.StringPool#intern(java.lang.String)}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testInternWithNullObject() {
+        pool.intern(null);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.component.util.StringPool#intern(java.lang.String)}.
+     */
+    @Test
+    public void testIntern() {
+        String first = new String("gmail.com");
+        String second = new String("gmail.com");
+        assertSame(first, pool.intern(first));
+        assertSame(first, pool.intern(second));
+        assertSame(first, pool.intern("gmail.com"));
+        assertEquals("New York", pool.intern(new String("New York")));
+        assertEquals(2, pool.size());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.component.util.StringPool#canonical(java.lang.String)}.
+     */
+    @Test
+    public void testCanonicalWithSharedPool() {
+        String city = new String("New York");
+        assertSame(city, StringPool.canonical(city));
+        assertNull(StringPool.getShared());
+        
+        StringPool.setShared(pool);
+        assertSame(pool, StringPool.getShared());
+        EmailAddress ea1 = new EmailAddress("sl3268", new String("NYU.edu"));
+        EmailAddress ea2 = new EmailAddress("howardw", new String("nyu.edu "));
+        assertSame(ea1.getDomain(), ea2.getDomain());
+        PostalAddress pa1 = new PostalAddress.PostalAddressBuilder().city(new String("New York")).build();
+        PostalAddress pa2 = new PostalAddress.PostalAddressBuilder().city(new String(" New York")).build();
+        assertSame(pa1.getCity(), pa2.getCity());
+        
+        StringPool.setShared(null);
+        assertNotSame(ea1.getDomain(), new EmailAddress("sl3268", new String("nyu.edu")).getDomain());
+    }
+
+}
@@ -0,0 +1,113 @@
+package edu.nyu.cs.addressbook.index;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.Contact;
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.ContactFactory;
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.component.util.State;
+import edu.nyu.cs.addressbook.search.impl.FullText;
+import edu.nyu.cs.addressbook.search.impl.NonNull;
+
+public class FullTextIndexTest {
+    private FullTextIndex index;
+    private Contact contact;
+    private ContactEntry shen;
+    private ContactEntry howard;
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        index = new FullTextIndex();
+        contact = ContactFactory.getContact("FullTextIndexTest");
+        contact.addIndex(index);
+        shen = new ContactEntry.ContactEntryBuilder("Shen", "Li")
+                    .emailAddress(new EmailAddress("sl3268", "nyu.edu"))
+                    .postalAddress(
+                            new PostalAddress.PostalAddressBuilder()
+                                    .state(State.NY).city("Brooklyn").street("46th Street").build())
+                    .note("I am an internation student in NYU.").build();
+        howard = new ContactEntry.ContactEntryBuilder("Howard", "Wolowitz")
+                    .emailAddress(new EmailAddress("howardw", "cs.nyu.edu"))
+                    .note("I am a engineering in CIT.").build();
+        contact.add(shen);
+        contact.add(howard);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        contact.close();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.FullTextIndex#candidates(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testCandidatesWithOtherCriteria() {
+        assertNull(index.candidates(NonNull.INSTANCE));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.FullTextIndex#candidates(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testCandidates() {
+        assertEquals(Arrays.asList(shen, howard), index.candidates(new FullText("NYU")));
+        assertEquals(Arrays.asList(shen), index.candidates(new FullText("nyu brooklyn")));
+        assertEquals(Arrays.asList(howard), index.candidates(new FullText("am howardw")));
+        assertEquals(Collections.emptyList(), index.candidates(new FullText("nyu queens")));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.FullTextIndex#noteChanged(edu.nyu.cs.addressbook.ContactEntry, java.lang.String)}.
+     */
+    @Test
+    public void testIncrementalUpdate() {
+        howard.setNote("Brooklyn resident");
+        assertEquals(Arrays.asList(shen, howard), index.candidates(new FullText("brooklyn")));
+        assertEquals(Collections.emptyList(), index.candidates(new FullText("engineering")));
+        
+        PostalAddress pa = shen.getPostalAddresses().get(0);
+        shen.removePostalAddress(pa);
+        assertEquals(Arrays.asList(howard), index.candidates(new FullText("brooklyn")));
+        
+        EmailAddress ea = new EmailAddress("shenli", "gmail.com");
+        shen.addEmailAddress(ea);
+        assertEquals(Arrays.asList(shen), index.candidates(new FullText("gmail")));
+        
+        contact.remove(shen);
+        assertEquals(Collections.emptyList(), index.candidates(new FullText("gmail")));
+        assertEquals(Arrays.asList(howard), index.candidates(new FullText("nyu")));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.FullTextIndex#getTokenCount()}.
+     */
+    @Test
+    public void testGetTokenCount() {
+        int count = index.getTokenCount();
+        contact.add(shen);
+        assertEquals(count, index.getTokenCount());
+        contact.remove(shen);
+        assertEquals(count, index.getTokenCount());
+        assertEquals(Arrays.asList(shen), index.candidates(new FullText("brooklyn")));
+        contact.remove(shen);
+        contact.remove(howard);
+        assertEquals(0, index.getTokenCount());
+    }
+
+}
@@ -0,0 +1,142 @@
+package edu.nyu.cs.addressbook.index;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.Contact;
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.ContactFactory;
+import edu.nyu.cs.addressbook.search.impl.Fuzzy;
+import edu.nyu.cs.addressbook.search.impl.NonNull;
+
+public class FuzzyNameIndexTest {
+    private FuzzyNameIndex index;
+    private Contact contact;
+    private ContactEntry leonard;
+    private ContactEntry howard;
+    private ContactEntry sheldon;
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        index = new FuzzyNameIndex();
+        contact = ContactFactory.getContact("FuzzyNameIndexTest");
+        contact.addIndex(index);
+        leonard = new ContactEntry.ContactEntryBuilder("Leonard", "Hofstadter").build();
+        howard = new ContactEntry.ContactEntryBuilder("Howard", "Wolowitz").build();
+        sheldon = new ContactEntry.ContactEntryBuilder("Sheldon", "Cooper").build();
+        contact.add(leonard);
+        contact.add(howard);
+        contact.add(sheldon);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        contact.close();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.FuzzyNameIndex#candidates(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testCandidates() {
+        assertNull(index.candidates(NonNull.INSTANCE));
+        assertEquals(Arrays.asList(leonard), index.candidates(new Fuzzy("Hofstader", 1)));
+        assertEquals(Arrays.asList(sheldon), index.candidates(new Fuzzy("shelden", 1)));
+        assertEquals(Collections.emptyList(), index.candidates(new Fuzzy("shelden", 0)));
+        assertEquals(Arrays.asList(sheldon), index.candidates(new Fuzzy("Hooper", 2)));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.FuzzyNameIndex#entryRemoved(edu.nyu.cs.addressbook.ContactEntry)}.
+     */
+    @Test
+    public void testEntryRemoved() {
+        assertEquals(6, index.getNameCount());
+        contact.add(howard);
+        contact.remove(howard);
+        assertEquals(Arrays.asList(howard), index.candidates(new Fuzzy("wolowits", 1)));
+        contact.remove(howard);
+        assertEquals(Collections.emptyList(), index.candidates(new Fuzzy("wolowits", 1)));
+        assertEquals(4, index.getNameCount());
+        contact.add(howard);
+        assertEquals(Arrays.asList(howard), index.candidates(new Fuzzy("wolowits", 1)));
+        assertEquals(6, index.getNameCount());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.FuzzyNameIndex#candidates(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testCandidatesAgainstScan() {
+        Random random = new Random(7);
+        List<ContactEntry> entries = new ArrayList<>(contact.getContacts());
+        for (int i = 0; i < 300; i++) {
+            ContactEntry ce = new ContactEntry.ContactEntryBuilder(randomName(random), randomName(random)).build();
+            entries.add(ce);
+            contact.add(ce);
+        }
+        Collections.sort(entries);
+        for (int i = 0; i < 50; i++) {
+            Fuzzy fuzzy = new Fuzzy(randomName(random), random.nextInt(3));
+            List<ContactEntry> expected = new ArrayList<>();
+            for (ContactEntry ce : entries) {
+                if (fuzzy.matchCondition(ce)) {
+                    expected.add(ce);
+                }
+            }
+            assertEquals(expected, index.candidates(fuzzy));
+        }
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.FuzzyNameIndex#entryRemoved(edu.nyu.cs.addressbook.ContactEntry)}.
+     */
+    @Test
+    public void testEntryRemovedWithRebuild() {
+        List<ContactEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            ContactEntry ce = new ContactEntry.ContactEntryBuilder("First" + i, "Last" + i).build();
+            entries.add(ce);
+            contact.add(ce);
+        }
+        assertEquals(206, index.getNodeCount());
+        for (int i = 0; i < 90; i++) {
+            contact.remove(entries.get(i));
+        }
+        assertEquals(26, index.getNameCount());
+        assertTrue(index.getNodeCount() < 2 * 26 + 64);
+        assertEquals(Arrays.asList(entries.get(95)), index.candidates(new Fuzzy("Firs95", 1)));
+        assertEquals(Collections.emptyList(), index.candidates(new Fuzzy("First5", 0)));
+        assertEquals(Arrays.asList(leonard), index.candidates(new Fuzzy("Hofstader", 1)));
+        contact.add(entries.get(5));
+        assertEquals(Arrays.asList(entries.get(5)), index.candidates(new Fuzzy("First5", 0)));
+    }
+    
+    /**
+     * Returns a random name over a small alphabet.
+     */
+    private static String randomName(Random random) {
+        StringBuilder sb = new StringBuilder("A");
+        int length = 2 + random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(4)));
+        }
+        return sb.toString();
+    }
+
+}
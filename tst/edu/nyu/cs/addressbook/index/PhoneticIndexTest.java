@@ -0,0 +1,76 @@
+package edu.nyu.cs.addressbook.index;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.Contact;
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.ContactFactory;
+import edu.nyu.cs.addressbook.search.impl.NonNull;
+import edu.nyu.cs.addressbook.search.impl.SoundsLike;
+
+public class PhoneticIndexTest {
+    private PhoneticIndex index;
+    private Contact contact;
+    private ContactEntry robert;
+    private ContactEntry rupert;
+    private ContactEntry howard;
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        index = new PhoneticIndex();
+        contact = ContactFactory.getContact("PhoneticIndexTest");
+        contact.addIndex(index);
+        robert = new ContactEntry.ContactEntryBuilder("Robert", "Smith").build();
+        rupert = new ContactEntry.ContactEntryBuilder("Rupert", "Giles").build();
+        howard = new ContactEntry.ContactEntryBuilder("Howard", "Wolowitz").build();
+        contact.add(robert);
+        contact.add(rupert);
+        contact.add(howard);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        contact.close();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.PhoneticIndex#candidates(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testCandidates() {
+        assertNull(index.candidates(NonNull.INSTANCE));
+        assertEquals(Arrays.asList(rupert, robert), index.candidates(new SoundsLike("Robbert")));
+        assertEquals(Arrays.asList(robert), index.candidates(new SoundsLike("Smyth")));
+        assertEquals(Arrays.asList(howard), index.candidates(new SoundsLike("Wolowits")));
+        assertEquals(Collections.emptyList(), index.candidates(new SoundsLike("Cooper")));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.PhoneticIndex#entryRemoved(edu.nyu.cs.addressbook.ContactEntry)}.
+     */
+    @Test
+    public void testEntryRemoved() {
+        assertEquals(5, index.getCodeCount());
+        contact.remove(robert);
+        assertEquals(Arrays.asList(rupert), index.candidates(new SoundsLike("Robbert")));
+        assertEquals(Collections.emptyList(), index.candidates(new SoundsLike("Smyth")));
+        assertEquals(4, index.getCodeCount());
+        contact.remove(rupert);
+        contact.remove(howard);
+        assertEquals(0, index.getCodeCount());
+    }
+
+}
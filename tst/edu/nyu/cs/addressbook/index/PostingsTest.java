@@ -0,0 +1,53 @@
+package edu.nyu.cs.addressbook.index;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class PostingsTest {
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.Postings#add(int)}.
+     */
+    @Test
+    public void testAddAndRemove() {
+        Postings p = new Postings();
+        for (int id : new int[] { 9, 3, 7, 3, 1, 12 }) {
+            p.add(id);
+        }
+        assertArrayEquals(new int[] { 1, 3, 7, 9, 12 }, p.toArray());
+        p.remove(7);
+        p.remove(8);
+        assertArrayEquals(new int[] { 1, 3, 9, 12 }, p.toArray());
+        assertTrue(p.contains(12));
+        assertFalse(p.contains(7));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.Postings#retainAll(int[], int)}.
+     */
+    @Test
+    public void testRetainAll() {
+        Postings p = new Postings();
+        for (int id = 0; id < 1000; id += 3) {
+            p.add(id);
+        }
+        int[] docIds = { 0, 4, 5, 6, 500, 501, 999, 1002 };
+        int length = p.retainAll(docIds, docIds.length);
+        assertArrayEquals(new int[] { 0, 6, 501, 999 }, Arrays.copyOf(docIds, length));
+        
+        int[] many = new int[1000];
+        for (int i = 0; i < many.length; i++) {
+            many[i] = i * 2;
+        }
+        Postings few = new Postings();
+        few.add(4);
+        few.add(997);
+        few.add(1998);
+        length = few.retainAll(many, many.length);
+        assertArrayEquals(new int[] { 4, 1998 }, Arrays.copyOf(many, length));
+    }
+
+}
@@ -0,0 +1,45 @@
+package edu.nyu.cs.addressbook.index;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class RegexLiteralsTest {
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.RegexLiterals#requiredLiterals(java.lang.String)}.
+     */
+    @Test
+    public void testRequiredLiterals() {
+        assertEquals(Arrays.asList(" Street "), RegexLiterals.requiredLiterals("^.* Street .*$"));
+        assertEquals(Arrays.asList("@nyu.edu"), RegexLiterals.requiredLiterals("@nyu\\.edu$"));
+        assertEquals(Arrays.asList("Brookly", "Street"), RegexLiterals.requiredLiterals("Brooklyn?\\d+Street"));
+        assertEquals(Arrays.asList("ab", "Li"), RegexLiterals.requiredLiterals("ab+[xyz]{2}(Shen)?Li"));
+        assertEquals(Arrays.asList("Shen", "Li"), RegexLiterals.requiredLiterals("Shen(?i)Li"));
+        assertEquals(Arrays.asList("Smi", "h"), RegexLiterals.requiredLiterals("Smi\\x74h"));
+        assertEquals(Arrays.asList("Smi", "h"), RegexLiterals.requiredLiterals("Smi\\u0074h"));
+        assertEquals(Arrays.asList("Smi", "h"), RegexLiterals.requiredLiterals("Smi\\x{74}h"));
+        assertEquals(Arrays.asList("Smi", "h"), RegexLiterals.requiredLiterals("Smi\\0164h"));
+        assertEquals(Arrays.asList("Smi", "h"), RegexLiterals.requiredLiterals("Smi\\cIh"));
+        assertEquals(Arrays.asList("Smi", "h"), RegexLiterals.requiredLiterals("Smi\\p{Alpha}h"));
+        assertEquals(Arrays.asList("Smi", "h"), RegexLiterals.requiredLiterals("Smi\\N{LATIN SMALL LETTER T}h"));
+        assertEquals(Arrays.asList("(", "(Smi", "h"), RegexLiterals.requiredLiterals("\\((?<t>Smi)\\(Smi\\k<t>h"));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.RegexLiterals#requiredLiterals(java.lang.String)}.
+     */
+    @Test
+    public void testRequiredLiteralsWithoutLiteral() {
+        assertEquals(Collections.emptyList(), RegexLiterals.requiredLiterals("Shen|Howard"));
+        assertEquals(Collections.emptyList(), RegexLiterals.requiredLiterals("\\QShen\\E"));
+        assertEquals(Collections.emptyList(), RegexLiterals.requiredLiterals("(?x) Shen"));
+        assertEquals(Collections.emptyList(), RegexLiterals.requiredLiterals("[a-z]+\\d*"));
+        assertEquals(Collections.emptyList(), RegexLiterals.requiredLiterals("(Shen"));
+        assertEquals(Collections.emptyList(), RegexLiterals.requiredLiterals("Smi\\x{74"));
+    }
+
+}
@@ -0,0 +1,152 @@
+package edu.nyu.cs.addressbook.index;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.Contact;
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.ContactFactory;
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.component.util.State;
+import edu.nyu.cs.addressbook.search.impl.ContactField;
+import edu.nyu.cs.addressbook.search.impl.NonNull;
+import edu.nyu.cs.addressbook.search.impl.Regex;
+
+public class TrigramIndexTest {
+    private TrigramIndex index;
+    private Contact contact;
+    private ContactEntry shen;
+    private ContactEntry howard;
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        index = new TrigramIndex();
+        contact = ContactFactory.getContact("TrigramIndexTest");
+        contact.addIndex(index);
+        shen = new ContactEntry.ContactEntryBuilder("Shen", "Li")
+                    .phoneNumber(new PhoneNumber(917, 123, 4567))
+                    .emailAddress(new EmailAddress("sl3268", "nyu.edu"))
+                    .postalAddress(
+                            new PostalAddress.PostalAddressBuilder()
+                                    .state(State.NY).city("Brooklyn").street("46th Street").build())
+                    .note("I am an internation student in NYU.").build();
+        howard = new ContactEntry.ContactEntryBuilder("Howard", "Wolowitz")
+                    .emailAddress(new EmailAddress("howardw", "cs.nyu.edu"))
+                    .note("I am a engineering in CIT.").build();
+        contact.add(shen);
+        contact.add(howard);
+    }
+
+    /**
+     * @throws java.lang.Exception
+     */
+    @After
+    public void tearDown() throws Exception {
+        contact.close();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.TrigramIndex#candidates(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testCandidatesWithOtherCriteria() {
+        assertNull(index.candidates(NonNull.INSTANCE));
+        assertNull(index.candidates(new Regex("Shen|Howard")));
+        assertNull(index.candidates(new Regex("^[a-z]{2}\\d+")));
+        assertNull(index.candidates(new ContactField.ContactFieldBuilder().firstName("Li").build()));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.TrigramIndex#candidates(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testCandidatesWithRegex() {
+        assertEquals(Arrays.asList(shen, howard), index.candidates(new Regex("nyu\\.edu$")));
+        assertEquals(Arrays.asList(shen), index.candidates(new Regex("Brooklyn, NY")));
+        assertEquals(Arrays.asList(shen), index.candidates(new Regex("\\(917\\) \\d+")));
+        assertEquals(Arrays.asList(howard), index.candidates(new Regex("(?i)cit\\.")));
+        assertEquals(Collections.emptyList(), index.candidates(new Regex("Queens")));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.TrigramIndex#candidates(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testCandidatesWithEscapes() {
+        String[] regexes = {"Wolo\\x77itz", "Wolo\\u0077itz", "Wolo\\x{77}itz", "Wolo\\0167itz", 
+                "Wolo\\p{Lower}itz", "Wolo\\N{LATIN SMALL LETTER W}itz", "(?<w>w)itz.*ho\\k<w>ard", 
+                "\\(917\\) 123\\x2d4567", "Bro\\cJ?oklyn"};
+        for (String regex : regexes) {
+            Regex criteria = new Regex(regex);
+            List<ContactEntry> candidates = index.candidates(criteria);
+            for (ContactEntry ce : Arrays.asList(shen, howard)) {
+                if (criteria.matchCondition(ce)) {
+                    assertTrue(regex, candidates == null || candidates.contains(ce));
+                }
+            }
+        }
+        assertTrue(new Regex("Wolo\\x77itz").matchCondition(howard));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.TrigramIndex#candidates(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test
+    public void testCandidatesWithContactField() {
+        assertEquals(Arrays.asList(howard), 
+                index.candidates(new ContactField.ContactFieldBuilder().firstName("Howard").build()));
+        assertEquals(Arrays.asList(shen), 
+                index.candidates(new ContactField.ContactFieldBuilder().city("Brooklyn").note("student").build()));
+        assertEquals(Collections.emptyList(), 
+                index.candidates(new ContactField.ContactFieldBuilder().domain("gmail.com").build()));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.TrigramIndex#noteChanged(edu.nyu.cs.addressbook.ContactEntry, java.lang.String)}.
+     */
+    @Test
+    public void testIncrementalUpdate() {
+        howard.setNote("Brooklyn resident");
+        assertEquals(Arrays.asList(shen, howard), index.candidates(new Regex("Brooklyn")));
+        assertEquals(Collections.emptyList(), index.candidates(new Regex("engineering")));
+        
+        PostalAddress pa = shen.getPostalAddresses().get(0);
+        shen.removePostalAddress(pa);
+        assertEquals(Arrays.asList(howard), index.candidates(new Regex("Brooklyn")));
+        
+        PhoneNumber pn = new PhoneNumber(212, 555, 1234);
+        howard.addPhoneNumber(pn);
+        assertEquals(Arrays.asList(howard), index.candidates(new Regex("555-1234")));
+        
+        contact.remove(howard);
+        assertEquals(Collections.emptyList(), index.candidates(new Regex("555-1234")));
+        assertEquals(Arrays.asList(shen), index.candidates(new Regex("nyu\\.edu")));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.index.TrigramIndex#getTrigramCount()}.
+     */
+    @Test
+    public void testGetTrigramCount() {
+        int count = index.getTrigramCount();
+        contact.add(shen);
+        assertEquals(count, index.getTrigramCount());
+        contact.remove(shen);
+        contact.remove(shen);
+        contact.remove(howard);
+        assertEquals(0, index.getTrigramCount());
+    }
+
+}
@@ -0,0 +1,184 @@
+package edu.nyu.cs.addressbook.query;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.Contact;
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.ContactFactory;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.search.impl.ContactField;
+
+public class ContinuousQueryTest {
+    private List<Runnable> tasks;
+    private List<List<String>> batches;
+    private ContinuousQuery query;
+    private ContactEntry shen;
+    private ContactEntry howard;
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        tasks = new ArrayList<>();
+        batches = new ArrayList<>();
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                tasks.add(command);
+            }
+        };
+        MatchListener listener = new MatchListener() {
+            @Override
+            public void matchesChanged(List<MatchEvent> events) {
+                List<String> batch = new ArrayList<>();
+                for (MatchEvent event : events) {
+                    batch.add(event.toString());
+                }
+                batches.add(batch);
+            }
+        };
+        query = new ContinuousQuery(
+                new ContactField.ContactFieldBuilder().areaCode(646).build(), listener, executor, 3);
+        shen = new ContactEntry.ContactEntryBuilder("Shen", "Li")
+                    .phoneNumber(new PhoneNumber(646, 620, 5666)).build();
+        howard = new ContactEntry.ContactEntryBuilder("Howard", "Wolowitz").build();
+    }
+    
+    /**
+     * Runs the scheduled deliveries.
+     */
+    private void runTasks() {
+        while (!tasks.isEmpty()) {
+            tasks.remove(0).run();
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.query.ContinuousQuery#ContinuousQuery(edu.nyu.cs.addressbook.search.SearchCriteria, edu.nyu.cs.addressbook.query.MatchListener, java.util.concurrent.Executor, int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testContinuousQueryWithZeroCapacity() {
+        MatchListener listener = new MatchListener() {
+            @Override
+            public void matchesChanged(List<MatchEvent> events) {
+                
+            }
+        };
+        new ContinuousQuery(query.getCriteria(), listener, tasks::add, 0);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.query.ContinuousQuery#entryAdded(edu.nyu.cs.addressbook.ContactEntry)}.
+     */
+    @Test
+    public void testEntryAddedAndRemoved() {
+        query.entryAdded(shen);
+        query.entryAdded(howard);
+        query.entryAdded(shen);
+        assertEquals(1, tasks.size());
+        runTasks();
+        assertEquals(Arrays.asList(Arrays.asList("ENTER Shen Li")), batches);
+        assertEquals(Arrays.asList(shen), query.getMatches());
+        
+        query.entryRemoved(shen);
+        assertTrue(tasks.isEmpty());
+        query.entryRemoved(shen);
+        query.entryRemoved(howard);
+        runTasks();
+        assertEquals(Arrays.asList("LEAVE Shen Li"), batches.get(1));
+        assertEquals(Collections.emptyList(), query.getMatches());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.query.ContinuousQuery#phoneNumberAdded(edu.nyu.cs.addressbook.ContactEntry, edu.nyu.cs.addressbook.component.PhoneNumber)}.
+     */
+    @Test
+    public void testComponentChanges() {
+        query.entryAdded(shen);
+        query.entryAdded(howard);
+        PhoneNumber pn = new PhoneNumber(646, 123, 4567);
+        howard.addPhoneNumber(pn);
+        query.phoneNumberAdded(howard, pn);
+        shen.setNote("moved");
+        query.noteChanged(shen, "");
+        howard.removePhoneNumber(pn);
+        query.phoneNumberRemoved(howard, pn);
+        runTasks();
+        assertEquals(Arrays.asList(Arrays.asList("ENTER Shen Li", "ENTER Howard Wolowitz", "LEAVE Howard Wolowitz")), 
+                batches);
+        assertEquals(0, query.getDroppedCount());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.query.ContinuousQuery#getDroppedCount()}.
+     */
+    @Test
+    public void testGetDroppedCount() {
+        PhoneNumber pn = new PhoneNumber(646, 123, 4567);
+        query.entryAdded(howard);
+        for (int i = 0; i < 3; i++) {
+            howard.addPhoneNumber(pn);
+            query.phoneNumberAdded(howard, pn);
+            howard.removePhoneNumber(pn);
+            query.phoneNumberRemoved(howard, pn);
+        }
+        assertEquals(3, query.getDroppedCount());
+        runTasks();
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+        assertEquals(Collections.emptyList(), query.getMatches());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.query.ContinuousQuery#getDroppedCount()}.
+     */
+    @Test
+    public void testRejectedDelivery() {
+        final boolean[] rejecting = { true };
+        Executor executor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                if (rejecting[0]) {
+                    throw new RejectedExecutionException("shut down");
+                }
+                tasks.add(command);
+            }
+        };
+        final List<MatchEvent> events = new ArrayList<>();
+        ContinuousQuery rejected = new ContinuousQuery(new ContactField.ContactFieldBuilder().areaCode(646).build(), 
+                new MatchListener() {
+                    @Override
+                    public void matchesChanged(List<MatchEvent> batch) {
+                        events.addAll(batch);
+                    }
+                }, executor, 3);
+        try (Contact contact = ContactFactory.getContact("ContinuousQueryTest")) {
+            contact.addListener(rejected);
+            contact.add(shen);
+            assertEquals(1, rejected.getDroppedCount());
+            assertEquals(Arrays.asList(shen), rejected.getMatches());
+            
+            rejecting[0] = false;
+            PhoneNumber pn = new PhoneNumber(646, 123, 4567);
+            howard.addPhoneNumber(pn);
+            contact.add(howard);
+            runTasks();
+            assertEquals(1, events.size());
+            assertEquals(MatchEvent.Type.ENTER, events.get(0).getType());
+            assertSame(howard, events.get(0).getEntry());
+            assertEquals(1, rejected.getDroppedCount());
+        }
+    }
+
+}
@@ -65,6 +65,23 @@ public class AndTest {
                 new ContactField.ContactFieldBuilder().zipCode(620).build());
     }
 
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.And#getCriterias()}.
+     */
+    @Test
+    public void testGetCriterias() {
+        assertEquals(3, andCriteria.getCriterias().size());
+        assertTrue(noCriteria.getCriterias().isEmpty());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.And#getCriterias()}.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGetCriteriasWithModification() {
+        andCriteria.getCriterias().clear();
+    }
+    
     /**
      * Test method for {@link edu.nyu.cs.addressbook.search.impl.And#matchCondition(edu.nyu.cs.addressbook.ContactEntry)}.
      */
@@ -0,0 +1,107 @@
+package edu.nyu.cs.addressbook.search.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.component.util.State;
+import edu.nyu.cs.addressbook.search.SearchCriteria;
+
+public class CompiledTest {
+    private ContactEntry contactEntry;
+    private ContactEntry emptyEntry;
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        contactEntry = new ContactEntry.ContactEntryBuilder("Shen", "Li")
+                            .phoneNumber(new PhoneNumber(646, 620, 5666))
+                            .emailAddress(
+                                    new EmailAddress("sl3268", "nyu.edu"),
+                                    new EmailAddress("lishenapply", "yahoo.com"))
+                            .postalAddress(
+                                    new PostalAddress.PostalAddressBuilder()
+                                            .zipCode(11220).state(State.NY).city("Brooklyn")
+                                            .street("465 46th Street APT 5").build())
+                            .note("I am an internation student in NYU.").build();
+        emptyEntry = new ContactEntry.ContactEntryBuilder("Howard", "Wolowitz").build();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.Compiled#Compiled(edu.nyu.cs.addressbook.search.SearchCriteria)}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testCompiledWithNullObject() {
+        new Compiled(null);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.Compiled#matchCondition(edu.nyu.cs.addressbook.ContactEntry)}.
+     */
+    @Test
+    public void testMatchConditionAgreesWithInterpreted() {
+        SearchCriteria userDefined = new SearchCriteria() {
+            @Override
+            public boolean matchCondition(ContactEntry element) {
+                return element.getPhoneNumbers().isEmpty();
+            }
+        };
+        List<SearchCriteria> criterias = Arrays.asList(
+                NonNull.INSTANCE,
+                new ContactField.ContactFieldBuilder().build(),
+                new ContactField.ContactFieldBuilder().firstName("Shen").lastName("Li").build(),
+                new ContactField.ContactFieldBuilder().firstName("Shen").lastName("Wolowitz").build(),
+                new ContactField.ContactFieldBuilder().areaCode(646).prefix(620).lineNumber(5666).build(),
+                new ContactField.ContactFieldBuilder().username("sl3268").domain("NYU.edu").build(),
+                new ContactField.ContactFieldBuilder().zipCode(11220).state(State.NY).city("Brooklyn").build(),
+                new ContactField.ContactFieldBuilder().street("46th").note("student").build(),
+                new ContactField.ContactFieldBuilder().state(State.CA).build(),
+                new And(),
+                new Or(),
+                new And(new Regex("nyu"), new FullText("student")),
+                new Or(new ContactField.ContactFieldBuilder().prefix(123).build(), userDefined),
+                new Or(new And(userDefined, new Fuzzy("howerd", 1)), new SoundsLike("Lee")),
+                new Compiled(new And(new Regex("Shen"), NonNull.INSTANCE)));
+        for (SearchCriteria sc : criterias) {
+            Compiled compiled = new Compiled(sc);
+            assertEquals(sc.toString(), sc.matchCondition(contactEntry), compiled.matchCondition(contactEntry));
+            assertEquals(sc.toString(), sc.matchCondition(emptyEntry), compiled.matchCondition(emptyEntry));
+            assertFalse(compiled.matchCondition(null));
+        }
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.Compiled#getSource()}.
+     */
+    @Test
+    public void testGetSource() {
+        Regex regex = new Regex("Shen");
+        assertSame(regex, new Compiled(regex).getSource());
+        assertSame(regex, new Compiled(new Compiled(regex)).getSource());
+        assertEquals("Shen", new Compiled(regex).toString());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.Compiled#equals(java.lang.Object)}.
+     */
+    @Test
+    public void testEqualsAndHashCode() {
+        Compiled c1 = new Compiled(new FullText("student"));
+        Compiled c2 = new Compiled(new FullText("student"));
+        assertEquals(c1, c2);
+        assertEquals(c1.hashCode(), c2.hashCode());
+        assertFalse(c1.equals(new FullText("student")));
+        assertFalse(c1.equals(new Compiled(new FullText("teacher"))));
+    }
+
+}
@@ -147,6 +147,36 @@ public class ContactFieldTest {
                 new ContactField.ContactFieldBuilder().note(null).build();
     }
     
+    /**
+     * Test method for the getters of {@link edu.nyu.cs.addressbook.search.impl.ContactField}.
+     */
+    @Test
+    public void testGetters() {
+        ContactField cf = new ContactField.ContactFieldBuilder()
+                                .firstName(" David ").lastName("Lee")
+                                .areaCode(123).prefix(456).lineNumber(5666)
+                                .username("ShenL").domain("NYU.edu")
+                                .zipCode(98765).state(State.NY).city("Queen").street("APT")
+                                .note("student").build();
+        assertEquals("David", cf.getFirstName());
+        assertEquals("Lee", cf.getLastName());
+        assertEquals(123, cf.getAreaCode());
+        assertEquals(456, cf.getPrefix());
+        assertEquals(5666, cf.getLineNumber());
+        assertEquals("shenl", cf.getUsername());
+        assertEquals("nyu.edu", cf.getDomain());
+        assertEquals(98765, cf.getZipCode());
+        assertEquals(State.NY, cf.getState());
+        assertEquals("Queen", cf.getCity());
+        assertEquals("APT", cf.getStreet());
+        assertEquals("student", cf.getNote());
+        
+        ContactField empty = new ContactField.ContactFieldBuilder().build();
+        assertEquals("", empty.getFirstName());
+        assertEquals(0, empty.getAreaCode());
+        assertEquals(State.NONE, empty.getState());
+    }
+    
     /**
      * Test method for {@link edu.nyu.cs.addressbook.search.impl.ContactField#matchCondition(edu.nyu.cs.addressbook.ContactEntry)}.
      */
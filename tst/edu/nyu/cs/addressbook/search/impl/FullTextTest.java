@@ -0,0 +1,107 @@
+package edu.nyu.cs.addressbook.search.impl;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.component.util.State;
+
+public class FullTextTest {
+    private ContactEntry contactEntry;
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        contactEntry = new ContactEntry.ContactEntryBuilder("Shen", "Li")
+                            .emailAddress(new EmailAddress("sl3268", "nyu.edu"))
+                            .postalAddress(
+                                    new PostalAddress.PostalAddressBuilder()
+                                            .zipCode(11220).state(State.NY).city("Brooklyn")
+                                            .street("465 46th Street APT 5").build())
+                            .note("I am an internation student in NYU.").build();
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.FullText#FullText(java.lang.String)}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testFullTextWithNullObject() {
+        new FullText(null);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.FullText#FullText(java.lang.String)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFullTextWithEmptyObject() {
+        new FullText("   ");
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.FullText#FullText(java.lang.String)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFullTextWithoutWord() {
+        new FullText("!!!");
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.FullText#FullText(java.lang.String)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFullTextWithEmptyString() {
+        new FullText("");
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.FullText#getTokens()}.
+     */
+    @Test
+    public void testGetTokens() {
+        assertEquals(new LinkedHashSet<>(Arrays.asList("brooklyn", "student")),
+                new FullText("Brooklyn student").getTokens());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.FullText#matchCondition(edu.nyu.cs.addressbook.ContactEntry)}.
+     */
+    @Test
+    public void testMatchCondition() {
+        assertFalse(new FullText("shen").matchCondition(null));
+        assertTrue(new FullText("shen").matchCondition(contactEntry));
+        assertTrue(new FullText("STUDENT brooklyn nyu").matchCondition(contactEntry));
+        assertFalse(new FullText("stud").matchCondition(contactEntry));
+        assertFalse(new FullText("student queens").matchCondition(contactEntry));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.FullText#equals(java.lang.Object)}.
+     */
+    @Test
+    public void testEquals() {
+        FullText ft = new FullText("Brooklyn student");
+        assertTrue(ft.equals(ft));
+        assertTrue(ft.equals(new FullText("student, BROOKLYN")));
+        assertFalse(ft.equals(new FullText("Brooklyn")));
+        assertFalse(ft.equals(null));
+        assertEquals(ft.hashCode(), new FullText("student brooklyn").hashCode());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.FullText#toString()}.
+     */
+    @Test
+    public void testToString() {
+        assertEquals("Brooklyn student", new FullText(" Brooklyn student ").toString());
+    }
+
+}
@@ -0,0 +1,53 @@
+package edu.nyu.cs.addressbook.search.impl;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+
+public class FuzzyTest {
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.Fuzzy#Fuzzy(java.lang.String, int)}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testFuzzyWithNullObject() {
+        new Fuzzy(null, 1);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.Fuzzy#Fuzzy(java.lang.String, int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFuzzyWithNegativeDistance() {
+        new Fuzzy("Hofstadter", -1);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.Fuzzy#matchCondition(edu.nyu.cs.addressbook.ContactEntry)}.
+     */
+    @Test
+    public void testMatchCondition() {
+        ContactEntry leonard = new ContactEntry.ContactEntryBuilder("Leonard", "Hofstadter").build();
+        assertFalse(new Fuzzy("Hofstader", 1).matchCondition(null));
+        assertTrue(new Fuzzy("Hofstader", 1).matchCondition(leonard));
+        assertTrue(new Fuzzy("leonrad", 2).matchCondition(leonard));
+        assertFalse(new Fuzzy("leonrad", 1).matchCondition(leonard));
+        assertTrue(new Fuzzy("HOFSTADTER", 0).matchCondition(leonard));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.Fuzzy#equals(java.lang.Object)}.
+     */
+    @Test
+    public void testEquals() {
+        Fuzzy fuzzy = new Fuzzy("Hofstader", 1);
+        assertTrue(fuzzy.equals(new Fuzzy("hofstader", 1)));
+        assertFalse(fuzzy.equals(new Fuzzy("hofstader", 2)));
+        assertFalse(fuzzy.equals(null));
+        assertEquals(fuzzy.hashCode(), new Fuzzy("HOFSTADER", 1).hashCode());
+        assertEquals("hofstader~1", fuzzy.toString());
+    }
+
+}
@@ -65,6 +65,23 @@ public class OrTest {
                 new ContactField.ContactFieldBuilder().zipCode(620).build());
     }
 
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.Or#getCriterias()}.
+     */
+    @Test
+    public void testGetCriterias() {
+        assertEquals(3, orCriteria.getCriterias().size());
+        assertTrue(noCriteria.getCriterias().isEmpty());
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.Or#getCriterias()}.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testGetCriteriasWithModification() {
+        orCriteria.getCriterias().clear();
+    }
+    
     /**
      * Test method for {@link edu.nyu.cs.addressbook.search.impl.Or#matchCondition(edu.nyu.cs.addressbook.ContactEntry)}.
      */
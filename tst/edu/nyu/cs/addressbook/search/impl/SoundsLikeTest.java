@@ -0,0 +1,69 @@
+package edu.nyu.cs.addressbook.search.impl;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+
+public class SoundsLikeTest {
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.SoundsLike#SoundsLike(java.lang.String)}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testSoundsLikeWithNullObject() {
+        new SoundsLike(null);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.SoundsLike#SoundsLike(java.lang.String)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testSoundsLikeWithoutLetter() {
+        new SoundsLike("42");
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.SoundsLike#matchCondition(edu.nyu.cs.addressbook.ContactEntry)}.
+     */
+    @Test
+    public void testMatchConditionWithAccentedName() {
+        ContactEntry ce = new ContactEntry.ContactEntryBuilder("Jos\u00e9", "\u00d1u\u00f1ez").build();
+        assertEquals("N520", new SoundsLike("\u00d1u\u00f1ez").getCode());
+        assertTrue(new SoundsLike("Nunez").matchCondition(ce));
+        assertTrue(new SoundsLike("Jose").matchCondition(ce));
+        
+        ContactEntry li = new ContactEntry.ContactEntryBuilder("\u674e", "\u5c0f\u9f8d").build();
+        assertTrue(new SoundsLike("\u674e").matchCondition(li));
+        assertFalse(new SoundsLike("\u5c0f").matchCondition(li));
+        assertFalse(new SoundsLike("Li").matchCondition(li));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.SoundsLike#matchCondition(edu.nyu.cs.addressbook.ContactEntry)}.
+     */
+    @Test
+    public void testMatchCondition() {
+        ContactEntry ce = new ContactEntry.ContactEntryBuilder("Robert", "Smith").build();
+        assertFalse(new SoundsLike("Rupert").matchCondition(null));
+        assertTrue(new SoundsLike("Rupert").matchCondition(ce));
+        assertTrue(new SoundsLike("smyth").matchCondition(ce));
+        assertFalse(new SoundsLike("Rubin").matchCondition(ce));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.search.impl.SoundsLike#equals(java.lang.Object)}.
+     */
+    @Test
+    public void testEquals() {
+        SoundsLike sl = new SoundsLike("Robert");
+        assertTrue(sl.equals(new SoundsLike("Rupert")));
+        assertFalse(sl.equals(new SoundsLike("Rubin")));
+        assertFalse(sl.equals(null));
+        assertEquals(sl.hashCode(), new SoundsLike("Rupert").hashCode());
+        assertEquals("R163", sl.getCode());
+        assertEquals("Robert", sl.toString());
+    }
+
+}
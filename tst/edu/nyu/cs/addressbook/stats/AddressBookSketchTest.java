@@ -0,0 +1,89 @@
+package edu.nyu.cs.addressbook.stats;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.stats.AddressBookSketch.Field;
+
+public class AddressBookSketchTest {
+    private AddressBookSketch sketch;
+    private ContactEntry contactEntry;
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        contactEntry = new ContactEntry.ContactEntryBuilder("Shen", "Li")
+                            .phoneNumber(new PhoneNumber(646, 620, 5666))
+                            .emailAddress(new EmailAddress("sl3268", "nyu.edu"), new EmailAddress("sl", "gmail.com"))
+                            .postalAddress(new PostalAddress.PostalAddressBuilder().city("Brooklyn").build())
+                            .build();
+        sketch = new AddressBookSketch();
+        sketch.entryAdded(contactEntry);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.AddressBookSketch#getCount(edu.nyu.cs.addressbook.stats.AddressBookSketch.Field, java.lang.String)}.
+     */
+    @Test
+    public void testGetCountWithMutations() {
+        assertEquals(1, sketch.getCount(Field.DOMAIN, "nyu.edu"));
+        EmailAddress ea = new EmailAddress("lishen", "nyu.edu");
+        contactEntry.addEmailAddress(ea);
+        sketch.emailAddressAdded(contactEntry, ea);
+        assertEquals(2, sketch.getCount(Field.DOMAIN, "nyu.edu"));
+        assertEquals(Arrays.asList("nyu.edu", "gmail.com"), sketch.getTop(Field.DOMAIN, 2));
+        sketch.entryRemoved(contactEntry);
+        assertEquals(0, sketch.getCount(Field.DOMAIN, "nyu.edu"));
+        assertEquals(0, sketch.getCount(Field.AREA_CODE, "646"));
+        assertEquals(2, sketch.getDistinctCount(Field.DOMAIN));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.AddressBookSketch#merge(edu.nyu.cs.addressbook.stats.AddressBookSketch)}.
+     */
+    @Test
+    public void testMerge() {
+        AddressBookSketch other = new AddressBookSketch();
+        other.entryAdded(new ContactEntry.ContactEntryBuilder("Howard", "Wolowitz")
+                            .emailAddress(new EmailAddress("howard", "caltech.edu"))
+                            .postalAddress(new PostalAddress.PostalAddressBuilder().city("Pasadena").build())
+                            .build());
+        sketch.merge(other);
+        assertEquals(3, sketch.getDistinctCount(Field.DOMAIN));
+        assertEquals(2, sketch.getDistinctCount(Field.CITY));
+        assertEquals(1, sketch.getCount(Field.CITY, "Pasadena"));
+        assertEquals(1, other.getDistinctCount(Field.DOMAIN));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.AddressBookSketch}.
+     * @throws java.lang.Exception
+     */
+    @Test
+    public void testSerialization() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ObjectOutputStream out = new ObjectOutputStream(bytes);
+        out.writeObject(sketch);
+        out.close();
+        ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        AddressBookSketch copy = (AddressBookSketch) in.readObject();
+        assertEquals(2, copy.getDistinctCount(Field.DOMAIN));
+        assertEquals(1, copy.getCount(Field.CITY, "Brooklyn"));
+        assertEquals(Arrays.asList("646"), copy.getTop(Field.AREA_CODE, 5));
+    }
+
+}
@@ -0,0 +1,63 @@
+package edu.nyu.cs.addressbook.stats;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class CountMinSketchTest {
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.CountMinSketch#CountMinSketch(int, int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCountMinSketchWithZeroWidth() {
+        new CountMinSketch(4, 0);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.CountMinSketch#estimate(java.lang.String)}.
+     */
+    @Test
+    public void testEstimate() {
+        CountMinSketch sketch = new CountMinSketch(4, 256);
+        for (int i = 0; i < 1000; i++) {
+            sketch.add("city" + (i % 100), 1);
+        }
+        sketch.add("Brooklyn", 50);
+        sketch.add("Brooklyn", -10);
+        assertEquals(1040, sketch.getTotal());
+        assertTrue(sketch.estimate("Brooklyn") >= 40);
+        int overestimated = 0;
+        for (int i = 0; i < 100; i++) {
+            long estimate = sketch.estimate("city" + i);
+            assertTrue(estimate >= 10);
+            if (estimate > 10 + 2 * sketch.getTotal() / sketch.getWidth()) {
+                overestimated++;
+            }
+        }
+        assertTrue(overestimated < 10);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.CountMinSketch#merge(edu.nyu.cs.addressbook.stats.CountMinSketch)}.
+     */
+    @Test
+    public void testMerge() {
+        CountMinSketch s1 = new CountMinSketch(2, 64);
+        CountMinSketch s2 = new CountMinSketch(2, 64);
+        s1.add("nyu.edu", 3);
+        s2.add("nyu.edu", 4);
+        s1.merge(s2);
+        assertEquals(7, s1.estimate("nyu.edu"));
+        assertEquals(7, s1.getTotal());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.CountMinSketch#merge(edu.nyu.cs.addressbook.stats.CountMinSketch)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeWithDifferentDimensions() {
+        new CountMinSketch(2, 64).merge(new CountMinSketch(2, 32));
+    }
+
+}
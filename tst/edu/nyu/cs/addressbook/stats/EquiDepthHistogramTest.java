@@ -0,0 +1,52 @@
+package edu.nyu.cs.addressbook.stats;
+
+import static org.junit.Assert.*;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+public class EquiDepthHistogramTest {
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.EquiDepthHistogram#EquiDepthHistogram(java.util.SortedMap, int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testEquiDepthHistogramWithZeroBuckets() {
+        new EquiDepthHistogram(new TreeMap<Integer, Integer>(), 0);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.EquiDepthHistogram#estimate(int)}.
+     */
+    @Test
+    public void testEstimateWithEmptyHistogram() {
+        EquiDepthHistogram histogram = new EquiDepthHistogram(new TreeMap<Integer, Integer>(), 4);
+        assertEquals(0, histogram.getBucketCount());
+        assertEquals(0, histogram.estimate(10012), 0);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.EquiDepthHistogram#estimate(int)}.
+     */
+    @Test
+    public void testEstimateWithSkew() {
+        SortedMap<Integer, Integer> counts = new TreeMap<>();
+        counts.put(10001, 1);
+        counts.put(10002, 1);
+        counts.put(10003, 1);
+        counts.put(10004, 1);
+        counts.put(10012, 8);
+        counts.put(11220, 1);
+        counts.put(11221, 1);
+        EquiDepthHistogram histogram = new EquiDepthHistogram(counts, 4);
+        assertEquals(14, histogram.getTotal());
+        assertTrue(histogram.getBucketCount() <= 4);
+        assertEquals(8, histogram.estimate(10012), 0);
+        assertEquals(1, histogram.estimate(10002), 0);
+        assertEquals(0, histogram.estimate(9999), 0);
+        assertEquals(0, histogram.estimate(20000), 0);
+    }
+
+}
@@ -0,0 +1,118 @@
+package edu.nyu.cs.addressbook.stats;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.component.util.State;
+import edu.nyu.cs.addressbook.search.impl.ContactField;
+
+public class FieldStatisticsTest {
+    private FieldStatistics stats;
+    private ContactEntry shen;
+    private ContactEntry howard;
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        shen = new ContactEntry.ContactEntryBuilder("Shen", "Li")
+                            .phoneNumber(new PhoneNumber(646, 555, 1234), new PhoneNumber(646, 555, 4321))
+                            .emailAddress(new EmailAddress("sl", "nyu.edu"))
+                            .postalAddress(
+                                    new PostalAddress.PostalAddressBuilder()
+                                            .zipCode(11220).state(State.NY).city("Brooklyn").build(),
+                                    new PostalAddress.PostalAddressBuilder()
+                                            .zipCode(10012).state(State.NY).city("New York").build())
+                            .build();
+        howard = new ContactEntry.ContactEntryBuilder("Howard", "Wolowitz")
+                            .phoneNumber(new PhoneNumber(626, 555, 1234))
+                            .emailAddress(new EmailAddress("howard", "caltech.edu"))
+                            .postalAddress(new PostalAddress.PostalAddressBuilder()
+                                            .zipCode(91125).state(State.CA).city("Pasadena").build())
+                            .build();
+        stats = new FieldStatistics();
+        stats.entryAdded(shen);
+        stats.entryAdded(howard);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.FieldStatistics#FieldStatistics(int, int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFieldStatisticsWithZeroBuckets() {
+        new FieldStatistics(8, 0);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.FieldStatistics#getStateCount(edu.nyu.cs.addressbook.component.util.State)}.
+     */
+    @Test
+    public void testCountsWithExistingEntries() {
+        assertEquals(2, stats.getEntryCount());
+        assertEquals(1, stats.getStateCount(State.NY));
+        assertEquals(1, stats.getAreaCodeCount(646));
+        assertEquals(1, stats.getDomainCount("NYU.edu"));
+        assertEquals(1, stats.getCityCount("Pasadena"));
+        assertEquals(1, stats.getZipCodeCount(10012), 0);
+        assertEquals(1.5, stats.getAveragePhoneNumbers(), 0);
+        assertEquals(1, stats.getAverageEmailAddresses(), 0);
+        assertEquals(1.5, stats.getAveragePostalAddresses(), 0);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.FieldStatistics#estimate(edu.nyu.cs.addressbook.search.impl.ContactField)}.
+     */
+    @Test
+    public void testEstimate() {
+        assertEquals(2, stats.estimate(new ContactField.ContactFieldBuilder().build()), 0);
+        assertEquals(1, stats.estimate(new ContactField.ContactFieldBuilder().state(State.CA).build()), 0);
+        assertEquals(0, stats.estimate(new ContactField.ContactFieldBuilder().state(State.TX).build()), 0);
+        assertEquals(0.25, stats.estimate(new ContactField.ContactFieldBuilder()
+                .state(State.NY).areaCode(646).domain("nyu.edu").build()), 1e-9);
+        assertEquals(2 * FieldStatistics.SUBSTRING_SELECTIVITY, 
+                stats.estimate(new ContactField.ContactFieldBuilder().street("Broadway").build()), 1e-9);
+        assertEquals(0, new FieldStatistics().estimate(new ContactField.ContactFieldBuilder().build()), 0);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.FieldStatistics#postalAddressRemoved(edu.nyu.cs.addressbook.ContactEntry, edu.nyu.cs.addressbook.component.PostalAddress)}.
+     */
+    @Test
+    public void testCountsWithMutations() {
+        PhoneNumber pn = new PhoneNumber(626, 555, 9999);
+        shen.addPhoneNumber(pn);
+        stats.phoneNumberAdded(shen, pn);
+        assertEquals(2, stats.getAreaCodeCount(626));
+        PhoneNumber duplicate = new PhoneNumber(626, 555, 8888);
+        shen.addPhoneNumber(duplicate);
+        stats.phoneNumberAdded(shen, duplicate);
+        assertEquals(2, stats.getAreaCodeCount(626));
+        shen.removePhoneNumber(pn);
+        stats.phoneNumberRemoved(shen, pn);
+        assertEquals(2, stats.getAreaCodeCount(626));
+        PostalAddress ny = shen.getPostalAddresses().get(0);
+        shen.removePostalAddress(ny);
+        stats.postalAddressRemoved(shen, ny);
+        assertEquals(1, stats.getStateCount(State.NY));
+        assertEquals(1, stats.getAveragePostalAddresses(), 0);
+        EmailAddress ea = new EmailAddress("howard", "nyu.edu");
+        howard.addEmailAddress(ea);
+        stats.emailAddressAdded(howard, ea);
+        assertEquals(2, stats.getDomainCount("nyu.edu"));
+        stats.entryRemoved(shen);
+        stats.entryRemoved(howard);
+        assertEquals(0, stats.getEntryCount());
+        assertEquals(0, stats.getStateCount(State.NY));
+        assertEquals(0, stats.getDomainCount("nyu.edu"));
+        assertEquals(0, stats.getZipCodeCount(91125), 0);
+        assertEquals(0, stats.getAveragePhoneNumbers(), 0);
+    }
+
+}
@@ -0,0 +1,65 @@
+package edu.nyu.cs.addressbook.stats;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class HyperLogLogTest {
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.HyperLogLog#HyperLogLog(int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testHyperLogLogWithTooLargePrecision() {
+        new HyperLogLog(17);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.HyperLogLog#cardinality()}.
+     */
+    @Test
+    public void testCardinalityWithSmallSet() {
+        HyperLogLog hll = new HyperLogLog();
+        assertEquals(0, hll.cardinality());
+        hll.offer("nyu.edu");
+        hll.offer("nyu.edu");
+        hll.offer("gmail.com");
+        assertEquals(2, hll.cardinality());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.HyperLogLog#cardinality()}.
+     */
+    @Test
+    public void testCardinalityWithLargeSet() {
+        HyperLogLog hll = new HyperLogLog();
+        for (int i = 0; i < 100000; i++) {
+            hll.offer("domain" + i + ".com");
+        }
+        assertEquals(100000, hll.cardinality(), 100000 * 0.05);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.HyperLogLog#merge(edu.nyu.cs.addressbook.stats.HyperLogLog)}.
+     */
+    @Test
+    public void testMerge() {
+        HyperLogLog h1 = new HyperLogLog();
+        HyperLogLog h2 = new HyperLogLog();
+        for (int i = 0; i < 20000; i++) {
+            h1.offer("city" + i);
+            h2.offer("city" + (i + 10000));
+        }
+        h1.merge(h2);
+        assertEquals(30000, h1.cardinality(), 30000 * 0.05);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.HyperLogLog#merge(edu.nyu.cs.addressbook.stats.HyperLogLog)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeWithDifferentPrecision() {
+        new HyperLogLog(10).merge(new HyperLogLog(12));
+    }
+
+}
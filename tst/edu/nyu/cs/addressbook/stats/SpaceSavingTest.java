@@ -0,0 +1,74 @@
+package edu.nyu.cs.addressbook.stats;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SpaceSavingTest {
+    private SpaceSaving<String> sketch;
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        sketch = new SpaceSaving<>(2);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.SpaceSaving#SpaceSaving(int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testSpaceSavingWithZeroCapacity() {
+        new SpaceSaving<String>(0);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.SpaceSaving#estimate(java.lang.Object)}.
+     */
+    @Test
+    public void testEstimateWhileExact() {
+        sketch.increment("nyu.edu");
+        sketch.increment("nyu.edu");
+        assertEquals(2, sketch.estimate("nyu.edu"));
+        assertEquals(0, sketch.estimate("gmail.com"));
+        assertEquals(0, sketch.error("nyu.edu"));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.SpaceSaving#increment(java.lang.Object)}.
+     */
+    @Test
+    public void testIncrementWithEviction() {
+        sketch.increment("a");
+        sketch.increment("a");
+        sketch.increment("a");
+        sketch.increment("b");
+        sketch.increment("c");
+        assertEquals(3, sketch.estimate("a"));
+        assertEquals(2, sketch.estimate("c"));
+        assertEquals(1, sketch.error("c"));
+        assertEquals(2, sketch.estimate("b"));
+        assertEquals(5, sketch.getTotal());
+        assertEquals(Arrays.asList("a", "c"), sketch.getTop(5));
+        assertEquals(Arrays.asList("a"), sketch.getTop(1));
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.stats.SpaceSaving#decrement(java.lang.Object)}.
+     */
+    @Test
+    public void testDecrement() {
+        sketch.increment("a");
+        sketch.increment("b");
+        sketch.decrement("a");
+        sketch.decrement("z");
+        assertEquals(0, sketch.estimate("a"));
+        assertEquals(1, sketch.getTotal());
+        assertEquals(Arrays.asList("b"), sketch.getTop(2));
+    }
+
+}
@@ -0,0 +1,62 @@
+package edu.nyu.cs.addressbook.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class EditDistanceTest {
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.utils.EditDistance#distance(java.lang.String, java.lang.String)}.
+     */
+    @Test
+    public void testDistance() {
+        assertEquals(0, EditDistance.distance("hofstadter", "hofstadter"));
+        assertEquals(1, EditDistance.distance("hofstader", "hofstadter"));
+        assertEquals(3, EditDistance.distance("kitten", "sitting"));
+        assertEquals(6, EditDistance.distance("", "howard"));
+        assertEquals(2, EditDistance.distance("shen", "shne"));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.utils.EditDistance#distance(java.lang.String, java.lang.String, int)}.
+     */
+    @Test
+    public void testBoundedDistance() {
+        assertEquals(1, EditDistance.distance("hofstader", "hofstadter", 2));
+        assertEquals(3, EditDistance.distance("kitten", "sitting", 2));
+        assertEquals(1, EditDistance.distance("", "howard", 0));
+        Random random = new Random(42);
+        for (int n = 0; n < 1000; n++) {
+            String s = randomString(random);
+            String t = randomString(random);
+            int exact = EditDistance.distance(s, t);
+            for (int max = 0; max <= 4; max++) {
+                assertEquals(s + " " + t, Math.min(exact, max + 1), EditDistance.distance(s, t, max));
+            }
+        }
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.utils.EditDistance#distance(java.lang.String, java.lang.String, int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBoundedDistanceWithNegativeMaximum() {
+        EditDistance.distance("shen", "li", -1);
+    }
+    
+    /**
+     * Returns a random short string over a small alphabet.
+     */
+    private static String randomString(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int length = random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + random.nextInt(3)));
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,59 @@
+package edu.nyu.cs.addressbook.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class SoundexTest {
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.utils.Soundex#encode(java.lang.String)}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testEncodeWithNullObject() {
+        Soundex.encode(null);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.utils.Soundex#encode(java.lang.String)}.
+     */
+    @Test
+    public void testEncode() {
+        assertEquals("R163", Soundex.encode("Robert"));
+        assertEquals("R163", Soundex.encode("Rupert"));
+        assertEquals("R150", Soundex.encode("Rubin"));
+        assertEquals("A261", Soundex.encode("Ashcraft"));
+        assertEquals("T522", Soundex.encode("Tymczak"));
+        assertEquals("P236", Soundex.encode("Pfister"));
+        assertEquals("H123", Soundex.encode("Hofstadter"));
+        assertEquals("L000", Soundex.encode("Li"));
+        assertEquals("O220", Soundex.encode("o'cCASEY"));
+        assertEquals("", Soundex.encode("123"));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.utils.Soundex#encode(java.lang.String)}.
+     */
+    @Test
+    public void testEncodeWithAccentedLetters() {
+        assertEquals("N520", Soundex.encode("\u00d1u\u00f1ez"));
+        assertEquals(Soundex.encode("Nunez"), Soundex.encode("\u00d1u\u00f1ez"));
+        assertEquals(Soundex.encode("Muller"), Soundex.encode("M\u00fcller"));
+        assertEquals(Soundex.encode("Muller"), Soundex.encode("Mu\u0308ller"));
+        assertEquals(Soundex.encode("Strauss"), Soundex.encode("Strau\u00df"));
+        assertEquals(Soundex.encode("Lukasz"), Soundex.encode("\u0141ukasz"));
+        assertEquals("E420", Soundex.encode("\u00c9lise"));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.utils.Soundex#encode(java.lang.String)}.
+     */
+    @Test
+    public void testEncodeWithoutLatinLetter() {
+        assertEquals("\u674e", Soundex.encode("\u674e"));
+        assertEquals("\u0391\u039b\u0395\u039e", Soundex.encode("\u03b1\u03bb\u03b5\u03be-2"));
+        assertEquals("", Soundex.encode(""));
+        assertEquals("", Soundex.encode("!!! 42"));
+    }
+
+}
@@ -0,0 +1,55 @@
+package edu.nyu.cs.addressbook.utils;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.EmailAddress;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.component.util.State;
+
+public class TokenizerTest {
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.utils.Tokenizer#tokenize(java.lang.String)}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testTokenizeWithNullString() {
+        Tokenizer.tokenize((String) null);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.utils.Tokenizer#tokenize(java.lang.String)}.
+     */
+    @Test
+    public void testTokenizeString() {
+        assertEquals(new LinkedHashSet<>(Arrays.asList("i", "am", "an", "nyu", "student")),
+                Tokenizer.tokenize("I am an NYU student, an NYU student!"));
+        assertEquals(Collections.emptySet(), Tokenizer.tokenize("  ...  "));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.utils.Tokenizer#tokenize(edu.nyu.cs.addressbook.ContactEntry)}.
+     */
+    @Test
+    public void testTokenizeContactEntry() {
+        ContactEntry ce = new ContactEntry.ContactEntryBuilder("Shen", "Li")
+                                .phoneNumber(new PhoneNumber(646, 620, 5666))
+                                .emailAddress(new EmailAddress("sl3268", "nyu.edu"))
+                                .postalAddress(
+                                        new PostalAddress.PostalAddressBuilder()
+                                                .zipCode(11220).state(State.NY).city("Brooklyn")
+                                                .street("465 46th Street").build())
+                                .note("Student").build();
+        assertEquals(new LinkedHashSet<>(Arrays.asList(
+                        "shen", "li", "student", "465", "46th", "street", "brooklyn", "sl3268", "nyu", "edu")),
+                Tokenizer.tokenize(ce));
+    }
+
+}
@@ -0,0 +1,56 @@
+package edu.nyu.cs.addressbook.view;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.PhoneNumber;
+
+public class AreaCodeCountViewTest {
+    private AreaCodeCountView view;
+    private ContactEntry contactEntry;
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        view = new AreaCodeCountView();
+        contactEntry = new ContactEntry.ContactEntryBuilder("Howard", "Wolowitz")
+                            .phoneNumber(
+                                    new PhoneNumber(212, 456, 7890),
+                                    new PhoneNumber(212, 654, 3210))
+                            .build();
+        view.entryAdded(contactEntry);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.view.AreaCodeCountView#getCount(int)}.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetCountWithIllegalArgument() {
+        view.getCount(1000);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.view.AreaCodeCountView#getCount(int)}.
+     */
+    @Test
+    public void testGetCountWithMutations() {
+        assertEquals(1, view.getCount(212));
+        PhoneNumber removed = new PhoneNumber(212, 456, 7890);
+        contactEntry.removePhoneNumber(removed);
+        view.phoneNumberRemoved(contactEntry, removed);
+        assertEquals(1, view.getCount(212));
+        PhoneNumber added = new PhoneNumber(646, 620, 5666);
+        contactEntry.addPhoneNumber(added);
+        view.phoneNumberAdded(contactEntry, added);
+        assertEquals(1, view.getCount(646));
+        view.entryRemoved(contactEntry);
+        assertEquals(0, view.getCount(212));
+        assertEquals(0, view.getCount(646));
+    }
+
+}
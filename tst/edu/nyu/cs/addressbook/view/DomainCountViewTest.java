@@ -0,0 +1,72 @@
+package edu.nyu.cs.addressbook.view;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.EmailAddress;
+
+public class DomainCountViewTest {
+    private DomainCountView view;
+    private ContactEntry contactEntry;
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        view = new DomainCountView();
+        contactEntry = new ContactEntry.ContactEntryBuilder("Shen", "Li")
+                            .emailAddress(
+                                    new EmailAddress("sl3268", "nyu.edu"),
+                                    new EmailAddress("yunfeiyang4ever", "gmail.com"),
+                                    new EmailAddress("lishen", "gmail.com"))
+                            .build();
+        view.entryAdded(contactEntry);
+        view.entryAdded(new ContactEntry.ContactEntryBuilder("Howard", "Wolowitz")
+                            .emailAddress(new EmailAddress("howardw", "gmail.com"))
+                            .build());
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.view.DomainCountView#getCount(java.lang.String)}.
+     */
+    @Test
+    public void testGetCount() {
+        assertEquals(2, view.getCount("gmail.com"));
+        assertEquals(1, view.getCount("NYU.edu"));
+        assertEquals(0, view.getCount("yahoo.com"));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.view.DomainCountView#emailAddressRemoved(edu.nyu.cs.addressbook.ContactEntry, edu.nyu.cs.addressbook.component.EmailAddress)}.
+     */
+    @Test
+    public void testEmailAddressRemoved() {
+        EmailAddress ea = new EmailAddress("lishen", "gmail.com");
+        contactEntry.removeEmailAddress(ea);
+        view.emailAddressRemoved(contactEntry, ea);
+        assertEquals(2, view.getCount("gmail.com"));
+        ea = new EmailAddress("yunfeiyang4ever", "gmail.com");
+        contactEntry.removeEmailAddress(ea);
+        view.emailAddressRemoved(contactEntry, ea);
+        assertEquals(1, view.getCount("gmail.com"));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.view.DomainCountView#getTopDomains(int)}.
+     */
+    @Test
+    public void testGetTopDomains() {
+        assertEquals(Arrays.asList("gmail.com", "nyu.edu"), view.getTopDomains(5));
+        assertEquals(Arrays.asList("gmail.com"), view.getTopDomains(1));
+        view.entryRemoved(contactEntry);
+        assertEquals(Arrays.asList("gmail.com"), view.getTopDomains(5));
+        assertEquals(1, view.getCount("gmail.com"));
+    }
+
+}
@@ -0,0 +1,73 @@
+package edu.nyu.cs.addressbook.view;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import edu.nyu.cs.addressbook.ContactEntry;
+import edu.nyu.cs.addressbook.component.PostalAddress;
+import edu.nyu.cs.addressbook.component.util.State;
+
+public class StateCountViewTest {
+    private StateCountView view;
+    private ContactEntry contactEntry;
+    
+    /**
+     * @throws java.lang.Exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        contactEntry = new ContactEntry.ContactEntryBuilder("Shen", "Li")
+                            .postalAddress(
+                                    new PostalAddress.PostalAddressBuilder()
+                                            .zipCode(11220).state(State.NY).city("Brooklyn").build(),
+                                    new PostalAddress.PostalAddressBuilder()
+                                            .zipCode(10012).state(State.NY).city("New York").build())
+                            .build();
+        view = new StateCountView();
+        view.entryAdded(contactEntry);
+    }
+
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.view.StateCountView#getCount(edu.nyu.cs.addressbook.component.util.State)}.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testGetCountWithNullObject() {
+        view.getCount(null);
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.view.StateCountView#getCount(edu.nyu.cs.addressbook.component.util.State)}.
+     */
+    @Test
+    public void testGetCountWithExistingEntries() {
+        assertEquals(1, view.getCount(State.NY));
+        assertEquals(0, view.getCount(State.CA));
+    }
+    
+    /**
+     * Test method for {@link edu.nyu.cs.addressbook.view.StateCountView#getCount(edu.nyu.cs.addressbook.component.util.State)}.
+     */
+    @Test
+    public void testGetCountWithMutations() {
+        PostalAddress ca = new PostalAddress.PostalAddressBuilder().state(State.CA).build();
+        contactEntry.addPostalAddress(ca);
+        view.postalAddressAdded(contactEntry, ca);
+        assertEquals(1, view.getCount(State.CA));
+        ContactEntry other = new ContactEntry.ContactEntryBuilder("Howard", "Wolowitz").postalAddress(ca).build();
+        view.entryAdded(other);
+        assertEquals(2, view.getCount(State.CA));
+        contactEntry.removePostalAddress(ca);
+        view.postalAddressRemoved(contactEntry, ca);
+        assertEquals(1, view.getCount(State.CA));
+        PostalAddress ny = contactEntry.getPostalAddresses().get(0);
+        contactEntry.removePostalAddress(ny);
+        view.postalAddressRemoved(contactEntry, ny);
+        assertEquals(1, view.getCount(State.NY));
+        view.entryRemoved(contactEntry);
+        view.entryRemoved(other);
+        assertArrayEquals(new int[State.values().length], view.getCounts());
+    }
+
+}